@@ -6,7 +6,13 @@ import com.testforge.cs.core.CSBaseTest;
 import com.testforge.cs.driver.CSWebDriverManager;
 import org.openqa.selenium.WebDriver;
 import com.testforge.cs.driver.CSDriver;
+import com.testforge.cs.logging.CSEventLog;
+import com.testforge.cs.page.CSPageManager;
+import com.testforge.cs.reporting.CSLiveDashboard;
+import com.testforge.cs.reporting.CSPhaseProfiler;
 import com.testforge.cs.reporting.CSReportManager;
+import com.testforge.cs.reporting.CSTestDurationHistory;
+import com.testforge.cs.reporting.CSTestExecutionHistory;
 import com.testforge.cs.reporting.CSTestResult;
 import com.testforge.cs.screenshot.CSScreenshotUtils;
 import com.testforge.cs.azuredevops.CSAzureDevOpsPublisher;
@@ -16,6 +22,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.testng.ITestContext;
 import org.testng.ITestResult;
+import org.testng.Reporter;
+import org.testng.SkipException;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.AfterSuite;
@@ -73,12 +81,24 @@ public class CSBDDRunner extends CSBaseTest {
     // Dynamic test executor for work distribution
     private static CSDynamicTestExecutor dynamicExecutor;
     
+    // Affinity mode: queued scenario handed to the current invocation by setupTest
+    private static final ThreadLocal<CSDynamicTestExecutor.TestScenario> affinityAssignment = new ThreadLocal<>();
+    
+    // Duration-aware ordering of scenarios (longest first)
+    private static CSScenarioScheduler scenarioScheduler;
+    
+    // Aborts remaining scenarios after too many failures in the critical tag group
+    private static CSFailFastGuard failFastGuard;
+    
+    // Runs API/database-only scenarios outside the browser-sized TestNG pool
+    private static CSBrowserlessExecutor browserlessExecutor;
+    
+    // Rerun-failed mode: previous run whose failures are rerun and whose other results are merged in
+    private static CSRerunSelector rerunSelector;
+    
     // Track feature file isolation
     private static final Map<String, Set<String>> featureScenarioMap = new java.util.concurrent.ConcurrentHashMap<>();
     
-    // Track iteration numbers for each scenario outline
-    private static final Map<String, java.util.concurrent.atomic.AtomicInteger> scenarioIterationMap = new java.util.concurrent.ConcurrentHashMap<>();
-    
     // Track which threads have finished their tests
     private static final java.util.concurrent.atomic.AtomicInteger completedTests = new java.util.concurrent.atomic.AtomicInteger(0);
     private static volatile int totalExpectedTests = 0; // Will be set dynamically
@@ -131,7 +151,6 @@ public class CSBDDRunner extends CSBaseTest {
         testCounter.set(0);
         completedTests.set(0);
         threadTestCount.clear();
-        scenarioIterationMap.clear();
         
         // Register step definition classes
         registerStepDefinitions();
@@ -205,12 +224,15 @@ public class CSBDDRunner extends CSBaseTest {
         }
         
         // Force final cleanup - kill any remaining chrome processes
-        try {
-            logger.info("[{}] Performing force cleanup of any remaining browser processes", threadName);
-            Runtime.getRuntime().exec(new String[]{"pkill", "-f", "chrome"});
-            Thread.sleep(1000);
-        } catch (Exception e) {
-            logger.debug("[{}] Force cleanup had issues (this is normal): {}", threadName, e.getMessage());
+        // (not when sharded: other shard processes on this machine still use their browsers)
+        if (config.getInt("cs.shard.count", 1) <= 1) {
+            try {
+                logger.info("[{}] Performing force cleanup of any remaining browser processes", threadName);
+                Runtime.getRuntime().exec(new String[]{"pkill", "-f", "chrome"});
+                Thread.sleep(1000);
+            } catch (Exception e) {
+                logger.debug("[{}] Force cleanup had issues (this is normal): {}", threadName, e.getMessage());
+            }
         }
         
         // Call parent teardown to ensure proper cleanup chain
@@ -225,7 +247,12 @@ public class CSBDDRunner extends CSBaseTest {
     @Override
     public void teardownSuite() {
         logger.info("BDD Runner @AfterSuite - Ensuring all browsers are closed");
-        
+
+        // Browserless scenarios must finish before the ADO run is completed and the report generated
+        if (browserlessExecutor != null) {
+            browserlessExecutor.awaitCompletion(config.getInt("cs.browserless.await.timeout.seconds", 3600));
+        }
+
         // Complete the ADO test run if one was started
         if (adoPublisher != null && adoPublisher.isEnabled() && adoTestRunStarted) {
             try {
@@ -240,15 +267,27 @@ public class CSBDDRunner extends CSBaseTest {
             logger.info("No ADO test run was created as no tests had complete ADO mapping (TestPlanId, TestSuiteId, and TestCaseId)");
         }
         
+        // Rerun-failed mode: merge the previous run's remaining results so the report covers the whole suite
+        if (rerunSelector != null && rerunSelector.isEnabled()) {
+            for (CSTestResult previous : rerunSelector.getCarriedOverResults()) {
+                CSReportManager.getInstance().addTestResult(previous);
+            }
+            logger.info("Merged {} results from the previous run into this report", rerunSelector.getCarriedOverResults().size());
+        }
+        
         // Call parent teardownSuite (generates report, etc.)
         super.teardownSuite();
         
         // Double-check that all browsers are closed
         CSWebDriverManager.quitAllDrivers();
+        CSLiveDashboard.stop();
         
         logger.info("Final test execution summary:");
         logger.info("  Total tests completed: {}/{}", completedTests.get(), totalExpectedTests);
         logger.info("  Thread distribution: {}", threadTestCount);
+        if (scenarioScheduler != null) {
+            scenarioScheduler.logSummary();
+        }
     }
     
     /**
@@ -521,11 +560,7 @@ public class CSBDDRunner extends CSBaseTest {
                         logger.info("Adding scenario to test data: {} with {} steps", 
                             scenario.getName(), scenario.getSteps().size());
                         testData.add(new Object[]{featureFile, feature, scenario});
-                        
-                        // Add to dynamic executor queue if in parallel mode
-                        if (dynamicExecutor != null) {
-                            dynamicExecutor.addTest(new CSDynamicTestExecutor.TestScenario(featureFile, feature, scenario));
-                        }
+
                     }
                 } else {
                     // Otherwise, filter scenarios by tags
@@ -544,11 +579,7 @@ public class CSBDDRunner extends CSBaseTest {
                             }
                         }
                         testData.add(new Object[]{featureFile, feature, scenario});
-                        
-                        // Add to dynamic executor queue if in parallel mode
-                        if (dynamicExecutor != null) {
-                            dynamicExecutor.addTest(new CSDynamicTestExecutor.TestScenario(featureFile, feature, scenario));
-                        }
+
                     }
                 }
                 
@@ -559,6 +590,54 @@ public class CSBDDRunner extends CSBaseTest {
         
         logger.info("DataProvider created {} total test scenarios", testData.size());
         
+        // Rerun-failed mode: keep only the scenarios (and data rows) that failed in the previous run
+        rerunSelector = CSRerunSelector.fromConfig();
+        testData = rerunSelector.select(testData);
+        
+        // Sharded run: keep only this process's part of the scenarios
+        CSTestDurationHistory durationHistory = new CSTestDurationHistory();
+        CSShardPartitioner shardPartitioner = CSShardPartitioner.fromConfig();
+        if (shardPartitioner.isEnabled()) {
+            testData = shardPartitioner.select(testData, durationHistory);
+        }
+        
+        // Order scenarios longest-first from previous run durations so long scenarios don't become the tail;
+        // failure-first mode then runs previously failed and recently flaky scenarios before the rest
+        int workerCount = isParallel ? Math.max(1, dataProviderThreadCount) : 1;
+        scenarioScheduler = new CSScenarioScheduler(durationHistory, workerCount);
+        boolean byDuration = isParallel && workerCount > 1 && config.getBooleanProperty("cs.scheduler.duration.ordering.enabled", true);
+        boolean failureFirst = "failure-first".equalsIgnoreCase(config.getProperty("cs.execution.order", "default"));
+        testData = scenarioScheduler.order(testData, byDuration, failureFirst ? new CSTestExecutionHistory() : null,
+            config.getInt("cs.execution.flaky.window", 5));
+        failFastGuard = CSFailFastGuard.fromConfig();
+        if (failFastGuard.isEnabled()) {
+            logger.info("Fail-fast enabled: abort after {} failures (tags: {})",
+                config.getInt("cs.execution.failfast.max.failures", 0),
+                config.getProperty("cs.execution.failfast.tags", "all"));
+        }
+        
+        // Browserless mode: API/database-only scenarios leave the TestNG pool, which stays sized for browsers
+        List<Object[]> browserlessTests = new ArrayList<>();
+        browserlessExecutor = CSBrowserlessExecutor.fromConfig();
+        if (browserlessExecutor.isEnabled()) {
+            List<Object[]> browserTests = new ArrayList<>();
+            for (Object[] test : testData) {
+                boolean browserless = browserlessExecutor.isBrowserless((CSFeatureFile) test[1], (CSFeatureFile.Scenario) test[2]);
+                (browserless ? browserlessTests : browserTests).add(test);
+            }
+            testData = browserTests;
+            logger.info("Browserless mode: {} scenarios run without a browser, {} on the browser pool",
+                browserlessTests.size(), browserTests.size());
+        }
+        
+        // Add to dynamic executor queue if in parallel mode - the queue keeps the scheduled order
+        if (dynamicExecutor != null) {
+            for (Object[] test : testData) {
+                dynamicExecutor.addTest(new CSDynamicTestExecutor.TestScenario(
+                    (String) test[0], (CSFeatureFile) test[1], (CSFeatureFile.Scenario) test[2]));
+            }
+        }
+        
         // Log scenario details for debugging
         Map<String, Integer> scenarioCount = new HashMap<>();
         for (int i = 0; i < testData.size(); i++) {
@@ -579,19 +658,37 @@ public class CSBDDRunner extends CSBaseTest {
         logger.info("Expected to run on {} threads (source: {})", dataProviderThreadCount, threadCountSource);
         
         // Set the total expected tests for cleanup tracking
-        totalExpectedTests = testData.size();
+        totalExpectedTests = testData.size() + browserlessTests.size();
         logger.info("Total expected tests set to: {}", totalExpectedTests);
+        CSLiveDashboard.setExpectedTests(totalExpectedTests);
+        CSLiveDashboard.startIfEnabled();
         
         // Print to console for debugging
         System.out.println("\n========== DATAPROVIDER SUMMARY ==========");
         System.out.println("Total test scenarios created: " + testData.size());
         scenarioCount.forEach((name, count) -> 
             System.out.println("  " + name + ": " + count + " instances"));
+        if (!browserlessTests.isEmpty()) {
+            System.out.println("Browserless scenarios (separate executor): " + browserlessTests.size());
+        }
         System.out.println("==========================================\n");
         
         // Collect test points for ADO if enabled
         if (adoPublisher != null && adoPublisher.isEnabled()) {
-            collectTestPointsAndCreateTestRun(testData);
+            List<Object[]> allTests = new ArrayList<>(testData);
+            allTests.addAll(browserlessTests);
+            collectTestPointsAndCreateTestRun(allTests);
+        }
+        
+        // Start browserless scenarios now so they run alongside the browser scenarios
+        if (!browserlessTests.isEmpty()) {
+            if (reportManager == null) {
+                reportManager = CSReportManager.getInstance();
+            }
+            for (Object[] test : browserlessTests) {
+                browserlessExecutor.submit(() ->
+                    runScenario((String) test[0], (CSFeatureFile) test[1], (CSFeatureFile.Scenario) test[2], true));
+            }
         }
         
         return testData.toArray(new Object[0][]);
@@ -604,6 +701,31 @@ public class CSBDDRunner extends CSBaseTest {
         long threadId = Thread.currentThread().getId();
         logger.info("[{}] @BeforeMethod for: {}", threadName, method.getName());
         
+        // Affinity mode: this invocation is only a slot - hand it the queued scenario that best matches
+        // the thread's current browser by rewriting the arguments TestNG is about to invoke it with
+        affinityAssignment.remove();
+        CSDynamicTestExecutor.TestScenario assigned = null;
+        if (dynamicExecutor != null && config.getBooleanProperty("cs.scheduler.affinity.enabled", false)
+                && params != null && params.length >= 3) {
+            assigned = dynamicExecutor.getNextTest(CSWebDriverManager.getCurrentBrowserType());
+            if (assigned != null) {
+                params[0] = assigned.getFeatureFile();
+                params[1] = assigned.getFeature();
+                params[2] = assigned.getScenario();
+                affinityAssignment.set(assigned);
+            }
+        }
+        
+        // Fail-fast: skip before the parent setup opens a browser for a scenario that will not run
+        if (failFastGuard != null && failFastGuard.getAbortReason() != null && params != null && params.length >= 3) {
+            if (assigned != null) {
+                // A skip thrown here is recorded with the slot's original arguments - let the test method
+                // report and skip the assigned scenario once its result carries the right parameters
+                return;
+            }
+            skipForFailFast((String) params[0], (CSFeatureFile) params[1], (CSFeatureFile.Scenario) params[2]);
+        }
+        
         // Check configuration for browser reuse
         boolean reuseBrowser = config.getBooleanProperty("cs.browser.reuse.instance", true);
         String parallelMode = context.getSuite().getParallel();
@@ -632,6 +754,14 @@ public class CSBDDRunner extends CSBaseTest {
         
         logger.info("[{}] After parent setup, driver = {}", threadName, driver);
         
+        if (assigned != null) {
+            String requestedBrowser = assigned.getBrowserType();
+            if (requestedBrowser != null && !requestedBrowser.equalsIgnoreCase(CSWebDriverManager.getCurrentBrowserType())) {
+                logger.info("[{}] Scenario requires {} browser - switching", threadName, requestedBrowser);
+                driver = CSWebDriverManager.switchBrowser(requestedBrowser);
+            }
+        }
+        
         // IMPORTANT: Each thread needs its own driver instance properly set
         // The parent setupTest creates a new driver, now we need to ensure it's properly
         // registered in all the thread-local storages
@@ -651,7 +781,9 @@ public class CSBDDRunner extends CSBaseTest {
             logger.info("[{}] Driver hashCode = {}", threadName, driver.hashCode());
             
             // Now that WebDriver is ready, inject @CSPageInjection annotated pages
-            injectPagesIntoStepDefinitions(threadName);
+            try (CSPhaseProfiler.Scope ignored = CSPhaseProfiler.begin(CSPhaseProfiler.Phase.PAGE_INJECTION)) {
+                injectPagesIntoStepDefinitions(threadName);
+            }
         } else {
             logger.error("[{}] CRITICAL: Driver is null after parent setup! Thread ID: {}", threadName, threadId);
             throw new RuntimeException("Failed to initialize driver for thread: " + threadName);
@@ -693,10 +825,36 @@ public class CSBDDRunner extends CSBaseTest {
      */
     @Test(dataProvider = "featureFiles", description = "Execute BDD Scenario", singleThreaded = false)
     public void executeBDDScenario(String featureFile, CSFeatureFile feature, CSFeatureFile.Scenario scenario) {
+        // TestNG records the data provider's arguments; align the result with the scenario setupTest assigned
+        ITestResult result = Reporter.getCurrentTestResult();
+        if (result != null) {
+            result.setParameters(new Object[]{featureFile, feature, scenario});
+        }
+        runScenario(featureFile, feature, scenario, false);
+    }
+
+    /**
+     * Execute a scenario on the current thread; browserless scenarios run without a WebDriver
+     */
+    private void runScenario(String featureFile, CSFeatureFile feature, CSFeatureFile.Scenario scenario, boolean browserless) {
         // Log thread and isolation information
         String threadName = Thread.currentThread().getName();
         long threadId = Thread.currentThread().getId();
         
+        if (scenarioScheduler != null) {
+            scenarioScheduler.markStarted();
+        }
+        
+        // Affinity mode: the queued scenario setupTest handed to this invocation, completed at the end
+        CSDynamicTestExecutor.TestScenario assigned = browserless ? null : affinityAssignment.get();
+        affinityAssignment.remove();
+        
+        // Fail-fast: browserless scenarios, and scenarios whose setup finished just before the limit was hit
+        if (failFastGuard != null && failFastGuard.getAbortReason() != null) {
+            reportSkippedScenario(feature, scenario, featureFile, failFastGuard.getAbortReason());
+            throw new SkipException(failFastGuard.getAbortReason());
+        }
+        
         // Thread-safe counter increment without synchronization bottleneck
         int testNumber = testCounter.incrementAndGet();
         logger.info("[{}] Thread ID {} Starting test #{} for scenario: {} with data: {}", 
@@ -717,32 +875,36 @@ public class CSBDDRunner extends CSBaseTest {
             logger.info("Thread distribution after {} tests: {}", testNumber, threadTestCount);
         }
         
-        // Verify driver is available from multiple sources
-        logger.info("[{}] Test #{} - Verifying driver availability", threadName, testNumber);
-        logger.info("[{}] - Instance driver field: {}", threadName, driver != null ? "AVAILABLE" : "NULL");
-        logger.info("[{}] - CSWebDriverManager.getDriver(): {}", threadName, CSWebDriverManager.getDriver() != null ? "AVAILABLE" : "NULL");
-        
-        // Critical check - ensure driver is properly initialized for this thread
-        if (driver == null) {
-            logger.error("[{}] CRITICAL ERROR: Instance driver is null at start of test execution!", threadName);
-            throw new RuntimeException("Driver not initialized for thread: " + threadName);
-        }
-        
-        if (CSWebDriverManager.getDriver() == null) {
-            logger.error("[{}] CRITICAL ERROR: CSWebDriverManager.getDriver() is null!", threadName);
-            logger.warn("[{}] Attempting to re-set driver in CSWebDriverManager", threadName);
-            CSWebDriverManager.setDriver(driver);
-            
+        if (browserless) {
+            logger.info("[{}] Test #{} - Browserless scenario, running without WebDriver", threadName, testNumber);
+        } else {
+            // Verify driver is available from multiple sources
+            logger.info("[{}] Test #{} - Verifying driver availability", threadName, testNumber);
+            logger.info("[{}] - Instance driver field: {}", threadName, driver != null ? "AVAILABLE" : "NULL");
+            logger.info("[{}] - CSWebDriverManager.getDriver(): {}", threadName, CSWebDriverManager.getDriver() != null ? "AVAILABLE" : "NULL");
+
+            // Critical check - ensure driver is properly initialized for this thread
+            if (driver == null) {
+                logger.error("[{}] CRITICAL ERROR: Instance driver is null at start of test execution!", threadName);
+                throw new RuntimeException("Driver not initialized for thread: " + threadName);
+            }
+
             if (CSWebDriverManager.getDriver() == null) {
-                throw new RuntimeException("Failed to set driver in CSWebDriverManager for thread: " + threadName);
+                logger.error("[{}] CRITICAL ERROR: CSWebDriverManager.getDriver() is null!", threadName);
+                logger.warn("[{}] Attempting to re-set driver in CSWebDriverManager", threadName);
+                CSWebDriverManager.setDriver(driver);
+
+                if (CSWebDriverManager.getDriver() == null) {
+                    throw new RuntimeException("Failed to set driver in CSWebDriverManager for thread: " + threadName);
+                }
             }
+
+            // Re-ensure CSStepDefinitions has the driver for this thread
+            CSDriver csDriver = new CSDriver(driver);
+            CSStepDefinitions.setDriver(csDriver);
+            logger.info("[{}] Test #{} - Driver re-verified and set in all contexts", threadName, testNumber);
         }
-        
-        // Re-ensure CSStepDefinitions has the driver for this thread
-        CSDriver csDriver = new CSDriver(driver);
-        CSStepDefinitions.setDriver(csDriver);
-        logger.info("[{}] Test #{} - Driver re-verified and set in all contexts", threadName, testNumber);
-        
+
         // Track scenario execution per feature file
         featureScenarioMap.computeIfAbsent(featureFile, k -> new HashSet<>()).add(scenario.getName());
         
@@ -754,14 +916,9 @@ public class CSBDDRunner extends CSBaseTest {
         String baseScenarioName = scenario.getName(); // Keep original name for tracking
         
         // For data-driven scenarios (Scenario Outlines with Examples), add iteration number
-        if (scenario.getDataRow() != null && !scenario.getDataRow().isEmpty()) {
-            // Get or create iteration counter for this scenario
-            java.util.concurrent.atomic.AtomicInteger iterationCounter = 
-                scenarioIterationMap.computeIfAbsent(baseScenarioName, 
-                    k -> new java.util.concurrent.atomic.AtomicInteger(0));
-            
-            // Increment and get the iteration number
-            int iterationNumber = iterationCounter.incrementAndGet();
+        if (scenario.getDataRow() != null && !scenario.getDataRow().isEmpty() && scenario.getExampleIndex() > 0) {
+            // The row's position in its Examples, so the label does not depend on execution order
+            int iterationNumber = scenario.getExampleIndex();
             
             // Format: ScenarioName_Iteration<number>
             scenarioDisplayName = baseScenarioName + "_Iteration" + iterationNumber;
@@ -770,6 +927,12 @@ public class CSBDDRunner extends CSBaseTest {
             logger.info("Data row for iteration {}: {}", iterationNumber, scenario.getDataRow());
         }
         
+        // Rerun keeps the original iteration label so the merged report shows it in place of the failure
+        CSTestResult rerunOf = rerunSelector != null ? rerunSelector.getOriginal(scenario) : null;
+        if (rerunOf != null && rerunOf.getScenarioName() != null) {
+            scenarioDisplayName = rerunOf.getScenarioName();
+        }
+        
         // Ensure we have a valid scenario name
         if (scenarioDisplayName == null || scenarioDisplayName.trim().isEmpty()) {
             scenarioDisplayName = "Unnamed Scenario";
@@ -804,12 +967,16 @@ public class CSBDDRunner extends CSBaseTest {
         testResult.setMethodName("executeBDDScenario");
         testResult.setStartTime(LocalDateTime.now());
         testResult.setEnvironment(config.getProperty("environment.name", "qa"));
-        testResult.setBrowser(config.getProperty("browser.name", "chrome"));
+        testResult.setBrowser(browserless ? "none" : config.getProperty("browser.name", "chrome"));
         testResult.setThreadName(Thread.currentThread().getName());
         testResult.setScenarioName(scenarioDisplayName);
+        if (rerunOf != null) {
+            testResult.getMetadata().put("rerun.previousStatus", String.valueOf(rerunOf.getStatus()));
+            testResult.getMetadata().put("rerun.previousTestId", rerunOf.getTestId());
+        }
         
         // Set current test context for reporting
-        CSReportManager.setCurrentTestContext(testResult.getTestId());
+        CSReportManager.setCurrentTestContext(testResult);
         
         // Set test data information if available
         if (scenario.getDataRow() != null && !scenario.getDataRow().isEmpty()) {
@@ -914,6 +1081,12 @@ public class CSBDDRunner extends CSBaseTest {
             }
         }
         
+        CSPhaseProfiler.Scope scenarioPhase = CSPhaseProfiler.begin(CSPhaseProfiler.Phase.SCENARIO);
+        
+        // Enforce scenario/step time budgets - the watchdog quits a hung browser and interrupts this thread
+        CSScenarioWatchdog.Watch watch = CSScenarioWatchdog.getInstance().start(
+            scenarioName, scenario.getTags(), browserless ? null : CSWebDriverManager.getDriver());
+        
         try {
             // Create a deep copy of the scenario to avoid thread and feature interference
             CSFeatureFile.Scenario scenarioCopy = createScenarioCopy(scenario);
@@ -1006,9 +1179,9 @@ public class CSBDDRunner extends CSBaseTest {
                 logger.warn("No executed steps found in scenario context on failure for: {}", scenarioName);
             }
             
-            // Try to capture screenshot on failure
+            // Try to capture screenshot on failure (after a timeout the watchdog already captured one)
             try {
-                if (CSWebDriverManager.getDriver() != null) {
+                if (CSWebDriverManager.getDriver() != null && !watch.isExpired()) {
                     // ALWAYS capture a fresh screenshot for the actual test failure
                     // Do NOT reuse soft-fail screenshots as they show different failure points
                     byte[] screenshot = CSScreenshotUtils.captureScreenshot(CSWebDriverManager.getDriver());
@@ -1055,6 +1228,24 @@ public class CSBDDRunner extends CSBaseTest {
             throw new RuntimeException("Scenario failed: " + scenarioName, e);
             
         } finally {
+            if (watch.isExpired()) {
+                testResult.setStatus(CSTestResult.Status.FAILED);
+                testResult.setErrorMessage(watch.getExpiredReason());
+                if (testResult.getMetadata() == null) {
+                    testResult.setMetadata(new HashMap<>());
+                }
+                if (watch.getDiagnosticsPath() != null) {
+                    testResult.getMetadata().put("watchdog.diagnostics", watch.getDiagnosticsPath());
+                }
+                if (!browserless) {
+                    // The watchdog quit the session - release its slot so the next scenario gets a fresh browser
+                    logger.warn("[{}] Recycling browser after timeout", threadName);
+                    CSWebDriverManager.quitDriver();
+                    CSPageManager.clearThreadPages();
+                }
+            }
+            watch.close();
+            
             // Set end time if not already set
             if (testResult.getEndTime() == null) {
                 testResult.setEndTime(LocalDateTime.now());
@@ -1062,70 +1253,132 @@ public class CSBDDRunner extends CSBaseTest {
             }
             
             // Publish to Azure DevOps if enabled and has complete mapping (all three IDs)
-            if (adoPublisher != null && adoPublisher.isEnabled() && 
-                testResult.getMetadata() != null && 
-                testResult.getMetadata().containsKey("ado.testcase.id") &&
-                testResult.getMetadata().containsKey("ado.testplan.id") &&
-                testResult.getMetadata().containsKey("ado.testsuite.id")) {
-                
-                // Check if we have multiple test case IDs to update
-                if (adoMetadata != null && adoMetadata.getTestCaseIds().size() > 1) {
-                    // Multiple test cases - publish the same result for each test case
-                    for (Integer testCaseId : adoMetadata.getTestCaseIds()) {
+            try (CSPhaseProfiler.Scope ignored = CSPhaseProfiler.begin(CSPhaseProfiler.Phase.ADO_PUBLISH)) {
+                if (adoPublisher != null && adoPublisher.isEnabled() && 
+                    testResult.getMetadata() != null && 
+                    testResult.getMetadata().containsKey("ado.testcase.id") &&
+                    testResult.getMetadata().containsKey("ado.testplan.id") &&
+                    testResult.getMetadata().containsKey("ado.testsuite.id")) {
+                    
+                    // Check if we have multiple test case IDs to update
+                    if (adoMetadata != null && adoMetadata.getTestCaseIds().size() > 1) {
+                        // Multiple test cases - publish the same result for each test case
+                        for (Integer testCaseId : adoMetadata.getTestCaseIds()) {
+                            try {
+                                // Update metadata for this specific test case
+                                testResult.getMetadata().put("ado.testcase.id", testCaseId.toString());
+                                adoPublisher.publishTestResult(testResult);
+                                logger.info("Published test result to Azure DevOps for test case: {}", testCaseId);
+                            } catch (Exception e) {
+                                logger.error("Failed to publish result to ADO for test case: " + testCaseId, e);
+                                // Don't fail the test if ADO publishing fails
+                            }
+                        }
+                    } else {
+                        // Single test case - publish once
                         try {
-                            // Update metadata for this specific test case
-                            testResult.getMetadata().put("ado.testcase.id", testCaseId.toString());
                             adoPublisher.publishTestResult(testResult);
-                            logger.info("Published test result to Azure DevOps for test case: {}", testCaseId);
+                            logger.info("Published test result to Azure DevOps for test case: {}", 
+                                testResult.getMetadata().get("ado.testcase.id"));
                         } catch (Exception e) {
-                            logger.error("Failed to publish result to ADO for test case: " + testCaseId, e);
+                            logger.error("Failed to publish result to ADO", e);
                             // Don't fail the test if ADO publishing fails
                         }
                     }
-                } else {
-                    // Single test case - publish once
-                    try {
-                        adoPublisher.publishTestResult(testResult);
-                        logger.info("Published test result to Azure DevOps for test case: {}", 
-                            testResult.getMetadata().get("ado.testcase.id"));
-                    } catch (Exception e) {
-                        logger.error("Failed to publish result to ADO", e);
-                        // Don't fail the test if ADO publishing fails
+                } else if (adoPublisher != null && adoPublisher.isEnabled() && testResult.getMetadata() != null) {
+                    // Log why we're not publishing
+                    List<String> missingIds = new ArrayList<>();
+                    if (!testResult.getMetadata().containsKey("ado.testcase.id")) {
+                        missingIds.add("TestCaseId");
+                    }
+                    if (!testResult.getMetadata().containsKey("ado.testplan.id")) {
+                        missingIds.add("TestPlanId");
+                    }
+                    if (!testResult.getMetadata().containsKey("ado.testsuite.id")) {
+                        missingIds.add("TestSuiteId");
+                    }
+                    if (!missingIds.isEmpty()) {
+                        logger.debug("Skipping ADO publish for test '{}' - Missing IDs: {}", 
+                            testResult.getTestName(), String.join(", ", missingIds));
                     }
-                }
-            } else if (adoPublisher != null && adoPublisher.isEnabled() && testResult.getMetadata() != null) {
-                // Log why we're not publishing
-                List<String> missingIds = new ArrayList<>();
-                if (!testResult.getMetadata().containsKey("ado.testcase.id")) {
-                    missingIds.add("TestCaseId");
-                }
-                if (!testResult.getMetadata().containsKey("ado.testplan.id")) {
-                    missingIds.add("TestPlanId");
-                }
-                if (!testResult.getMetadata().containsKey("ado.testsuite.id")) {
-                    missingIds.add("TestSuiteId");
-                }
-                if (!missingIds.isEmpty()) {
-                    logger.debug("Skipping ADO publish for test '{}' - Missing IDs: {}", 
-                        testResult.getTestName(), String.join(", ", missingIds));
                 }
             }
             
             // Add test result to report
-            CSReportManager.getInstance().addTestResult(testResult);
+            try (CSPhaseProfiler.Scope ignored = CSPhaseProfiler.begin(CSPhaseProfiler.Phase.REPORTING)) {
+                CSReportManager.getInstance().addTestResult(testResult);
+            }
             
             // Clear test context
             CSReportManager.clearCurrentTestContext();
             
             // Track test completion
+            if (scenarioScheduler != null) {
+                scenarioScheduler.markFinished();
+            }
+            if (assigned != null) {
+                dynamicExecutor.markTestCompleted(assigned, testResult.getStatus() == CSTestResult.Status.PASSED);
+            }
+            if (failFastGuard != null) {
+                List<String> allTags = new ArrayList<>();
+                if (scenario.getTags() != null) {
+                    allTags.addAll(scenario.getTags());
+                }
+                if (feature.getTags() != null) {
+                    allTags.addAll(feature.getTags());
+                }
+                failFastGuard.recordResult(allTags, testResult.getStatus() == CSTestResult.Status.FAILED);
+            }
             int completed = completedTests.incrementAndGet();
             logger.info("[{}] Test completed. Total completed: {}/{}", threadName, completed, totalExpectedTests);
+            if (CSEventLog.isEnabled(CSEventLog.Category.RUNNER, CSEventLog.Level.INFO)) {
+                CSEventLog.event(CSEventLog.Category.RUNNER, CSEventLog.Level.INFO, "scenario.completed",
+                    "scenario", scenarioName, "status", testResult.getStatus(), "durationMs", testResult.getDuration(),
+                    "featureFile", testResult.getFeatureFile(), "completed", completed, "total", totalExpectedTests);
+            }
+            
+            // Phase breakdown of this scenario (incl. browser creation/page injection since the previous one)
+            scenarioPhase.close();
+            if (CSPhaseProfiler.isEnabled()) {
+                testResult.getMetadata().put(CSPhaseProfiler.METADATA_KEY, CSPhaseProfiler.finishScenario());
+            }
             
             // Note: Final cleanup will be handled by @AfterSuite and shutdown hook
             // This ensures all browsers are properly closed even if tests fail
         }
     }
     
+    /**
+     * Report the invocation's scenario as skipped by fail-fast and skip it before a browser is opened
+     */
+    private void skipForFailFast(String featureFile, CSFeatureFile feature, CSFeatureFile.Scenario scenario) {
+        String reason = failFastGuard.getAbortReason();
+        reportSkippedScenario(feature, scenario, featureFile, reason);
+        throw new SkipException(reason);
+    }
+    
+    /**
+     * Add a skipped result to the report for a scenario that was not executed
+     */
+    private void reportSkippedScenario(CSFeatureFile feature, CSFeatureFile.Scenario scenario, String featureFile, String reason) {
+        String featureName = feature.getName() != null && !feature.getName().trim().isEmpty() ? feature.getName() : "Unnamed Feature";
+        CSTestResult testResult = new CSTestResult();
+        testResult.setTestId(UUID.randomUUID().toString());
+        testResult.setTestName(featureName + " - " + scenario.getName());
+        testResult.setScenarioName(scenario.getName());
+        testResult.setTags(scenario.getTags());
+        testResult.setClassName(this.getClass().getName());
+        testResult.setMethodName("executeBDDScenario");
+        testResult.setSuiteName(this.suiteName != null ? this.suiteName : "Test Suite");
+        testResult.setFeatureFile(new File(featureFile).getName());
+        testResult.setStatus(CSTestResult.Status.SKIPPED);
+        testResult.setErrorMessage(reason);
+        testResult.setStartTime(LocalDateTime.now());
+        testResult.setEndTime(testResult.getStartTime());
+        CSReportManager.getInstance().addTestResult(testResult);
+        logger.info("Skipped scenario '{}': {}", scenario.getName(), reason);
+    }
+    
     /**
      * Check if feature should be included based on feature-level tags
      */
@@ -1238,6 +1491,7 @@ public class CSBDDRunner extends CSBaseTest {
         copy.setTags(new ArrayList<>(original.getTags()));
         copy.setOutline(original.isOutline());
         copy.setExamplesConfig(original.getExamplesConfig());
+        copy.setExampleIndex(original.getExampleIndex());
         
         // Deep copy the data row
         if (original.getDataRow() != null) {
@@ -1355,7 +1609,10 @@ public class CSBDDRunner extends CSBaseTest {
                 logger.debug("Using cs.azure.devops.enabled from suite parameter: {}", adoEnabled);
             }
             
-            if ("true".equalsIgnoreCase(adoEnabled)) {
+            if ("true".equalsIgnoreCase(adoEnabled) && config.getInt("cs.shard.count", 1) > 1) {
+                // One ADO test run for all shards - CSShardReportMerger publishes the merged results
+                logger.info("Sharded run - Azure DevOps results are published when shard reports are merged");
+            } else if ("true".equalsIgnoreCase(adoEnabled)) {
                 logger.info("Azure DevOps integration is enabled");
                 
                 // Get ADO publisher instance but DON'T start a test run yet
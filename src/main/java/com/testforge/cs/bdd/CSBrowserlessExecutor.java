@@ -0,0 +1,271 @@
+package com.testforge.cs.bdd;
+
+import com.testforge.cs.api.CSHttpClient;
+import com.testforge.cs.api.CSHttpRequestBuilder;
+import com.testforge.cs.api.CSRestApiBuilder;
+import com.testforge.cs.api.CSSoapClient;
+import com.testforge.cs.annotations.CSPageInjection;
+import com.testforge.cs.config.CSConfigManager;
+import com.testforge.cs.core.CSBasePage;
+import com.testforge.cs.database.CSDatabase;
+import com.testforge.cs.database.CSDatabaseManager;
+import com.testforge.cs.database.CSQueryManager;
+import com.testforge.cs.driver.CSDriver;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * High-concurrency executor for browserless (API and database-only) scenarios
+ * Browserless scenarios don't need a WebDriver, so they run here instead of on the TestNG
+ * data-provider threads, which stay sized for browsers. A scenario is browserless when it has
+ * one of the configured tags, or when every step resolves to a step class that uses only API
+ * or database clients (CSHttpClient, CSSoapClient, CSDatabase, ...) and no pages or drivers.
+ *
+ * Uses virtual threads when the runtime provides them (Java 21+) and cs.browserless.virtual.threads
+ * is enabled; otherwise a dedicated pool of daemon platform threads. Either way at most
+ * cs.browserless.pool.size scenarios run at once.
+ */
+public class CSBrowserlessExecutor {
+    private static final Logger logger = LoggerFactory.getLogger(CSBrowserlessExecutor.class);
+
+    private static final List<Class<?>> UI_TYPES = Arrays.asList(WebDriver.class, CSDriver.class, CSBasePage.class);
+    private static final List<Class<?>> CLIENT_TYPES = Arrays.asList(CSHttpClient.class, CSSoapClient.class,
+        CSRestApiBuilder.class, CSHttpRequestBuilder.class, CSDatabase.class, CSDatabaseManager.class, CSQueryManager.class);
+
+    private enum StepKind { UI, CLIENT, NEUTRAL }
+
+    private static final Map<Class<?>, StepKind> stepKinds = new ConcurrentHashMap<>();
+
+    private final boolean enabled;
+    private final int concurrency;
+    private final boolean preferVirtualThreads;
+    private final boolean detectSteps;
+    private final Set<String> tags = new HashSet<>();
+    private final Set<String> stepClasses = new HashSet<>();
+    private final List<Future<?>> futures = new ArrayList<>();
+    private final AtomicInteger running = new AtomicInteger(0);
+    private final AtomicInteger peak = new AtomicInteger(0);
+
+    private ExecutorService executor;
+    private Semaphore permits;
+
+    public CSBrowserlessExecutor(boolean enabled, int concurrency, boolean preferVirtualThreads, boolean detectSteps,
+                                 List<String> tags, List<String> stepClasses) {
+        this.enabled = enabled;
+        this.concurrency = Math.max(1, concurrency);
+        this.preferVirtualThreads = preferVirtualThreads;
+        this.detectSteps = detectSteps;
+        for (String tag : tags) {
+            String trimmed = tag.trim();
+            if (!trimmed.isEmpty()) {
+                this.tags.add(trimmed.startsWith("@") ? trimmed : "@" + trimmed);
+            }
+        }
+        for (String stepClass : stepClasses) {
+            if (!stepClass.trim().isEmpty()) {
+                this.stepClasses.add(stepClass.trim());
+            }
+        }
+    }
+
+    /**
+     * Create executor from the cs.browserless.* properties
+     */
+    public static CSBrowserlessExecutor fromConfig() {
+        CSConfigManager config = CSConfigManager.getInstance();
+        return new CSBrowserlessExecutor(
+            config.getBooleanProperty("cs.browserless.enabled", false),
+            config.getInt("cs.browserless.pool.size", 32),
+            config.getBooleanProperty("cs.browserless.virtual.threads", true),
+            config.getBooleanProperty("cs.browserless.detect.steps", true),
+            Arrays.asList(config.getProperty("cs.browserless.tags", "@api,@database,@nobrowser").split(",")),
+            Arrays.asList(config.getProperty("cs.browserless.step.classes", "").split(",")));
+    }
+
+    /**
+     * Whether browserless scenarios should be routed to this executor
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Whether the scenario can run without a browser
+     */
+    public boolean isBrowserless(CSFeatureFile feature, CSFeatureFile.Scenario scenario) {
+        if (hasTag(scenario.getTags()) || hasTag(feature.getTags())) {
+            return true;
+        }
+        if (!detectSteps) {
+            return false;
+        }
+
+        List<CSFeatureFile.Step> steps = new ArrayList<>();
+        if (feature.getBackground() != null && feature.getBackground().getSteps() != null) {
+            steps.addAll(feature.getBackground().getSteps());
+        }
+        steps.addAll(scenario.getSteps());
+
+        boolean usesClient = false;
+        for (CSFeatureFile.Step step : steps) {
+            CSStepDefinition definition = CSStepRegistry.getInstance().findStep(
+                substitute(step.getText(), scenario.getDataRow()), null);
+            if (definition == null) {
+                // Unknown step - can't prove it doesn't touch the browser
+                return false;
+            }
+            Class<?> stepClass = definition.getMethod().getDeclaringClass();
+            StepKind kind = stepClasses.contains(stepClass.getName()) ? StepKind.CLIENT
+                : stepKinds.computeIfAbsent(stepClass, CSBrowserlessExecutor::classify);
+            if (kind == StepKind.UI) {
+                return false;
+            }
+            usesClient |= kind == StepKind.CLIENT;
+        }
+        return usesClient;
+    }
+
+    /**
+     * Run a browserless scenario; a failure is already reported by the task itself
+     */
+    public synchronized void submit(Runnable scenarioTask) {
+        if (executor == null) {
+            executor = createExecutor();
+            permits = new Semaphore(concurrency);
+        }
+        futures.add(executor.submit(() -> {
+            permits.acquireUninterruptibly();
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                scenarioTask.run();
+            } finally {
+                running.decrementAndGet();
+                permits.release();
+            }
+        }));
+    }
+
+    /**
+     * Wait for all submitted scenarios and shut the executor down
+     */
+    public synchronized void awaitCompletion(long timeoutSeconds) {
+        if (executor == null) {
+            return;
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        int failed = 0;
+        for (Future<?> future : futures) {
+            try {
+                future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException e) {
+                failed++;
+            } catch (TimeoutException e) {
+                logger.warn("Browserless scenarios still running after {}s - cancelling the rest", timeoutSeconds);
+                break;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        executor.shutdownNow();
+        logger.info("Browserless executor finished {} scenarios ({} failed), peak concurrency {}",
+            futures.size(), failed, peak.get());
+        futures.clear();
+        executor = null;
+    }
+
+    private ExecutorService createExecutor() {
+        if (preferVirtualThreads) {
+            try {
+                // Resolved reflectively so the framework still builds and runs on Java 17
+                ExecutorService virtual = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+                logger.info("Browserless scenarios run on virtual threads (max {} concurrent)", concurrency);
+                return virtual;
+            } catch (ReflectiveOperationException e) {
+                logger.debug("Virtual threads not available on this runtime: {}", e.toString());
+            }
+        }
+        logger.info("Browserless scenarios run on a pool of {} platform threads", concurrency);
+        AtomicInteger threadNumber = new AtomicInteger(0);
+        return Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "cs-browserless-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private boolean hasTag(List<String> candidates) {
+        if (candidates == null) {
+            return false;
+        }
+        for (String tag : candidates) {
+            if (tags.contains(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String substitute(String text, Map<String, String> dataRow) {
+        if (dataRow == null || text == null) {
+            return text;
+        }
+        String result = text;
+        for (Map.Entry<String, String> entry : dataRow.entrySet()) {
+            result = result.replace("<" + entry.getKey() + ">", String.valueOf(entry.getValue()));
+        }
+        return result;
+    }
+
+    /**
+     * UI when the class holds a page, driver or injected page; CLIENT when it holds an API or
+     * database client; CSStepDefinitions subclasses without either may still call getDriver()
+     */
+    private static StepKind classify(Class<?> stepClass) {
+        boolean client = false;
+        for (Class<?> type = stepClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                if (field.isAnnotationPresent(CSPageInjection.class) || isAnyOf(field.getType(), UI_TYPES)) {
+                    return StepKind.UI;
+                }
+                client |= isAnyOf(field.getType(), CLIENT_TYPES);
+            }
+        }
+        if (client) {
+            return StepKind.CLIENT;
+        }
+        return CSStepDefinitions.class.isAssignableFrom(stepClass) ? StepKind.UI : StepKind.NEUTRAL;
+    }
+
+    private static boolean isAnyOf(Class<?> fieldType, List<Class<?>> types) {
+        for (Class<?> type : types) {
+            if (type.isAssignableFrom(fieldType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,18 +1,20 @@
 package com.testforge.cs.bdd;
 
 import com.testforge.cs.annotations.CSDataSource;
-import com.testforge.cs.database.CSDatabaseManager;
-import com.testforge.cs.database.CSDatabase;
+import com.testforge.cs.database.CSNamedParameterSql;
 import com.testforge.cs.database.CSQueryManager;
 import com.testforge.cs.exceptions.CSBddException;
+import com.testforge.cs.exceptions.CSDataException;
 import com.testforge.cs.utils.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.Properties;
 
 /**
@@ -238,6 +240,8 @@ public class CSDataSourceProcessor {
         }
         
         List<Map<String, String>> data;
+        CSDataFilter rowFilter = CSDataFilter.parseEquals(filter);
+        Set<String> fields = parseFields(params, key, rowFilter);
         
         // Try CSV fallback first since Excel reading might not be implemented
         String csvPath = path.replace(".xlsx", ".csv").replace(".xls", ".csv");
@@ -246,14 +250,11 @@ public class CSDataSourceProcessor {
         
         if (csvFile.exists()) {
             logger.info("Using CSV file as fallback for Excel: {}", csvPath);
-            data = CSCsvUtils.readCsv(csvPath, true);
+            data = collectRows(CSCsvUtils.streamCsv(csvPath, true, ",", StandardCharsets.UTF_8, fields), 
+                params, key, rowFilter);
         } else if (xlsxFile.exists()) {
             try {
-                if (sheet != null) {
-                    data = CSExcelUtils.readExcel(path, sheet, true);
-                } else {
-                    data = CSExcelUtils.readExcel(path);
-                }
+                data = collectRows(CSExcelUtils.streamExcel(path, sheet, true, fields), params, key, rowFilter);
             } catch (Exception e) {
                 logger.warn("Failed to read Excel file, trying CSV fallback", e);
                 data = new ArrayList<>();
@@ -263,20 +264,6 @@ public class CSDataSourceProcessor {
             data = new ArrayList<>();
         }
         
-        // Apply key filter if specified
-        if (key != null && params.containsKey("keyValues")) {
-            String keyValues = params.get("keyValues");
-            Set<String> allowedValues = new HashSet<>(Arrays.asList(keyValues.split(",")));
-            data = data.stream()
-                .filter(row -> allowedValues.contains(row.get(key)))
-                .collect(Collectors.toList());
-        }
-        
-        // Apply additional filters
-        if (filter != null) {
-            data = applyFilters(data, filter);
-        }
-        
         return data;
     }
     
@@ -295,23 +282,12 @@ public class CSDataSourceProcessor {
         
         // Don't prefix path - let it be relative to project root
         
-        List<Map<String, String>> data = CSCsvUtils.readCsv(path, hasHeader);
+        CSDataFilter rowFilter = CSDataFilter.parseEquals(filter);
+        Set<String> fields = parseFields(params, key, rowFilter);
+        List<Map<String, String>> data = collectRows(
+            CSCsvUtils.streamCsv(path, hasHeader, ",", StandardCharsets.UTF_8, fields), params, key, rowFilter);
         logger.info("CSV file {} loaded {} data rows", path, data.size());
         
-        // Apply key filter if specified
-        if (key != null && params.containsKey("keyValues")) {
-            String keyValues = params.get("keyValues");
-            Set<String> allowedValues = new HashSet<>(Arrays.asList(keyValues.split(",")));
-            data = data.stream()
-                .filter(row -> allowedValues.contains(row.get(key)))
-                .collect(Collectors.toList());
-        }
-        
-        // Apply additional filters
-        if (filter != null) {
-            data = applyFilters(data, filter);
-        }
-        
         return data;
     }
     
@@ -330,117 +306,25 @@ public class CSDataSourceProcessor {
         
         // Don't prefix path - let it be relative to project root
         
-        String jsonContent = CSFileUtils.readTextFile(sourcePath);
-        List<Map<String, Object>> jsonData;
+        // Optional projection: only these fields (plus key and filter fields) are read from each row
+        CSDataFilter rowFilter = CSDataFilter.parseEquals(filter);
+        Set<String> fields = parseFields(params, key, rowFilter);
+        String arrayPath = jsonPath != null && jsonPath.startsWith("$") ? jsonPath : null;
         
-        // Check if we have a JSON path expression
-        if (jsonPath != null && jsonPath.startsWith("$")) {
-            logger.debug("Processing JSON with path expression: {}", jsonPath);
-            // Extract data using JSON path
-            try {
-                // Parse the entire JSON
-                Map<String, Object> rootObject = CSJsonUtils.jsonToMap(jsonContent);
-                logger.debug("Root JSON object keys: {}", rootObject.keySet());
-                
-                // Enhanced JSON path support for nested structures
-                if (jsonPath.startsWith("$.") && jsonPath.endsWith("[*]")) {
-                    String pathWithoutPrefix = jsonPath.substring(2, jsonPath.length() - 3); // Remove $. and [*]
-                    logger.debug("Processing JSON path: {} -> extracting path: {}", jsonPath, pathWithoutPrefix);
-                    
-                    // Navigate through the JSON structure following the path
-                    Object current = rootObject;
-                    String[] pathParts = pathWithoutPrefix.split("\\.");
-                    
-                    logger.debug("Navigating through path parts: {}", Arrays.toString(pathParts));
-                    
-                    for (int i = 0; i < pathParts.length; i++) {
-                        String part = pathParts[i];
-                        logger.debug("Processing path part [{}]: '{}', current object type: {}", 
-                                   i, part, current != null ? current.getClass().getSimpleName() : "null");
-                        
-                        if (current instanceof Map) {
-                            Map<?, ?> currentMap = (Map<?, ?>) current;
-                            if (currentMap.containsKey(part)) {
-                                current = currentMap.get(part);
-                                logger.debug("Found key '{}', navigating to: {}", 
-                                           part, current != null ? current.getClass().getSimpleName() : "null");
-                            } else {
-                                logger.error("Key '{}' not found in JSON object. Available keys: {}", 
-                                           part, currentMap.keySet());
-                                throw new CSBddException("JSON path key not found: " + part + " in path: " + jsonPath);
-                            }
-                        } else {
-                            logger.error("Expected Map object at path part '{}' but found: {}", 
-                                       part, current != null ? current.getClass().getSimpleName() : "null");
-                            throw new CSBddException("Invalid JSON path structure at: " + part + " in path: " + jsonPath);
-                        }
-                    }
-                    
-                    // At this point, current should be a List (array)
-                    if (current instanceof List) {
-                        List<?> dataList = (List<?>) current;
-                        jsonData = new ArrayList<>();
-                        
-                        logger.debug("Found array with {} items at path: {}", dataList.size(), jsonPath);
-                        
-                        for (Object item : dataList) {
-                            if (item instanceof Map) {
-                                jsonData.add((Map<String, Object>) item);
-                            } else {
-                                logger.warn("Array item is not a Map object, skipping: {}", 
-                                          item != null ? item.getClass().getSimpleName() : "null");
-                            }
-                        }
-                        
-                        logger.info("Successfully extracted {} records from JSON path: {}", jsonData.size(), jsonPath);
-                    } else {
-                        logger.error("JSON path does not point to an array. Found: {}", 
-                                   current != null ? current.getClass().getSimpleName() : "null");
-                        throw new CSBddException("JSON path " + jsonPath + " does not point to an array. Found: " + 
-                                               (current != null ? current.getClass().getSimpleName() : "null"));
+        List<Map<String, String>> data;
+        try {
+            Stream<Map<String, String>> rows = CSJsonUtils.streamJsonArray(sourcePath, arrayPath, fields)
+                .map(jsonRow -> {
+                    Map<String, String> stringRow = new HashMap<>();
+                    for (Map.Entry<String, Object> entry : jsonRow.entrySet()) {
+                        stringRow.put(entry.getKey(), String.valueOf(entry.getValue()));
                     }
-                } else {
-                    logger.error("Unsupported JSON path format: {}", jsonPath);
-                    throw new CSBddException("Unsupported JSON path format: " + jsonPath + 
-                                           ". Supported format: $.path.to.array[*]");
-                }
-            } catch (Exception e) {
-                logger.error("Failed to extract data using JSON path: {}", jsonPath, e);
-                throw new CSBddException("Failed to process JSON with path: " + jsonPath, e);
-            }
-        } else {
-            // No JSON path, try to parse as array at root level
-            try {
-                jsonData = CSJsonUtils.jsonToListOfMaps(jsonContent);
-            } catch (Exception e) {
-                // If not array, try as single object
-                Map<String, Object> singleObject = CSJsonUtils.jsonToMap(jsonContent);
-                jsonData = Collections.singletonList(singleObject);
-            }
-        }
-        
-        // Convert to Map<String, String>
-        List<Map<String, String>> data = new ArrayList<>();
-        for (Map<String, Object> jsonRow : jsonData) {
-            Map<String, String> stringRow = new HashMap<>();
-            for (Map.Entry<String, Object> entry : jsonRow.entrySet()) {
-                stringRow.put(entry.getKey(), String.valueOf(entry.getValue()));
-            }
-            data.add(stringRow);
-        }
-        
-        // Apply key filter if specified
-        if (key != null && params.containsKey("keyValues")) {
-            String keyValues = params.get("keyValues");
-            Set<String> allowedValues = new HashSet<>(Arrays.asList(keyValues.split(",")));
-            data = data.stream()
-                .filter(row -> allowedValues.contains(row.get(key)))
-                .collect(Collectors.toList());
-        }
-        
-        // Apply additional filters
-        if (filter != null) {
-            data = applyFilters(data, filter);
+                    return stringRow;
+                });
+            data = collectRows(rows, params, key, rowFilter);
+        } catch (CSDataException e) {
+            logger.error("Failed to load JSON data from {} (path {})", sourcePath, jsonPath, e);
+            throw new CSBddException("Failed to process JSON with path: " + jsonPath, e);
         }
         
         logger.debug("Returning {} data rows from JSON source", data.size());
@@ -473,19 +357,20 @@ public class CSDataSourceProcessor {
             }
         }
         
-        // Execute query - convert Map params to array for CSDbUtils
-        List<Map<String, Object>> results;
+        // Execute query - :name parameters become ordered JDBC parameters; the pool is shared
+        // with CSDbUtils and CSDatabaseManager through CSConnectionPoolRegistry
+        String sql = query;
+        Object[] sqlParams = new Object[0];
         if (!queryParams.isEmpty()) {
-            // If query has named parameters, we need to replace them with ? and create ordered params
-            // For now, use CSDatabase directly
-            CSDatabaseManager dbManager = CSDatabaseManager.getInstance();
-            CSDatabase database = dbManager.getDatabase(databaseName);
-            results = database.query(query, queryParams);
-        } else {
-            // For queries without parameters, use CSDbUtils
-            results = CSDbUtils.executeQuery(databaseName, query);
+            CSNamedParameterSql namedSql = CSNamedParameterSql.parse(query);
+            sql = namedSql.getJdbcSql();
+            sqlParams = namedSql.bind(queryParams);
         }
         
+        // Equality filters run in the database where possible; every row is re-checked below
+        CSDataFilter rowFilter = CSDataFilter.parseEquals(params.get("filter"));
+        List<Map<String, Object>> results = CSDbUtils.executeFilteredQuery(databaseName, sql, rowFilter, sqlParams);
+        
         // Convert to Map<String, String>
         List<Map<String, String>> data = new ArrayList<>();
         for (Map<String, Object> row : results) {
@@ -496,7 +381,7 @@ public class CSDataSourceProcessor {
             data.add(stringRow);
         }
         
-        return data;
+        return rowFilter.apply(data);
     }
     
     /**
@@ -570,37 +455,40 @@ public class CSDataSourceProcessor {
     }
     
     /**
-     * Apply filters to data
-     * Format: "Field1=Value1;Field2=Value2" or "Field1:Value1;Field2:Value2"
+     * Optional column projection from the "fields" parameter, always including key and filter fields
+     * "|" also separates, as "," ends a parameter in @CSDataSource tags.
      */
-    private List<Map<String, String>> applyFilters(List<Map<String, String>> data, String filterString) {
-        if (filterString == null || filterString.trim().isEmpty()) {
-            return data;
+    private Set<String> parseFields(Map<String, String> params, String key, CSDataFilter rowFilter) {
+        String fieldList = params.get("fields");
+        if (fieldList == null || fieldList.trim().isEmpty()) {
+            return null;
         }
-        
-        // Parse filters
-        Map<String, String> filters = new HashMap<>();
-        String[] filterPairs = filterString.split(";");
-        
-        for (String filterPair : filterPairs) {
-            String[] parts = filterPair.split("[:=]");
-            if (parts.length == 2) {
-                filters.put(parts[0].trim(), parts[1].trim());
-            }
+        Set<String> fields = new HashSet<>();
+        for (String field : fieldList.split("[,|]")) {
+            fields.add(field.trim());
+        }
+        fields.addAll(rowFilter.getFields());
+        if (key != null) {
+            fields.add(key);
+        }
+        return fields;
+    }
+    
+    /**
+     * Collect the rows of a streamed source that match the key values and the filter
+     * Rows are filtered as they are read, so only matching rows are held. Filter format:
+     * "Field1=Value1;Field2=Value2" or "Field1:Value1;Field2:Value2"
+     */
+    private List<Map<String, String>> collectRows(Stream<Map<String, String>> rows, Map<String, String> params,
+                                                  String key, CSDataFilter rowFilter) {
+        Set<String> allowedValues = key != null && params.containsKey("keyValues")
+            ? new HashSet<>(Arrays.asList(params.get("keyValues").split(","))) : null;
+        try (Stream<Map<String, String>> source = rows) {
+            return source
+                .filter(row -> allowedValues == null || allowedValues.contains(row.get(key)))
+                .filter(rowFilter)
+                .collect(Collectors.toList());
         }
-        
-        // Apply filters
-        return data.stream()
-            .filter(row -> {
-                for (Map.Entry<String, String> filter : filters.entrySet()) {
-                    String fieldValue = row.get(filter.getKey());
-                    if (fieldValue == null || !fieldValue.equals(filter.getValue())) {
-                        return false;
-                    }
-                }
-                return true;
-            })
-            .collect(Collectors.toList());
     }
     
     /**
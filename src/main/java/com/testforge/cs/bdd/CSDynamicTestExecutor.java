@@ -1,5 +1,6 @@
 package com.testforge.cs.bdd;
 
+import com.testforge.cs.config.CSConfigManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.util.concurrent.*;
@@ -8,7 +9,10 @@ import java.util.*;
 
 /**
  * Dynamic test executor that implements work-stealing pattern
- * to ensure threads don't remain idle when they finish their tests early
+ * to ensure threads don't remain idle when they finish their tests early.
+ * Tests are handed out in the order they were added, which is the order decided by CSScenarioScheduler.
+ * A worker prefers the next test that matches its current browser type and session
+ * (feature file or @session tag) and steals the next test in order when none matches.
  */
 public class CSDynamicTestExecutor {
     private static final Logger logger = LoggerFactory.getLogger(CSDynamicTestExecutor.class);
@@ -16,8 +20,11 @@ public class CSDynamicTestExecutor {
     // Singleton instance
     private static CSDynamicTestExecutor instance;
     
-    // Work queue for tests
-    private final BlockingQueue<TestScenario> testQueue;
+    // Work queue for tests in scheduled order (guarded by itself)
+    private final List<TestScenario> testQueue = new ArrayList<>();
+    
+    // Browser used by scenarios without a @browser tag
+    private final String defaultBrowserType;
     
     // Track active threads
     private final Map<String, ThreadInfo> threadInfoMap = new ConcurrentHashMap<>();
@@ -26,6 +33,9 @@ public class CSDynamicTestExecutor {
     private final AtomicInteger totalTests = new AtomicInteger(0);
     private final AtomicInteger completedTests = new AtomicInteger(0);
     private final AtomicInteger failedTests = new AtomicInteger(0);
+    private final AtomicInteger affinityMatches = new AtomicInteger(0);
+    private final AtomicInteger browserMatches = new AtomicInteger(0);
+    private final AtomicInteger stolenTests = new AtomicInteger(0);
     
     // Thread pool for better control
     private final ExecutorService executorService;
@@ -33,7 +43,7 @@ public class CSDynamicTestExecutor {
     
     private CSDynamicTestExecutor(int maxThreads) {
         this.maxThreads = maxThreads;
-        this.testQueue = new LinkedBlockingQueue<>();
+        this.defaultBrowserType = CSConfigManager.getInstance().getProperty("browser.name", "chrome").toLowerCase();
         this.executorService = new ThreadPoolExecutor(
             maxThreads,
             maxThreads,
@@ -66,37 +76,112 @@ public class CSDynamicTestExecutor {
      * Add test scenario to the queue
      */
     public void addTest(TestScenario scenario) {
-        testQueue.offer(scenario);
+        int size;
+        synchronized (testQueue) {
+            testQueue.add(scenario);
+            size = testQueue.size();
+        }
         totalTests.incrementAndGet();
         logger.debug("Added test to queue: {} (queue size: {})", 
-            scenario.getName(), testQueue.size());
+            scenario.getName(), size);
     }
     
     /**
      * Get next available test from queue
-     * This implements work-stealing - any free thread can take next test
+     * This implements work-stealing - any free thread can take next test.
+     * The thread's last browser and session are used as its affinity.
      */
     public TestScenario getNextTest() {
-        try {
-            TestScenario scenario = testQueue.poll(100, TimeUnit.MILLISECONDS);
-            if (scenario != null) {
-                String threadName = Thread.currentThread().getName();
-                updateThreadInfo(threadName, "Running: " + scenario.getName());
-                logger.info("[{}] Taking test from queue: {} (remaining: {})", 
-                    threadName, scenario.getName(), testQueue.size());
+        ThreadInfo info = threadInfoMap.get(Thread.currentThread().getName());
+        return getNextTest(info != null ? info.browserType : null, info != null ? info.sessionKey : null);
+    }
+    
+    /**
+     * Get next test for a worker whose browser is currently the given type
+     * The session of the worker's previous test is used as its session affinity.
+     */
+    public TestScenario getNextTest(String currentBrowserType) {
+        ThreadInfo info = threadInfoMap.get(Thread.currentThread().getName());
+        return getNextTest(currentBrowserType, info != null ? info.sessionKey : null);
+    }
+    
+    /**
+     * Get next test for a worker with the given browser type and session
+     * Preference: same browser and session, then same browser, then the next test in order (steal)
+     */
+    public TestScenario getNextTest(String browserType, String sessionKey) {
+        String browser = browserType != null ? browserType.toLowerCase() : null;
+        TestScenario scenario = null;
+        int remaining;
+        String match = "steal";
+        
+        synchronized (testQueue) {
+            if (testQueue.isEmpty()) {
+                return null;
             }
-            return scenario;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return null;
+            int chosen = -1;
+            if (browser != null) {
+                int sameBrowser = -1;
+                for (int i = 0; i < testQueue.size(); i++) {
+                    TestScenario candidate = testQueue.get(i);
+                    if (!browser.equals(browserOf(candidate))) {
+                        continue;
+                    }
+                    if (sessionKey != null && sessionKey.equals(candidate.getSessionKey())) {
+                        chosen = i;
+                        match = "browser+session";
+                        break;
+                    }
+                    if (sameBrowser < 0) {
+                        sameBrowser = i;
+                    }
+                }
+                if (chosen < 0 && sameBrowser >= 0) {
+                    chosen = sameBrowser;
+                    match = "browser";
+                }
+            }
+            scenario = testQueue.remove(Math.max(chosen, 0));
+            remaining = testQueue.size();
+        }
+        
+        if ("browser+session".equals(match)) {
+            affinityMatches.incrementAndGet();
+        } else if ("browser".equals(match)) {
+            browserMatches.incrementAndGet();
+        } else {
+            stolenTests.incrementAndGet();
         }
+        
+        String threadName = Thread.currentThread().getName();
+        String scenarioBrowser = browserOf(scenario);
+        String scenarioSession = scenario.getSessionKey();
+        updateThreadInfo(threadName, "Running: " + scenario.getName());
+        threadInfoMap.computeIfPresent(threadName, (k, v) -> {
+            v.browserType = scenarioBrowser;
+            v.sessionKey = scenarioSession;
+            return v;
+        });
+        logger.info("[{}] Taking test from queue: {} (match: {}, remaining: {})", 
+            threadName, scenario.getName(), match, remaining);
+        return scenario;
     }
     
     /**
      * Check if there are more tests available
      */
     public boolean hasMoreTests() {
-        return !testQueue.isEmpty();
+        return remainingTests() > 0;
+    }
+    
+    private int remainingTests() {
+        synchronized (testQueue) {
+            return testQueue.size();
+        }
+    }
+    
+    private String browserOf(TestScenario scenario) {
+        return scenario.getBrowserType() != null ? scenario.getBrowserType() : defaultBrowserType;
     }
     
     /**
@@ -130,7 +215,7 @@ public class CSDynamicTestExecutor {
         }
         
         logger.info("[{}] Completed test: {} (Total completed: {}/{}, Queue remaining: {})",
-            threadName, scenario.getName(), completedTests.get(), totalTests.get(), testQueue.size());
+            threadName, scenario.getName(), completedTests.get(), totalTests.get(), remainingTests());
         
         // Log thread distribution
         if (completedTests.get() % 5 == 0 || !hasMoreTests()) {
@@ -147,7 +232,9 @@ public class CSDynamicTestExecutor {
             logger.info("  {}: {} tests completed, Status: {}", 
                 thread, info.testsCompleted, info.status);
         });
-        logger.info("  Queue remaining: {}", testQueue.size());
+        logger.info("  Queue remaining: {}", remainingTests());
+        logger.info("  Affinity: {} browser+session, {} browser only, {} stolen",
+            affinityMatches.get(), browserMatches.get(), stolenTests.get());
         logger.info("===========================");
     }
     
@@ -159,7 +246,10 @@ public class CSDynamicTestExecutor {
         stats.put("totalTests", totalTests.get());
         stats.put("completedTests", completedTests.get());
         stats.put("failedTests", failedTests.get());
-        stats.put("remainingTests", testQueue.size());
+        stats.put("remainingTests", remainingTests());
+        stats.put("affinityMatches", affinityMatches.get());
+        stats.put("browserMatches", browserMatches.get());
+        stats.put("stolenTests", stolenTests.get());
         stats.put("threadsActive", threadInfoMap.size());
         
         Map<String, Integer> threadStats = new HashMap<>();
@@ -172,12 +262,18 @@ public class CSDynamicTestExecutor {
     
     /**
      * Shutdown executor
+     * Waits cs.executor.shutdown.timeout.seconds for running tests. The default covers the scenario
+     * watchdog's budget (each running test ends within it), and is at least 60 seconds.
      */
     public void shutdown() {
         logger.info("Shutting down dynamic test executor");
         executorService.shutdown();
         try {
-            if (!executorService.awaitTermination(60, TimeUnit.SECONDS)) {
+            long scenarioSeconds = TimeUnit.MILLISECONDS.toSeconds(CSScenarioWatchdog.getInstance().getMaxScenarioMillis() + 999);
+            int timeoutSeconds = CSConfigManager.getInstance().getInt("cs.executor.shutdown.timeout.seconds",
+                (int) Math.max(60, scenarioSeconds));
+            if (!executorService.awaitTermination(timeoutSeconds, TimeUnit.SECONDS)) {
+                logger.warn("Executor did not terminate within {}s - interrupting remaining tests", timeoutSeconds);
                 executorService.shutdownNow();
             }
         } catch (InterruptedException e) {
@@ -192,7 +288,12 @@ public class CSDynamicTestExecutor {
      * Reset for new test run
      */
     public void reset() {
-        testQueue.clear();
+        synchronized (testQueue) {
+            testQueue.clear();
+        }
+        affinityMatches.set(0);
+        browserMatches.set(0);
+        stolenTests.set(0);
         threadInfoMap.clear();
         totalTests.set(0);
         completedTests.set(0);
@@ -222,6 +323,37 @@ public class CSDynamicTestExecutor {
         public String getFeatureFile() { return featureFile; }
         public CSFeatureFile getFeature() { return feature; }
         public CSFeatureFile.Scenario getScenario() { return scenario; }
+        
+        /**
+         * Browser requested with a @browser:&lt;type&gt; tag on the scenario or feature, null for the default
+         */
+        public String getBrowserType() {
+            String browser = tagValue("@browser:");
+            return browser != null ? browser.toLowerCase() : null;
+        }
+        
+        /**
+         * Session shared by scenarios - @session:&lt;name&gt; tag, otherwise the feature file (same Background)
+         */
+        public String getSessionKey() {
+            String session = tagValue("@session:");
+            return session != null ? session : featureFile;
+        }
+        
+        private String tagValue(String prefix) {
+            List<List<String>> tagLists = Arrays.asList(scenario.getTags(), feature != null ? feature.getTags() : null);
+            for (List<String> tags : tagLists) {
+                if (tags == null) {
+                    continue;
+                }
+                for (String tag : tags) {
+                    if (tag != null && tag.regionMatches(true, 0, prefix, 0, prefix.length()) && tag.length() > prefix.length()) {
+                        return tag.substring(prefix.length());
+                    }
+                }
+            }
+            return null;
+        }
     }
     
     /**
@@ -231,6 +363,8 @@ public class CSDynamicTestExecutor {
         String name;
         String status = "Idle";
         int testsCompleted = 0;
+        String browserType;
+        String sessionKey;
         long lastActivity = System.currentTimeMillis();
         
         ThreadInfo(String name) {
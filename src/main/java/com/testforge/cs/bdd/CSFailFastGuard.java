@@ -0,0 +1,89 @@
+package com.testforge.cs.bdd;
+
+import com.testforge.cs.config.CSConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fail-fast guard for scenario execution
+ * Counts failed scenarios in the critical tag group (all scenarios when no tags are configured)
+ * and aborts the remaining queue once the configured number of failures is reached.
+ */
+public class CSFailFastGuard {
+    private static final Logger logger = LoggerFactory.getLogger(CSFailFastGuard.class);
+
+    private final int maxFailures;
+    private final Set<String> criticalTags = new HashSet<>();
+    private final AtomicInteger failures = new AtomicInteger(0);
+    private volatile String abortReason;
+
+    public CSFailFastGuard(int maxFailures, Collection<String> criticalTags) {
+        this.maxFailures = maxFailures;
+        for (String tag : criticalTags) {
+            String trimmed = tag.trim();
+            if (!trimmed.isEmpty()) {
+                this.criticalTags.add(trimmed.startsWith("@") ? trimmed : "@" + trimmed);
+            }
+        }
+    }
+
+    /**
+     * Create guard from cs.execution.failfast.max.failures and cs.execution.failfast.tags
+     */
+    public static CSFailFastGuard fromConfig() {
+        CSConfigManager config = CSConfigManager.getInstance();
+        String tags = config.getProperty("cs.execution.failfast.tags", "");
+        return new CSFailFastGuard(config.getInt("cs.execution.failfast.max.failures", 0),
+            tags.isEmpty() ? new HashSet<>() : Arrays.asList(tags.split(",")));
+    }
+
+    /**
+     * Whether fail-fast is configured
+     */
+    public boolean isEnabled() {
+        return maxFailures > 0;
+    }
+
+    /**
+     * Record scenario outcome
+     *
+     * @param tags   scenario and feature tags
+     * @param failed whether the scenario failed
+     */
+    public void recordResult(Collection<String> tags, boolean failed) {
+        if (!isEnabled() || !failed || !isCritical(tags)) {
+            return;
+        }
+        int count = failures.incrementAndGet();
+        if (count >= maxFailures && abortReason == null) {
+            abortReason = "Fail-fast: " + count + " failures in " +
+                (criticalTags.isEmpty() ? "suite" : "critical tags " + criticalTags) + " - remaining scenarios skipped";
+            logger.warn(abortReason);
+        }
+    }
+
+    /**
+     * Reason the run was aborted, or null while execution should continue
+     */
+    public String getAbortReason() {
+        return abortReason;
+    }
+
+    private boolean isCritical(Collection<String> tags) {
+        if (criticalTags.isEmpty()) {
+            return true;
+        }
+        for (String tag : tags) {
+            if (criticalTags.contains(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -117,6 +117,7 @@ public class CSFeatureFile {
         private Examples examples;
         private boolean isOutline;
         private Map<String, String> dataRow;
+        private int exampleIndex;
         private String examplesConfig;
         
         public Scenario() {
@@ -185,6 +186,17 @@ public class CSFeatureFile {
             this.dataRow = dataRow;
         }
         
+        /**
+         * 1-based position of the data row in its Examples or data source, 0 when not data-driven
+         */
+        public int getExampleIndex() {
+            return exampleIndex;
+        }
+        
+        public void setExampleIndex(int exampleIndex) {
+            this.exampleIndex = exampleIndex;
+        }
+        
         public String getExamplesConfig() {
             return examplesConfig;
         }
@@ -334,17 +334,21 @@ public class CSFeatureParser {
                 // Process external data source from Examples configuration
                 List<Map<String, String>> externalData = dataSourceProcessor.processExamplesConfig(scenario.getExamplesConfig());
                 logger.info("Found {} data rows from external source for scenario: {}", externalData.size(), scenario.getName());
+                int index = 0;
                 for (Map<String, String> dataRow : externalData) {
                     logger.info("Expanding scenario '{}' with data row: {}", scenario.getName(), dataRow);
                     CSFeatureFile.Scenario expandedScenario = expandScenarioOutline(scenario, dataRow);
+                    expandedScenario.setExampleIndex(++index);
                     expandedScenario.setExamplesConfig(scenario.getExamplesConfig());
                     logger.info("Adding expanded scenario '{}' to feature", expandedScenario.getName());
                     feature.addScenario(expandedScenario);
                 }
             } else if (!examples.isEmpty()) {
                 // Traditional Examples table
+                int index = 0;
                 for (Map<String, String> example : examples) {
                     CSFeatureFile.Scenario expandedScenario = expandScenarioOutline(scenario, example);
+                    expandedScenario.setExampleIndex(++index);
                     feature.addScenario(expandedScenario);
                 }
             } else {
@@ -356,8 +360,10 @@ public class CSFeatureParser {
             List<Map<String, String>> externalData = dataSourceProcessor.processDataSource(scenario.getTags());
             if (!externalData.isEmpty()) {
                 // Expand scenario with external data
+                int index = 0;
                 for (Map<String, String> dataRow : externalData) {
                     CSFeatureFile.Scenario expandedScenario = expandScenarioWithData(scenario, dataRow);
+                    expandedScenario.setExampleIndex(++index);
                     feature.addScenario(expandedScenario);
                 }
             } else {
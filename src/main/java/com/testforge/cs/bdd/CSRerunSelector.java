@@ -0,0 +1,186 @@
+package com.testforge.cs.bdd;
+
+import com.testforge.cs.config.CSConfigManager;
+import com.testforge.cs.exceptions.CSConfigurationException;
+import com.testforge.cs.reporting.CSReportData;
+import com.testforge.cs.reporting.CSReportDataJson;
+import com.testforge.cs.reporting.CSTestResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Rerun-failed mode: selects only the scenarios that failed in a previous run
+ * The previous run's report-data.json (file, test-run folder or ZIP; "latest" picks the newest run
+ * in cs.report.directory) is matched against the discovered scenarios by feature file, scenario
+ * name, Examples row index ("_IterationN") and data row, so each failed iteration runs again with
+ * exactly its data. Results
+ * that are not rerun are carried over, making the new report the merged outcome of both runs.
+ */
+public class CSRerunSelector {
+    private static final Logger logger = LoggerFactory.getLogger(CSRerunSelector.class);
+    private static final Pattern ITERATION_SUFFIX = Pattern.compile("_Iteration(\\d+)$");
+
+    private final CSReportData previousRun;
+    private final Set<CSTestResult.Status> rerunStatuses;
+    private final Map<CSFeatureFile.Scenario, CSTestResult> originals = new IdentityHashMap<>();
+    private final List<CSTestResult> carriedOver = new ArrayList<>();
+
+    public CSRerunSelector(CSReportData previousRun, Set<CSTestResult.Status> rerunStatuses) {
+        this.previousRun = previousRun;
+        this.rerunStatuses = rerunStatuses;
+    }
+
+    /**
+     * Create selector from cs.rerun.failed.from and cs.rerun.statuses; disabled when no source is set
+     */
+    public static CSRerunSelector fromConfig() {
+        CSConfigManager config = CSConfigManager.getInstance();
+        String source = config.getProperty("cs.rerun.failed.from", "").trim();
+        if (source.isEmpty()) {
+            return new CSRerunSelector(null, Collections.emptySet());
+        }
+
+        Set<CSTestResult.Status> statuses = EnumSet.noneOf(CSTestResult.Status.class);
+        for (String status : config.getProperty("cs.rerun.statuses", "FAILED,BROKEN").split(",")) {
+            if (!status.trim().isEmpty()) {
+                try {
+                    statuses.add(CSTestResult.Status.valueOf(status.trim().toUpperCase()));
+                } catch (IllegalArgumentException e) {
+                    throw new CSConfigurationException("Unknown status in cs.rerun.statuses: " + status.trim());
+                }
+            }
+        }
+
+        Path path = "latest".equalsIgnoreCase(source)
+            ? findLatestRun(Paths.get(config.getProperty("cs.report.directory", "cs-reports")))
+            : Paths.get(source);
+        logger.info("Rerun mode: rerunning {} scenarios from {}", statuses, path);
+        return new CSRerunSelector(CSReportDataJson.read(path), statuses);
+    }
+
+    /**
+     * Newest test-run folder or ZIP in the report directory
+     */
+    static Path findLatestRun(Path reportDirectory) {
+        try (Stream<Path> entries = Files.list(reportDirectory)) {
+            return entries
+                .filter(p -> p.getFileName().toString().startsWith("test-run-"))
+                .filter(p -> p.toString().endsWith(".zip") || Files.isRegularFile(p.resolve(CSReportDataJson.FILE_NAME)))
+                .max((a, b) -> a.getFileName().toString().compareTo(b.getFileName().toString()))
+                .orElseThrow(() -> new CSConfigurationException("cs.rerun.failed.from=latest but no previous run in " + reportDirectory));
+        } catch (IOException e) {
+            throw new CSConfigurationException("Cannot list report directory " + reportDirectory + ": " + e.getMessage());
+        }
+    }
+
+    public boolean isEnabled() {
+        return previousRun != null;
+    }
+
+    /**
+     * Keep the test data rows ({featureFile, feature, scenario}) that failed in the previous run
+     * Every other previous result is carried over into this run's report.
+     */
+    public List<Object[]> select(List<Object[]> testData) {
+        if (!isEnabled()) {
+            return testData;
+        }
+
+        // Identical data rows can appear more than once - each failed result claims one row
+        Map<String, LinkedList<CSTestResult>> failedByKey = new LinkedHashMap<>();
+        for (CSTestResult result : previousRun.getTestResults()) {
+            if (rerunStatuses.contains(result.getStatus())) {
+                failedByKey.computeIfAbsent(keyOf(result), k -> new LinkedList<>()).add(result);
+            } else {
+                carriedOver.add(result);
+            }
+        }
+
+        List<Object[]> selected = new ArrayList<>();
+        for (Object[] row : testData) {
+            CSFeatureFile.Scenario scenario = (CSFeatureFile.Scenario) row[2];
+            LinkedList<CSTestResult> candidates = failedByKey.get(
+                keyOf(new File(String.valueOf(row[0])).getName(), scenario.getName(), scenario.getExampleIndex(),
+                    scenario.getDataRow()));
+            if (candidates != null && !candidates.isEmpty()) {
+                originals.put(scenario, candidates.removeFirst());
+                selected.add(row);
+            }
+        }
+
+        // Failures whose scenario no longer exists (renamed, removed, filtered out) stay as they were
+        for (List<CSTestResult> unmatched : failedByKey.values()) {
+            for (CSTestResult result : unmatched) {
+                logger.warn("Rerun mode: previously failed '{}' not found in the current features - keeping its old result",
+                    result.getTestName());
+                carriedOver.add(result);
+            }
+        }
+        logger.info("Rerun mode: {} of {} scenarios selected, {} previous results carried over",
+            selected.size(), testData.size(), carriedOver.size());
+        return selected;
+    }
+
+    /**
+     * Previous failed result a selected scenario reruns, or null
+     */
+    public CSTestResult getOriginal(CSFeatureFile.Scenario scenario) {
+        return originals.get(scenario);
+    }
+
+    /**
+     * Previous results that were not rerun - add them to the report to merge both runs
+     */
+    public List<CSTestResult> getCarriedOverResults() {
+        return carriedOver;
+    }
+
+    static String keyOf(CSTestResult result) {
+        String scenarioName = result.getScenarioName();
+        if (scenarioName == null || scenarioName.isEmpty()) {
+            String testName = result.getTestName() != null ? result.getTestName() : "";
+            int separator = testName.indexOf(" - ");
+            scenarioName = separator >= 0 ? testName.substring(separator + 3) : testName;
+        }
+        Map<String, Object> dataRow = new TreeMap<>();
+        if (result.getTestData() != null) {
+            dataRow.putAll(result.getTestData());
+            // Added by the runner next to the row values
+            dataRow.remove("dataSourceType");
+            dataRow.remove("dataSourceFile");
+        }
+        Matcher iteration = ITERATION_SUFFIX.matcher(scenarioName);
+        if (iteration.find()) {
+            return keyOf(result.getFeatureFile(), scenarioName.substring(0, iteration.start()),
+                Integer.parseInt(iteration.group(1)), dataRow);
+        }
+        return keyOf(result.getFeatureFile(), scenarioName, 0, dataRow);
+    }
+
+    static String keyOf(String featureFileName, String scenarioName, int exampleIndex, Map<String, ?> dataRow) {
+        Map<String, String> row = new TreeMap<>();
+        if (dataRow != null) {
+            dataRow.forEach((k, v) -> row.put(k, String.valueOf(v)));
+        }
+        return featureFileName + "|" + scenarioName + "|" + exampleIndex + "|" + row;
+    }
+}
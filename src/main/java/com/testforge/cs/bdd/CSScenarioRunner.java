@@ -6,6 +6,7 @@ import com.testforge.cs.annotations.CSStep;
 import com.testforge.cs.driver.CSDriver;
 import com.testforge.cs.driver.CSWebDriverManager;
 import com.testforge.cs.exceptions.CSBddException;
+import com.testforge.cs.reporting.CSPhaseProfiler;
 import com.testforge.cs.reporting.CSReportManager;
 import com.testforge.cs.reporting.CSTestResult;
 import com.testforge.cs.screenshot.CSScreenshotUtils;
@@ -285,6 +286,7 @@ public class CSScenarioRunner {
             // Run background steps if any
             if (feature.getBackground() != null) {
                 for (CSFeatureFile.Step step : feature.getBackground().getSteps()) {
+                    checkWatchdog();
                     Map<String, Object> stepResult = executeFileStepWithResult(step);
                     executedSteps.add(stepResult);
                     
@@ -307,6 +309,7 @@ public class CSScenarioRunner {
                 logger.info("Scenario {} has {} steps", scenario.getName(), scenario.getSteps().size());
                 
                 for (CSFeatureFile.Step step : scenario.getSteps()) {
+                    checkWatchdog();
                     logger.info("About to execute step: {} {}", step.getKeyword(), step.getText());
                     Map<String, Object> stepResult = executeFileStepWithResult(step);
                     executedSteps.add(stepResult);
@@ -358,6 +361,16 @@ public class CSScenarioRunner {
         }
     }
     
+    /**
+     * Stop the scenario once the watchdog has expired its time budget
+     */
+    private void checkWatchdog() {
+        CSScenarioWatchdog.Watch watch = CSScenarioWatchdog.current();
+        if (watch != null && watch.isExpired()) {
+            throw new CSBddException(watch.getExpiredReason());
+        }
+    }
+    
     /**
      * Execute a step from feature file and return result
      */
@@ -381,9 +394,14 @@ public class CSScenarioRunner {
         scenarioContext.put("current_step_result", stepResult);
         
         long startTime = System.currentTimeMillis();
+        CSPhaseProfiler.Scope stepPhase = CSPhaseProfiler.begin(CSPhaseProfiler.Phase.STEP);
         
         // Start step-level reporting
         CSReportManager.startStep(step.getKeyword(), stepText);
+        CSScenarioWatchdog.Watch watch = CSScenarioWatchdog.current();
+        if (watch != null) {
+            watch.stepStarted(step.getKeyword() + " " + stepText);
+        }
         
         try {
             CSStepDefinition.StepType stepType = CSStepDefinition.StepType.valueOf(step.getKeyword().toUpperCase());
@@ -480,9 +498,10 @@ public class CSScenarioRunner {
             
             // CRITICAL: For actual failures (not soft fails), ALWAYS capture a fresh screenshot
             // This ensures we get the current page state, not a reused soft fail screenshot
+            // (skipped after a timeout - the watchdog already took one before quitting the browser)
             try {
                 // Get driver from WebDriverManager if available
-                if (CSWebDriverManager.getDriver() != null) {
+                if (CSWebDriverManager.getDriver() != null && (watch == null || !watch.isExpired())) {
                     // Wait briefly to ensure page is stable before screenshot
                     Thread.sleep(500);
                     
@@ -524,6 +543,11 @@ public class CSScenarioRunner {
             }
             
             // Don't throw immediately - let the step be recorded first
+        } finally {
+            if (watch != null) {
+                watch.stepFinished();
+            }
+            stepPhase.close();
         }
         
         // Clean up the current step result from context for next step
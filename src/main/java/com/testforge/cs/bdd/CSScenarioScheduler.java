@@ -0,0 +1,230 @@
+package com.testforge.cs.bdd;
+
+import com.testforge.cs.reporting.CSTestDurationHistory;
+import com.testforge.cs.reporting.CSTestExecutionHistory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Duration-aware scenario scheduler (longest-processing-time first)
+ * Decides the execution order of a run: scenarios are ordered by their historical duration,
+ * longest first, so long scenarios start early instead of becoming the tail of a parallel run,
+ * and failure-first mode then moves previously failed and flaky scenarios to the front.
+ * TestNG workers and CSDynamicTestExecutor both take the next scenario in this order, which
+ * gives the greedy LPT balance across workers.
+ * Scenarios without history are estimated with the average of the known ones.
+ */
+public class CSScenarioScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(CSScenarioScheduler.class);
+
+    private final CSTestDurationHistory history;
+    private final int workers;
+    private final Map<CSFeatureFile.Scenario, Long> estimates = new IdentityHashMap<>();
+
+    private volatile long predictedMakespan = -1;
+    private final AtomicLong firstStart = new AtomicLong(0);
+    private final AtomicLong lastEnd = new AtomicLong(0);
+
+    public CSScenarioScheduler(int workers) {
+        this(new CSTestDurationHistory(), workers);
+    }
+
+    public CSScenarioScheduler(CSTestDurationHistory history, int workers) {
+        this.history = history;
+        this.workers = Math.max(1, workers);
+    }
+
+    /**
+     * Execution order for test data rows ({featureFile, feature, scenario})
+     *
+     * @param byDuration       order longest-first from the duration history
+     * @param executionHistory pass/fail history for failure-first order, null to keep the order
+     * @param flakyWindow      number of recent runs checked for pass/fail flips
+     * @return new list in execution order
+     */
+    public List<Object[]> order(List<Object[]> testData, boolean byDuration,
+                                CSTestExecutionHistory executionHistory, int flakyWindow) {
+        List<Object[]> ordered = byDuration ? schedule(testData) : new ArrayList<>(testData);
+        return executionHistory != null ? failuresFirst(ordered, executionHistory, flakyWindow) : ordered;
+    }
+
+    /**
+     * Order test data rows ({featureFile, feature, scenario}) longest-first
+     *
+     * @return new list in execution order; discovery order is kept when no history exists
+     */
+    public List<Object[]> schedule(List<Object[]> testData) {
+        List<Object[]> ordered = new ArrayList<>(testData);
+        if (ordered.isEmpty()) {
+            return ordered;
+        }
+
+        long knownTotal = 0;
+        int knownCount = 0;
+        List<Long> raw = new ArrayList<>(ordered.size());
+        for (Object[] row : ordered) {
+            long estimate = history.getEstimate(nameOf((CSFeatureFile) row[1], (CSFeatureFile.Scenario) row[2]));
+            raw.add(estimate);
+            if (estimate >= 0) {
+                knownTotal += estimate;
+                knownCount++;
+            }
+        }
+
+        if (knownCount == 0) {
+            logger.info("No duration history found - keeping discovery order for {} scenarios", ordered.size());
+            return ordered;
+        }
+
+        long fallback = knownTotal / knownCount;
+        for (int i = 0; i < ordered.size(); i++) {
+            long estimate = raw.get(i);
+            estimates.put((CSFeatureFile.Scenario) ordered.get(i)[2], estimate >= 0 ? estimate : fallback);
+        }
+
+        // List.sort is stable, so scenarios with equal estimates keep discovery order
+        ordered.sort(Comparator.comparingLong((Object[] row) -> getEstimate((CSFeatureFile.Scenario) row[2])).reversed());
+
+        long[] loads = simulate(ordered);
+        long total = 0;
+        long makespan = 0;
+        for (long load : loads) {
+            total += load;
+            makespan = Math.max(makespan, load);
+        }
+        predictedMakespan = makespan;
+
+        logger.info("Scheduled {} scenarios longest-first ({} with history) on {} workers - " +
+                "estimated total {}ms, predicted makespan {}ms (ideal {}ms)",
+            ordered.size(), knownCount, workers, total, makespan, total / workers);
+        if (logger.isDebugEnabled()) {
+            for (int i = 0; i < loads.length; i++) {
+                logger.debug("  Worker {} estimated load: {}ms", i + 1, loads[i]);
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * Move scenarios that failed in the last run to the front, followed by recently flaky ones
+     * Order within each group is kept, so longest-first scheduling still applies inside a group.
+     *
+     * @param flakyWindow number of recent runs checked for pass/fail flips
+     */
+    public List<Object[]> failuresFirst(List<Object[]> testData, CSTestExecutionHistory executionHistory, int flakyWindow) {
+        List<Object[]> failed = new ArrayList<>();
+        List<Object[]> flaky = new ArrayList<>();
+        List<Object[]> others = new ArrayList<>();
+        for (Object[] row : testData) {
+            String name = nameOf((CSFeatureFile) row[1], (CSFeatureFile.Scenario) row[2]);
+            if (executionHistory.failedLastRun(name)) {
+                failed.add(row);
+            } else if (executionHistory.isFlaky(name, flakyWindow)) {
+                flaky.add(row);
+            } else {
+                others.add(row);
+            }
+        }
+
+        logger.info("Failure-first order: {} previously failed, {} flaky, {} other scenarios",
+            failed.size(), flaky.size(), others.size());
+        List<Object[]> ordered = new ArrayList<>(testData.size());
+        ordered.addAll(failed);
+        ordered.addAll(flaky);
+        ordered.addAll(others);
+        return ordered;
+    }
+
+    /**
+     * Estimated duration of a scheduled scenario, 0 if unknown
+     */
+    public long getEstimate(CSFeatureFile.Scenario scenario) {
+        Long estimate = estimates.get(scenario);
+        return estimate != null ? estimate : 0;
+    }
+
+    /**
+     * Predicted makespan in milliseconds, -1 if no prediction was made
+     */
+    public long getPredictedMakespan() {
+        return predictedMakespan;
+    }
+
+    /**
+     * Record that a scenario has started
+     */
+    public void markStarted() {
+        firstStart.compareAndSet(0, System.currentTimeMillis());
+    }
+
+    /**
+     * Record that a scenario has finished
+     */
+    public void markFinished() {
+        lastEnd.accumulateAndGet(System.currentTimeMillis(), Math::max);
+    }
+
+    /**
+     * Actual makespan in milliseconds, -1 if nothing ran
+     */
+    public long getActualMakespan() {
+        long start = firstStart.get();
+        long end = lastEnd.get();
+        return start > 0 && end >= start ? end - start : -1;
+    }
+
+    /**
+     * Log predicted vs actual makespan
+     */
+    public void logSummary() {
+        long actual = getActualMakespan();
+        if (actual < 0) {
+            return;
+        }
+        if (predictedMakespan < 0) {
+            logger.info("Scenario execution makespan: {}ms (no prediction - duration history was empty)", actual);
+            return;
+        }
+        logger.info("Scenario execution makespan: predicted {}ms, actual {}ms ({})",
+            predictedMakespan, actual, String.format("%+.1f%%", (actual - predictedMakespan) * 100.0 / Math.max(1, predictedMakespan)));
+    }
+
+    /**
+     * Same name the runner reports a scenario with, minus the iteration suffix
+     */
+    static String nameOf(CSFeatureFile feature, CSFeatureFile.Scenario scenario) {
+        String featureName = feature.getName();
+        if (featureName == null || featureName.trim().isEmpty()) {
+            featureName = "Unnamed Feature";
+        }
+        return featureName + " - " + scenario.getName();
+    }
+
+    /**
+     * Greedy list scheduling: each scenario goes to the worker that becomes free first
+     */
+    private long[] simulate(List<Object[]> ordered) {
+        PriorityQueue<long[]> free = new PriorityQueue<>(Comparator.comparingLong((long[] w) -> w[0]));
+        for (int i = 0; i < workers; i++) {
+            free.add(new long[]{0, i});
+        }
+        for (Object[] row : ordered) {
+            long[] worker = free.poll();
+            worker[0] += getEstimate((CSFeatureFile.Scenario) row[2]);
+            free.add(worker);
+        }
+        long[] loads = new long[workers];
+        for (long[] worker : free) {
+            loads[(int) worker[1]] = worker[0];
+        }
+        return loads;
+    }
+}
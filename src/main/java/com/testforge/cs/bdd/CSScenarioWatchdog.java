@@ -0,0 +1,296 @@
+package com.testforge.cs.bdd;
+
+import com.testforge.cs.config.CSConfigManager;
+import com.testforge.cs.logging.CSEventLog;
+import com.testforge.cs.screenshot.CSScreenshotUtils;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Enforces per-scenario and per-step wall-clock budgets
+ * Workers register each scenario and step; a single daemon thread checks the deadlines. When a
+ * budget is exceeded the watchdog saves diagnostics (thread dump, screenshot, current step),
+ * quits the worker's browser so a hung WebDriver command returns, and interrupts the worker.
+ * The runner then fails the scenario and starts the next one on a fresh browser.
+ *
+ * Budgets: cs.scenario.timeout.seconds (per scenario), cs.step.timeout.seconds (per step), the
+ * scenario budget overridden by a @timeout:&lt;seconds&gt; tag. 0 (the default) disables a budget.
+ */
+public class CSScenarioWatchdog {
+    private static final Logger logger = LoggerFactory.getLogger(CSScenarioWatchdog.class);
+    private static final Pattern TIMEOUT_TAG = Pattern.compile("@timeout[:-](\\d+)", Pattern.CASE_INSENSITIVE);
+
+    private static volatile CSScenarioWatchdog instance;
+    private static final ThreadLocal<Watch> currentWatch = new ThreadLocal<>();
+
+    private final Map<Thread, Watch> watches = new ConcurrentHashMap<>();
+    private final long scenarioBudgetMillis;
+    private final long stepBudgetMillis;
+    private final long pollMillis;
+    private final Path diagnosticsDirectory;
+    private final long diagnosticsTimeoutMillis = 10000;
+    private ScheduledExecutorService checker;
+
+    public CSScenarioWatchdog(long scenarioBudgetMillis, long stepBudgetMillis, long pollMillis, Path diagnosticsDirectory) {
+        this.scenarioBudgetMillis = scenarioBudgetMillis;
+        this.stepBudgetMillis = stepBudgetMillis;
+        this.pollMillis = Math.max(10, pollMillis);
+        this.diagnosticsDirectory = diagnosticsDirectory;
+    }
+
+    /**
+     * Shared watchdog configured from cs.scenario.timeout.seconds, cs.step.timeout.seconds and cs.watchdog.*
+     */
+    public static CSScenarioWatchdog getInstance() {
+        if (instance == null) {
+            synchronized (CSScenarioWatchdog.class) {
+                if (instance == null) {
+                    CSConfigManager config = CSConfigManager.getInstance();
+                    instance = new CSScenarioWatchdog(
+                        config.getInt("cs.scenario.timeout.seconds", 0) * 1000L,
+                        config.getInt("cs.step.timeout.seconds", 0) * 1000L,
+                        config.getInt("cs.watchdog.poll.ms", 1000),
+                        Paths.get(config.getProperty("cs.watchdog.diagnostics.directory", "target/watchdog")));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Longest a scenario without a @timeout tag can hold its worker: the scenario budget plus the
+     * time allowed for diagnostics, 0 when scenarios are not bounded
+     */
+    public long getMaxScenarioMillis() {
+        return scenarioBudgetMillis > 0 ? scenarioBudgetMillis + diagnosticsTimeoutMillis : 0;
+    }
+
+    /**
+     * Watch of the scenario running on the current thread, or null
+     */
+    public static Watch current() {
+        return currentWatch.get();
+    }
+
+    /**
+     * Start watching the scenario on the current thread
+     *
+     * @param tags scenario tags - @timeout:&lt;seconds&gt; overrides the scenario budget
+     */
+    public Watch start(String scenarioName, List<String> tags, WebDriver driver) {
+        long budget = scenarioBudgetMillis;
+        if (tags != null) {
+            for (String tag : tags) {
+                Matcher matcher = TIMEOUT_TAG.matcher(tag);
+                if (matcher.matches()) {
+                    budget = Long.parseLong(matcher.group(1)) * 1000L;
+                }
+            }
+        }
+        Watch watch = new Watch(scenarioName, Thread.currentThread(), driver, budget);
+        currentWatch.set(watch);
+        if (budget > 0 || stepBudgetMillis > 0) {
+            ensureChecker();
+            watches.put(watch.thread, watch);
+        }
+        return watch;
+    }
+
+    private synchronized void ensureChecker() {
+        if (checker == null) {
+            checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "cs-scenario-watchdog");
+                thread.setDaemon(true);
+                return thread;
+            });
+            checker.scheduleWithFixedDelay(this::check, pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void check() {
+        long now = System.currentTimeMillis();
+        for (Watch watch : watches.values()) {
+            String reason = watch.overrun(now);
+            if (reason != null) {
+                expire(watch, reason);
+            }
+        }
+    }
+
+    /**
+     * Record diagnostics, recycle the browser and interrupt the worker
+     */
+    private void expire(Watch watch, String reason) {
+        synchronized (watch) {
+            if (watch.closed) {
+                return;
+            }
+            watch.expiredReason = reason;
+        }
+        watches.remove(watch.thread, watch);
+        logger.error("[WATCHDOG] {} - interrupting {}", reason, watch.thread.getName());
+        CSEventLog.event(CSEventLog.Category.RUNNER, CSEventLog.Level.ERROR, "scenario.timeout",
+            "scenario", watch.scenarioName, "step", watch.currentStep, "reason", reason, "thread", watch.thread.getName());
+
+        try {
+            Path directory = diagnosticsDirectory.resolve(
+                watch.scenarioName.replaceAll("[^A-Za-z0-9._-]", "_") + "_" + System.currentTimeMillis());
+            Files.createDirectories(directory);
+            Files.write(directory.resolve("diagnostics.txt"), describe(watch, reason).getBytes(StandardCharsets.UTF_8));
+            if (watch.driver != null) {
+                // A hung browser can hang the screenshot too - bound it
+                byte[] screenshot = runBounded(() -> CSScreenshotUtils.captureScreenshot(watch.driver));
+                if (screenshot != null && screenshot.length > 0) {
+                    Files.write(directory.resolve("screenshot.png"), screenshot);
+                }
+            }
+            watch.diagnosticsPath = directory.toString();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("[WATCHDOG] Failed to save diagnostics: {}", e.getMessage());
+        }
+
+        // Quitting the session makes the blocked WebDriver call fail; interrupt covers sleeps and waits
+        if (watch.driver != null) {
+            runBounded(() -> {
+                watch.driver.quit();
+                return null;
+            });
+        }
+        synchronized (watch) {
+            // The worker may have finished meanwhile - never interrupt its next scenario
+            if (!watch.closed) {
+                watch.thread.interrupt();
+            }
+        }
+    }
+
+    private <T> T runBounded(Callable<T> action) {
+        ExecutorService helper = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cs-watchdog-helper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            return helper.submit(action).get(diagnosticsTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            logger.warn("[WATCHDOG] Diagnostic action did not complete: {}", e.toString());
+            return null;
+        } finally {
+            helper.shutdownNow();
+        }
+    }
+
+    private String describe(Watch watch, String reason) {
+        StringBuilder text = new StringBuilder();
+        text.append("Reason: ").append(reason).append('\n');
+        text.append("Scenario: ").append(watch.scenarioName).append('\n');
+        text.append("Current step: ").append(watch.currentStep).append('\n');
+        text.append("Worker thread: ").append(watch.thread.getName()).append('\n');
+        text.append("\n=== Worker stack ===\n");
+        for (StackTraceElement element : watch.thread.getStackTrace()) {
+            text.append("    at ").append(element).append('\n');
+        }
+        text.append("\n=== All threads ===\n");
+        for (ThreadInfo info : ManagementFactory.getThreadMXBean().dumpAllThreads(true, true)) {
+            text.append(info);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Budget tracking for one scenario on one worker thread
+     */
+    public final class Watch implements AutoCloseable {
+        private final String scenarioName;
+        private final Thread thread;
+        private final WebDriver driver;
+        private final long scenarioDeadline;
+        private volatile String currentStep;
+        private volatile long stepDeadline;
+        private volatile String expiredReason;
+        private volatile String diagnosticsPath;
+        private boolean closed;
+
+        private Watch(String scenarioName, Thread thread, WebDriver driver, long budgetMillis) {
+            this.scenarioName = scenarioName;
+            this.thread = thread;
+            this.driver = driver;
+            this.scenarioDeadline = budgetMillis > 0 ? System.currentTimeMillis() + budgetMillis : 0;
+        }
+
+        /**
+         * Record the step now executing and start its budget
+         */
+        public void stepStarted(String stepText) {
+            currentStep = stepText;
+            stepDeadline = stepBudgetMillis > 0 ? System.currentTimeMillis() + stepBudgetMillis : 0;
+        }
+
+        public void stepFinished() {
+            stepDeadline = 0;
+        }
+
+        /**
+         * Whether the budget was exceeded - the scenario must stop
+         */
+        public boolean isExpired() {
+            return expiredReason != null;
+        }
+
+        public String getExpiredReason() {
+            return expiredReason;
+        }
+
+        /**
+         * Folder with thread dump and screenshot, null if none was written
+         */
+        public String getDiagnosticsPath() {
+            return diagnosticsPath;
+        }
+
+        private String overrun(long now) {
+            if (scenarioDeadline > 0 && now > scenarioDeadline) {
+                return "Scenario '" + scenarioName + "' exceeded its time budget during step '" + currentStep + "'";
+            }
+            long step = stepDeadline;
+            if (step > 0 && now > step) {
+                return "Step '" + currentStep + "' exceeded its " + stepBudgetMillis + "ms budget";
+            }
+            return null;
+        }
+
+        /**
+         * Stop watching; clears a pending interrupt so it doesn't leak into the next scenario
+         */
+        @Override
+        public void close() {
+            watches.remove(thread, this);
+            currentWatch.remove();
+            synchronized (this) {
+                closed = true;
+                if (isExpired()) {
+                    Thread.interrupted();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.testforge.cs.bdd;
+
+import com.testforge.cs.config.CSConfigManager;
+import com.testforge.cs.exceptions.CSConfigurationException;
+import com.testforge.cs.reporting.CSTestDurationHistory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deterministic partitioning of discovered scenarios across K worker processes
+ * Every shard sees the same scenario list and keeps only its own part, so shards need no
+ * coordination. Strategies:
+ * - index: round-robin over the scenarios sorted by feature file, name and data row
+ * - cost:  greedy balancing of historical durations (longest first, to the lightest shard)
+ * - tag:   scenarios sharing their first tag (or feature file when untagged) stay on one shard,
+ *          groups are balanced by cost
+ */
+public class CSShardPartitioner {
+    private static final Logger logger = LoggerFactory.getLogger(CSShardPartitioner.class);
+
+    public enum Strategy { INDEX, COST, TAG }
+
+    private final int shardIndex;
+    private final int shardCount;
+    private final Strategy strategy;
+
+    public CSShardPartitioner(int shardIndex, int shardCount, Strategy strategy) {
+        if (shardCount < 1 || shardIndex < 0 || shardIndex >= shardCount) {
+            throw new CSConfigurationException("Invalid shard " + shardIndex + " of " + shardCount +
+                " - cs.shard.index must be between 0 and cs.shard.count - 1");
+        }
+        this.shardIndex = shardIndex;
+        this.shardCount = shardCount;
+        this.strategy = strategy;
+    }
+
+    /**
+     * Create partitioner from cs.shard.index, cs.shard.count and cs.shard.strategy
+     */
+    public static CSShardPartitioner fromConfig() {
+        CSConfigManager config = CSConfigManager.getInstance();
+        String strategy = config.getProperty("cs.shard.strategy", "index").trim().toUpperCase();
+        try {
+            return new CSShardPartitioner(config.getInt("cs.shard.index", 0), config.getInt("cs.shard.count", 1),
+                Strategy.valueOf(strategy));
+        } catch (IllegalArgumentException e) {
+            throw new CSConfigurationException("Unknown cs.shard.strategy: " + strategy + " (use index, cost or tag)");
+        }
+    }
+
+    /**
+     * Whether more than one shard is configured
+     */
+    public boolean isEnabled() {
+        return shardCount > 1;
+    }
+
+    /**
+     * Keep the test data rows ({featureFile, feature, scenario}) that belong to this shard
+     * Discovery order is kept within the shard.
+     */
+    public List<Object[]> select(List<Object[]> testData, CSTestDurationHistory history) {
+        if (!isEnabled()) {
+            return testData;
+        }
+
+        // Sort on a stable key so every process sees the same sequence regardless of file system order
+        List<Object[]> sorted = new ArrayList<>(testData);
+        sorted.sort(Comparator.comparing(CSShardPartitioner::keyOf));
+
+        Map<Object[], Integer> assignment = new IdentityHashMap<>();
+        switch (strategy) {
+            case INDEX:
+                for (int i = 0; i < sorted.size(); i++) {
+                    assignment.put(sorted.get(i), i % shardCount);
+                }
+                break;
+            case COST:
+                List<List<Object[]>> singles = new ArrayList<>();
+                for (Object[] row : sorted) {
+                    List<Object[]> single = new ArrayList<>();
+                    single.add(row);
+                    singles.add(single);
+                }
+                balance(singles, history, assignment);
+                break;
+            case TAG:
+                Map<String, List<Object[]>> groups = new LinkedHashMap<>();
+                for (Object[] row : sorted) {
+                    groups.computeIfAbsent(groupOf(row), k -> new ArrayList<>()).add(row);
+                }
+                balance(new ArrayList<>(groups.values()), history, assignment);
+                break;
+        }
+
+        List<Object[]> selected = new ArrayList<>();
+        for (Object[] row : testData) {
+            if (assignment.get(row) == shardIndex) {
+                selected.add(row);
+            }
+        }
+        logger.info("Shard {} of {} ({} strategy) runs {} of {} scenarios",
+            shardIndex, shardCount, strategy.name().toLowerCase(), selected.size(), testData.size());
+        return selected;
+    }
+
+    public int getShardIndex() {
+        return shardIndex;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Longest group first onto the least loaded shard; unknown durations count as the average
+     */
+    private void balance(List<List<Object[]>> groups, CSTestDurationHistory history, Map<Object[], Integer> assignment) {
+        long knownTotal = 0;
+        int knownCount = 0;
+        Map<Object[], Long> estimates = new IdentityHashMap<>();
+        for (List<Object[]> group : groups) {
+            for (Object[] row : group) {
+                long estimate = history.getEstimate(CSScenarioScheduler.nameOf((CSFeatureFile) row[1], (CSFeatureFile.Scenario) row[2]));
+                estimates.put(row, estimate);
+                if (estimate >= 0) {
+                    knownTotal += estimate;
+                    knownCount++;
+                }
+            }
+        }
+        long fallback = knownCount > 0 ? knownTotal / knownCount : 1;
+
+        List<long[]> costs = new ArrayList<>();
+        for (int i = 0; i < groups.size(); i++) {
+            long cost = 0;
+            for (Object[] row : groups.get(i)) {
+                long estimate = estimates.get(row);
+                cost += estimate >= 0 ? estimate : fallback;
+            }
+            costs.add(new long[]{cost, i});
+        }
+        // Stable: equal costs keep the sorted key order, so the result is identical in every process
+        costs.sort(Comparator.comparingLong((long[] c) -> -c[0]));
+
+        long[] loads = new long[shardCount];
+        for (long[] cost : costs) {
+            int target = 0;
+            for (int shard = 1; shard < shardCount; shard++) {
+                if (loads[shard] < loads[target]) {
+                    target = shard;
+                }
+            }
+            loads[target] += cost[0];
+            for (Object[] row : groups.get((int) cost[1])) {
+                assignment.put(row, target);
+            }
+        }
+        logger.debug("Estimated shard loads: {}", Arrays.toString(loads));
+    }
+
+    private static String keyOf(Object[] row) {
+        CSFeatureFile.Scenario scenario = (CSFeatureFile.Scenario) row[2];
+        String file = String.valueOf(row[0]).replace('\\', '/');
+        return file + "|" + scenario.getName() + "|" + (scenario.getDataRow() != null ? scenario.getDataRow() : "");
+    }
+
+    private static String groupOf(Object[] row) {
+        CSFeatureFile feature = (CSFeatureFile) row[1];
+        CSFeatureFile.Scenario scenario = (CSFeatureFile.Scenario) row[2];
+        if (scenario.getTags() != null && !scenario.getTags().isEmpty()) {
+            return scenario.getTags().get(0);
+        }
+        if (feature.getTags() != null && !feature.getTags().isEmpty()) {
+            return feature.getTags().get(0);
+        }
+        return String.valueOf(row[0]);
+    }
+}
@@ -2,6 +2,7 @@ package com.testforge.cs.bdd;
 
 import com.testforge.cs.annotations.CSStep;
 import com.testforge.cs.exceptions.CSBddException;
+import com.testforge.cs.reporting.CSPhaseProfiler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -220,16 +221,18 @@ public class CSStepRegistry {
      * Find matching step definition
      */
     public CSStepDefinition findStep(String stepText, CSStepDefinition.StepType preferredType) {
-        // Since all steps are now ANY type, we just need to find a matching pattern
-        for (List<CSStepDefinition> definitions : stepDefinitions.values()) {
-            for (CSStepDefinition def : definitions) {
-                if (def.matches(stepText)) {
-                    return def;
+        try (CSPhaseProfiler.Scope ignored = CSPhaseProfiler.begin(CSPhaseProfiler.Phase.STEP_LOOKUP)) {
+            // Since all steps are now ANY type, we just need to find a matching pattern
+            for (List<CSStepDefinition> definitions : stepDefinitions.values()) {
+                for (CSStepDefinition def : definitions) {
+                    if (def.matches(stepText)) {
+                        return def;
+                    }
                 }
             }
+            
+            return null;
         }
-        
-        return null;
     }
     
     /**
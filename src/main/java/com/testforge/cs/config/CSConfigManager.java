@@ -113,7 +113,8 @@ public class CSConfigManager {
             return;
         }
         
-        // Process each path (comma-separated)
+        // Collect repository files in load order (comma-separated paths)
+        List<Path> sources = new ArrayList<>();
         String[] paths = repositoryPaths.split(",");
         for (String path : paths) {
             path = path.trim();
@@ -129,45 +130,115 @@ public class CSConfigManager {
             if (pathFile.isFile()) {
                 // It's a file - load it directly
                 if (path.endsWith(".properties")) {
-                    loadPropertiesFromFile(path);
-                    logger.info("Loaded object repository file: {}", path);
+                    sources.add(pathFile.toPath());
+                    logger.info("Loading object repository file: {}", path);
                 } else {
                     logger.warn("Skipping non-properties file: {}", path);
                 }
             } else if (pathFile.isDirectory()) {
                 // It's a directory - load all properties files recursively
-                loadRepositoryFilesFromFolderRecursively(pathFile);
-                logger.info("Loaded all repositories from directory: {}", path);
+                collectRepositoryFilesRecursively(pathFile, sources);
+                logger.info("Loading all repositories from directory: {}", path);
             }
         }
         
+        if (sources.isEmpty()) {
+            logger.info("No object repository files found in: {}", repositoryPaths);
+            return;
+        }
+        
+        // Use the compiled snapshot when none of the sources changed since it was written
+        boolean snapshotEnabled = Boolean.parseBoolean(
+            mergedProperties.getProperty("cs.object.repository.snapshot.enabled", "true"));
+        Path snapshotFile = Paths.get(mergedProperties.getProperty(
+            "cs.object.repository.snapshot.path", "target/cs-cache/object-repository.snapshot"));
+        
+        List<Properties> parsed = null;
+        boolean fromSnapshot = false;
+        if (snapshotEnabled) {
+            List<Map<String, String>> compiled = CSRepositorySnapshot.load(snapshotFile, sources);
+            if (compiled != null) {
+                parsed = new ArrayList<>(compiled.size());
+                for (Map<String, String> entries : compiled) {
+                    Properties props = new Properties();
+                    props.putAll(entries);
+                    parsed.add(props);
+                }
+                fromSnapshot = true;
+            }
+        }
+        
+        if (parsed == null) {
+            // Parse files in parallel, then merge in source order so later files still override earlier ones
+            parsed = sources.parallelStream()
+                .map(this::readPropertiesFile)
+                .collect(Collectors.toList());
+        }
+        
+        // Both paths fill the per-file cache and merge the same way
+        Map<String, String> merged = new LinkedHashMap<>();
+        List<Map<String, String>> perSource = new ArrayList<>(sources.size());
+        for (int i = 0; i < sources.size(); i++) {
+            Properties props = parsed.get(i);
+            if (props != null) {
+                propertiesCache.put(sources.get(i).toString(), props);
+                Map<String, String> entries = new LinkedHashMap<>();
+                props.forEach((key, value) -> entries.put(key.toString(), value.toString()));
+                merged.putAll(entries);
+                perSource.add(entries);
+                logger.debug("Loaded repository from: {}", sources.get(i));
+            }
+        }
+        mergedProperties.putAll(merged);
+        
+        if (fromSnapshot) {
+            logger.info("Loaded {} object repository entries from compiled snapshot: {}", merged.size(), snapshotFile);
+        } else if (snapshotEnabled && perSource.size() == sources.size()) {
+            // Only snapshot a complete read, so an unreadable file is retried next start
+            CSRepositorySnapshot.write(snapshotFile, sources, perSource);
+        }
+        
         // Log summary
-        logger.info("Object repository loading complete. Total properties loaded: {}", mergedProperties.size());
+        logger.info("Object repository loading complete. Files: {}, total properties loaded: {}", 
+            sources.size(), mergedProperties.size());
     }
     
     /**
-     * Recursively load all .properties files from a folder and its subfolders
+     * Recursively collect all .properties files from a folder and its subfolders
      */
-    private void loadRepositoryFilesFromFolderRecursively(File folder) {
+    private void collectRepositoryFilesRecursively(File folder, List<Path> sources) {
         if (folder == null || !folder.exists() || !folder.isDirectory()) {
             return;
         }
         
         File[] files = folder.listFiles();
         if (files == null) return;
+        Arrays.sort(files);
         
         for (File file : files) {
             if (file.isDirectory()) {
                 // Recursively process subdirectories
-                loadRepositoryFilesFromFolderRecursively(file);
+                collectRepositoryFilesRecursively(file, sources);
             } else if (file.isFile() && file.getName().endsWith(".properties")) {
-                // Load properties file
-                loadPropertiesFromFile(file.getPath());
-                logger.debug("Loaded repository from: {}", file.getPath());
+                sources.add(file.toPath());
             }
         }
     }
     
+    /**
+     * Read a single properties file; returns null if it cannot be read
+     */
+    private Properties readPropertiesFile(Path path) {
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            Properties props = new Properties();
+            props.load(inputStream);
+            return props;
+        } catch (IOException e) {
+            logger.warn("Could not load properties from file: {}", path);
+            return null;
+        }
+    }
+    
     /**
      * Load environment-specific configurations
      */
@@ -0,0 +1,161 @@
+package com.testforge.cs.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled binary snapshot of object repository properties
+ * The snapshot stores the key/value pairs of every source file together with its path, size
+ * and modification time. At the next start the file is read in one go and used directly when
+ * all sources are unchanged, skipping properties parsing. It is read into the heap rather than
+ * memory-mapped, because a live mapping locks the file on Windows and the next write could not
+ * replace it.
+ *
+ * Layout: magic, version, source count, (path, size, mtime, entry count, (key, value)*)*
+ * Strings are stored as int length + UTF-8 bytes.
+ */
+public final class CSRepositorySnapshot {
+    private static final Logger logger = LoggerFactory.getLogger(CSRepositorySnapshot.class);
+
+    private static final int MAGIC = 0x43534F52; // "CSOR"
+    private static final int VERSION = 2;
+
+    private CSRepositorySnapshot() {
+        // Utility class
+    }
+
+    /**
+     * Load snapshot if it exists and matches the given source files
+     *
+     * @return entries of each source in source order, or null if the snapshot is missing or stale
+     */
+    public static List<Map<String, String>> load(Path snapshotFile, List<Path> sources) {
+        if (!Files.isRegularFile(snapshotFile)) {
+            return null;
+        }
+
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(snapshotFile));
+
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                logger.debug("Ignoring repository snapshot with unknown format: {}", snapshotFile);
+                return null;
+            }
+
+            int sourceCount = buffer.getInt();
+            if (sourceCount != sources.size()) {
+                return null;
+            }
+            List<Map<String, String>> perSource = new ArrayList<>(sourceCount);
+            for (Path source : sources) {
+                String path = readString(buffer);
+                long size = buffer.getLong();
+                long modified = buffer.getLong();
+                if (!path.equals(source.toString())
+                        || size != Files.size(source)
+                        || modified != Files.getLastModifiedTime(source).toMillis()) {
+                    logger.debug("Repository source changed since snapshot: {}", source);
+                    return null;
+                }
+
+                int entryCount = buffer.getInt();
+                if (entryCount < 0) {
+                    throw new IllegalArgumentException("Corrupt entry count: " + entryCount);
+                }
+                Map<String, String> entries = new LinkedHashMap<>(Math.max(16, entryCount * 4 / 3 + 1));
+                for (int i = 0; i < entryCount; i++) {
+                    String key = readString(buffer);
+                    entries.put(key, readString(buffer));
+                }
+                perSource.add(entries);
+            }
+            return perSource;
+
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            logger.debug("Could not read repository snapshot {}: {}", snapshotFile, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Write snapshot atomically (temp file + move) so concurrent JVMs never read a partial file
+     */
+    public static void write(Path snapshotFile, List<Path> sources, List<Map<String, String>> perSource) {
+        if (perSource.size() != sources.size()) {
+            throw new IllegalArgumentException("Expected entries for " + sources.size() + " sources, got " + perSource.size());
+        }
+        int entryTotal = 0;
+        Path tempFile = null;
+        try {
+            Path parent = snapshotFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            tempFile = Files.createTempFile(parent, snapshotFile.getFileName().toString(), ".tmp");
+
+            try (OutputStream fileOut = Files.newOutputStream(tempFile);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+
+                out.writeInt(sources.size());
+                for (int i = 0; i < sources.size(); i++) {
+                    Path source = sources.get(i);
+                    writeString(out, source.toString());
+                    out.writeLong(Files.size(source));
+                    out.writeLong(Files.getLastModifiedTime(source).toMillis());
+
+                    Map<String, String> entries = perSource.get(i);
+                    out.writeInt(entries.size());
+                    for (Map.Entry<String, String> entry : entries.entrySet()) {
+                        writeString(out, entry.getKey());
+                        writeString(out, entry.getValue());
+                    }
+                    entryTotal += entries.size();
+                }
+            }
+
+            Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.debug("Wrote repository snapshot with {} entries to {}", entryTotal, snapshotFile);
+
+        } catch (IOException e) {
+            logger.warn("Could not write repository snapshot {}: {}", snapshotFile, e.getMessage());
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException ignored) {
+                    // Best effort cleanup
+                }
+            }
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Corrupt string length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+}
@@ -5,10 +5,13 @@ import com.testforge.cs.annotations.CSPage;
 import com.testforge.cs.config.CSConfigManager;
 import com.testforge.cs.driver.CSWebDriverManager;
 import com.testforge.cs.elements.CSElement;
+import com.testforge.cs.elements.CSFormFiller;
 import com.testforge.cs.exceptions.CSElementNotFoundException;
 import com.testforge.cs.exceptions.CSFrameworkException;
 import com.testforge.cs.factory.CSPageFactory;
+import com.testforge.cs.locators.CSLocatorRegistry;
 import com.testforge.cs.reporting.CSReportManager;
+import com.testforge.cs.waits.CSProfiledWait;
 import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.*;
@@ -67,7 +70,7 @@ public abstract class CSBasePage {
                 this.driver != null ? this.driver.getClass().getSimpleName() : "null",
                 currentDriver.getClass().getSimpleName());
             this.driver = currentDriver;
-            this.wait = new WebDriverWait(driver, Duration.ofSeconds(config.getIntProperty("cs.browser.explicit.wait", 30)));
+            this.wait = new CSProfiledWait(driver, Duration.ofSeconds(config.getIntProperty("cs.browser.explicit.wait", 30)));
             this.jsExecutor = (JavascriptExecutor) driver;
             this.actions = new Actions(driver);
         }
@@ -135,7 +138,7 @@ public abstract class CSBasePage {
         if (!locator.locatorKey().isEmpty()) {
             String repoValue = config.getProperty(locator.locatorKey());
             if (repoValue != null) {
-                return parseLocatorString(repoValue);
+                return CSLocatorRegistry.getBy(repoValue);
             }
             throw new CSFrameworkException("Locator key not found in repository: " + locator.locatorKey());
         }
@@ -168,41 +171,12 @@ public abstract class CSBasePage {
         
         // Check value field as fallback
         if (!locator.value().isEmpty()) {
-            return parseLocatorString(locator.value());
+            return CSLocatorRegistry.getBy(locator.value());
         }
         
         throw new CSFrameworkException("No locator strategy defined in @CSLocator annotation");
     }
     
-    /**
-     * Parse locator string to determine type
-     */
-    private By parseLocatorString(String locatorStr) {
-        if (locatorStr.startsWith("id:")) {
-            return By.id(locatorStr.substring(3));
-        } else if (locatorStr.startsWith("name:")) {
-            return By.name(locatorStr.substring(5));
-        } else if (locatorStr.startsWith("css:")) {
-            return By.cssSelector(locatorStr.substring(4));
-        } else if (locatorStr.startsWith("xpath:")) {
-            return By.xpath(locatorStr.substring(6));
-        } else if (locatorStr.startsWith("class:")) {
-            return By.className(locatorStr.substring(6));
-        } else if (locatorStr.startsWith("tag:")) {
-            return By.tagName(locatorStr.substring(4));
-        } else if (locatorStr.startsWith("link:")) {
-            return By.linkText(locatorStr.substring(5));
-        } else if (locatorStr.startsWith("partialLink:")) {
-            return By.partialLinkText(locatorStr.substring(12));
-        } else if (locatorStr.startsWith("//") || locatorStr.contains("[")) {
-            return By.xpath(locatorStr);
-        } else if (locatorStr.startsWith("#") || locatorStr.contains(".") || locatorStr.contains(":")) {
-            return By.cssSelector(locatorStr);
-        } else {
-            return By.id(locatorStr);
-        }
-    }
-    
     // ===== Navigation Methods =====
     
     public void navigateTo(String url) {
@@ -337,7 +311,7 @@ public abstract class CSBasePage {
         WebDriver currentDriver = getDriver();
         if (currentDriver != null) {
             this.driver = currentDriver;
-            this.wait = new WebDriverWait(currentDriver, Duration.ofSeconds(config.getIntProperty("cs.browser.explicit.wait", 30)));
+            this.wait = new CSProfiledWait(currentDriver, Duration.ofSeconds(config.getIntProperty("cs.browser.explicit.wait", 30)));
             this.jsExecutor = (JavascriptExecutor) currentDriver;
             this.actions = new Actions(currentDriver);
             
@@ -358,13 +332,13 @@ public abstract class CSBasePage {
      * Find element using locator string and description
      */
     public CSElement findElement(String locatorString, String description) {
-        By by = parseLocatorString(locatorString);
+        By by = CSLocatorRegistry.getBy(locatorString);
         return new CSElement(getDriver(), by, description);
     }
     
     public WebElement findElement(By by, int timeoutSeconds) {
         try {
-            WebDriverWait customWait = new WebDriverWait(getDriver(), Duration.ofSeconds(timeoutSeconds));
+            WebDriverWait customWait = new CSProfiledWait(getDriver(), Duration.ofSeconds(timeoutSeconds));
             return customWait.until(ExpectedConditions.presenceOfElementLocated(by));
         } catch (TimeoutException e) {
             throw new CSElementNotFoundException(by.toString(), timeoutSeconds, e);
@@ -393,7 +367,7 @@ public abstract class CSBasePage {
     }
     
     public void waitForPageLoad(int timeoutSeconds) {
-        WebDriverWait pageWait = new WebDriverWait(getDriver(), Duration.ofSeconds(timeoutSeconds));
+        WebDriverWait pageWait = new CSProfiledWait(getDriver(), Duration.ofSeconds(timeoutSeconds));
         pageWait.until(driver -> getJsExecutor().executeScript("return document.readyState").equals("complete"));
     }
     
@@ -402,7 +376,7 @@ public abstract class CSBasePage {
     }
     
     public void waitForAjax(int timeoutSeconds) {
-        WebDriverWait ajaxWait = new WebDriverWait(getDriver(), Duration.ofSeconds(timeoutSeconds));
+        WebDriverWait ajaxWait = new CSProfiledWait(getDriver(), Duration.ofSeconds(timeoutSeconds));
         ajaxWait.until(driver -> {
             Boolean jQueryDone = (Boolean) getJsExecutor().executeScript("return jQuery.active == 0");
             Boolean jsReady = (Boolean) getJsExecutor().executeScript("return document.readyState == 'complete'");
@@ -451,12 +425,12 @@ public abstract class CSBasePage {
     }
     
     public <T> T waitForCondition(Function<WebDriver, T> condition, int timeoutSeconds) {
-        WebDriverWait customWait = new WebDriverWait(getDriver(), Duration.ofSeconds(timeoutSeconds));
+        WebDriverWait customWait = new CSProfiledWait(getDriver(), Duration.ofSeconds(timeoutSeconds));
         return customWait.until(condition);
     }
     
     public void waitForJavaScriptCondition(String script, int timeoutSeconds) {
-        WebDriverWait jsWait = new WebDriverWait(getDriver(), Duration.ofSeconds(timeoutSeconds));
+        WebDriverWait jsWait = new CSProfiledWait(getDriver(), Duration.ofSeconds(timeoutSeconds));
         jsWait.until(driver -> (Boolean) getJsExecutor().executeScript(script));
     }
     
@@ -528,6 +502,16 @@ public abstract class CSBasePage {
         logger.info("Selected index {} from dropdown: {}", index, by);
     }
     
+    /**
+     * Start a batch form fill - queued fields are validated up front and applied
+     * with as few driver round trips as possible, keeping per-field reporting.
+     * Example: fillForm().type(firstName, "John").select(country, "India").check(terms).execute()
+     */
+    public CSFormFiller fillForm() {
+        getDriver(); // Ensures driver is available for this thread
+        return new CSFormFiller();
+    }
+    
     // ===== Mouse Actions =====
     
     public void hoverOver(By by) {
@@ -24,7 +24,6 @@ import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
-import java.util.regex.Pattern;
 
 /**
  * Base test class for all test classes
@@ -483,7 +482,9 @@ public abstract class CSBaseTest {
                 if (query == null) {
                     query = dataSource.source();
                 }
-                List<Map<String, Object>> dbData = CSDbUtils.executeQuery(dataSource.database(), query);
+                // Equality conditions of the filter are pushed into the query; applyFilter below still decides
+                List<Map<String, Object>> dbData = CSDbUtils.executeFilteredQuery(
+                    dataSource.database(), query, CSDataFilter.parse(dataSource.filter()));
                 // Convert List<Map<String, Object>> to List<Map<String, String>>
                 data = dbData.stream()
                     .map(map -> {
@@ -729,84 +730,14 @@ public abstract class CSBaseTest {
         }
         
         try {
-            // Parse and apply filter expressions
-            String[] conditions = filter.split("\\s+AND\\s+", -1);
-            
-            return data.stream()
-                .filter(row -> {
-                    for (String condition : conditions) {
-                        if (!evaluateCondition(row, condition.trim())) {
-                            return false;
-                        }
-                    }
-                    return true;
-                })
-                .collect(Collectors.toList());
+            // Compiled once, then evaluated per row (in parallel for large sources)
+            return CSDataFilter.parse(filter).apply(data);
         } catch (Exception e) {
             logger.warn("Failed to apply filter: {}. Returning unfiltered data.", filter, e);
             return data;
         }
     }
     
-    /**
-     * Evaluate a single filter condition
-     */
-    private boolean evaluateCondition(Map<String, String> row, String condition) {
-        // Support operators: =, !=, >, <, >=, <=, ~(contains), !~(not contains)
-        String[] operators = {"!=", ">=", "<=", "!~", "=", ">", "<", "~"};
-        
-        for (String op : operators) {
-            if (condition.contains(op)) {
-                String[] parts = condition.split(Pattern.quote(op), 2);
-                if (parts.length == 2) {
-                    String field = parts[0].trim();
-                    String value = parts[1].trim().replaceAll("^['\"]|['\"]$", ""); // Remove quotes
-                    String actualValue = row.get(field);
-                    
-                    if (actualValue == null) {
-                        return false;
-                    }
-                    
-                    switch (op) {
-                        case "=":
-                            return actualValue.equals(value);
-                        case "!=":
-                            return !actualValue.equals(value);
-                        case ">":
-                            return compareNumeric(actualValue, value) > 0;
-                        case "<":
-                            return compareNumeric(actualValue, value) < 0;
-                        case ">=":
-                            return compareNumeric(actualValue, value) >= 0;
-                        case "<=":
-                            return compareNumeric(actualValue, value) <= 0;
-                        case "~":
-                            return actualValue.toLowerCase().contains(value.toLowerCase());
-                        case "!~":
-                            return !actualValue.toLowerCase().contains(value.toLowerCase());
-                    }
-                }
-                break;
-            }
-        }
-        
-        return false;
-    }
-    
-    /**
-     * Compare values numerically if possible
-     */
-    private int compareNumeric(String actual, String expected) {
-        try {
-            double actualNum = Double.parseDouble(actual);
-            double expectedNum = Double.parseDouble(expected);
-            return Double.compare(actualNum, expectedNum);
-        } catch (NumberFormatException e) {
-            // Fall back to string comparison
-            return actual.compareTo(expected);
-        }
-    }
-    
     /**
      * Convert database data to string maps
      */
@@ -0,0 +1,537 @@
+package com.testforge.cs.database;
+
+import com.testforge.cs.config.CSConfigManager;
+import com.testforge.cs.exceptions.CSDataException;
+import com.testforge.cs.reporting.CSLatencyHistogram;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single registry of JDBC connection pools for the whole JVM
+ * CSDbUtils, CSDatabaseManager, CSQueryManager and database data sources all borrow from here.
+ * A database name is configured with cs.db.&lt;name&gt;.* (type/host/port/name or url), or with the
+ * &lt;name&gt;.db.url/username/password keys when &lt;name&gt;.db.enabled=true; names that resolve to the
+ * same JDBC URL and user share one pool. Each pool records borrow latency, waits and timeouts for the report.
+ *
+ * Every acquire() or register() holds the name until a matching close(); getDataSource() adds one
+ * hold for all implicit users (CSDbUtils, data sources) that lasts until closeAll(). A pool closes
+ * when none of its names is held any more, so one owner closing a name never pulls the pool from
+ * under another.
+ */
+public final class CSConnectionPoolRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(CSConnectionPoolRegistry.class);
+    private static final CSConnectionPoolRegistry instance = new CSConnectionPoolRegistry();
+
+    private final Map<String, Registration> registrations = new ConcurrentHashMap<>();
+    private final Map<String, Pool> poolsByTarget = new ConcurrentHashMap<>();
+
+    private CSConnectionPoolRegistry() {
+    }
+
+    public static CSConnectionPoolRegistry getInstance() {
+        return instance;
+    }
+
+    /**
+     * Pooled data source for a configured database name, created on first use
+     * Implicit users share one hold on the name, released only by closeAll().
+     */
+    public DataSource getDataSource(String dbName) {
+        Registration registration = registrations.get(dbName);
+        if (registration != null && registration.shared) {
+            return registration.pool.dataSource;
+        }
+        return hold(dbName, null, true);
+    }
+
+    /**
+     * Pooled data source for a configured database name; the caller must close(dbName) when done
+     */
+    public DataSource acquire(String dbName) {
+        return hold(dbName, null, false);
+    }
+
+    /**
+     * Register a database with explicit pool settings (joins an existing pool for the same URL and user)
+     * The caller must close(dbName) when done. A name or pool that already exists keeps its settings;
+     * a name registered for another URL or user moves to a pool for the new target, for all its holders.
+     */
+    public DataSource register(String dbName, HikariConfig hikariConfig) {
+        return hold(dbName, hikariConfig, false);
+    }
+
+    private synchronized DataSource hold(String dbName, HikariConfig hikariConfig, boolean shared) {
+        Registration registration = registrations.get(dbName);
+        if (registration == null) {
+            registration = new Registration(poolFor(dbName, hikariConfig != null ? hikariConfig : buildConfig(dbName)));
+            registrations.put(dbName, registration);
+        } else if (hikariConfig != null && !targetOf(hikariConfig).equals(registration.pool.target)) {
+            Pool previous = registration.pool;
+            registration.pool = poolFor(dbName, hikariConfig);
+            logger.warn("Database {} is registered again for {} - moving it from pool {} to pool {}",
+                dbName, hikariConfig.getJdbcUrl(), previous.poolName, registration.pool.poolName);
+            release(dbName, previous);
+        } else if (hikariConfig != null) {
+            warnIfDifferent(dbName, registration.pool, hikariConfig);
+        }
+        if (!shared) {
+            registration.holds++;
+        } else if (!registration.shared) {
+            registration.shared = true;
+            registration.holds++;
+        }
+        return registration.pool.dataSource;
+    }
+
+    private Pool poolFor(String dbName, HikariConfig hikariConfig) {
+        String target = targetOf(hikariConfig);
+        Pool pool = poolsByTarget.get(target);
+        if (pool == null) {
+            if (hikariConfig.getPoolName() == null) {
+                hikariConfig.setPoolName("CS-Pool-" + dbName);
+            }
+            pool = new Pool(target, hikariConfig.getPoolName(), settingsOf(hikariConfig));
+            hikariConfig.setMetricsTrackerFactory(pool::createTracker);
+            applyStatementCache(hikariConfig,
+                CSConfigManager.getInstance().getIntProperty("cs.db.statement.cache.size", 250));
+            try {
+                pool.dataSource = new HikariDataSource(hikariConfig);
+            } catch (RuntimeException e) {
+                throw new CSDataException("Failed to create connection pool for: " + dbName, e);
+            }
+            poolsByTarget.put(target, pool);
+            logger.info("Connection pool {} created for database: {}", pool.poolName, dbName);
+        } else {
+            logger.info("Database {} shares connection pool {}", dbName, pool.poolName);
+            warnIfDifferent(dbName, pool, hikariConfig);
+        }
+        pool.names.add(dbName);
+        return pool;
+    }
+
+    /**
+     * Database a pool connects to; names with the same target share the pool
+     */
+    private static String targetOf(HikariConfig hikariConfig) {
+        return hikariConfig.getJdbcUrl() + "|" + hikariConfig.getUsername();
+    }
+
+    private static void warnIfDifferent(String dbName, Pool pool, HikariConfig requested) {
+        String settings = settingsOf(requested);
+        if (!settings.equals(pool.settings)) {
+            logger.warn("Database {} asks for pool settings [{}] but uses pool {} created with [{}] - keeping the existing settings",
+                dbName, settings, pool.poolName, pool.settings);
+        }
+    }
+
+    /**
+     * Settings a pool is compared by when another name joins it
+     */
+    private static String settingsOf(HikariConfig hikariConfig) {
+        return "maxPoolSize=" + hikariConfig.getMaximumPoolSize()
+            + ", minIdle=" + hikariConfig.getMinimumIdle()
+            + ", connectionTimeout=" + hikariConfig.getConnectionTimeout()
+            + ", idleTimeout=" + hikariConfig.getIdleTimeout()
+            + ", maxLifetime=" + hikariConfig.getMaxLifetime()
+            + ", autoCommit=" + hikariConfig.isAutoCommit()
+            + ", properties=" + new TreeMap<>(hikariConfig.getDataSourceProperties());
+    }
+
+    /**
+     * Whether the database name already has a pool
+     */
+    public boolean isRegistered(String dbName) {
+        return registrations.containsKey(dbName);
+    }
+
+    /**
+     * Hikari data source of a registered database, or null
+     */
+    public HikariDataSource getHikariDataSource(String dbName) {
+        Registration registration = registrations.get(dbName);
+        return registration != null ? registration.pool.dataSource : null;
+    }
+
+    /**
+     * Release one hold on a database name; the name is dropped when it has no holds left and its
+     * pool closes when no other name uses it
+     */
+    public synchronized void close(String dbName) {
+        Registration registration = registrations.get(dbName);
+        if (registration == null) {
+            return;
+        }
+        if (--registration.holds > 0) {
+            logger.debug("Database {} is still held {} time(s) - keeping pool {}", dbName, registration.holds,
+                registration.pool.poolName);
+            return;
+        }
+        registrations.remove(dbName);
+        release(dbName, registration.pool);
+    }
+
+    /**
+     * Detach a name from a pool and close the pool once no name uses it
+     */
+    private void release(String dbName, Pool pool) {
+        pool.names.remove(dbName);
+        if (pool.names.isEmpty()) {
+            poolsByTarget.remove(pool.target);
+            pool.dataSource.close();
+            logger.info("Connection pool {} closed", pool.poolName);
+        }
+    }
+
+    /**
+     * Close every pool, whoever holds it
+     */
+    public synchronized void closeAll() {
+        for (Pool pool : new ArrayList<>(poolsByTarget.values())) {
+            pool.dataSource.close();
+            logger.info("Connection pool {} closed", pool.poolName);
+        }
+        registrations.clear();
+        poolsByTarget.clear();
+    }
+
+    /**
+     * Current metrics of every open pool
+     */
+    public List<PoolMetrics> getMetrics() {
+        Map<Pool, Boolean> seen = new IdentityHashMap<>();
+        List<PoolMetrics> metrics = new ArrayList<>();
+        for (Registration registration : registrations.values()) {
+            Pool pool = registration.pool;
+            if (seen.put(pool, Boolean.TRUE) == null) {
+                metrics.add(pool.snapshot());
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * Pool metrics as flat entries ("db.pool.&lt;pool&gt;" -> summary) for the report environment
+     */
+    public Map<String, String> getMetricsSummary() {
+        Map<String, String> summary = new LinkedHashMap<>();
+        for (PoolMetrics metrics : getMetrics()) {
+            summary.put("db.pool." + metrics.getPoolName(), metrics.toString());
+        }
+        return summary;
+    }
+
+    /**
+     * Pool configuration for a database name
+     */
+    private HikariConfig buildConfig(String dbName) {
+        CSConfigManager config = CSConfigManager.getInstance();
+        String prefix = "cs.db." + dbName + ".";
+        String legacyPrefix = dbName + ".db.";
+        HikariConfig hikariConfig = new HikariConfig();
+
+        if (config.getBoolean(legacyPrefix + "enabled", false) && config.hasProperty(legacyPrefix + "url")) {
+            // <name>.db.* keys, as enabled for CSDatabaseManager
+            hikariConfig.setJdbcUrl(config.getString(legacyPrefix + "url"));
+            hikariConfig.setUsername(config.getString(legacyPrefix + "username"));
+            hikariConfig.setPassword(config.getString(legacyPrefix + "password"));
+            String driverClass = config.getString(legacyPrefix + "driver");
+            if (driverClass != null) {
+                hikariConfig.setDriverClassName(driverClass);
+            }
+            hikariConfig.setMaximumPoolSize(config.getInt(legacyPrefix + "max.pool.size", 10));
+            hikariConfig.setMinimumIdle(config.getInt(legacyPrefix + "min.idle", 2));
+            hikariConfig.setConnectionTimeout(config.getLong(legacyPrefix + "connection.timeout", 30000));
+            hikariConfig.setIdleTimeout(config.getLong(legacyPrefix + "idle.timeout", 600000));
+            hikariConfig.setMaxLifetime(config.getLong(legacyPrefix + "max.lifetime", 1800000));
+            hikariConfig.setLeakDetectionThreshold(config.getLong(legacyPrefix + "leak.detection.threshold", 60000));
+            hikariConfig.setPoolName(dbName + "-pool");
+
+            String additionalProps = config.getString(legacyPrefix + "additional.properties");
+            if (additionalProps != null) {
+                for (String prop : additionalProps.split(";")) {
+                    String[] keyValue = prop.split("=");
+                    if (keyValue.length == 2) {
+                        hikariConfig.addDataSourceProperty(keyValue[0].trim(), keyValue[1].trim());
+                    }
+                }
+            }
+            return hikariConfig;
+        }
+
+        String dbType = config.getProperty(prefix + "type", "postgresql");
+        String url = config.getProperty(prefix + "url", null);
+        if (url == null) {
+            String host = config.getProperty(prefix + "host", "localhost");
+            String port = config.getProperty(prefix + "port", getDefaultPort(dbType));
+            String database = config.getProperty(prefix + "name", "testdb");
+            url = buildJdbcUrl(dbType, host, port, database);
+        }
+        hikariConfig.setJdbcUrl(url);
+        hikariConfig.setUsername(config.getProperty(prefix + "username", "testuser"));
+        hikariConfig.setPassword(config.getProperty(prefix + "password", "testpass"));
+        hikariConfig.setDriverClassName(config.getProperty(prefix + "driver", getDriverClass(dbType)));
+
+        hikariConfig.setPoolName("CS-Pool-" + dbName);
+        hikariConfig.setMaximumPoolSize(config.getIntProperty(prefix + "pool.size",
+            config.getIntProperty("cs.db.connection.pool.size", 10)));
+        hikariConfig.setConnectionTimeout(config.getLongProperty("cs.db.connection.timeout", 30000));
+        hikariConfig.setIdleTimeout(600000);
+        hikariConfig.setMaxLifetime(1800000);
+        hikariConfig.setAutoCommit(true);
+
+        // Let the driver collapse JDBC batches into multi-row statements
+        if (config.getBooleanProperty(prefix + "batch.rewrite",
+                config.getBooleanProperty("cs.db.batch.rewrite", false))) {
+            applyBatchRewrite(hikariConfig, dbType);
+        }
+        return hikariConfig;
+    }
+
+    /**
+     * Build JDBC URL based on database type
+     */
+    private static String buildJdbcUrl(String dbType, String host, String port, String database) {
+        switch (dbType.toLowerCase()) {
+            case "postgresql":
+            case "postgres":
+                return "jdbc:postgresql://" + host + ":" + port + "/" + database;
+            case "mysql":
+                return "jdbc:mysql://" + host + ":" + port + "/" + database + "?useSSL=false&serverTimezone=UTC";
+            case "h2":
+                return "jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1";
+            case "sqlserver":
+                return "jdbc:sqlserver://" + host + ":" + port + ";databaseName=" + database;
+            case "oracle":
+                return "jdbc:oracle:thin:@" + host + ":" + port + ":" + database;
+            default:
+                throw new CSDataException("Unsupported database type: " + dbType);
+        }
+    }
+
+    /**
+     * Get driver class name
+     */
+    private static String getDriverClass(String dbType) {
+        switch (dbType.toLowerCase()) {
+            case "postgresql":
+            case "postgres":
+                return "org.postgresql.Driver";
+            case "mysql":
+                return "com.mysql.cj.jdbc.Driver";
+            case "h2":
+                return "org.h2.Driver";
+            case "sqlserver":
+                return "com.microsoft.sqlserver.jdbc.SQLServerDriver";
+            case "oracle":
+                return "oracle.jdbc.OracleDriver";
+            default:
+                throw new CSDataException("Unsupported database type: " + dbType);
+        }
+    }
+
+    /**
+     * Get default port for database type
+     */
+    private static String getDefaultPort(String dbType) {
+        switch (dbType.toLowerCase()) {
+            case "mysql":
+                return "3306";
+            case "sqlserver":
+                return "1433";
+            case "oracle":
+                return "1521";
+            default:
+                return "5432";
+        }
+    }
+
+    /**
+     * Driver-side prepared statement caching, so re-preparing the same SQL on a pooled connection
+     * reuses the parsed statement; explicitly configured driver properties are left alone
+     */
+    private static void applyStatementCache(HikariConfig hikariConfig, int cacheSize) {
+        String url = hikariConfig.getJdbcUrl();
+        if (cacheSize <= 0 || url == null) {
+            return;
+        }
+        String size = String.valueOf(cacheSize);
+        if (url.startsWith("jdbc:postgresql:")) {
+            setIfAbsent(hikariConfig, "preparedStatementCacheQueries", size);
+        } else if (url.startsWith("jdbc:mysql:")) {
+            setIfAbsent(hikariConfig, "cachePrepStmts", "true");
+            setIfAbsent(hikariConfig, "useServerPrepStmts", "true");
+            setIfAbsent(hikariConfig, "prepStmtCacheSize", size);
+            setIfAbsent(hikariConfig, "prepStmtCacheSqlLimit", "2048");
+        } else if (url.startsWith("jdbc:sqlserver:")) {
+            setIfAbsent(hikariConfig, "disableStatementPooling", "false");
+            setIfAbsent(hikariConfig, "statementPoolingCacheSize", size);
+        } else if (url.startsWith("jdbc:oracle:")) {
+            setIfAbsent(hikariConfig, "oracle.jdbc.implicitStatementCacheSize", size);
+        }
+    }
+
+    private static void setIfAbsent(HikariConfig hikariConfig, String property, String value) {
+        if (!hikariConfig.getDataSourceProperties().containsKey(property)) {
+            hikariConfig.addDataSourceProperty(property, value);
+        }
+    }
+
+    /**
+     * Driver properties that rewrite batched inserts into multi-row statements
+     */
+    private static void applyBatchRewrite(HikariConfig hikariConfig, String dbType) {
+        switch (dbType.toLowerCase()) {
+            case "postgresql":
+            case "postgres":
+                hikariConfig.addDataSourceProperty("reWriteBatchedInserts", "true");
+                break;
+            case "mysql":
+                hikariConfig.addDataSourceProperty("rewriteBatchedStatements", "true");
+                break;
+            case "sqlserver":
+                hikariConfig.addDataSourceProperty("useBulkCopyForBatchInsert", "true");
+                break;
+            default:
+                logger.debug("No batch rewrite option for database type: {}", dbType);
+        }
+    }
+
+    /**
+     * A database name's pool and how many owners hold the name
+     */
+    private static final class Registration {
+        private volatile Pool pool;
+        private int holds;
+        private volatile boolean shared;
+
+        Registration(Pool pool) {
+            this.pool = pool;
+        }
+    }
+
+    /**
+     * One Hikari pool plus the metrics its tracker feeds
+     * Borrowing an idle connection takes microseconds, so a borrow over 1ms counts as a wait
+     * (for a connection to be returned or opened).
+     */
+    private static final class Pool {
+        private static final long WAIT_THRESHOLD_NANOS = 1_000_000L;
+
+        private final String target;
+        private final String poolName;
+        private final String settings;
+        private final Set<String> names = ConcurrentHashMap.newKeySet();
+        private final CSLatencyHistogram borrowMicros = new CSLatencyHistogram();
+        private final AtomicLong waits = new AtomicLong();
+        private final AtomicLong timeouts = new AtomicLong();
+        private final AtomicLong connectionsCreated = new AtomicLong();
+        private volatile PoolStats stats;
+        private volatile HikariDataSource dataSource;
+
+        Pool(String target, String poolName, String settings) {
+            this.target = target;
+            this.poolName = poolName;
+            this.settings = settings;
+        }
+
+        IMetricsTracker createTracker(String hikariPoolName, PoolStats poolStats) {
+            this.stats = poolStats;
+            return new IMetricsTracker() {
+                @Override
+                public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                    borrowMicros.record(elapsedAcquiredNanos / 1000);
+                    if (elapsedAcquiredNanos > WAIT_THRESHOLD_NANOS) {
+                        waits.incrementAndGet();
+                    }
+                }
+
+                @Override
+                public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                    connectionsCreated.incrementAndGet();
+                }
+
+                @Override
+                public void recordConnectionTimeout() {
+                    timeouts.incrementAndGet();
+                }
+            };
+        }
+
+        PoolMetrics snapshot() {
+            PoolStats current = stats;
+            return new PoolMetrics(poolName, new ArrayList<>(names), borrowMicros.getCount(), waits.get(),
+                timeouts.get(), connectionsCreated.get(), borrowMicros.getPercentile(50), borrowMicros.getPercentile(95),
+                borrowMicros.getMax(), current != null ? current.getActiveConnections() : 0,
+                current != null ? current.getMaxConnections() : 0);
+        }
+    }
+
+    /**
+     * Point-in-time metrics of one pool; latencies in microseconds
+     */
+    public static class PoolMetrics {
+        private final String poolName;
+        private final List<String> databaseNames;
+        private final long borrows;
+        private final long waits;
+        private final long timeouts;
+        private final long connectionsCreated;
+        private final long borrowP50Micros;
+        private final long borrowP95Micros;
+        private final long borrowMaxMicros;
+        private final int activeConnections;
+        private final int maxConnections;
+
+        public PoolMetrics(String poolName, List<String> databaseNames, long borrows, long waits, long timeouts,
+                           long connectionsCreated, long borrowP50Micros, long borrowP95Micros, long borrowMaxMicros,
+                           int activeConnections, int maxConnections) {
+            this.poolName = poolName;
+            this.databaseNames = databaseNames;
+            this.borrows = borrows;
+            this.waits = waits;
+            this.timeouts = timeouts;
+            this.connectionsCreated = connectionsCreated;
+            this.borrowP50Micros = borrowP50Micros;
+            this.borrowP95Micros = borrowP95Micros;
+            this.borrowMaxMicros = borrowMaxMicros;
+            this.activeConnections = activeConnections;
+            this.maxConnections = maxConnections;
+        }
+
+        // Getters
+        public String getPoolName() { return poolName; }
+        public List<String> getDatabaseNames() { return databaseNames; }
+        public long getBorrows() { return borrows; }
+        public long getWaits() { return waits; }
+        public long getTimeouts() { return timeouts; }
+        public long getConnectionsCreated() { return connectionsCreated; }
+        public long getBorrowP50Micros() { return borrowP50Micros; }
+        public long getBorrowP95Micros() { return borrowP95Micros; }
+        public long getBorrowMaxMicros() { return borrowMaxMicros; }
+        public int getActiveConnections() { return activeConnections; }
+        public int getMaxConnections() { return maxConnections; }
+
+        @Override
+        public String toString() {
+            return String.format("databases=%s, borrows=%d, waits=%d, timeouts=%d, created=%d, " +
+                    "borrow p50=%.2fms p95=%.2fms max=%.2fms, active=%d/%d",
+                databaseNames, borrows, waits, timeouts, connectionsCreated, borrowP50Micros / 1000.0,
+                borrowP95Micros / 1000.0, borrowMaxMicros / 1000.0, activeConnections, maxConnections);
+        }
+    }
+}
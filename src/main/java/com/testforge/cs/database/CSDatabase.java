@@ -8,6 +8,7 @@ import org.testng.Assert;
 import javax.sql.DataSource;
 import java.sql.*;
 import java.util.*;
+import java.util.stream.Stream;
 
 /**
  * Database abstraction for test operations
@@ -40,13 +41,15 @@ public class CSDatabase {
             try (ResultSet resultSet = statement.executeQuery()) {
                 ResultSetMetaData metaData = resultSet.getMetaData();
                 int columnCount = metaData.getColumnCount();
+                String[] columnNames = new String[columnCount];
+                for (int i = 1; i <= columnCount; i++) {
+                    columnNames[i - 1] = metaData.getColumnName(i);
+                }
                 
                 while (resultSet.next()) {
-                    Map<String, Object> row = new LinkedHashMap<>();
+                    Map<String, Object> row = new LinkedHashMap<>(columnCount * 4 / 3 + 1);
                     for (int i = 1; i <= columnCount; i++) {
-                        String columnName = metaData.getColumnName(i);
-                        Object value = resultSet.getObject(i);
-                        row.put(columnName, value);
+                        row.put(columnNames[i - 1], resultSet.getObject(i));
                     }
                     results.add(row);
                 }
@@ -62,6 +65,14 @@ public class CSDatabase {
         return results;
     }
     
+    /**
+     * Stream query rows through a cursor, fetchSize rows per round trip
+     * The stream holds a connection until closed - use try-with-resources.
+     */
+    public Stream<CSResultRow> stream(String sql, int fetchSize, Object... parameters) {
+        return CSResultStream.open(dataSource, sql, fetchSize, parameters);
+    }
+    
     /**
      * Execute a query and return single result as map
      */
@@ -103,6 +114,8 @@ public class CSDatabase {
         } catch (SQLException e) {
             logger.error("Database update failed: {}", sql, e);
             throw new CSDataException("Database update failed", e);
+        } finally {
+            CSQueryResultCache.getInstance().invalidateFor(sql);
         }
     }
     
@@ -130,6 +143,8 @@ public class CSDatabase {
         } catch (SQLException e) {
             logger.error("Database insert failed: {}", sql, e);
             throw new CSDataException("Database insert failed", e);
+        } finally {
+            CSQueryResultCache.getInstance().invalidateFor(sql);
         }
     }
     
@@ -207,6 +222,8 @@ public class CSDatabase {
         } catch (SQLException e) {
             logger.error("Database batch execution failed: {}", sql, e);
             throw new CSDataException("Database batch execution failed", e);
+        } finally {
+            CSQueryResultCache.getInstance().invalidateFor(sql);
         }
     }
     
@@ -231,6 +248,9 @@ public class CSDatabase {
         } catch (SQLException e) {
             logger.error("Database transaction failed", e);
             throw new CSDataException("Database transaction failed", e);
+        } finally {
+            // The statements run on the connection are unknown - drop every cached result
+            CSQueryResultCache.getInstance().clear();
         }
     }
     
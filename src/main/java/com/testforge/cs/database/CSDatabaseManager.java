@@ -13,7 +13,7 @@ import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Database manager for handling multiple named database connections
- * Supports connection pooling and configuration-driven setup
+ * Supports configuration-driven setup; pools are shared through CSConnectionPoolRegistry
  */
 public class CSDatabaseManager {
     
@@ -21,7 +21,6 @@ public class CSDatabaseManager {
     private static volatile CSDatabaseManager instance;
     
     private final Map<String, CSDatabase> databases = new ConcurrentHashMap<>();
-    private final Map<String, HikariDataSource> dataSources = new ConcurrentHashMap<>();
     private final CSConfigManager config;
     
     private CSDatabaseManager() {
@@ -80,59 +79,25 @@ public class CSDatabaseManager {
         String url = config.getString(prefix + "url");
         String username = config.getString(prefix + "username");
         String password = config.getString(prefix + "password");
-        String driverClass = config.getString(prefix + "driver");
         
         if (url == null || username == null || password == null) {
             logger.warn("Incomplete database configuration for: {}", databaseName);
             return;
         }
         
-        // Create HikariCP configuration
-        HikariConfig hikariConfig = new HikariConfig();
-        hikariConfig.setJdbcUrl(url);
-        hikariConfig.setUsername(username);
-        hikariConfig.setPassword(password);
-        
-        if (driverClass != null) {
-            hikariConfig.setDriverClassName(driverClass);
-        }
-        
-        // Connection pool settings
-        hikariConfig.setMaximumPoolSize(config.getInt(prefix + "max.pool.size", 10));
-        hikariConfig.setMinimumIdle(config.getInt(prefix + "min.idle", 2));
-        hikariConfig.setConnectionTimeout(config.getLong(prefix + "connection.timeout", 30000));
-        hikariConfig.setIdleTimeout(config.getLong(prefix + "idle.timeout", 600000));
-        hikariConfig.setMaxLifetime(config.getLong(prefix + "max.lifetime", 1800000));
-        hikariConfig.setLeakDetectionThreshold(config.getLong(prefix + "leak.detection.threshold", 60000));
-        
-        // Pool name
-        hikariConfig.setPoolName(databaseName + "-pool");
-        
-        // Additional properties
-        String additionalProps = config.getString(prefix + "additional.properties");
-        if (additionalProps != null) {
-            String[] props = additionalProps.split(";");
-            for (String prop : props) {
-                String[] keyValue = prop.split("=");
-                if (keyValue.length == 2) {
-                    hikariConfig.addDataSourceProperty(keyValue[0].trim(), keyValue[1].trim());
-                }
-            }
-        }
-        
-        // Create data source
-        HikariDataSource dataSource = new HikariDataSource(hikariConfig);
+        // Pool comes from the shared registry, which reads the same <name>.db.* keys; held until shutdown
+        CSConnectionPoolRegistry registry = CSConnectionPoolRegistry.getInstance();
+        DataSource dataSource = registry.acquire(databaseName);
         
         // Test connection
         CSDatabase database = new CSDatabase(databaseName, dataSource);
         if (!database.testConnection()) {
-            dataSource.close();
+            registry.close(databaseName);
             throw new CSDataException("Failed to establish connection to database: " + databaseName);
         }
         
-        // Store database and data source
+        // Store database
         databases.put(databaseName, database);
-        dataSources.put(databaseName, dataSource);
         
         logger.info("Database initialized successfully: {} -> {}", databaseName, url);
     }
@@ -187,16 +152,22 @@ public class CSDatabaseManager {
         hikariConfig.setMinimumIdle(2);
         hikariConfig.setPoolName(databaseName + "-runtime-pool");
         
-        HikariDataSource dataSource = new HikariDataSource(hikariConfig);
+        // Replaces this manager's earlier registration of the same name
+        CSConnectionPoolRegistry registry = CSConnectionPoolRegistry.getInstance();
+        if (databases.remove(databaseName) != null) {
+            registry.close(databaseName);
+        }
+        DataSource dataSource = registry.register(databaseName, hikariConfig);
         CSDatabase database = new CSDatabase(databaseName, dataSource);
         
         if (!database.testConnection()) {
-            dataSource.close();
+            registry.close(databaseName);
             throw new CSDataException("Failed to establish connection to database: " + databaseName);
         }
         
         databases.put(databaseName, database);
-        dataSources.put(databaseName, dataSource);
+        // Results cached under this name may have been read from the database it replaced
+        CSQueryResultCache.getInstance().clear();
         
         logger.info("Database added at runtime: {} -> {}", databaseName, url);
     }
@@ -206,10 +177,10 @@ public class CSDatabaseManager {
      */
     public void removeDatabase(String databaseName) {
         CSDatabase database = databases.remove(databaseName);
-        HikariDataSource dataSource = dataSources.remove(databaseName);
         
-        if (dataSource != null) {
-            dataSource.close();
+        if (database != null) {
+            CSConnectionPoolRegistry.getInstance().close(databaseName);
+            CSQueryResultCache.getInstance().clear();
             logger.info("Database removed: {}", databaseName);
         }
     }
@@ -218,8 +189,8 @@ public class CSDatabaseManager {
      * Get database statistics
      */
     public DatabaseStatistics getStatistics(String databaseName) {
-        HikariDataSource dataSource = dataSources.get(databaseName);
-        if (dataSource == null) {
+        HikariDataSource dataSource = CSConnectionPoolRegistry.getInstance().getHikariDataSource(databaseName);
+        if (dataSource == null || dataSource.getHikariPoolMXBean() == null) {
             return null;
         }
         
@@ -252,17 +223,16 @@ public class CSDatabaseManager {
     public void shutdown() {
         logger.info("Shutting down database manager...");
         
-        for (Map.Entry<String, HikariDataSource> entry : dataSources.entrySet()) {
+        for (String databaseName : databases.keySet()) {
             try {
-                entry.getValue().close();
-                logger.debug("Closed database connection pool: {}", entry.getKey());
+                CSConnectionPoolRegistry.getInstance().close(databaseName);
+                logger.debug("Released database connection pool: {}", databaseName);
             } catch (Exception e) {
-                logger.error("Error closing database connection pool: {}", entry.getKey(), e);
+                logger.error("Error closing database connection pool: {}", databaseName, e);
             }
         }
         
         databases.clear();
-        dataSources.clear();
         
         logger.info("Database manager shutdown completed");
     }
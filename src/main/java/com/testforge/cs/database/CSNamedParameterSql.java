@@ -0,0 +1,130 @@
+package com.testforge.cs.database;
+
+import com.testforge.cs.exceptions.CSDataException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SQL with :name parameters rewritten to JDBC positional form
+ * The text is scanned once; string literals, quoted identifiers, comments and PostgreSQL ::casts
+ * are left untouched. Each '?' maps to one parameter name, so a name used twice is bound twice.
+ */
+public final class CSNamedParameterSql {
+    private final String originalSql;
+    private final String jdbcSql;
+    private final List<String> parameterNames;
+    private final int positionalParameterCount;
+
+    private CSNamedParameterSql(String originalSql, String jdbcSql, List<String> parameterNames, int positionalParameterCount) {
+        this.originalSql = originalSql;
+        this.jdbcSql = jdbcSql;
+        this.parameterNames = Collections.unmodifiableList(parameterNames);
+        this.positionalParameterCount = positionalParameterCount;
+    }
+
+    /**
+     * Parse SQL containing :name parameters
+     */
+    public static CSNamedParameterSql parse(String sql) {
+        if (sql == null) {
+            throw new CSDataException("SQL must not be null");
+        }
+
+        StringBuilder jdbc = new StringBuilder(sql.length());
+        List<String> names = new ArrayList<>();
+        int positional = 0;
+        int length = sql.length();
+        int i = 0;
+
+        while (i < length) {
+            char c = sql.charAt(i);
+
+            if (c == '\'' || c == '"') {
+                // Literal or quoted identifier - doubled quote is an escaped quote
+                int end = i + 1;
+                while (end < length) {
+                    if (sql.charAt(end) == c) {
+                        if (end + 1 < length && sql.charAt(end + 1) == c) {
+                            end += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    end++;
+                }
+                end = Math.min(end + 1, length);
+                jdbc.append(sql, i, end);
+                i = end;
+            } else if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+                int end = sql.indexOf('\n', i);
+                end = end < 0 ? length : end;
+                jdbc.append(sql, i, end);
+                i = end;
+            } else if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+                int end = sql.indexOf("*/", i + 2);
+                end = end < 0 ? length : end + 2;
+                jdbc.append(sql, i, end);
+                i = end;
+            } else if (c == ':' && i + 1 < length && sql.charAt(i + 1) == ':') {
+                jdbc.append("::");
+                i += 2;
+            } else if (c == ':' && i + 1 < length && Character.isJavaIdentifierStart(sql.charAt(i + 1))) {
+                int end = i + 2;
+                while (end < length && Character.isJavaIdentifierPart(sql.charAt(end))) {
+                    end++;
+                }
+                names.add(sql.substring(i + 1, end));
+                jdbc.append('?');
+                i = end;
+            } else {
+                if (c == '?') {
+                    positional++;
+                }
+                jdbc.append(c);
+                i++;
+            }
+        }
+
+        return new CSNamedParameterSql(sql, jdbc.toString(), names, positional);
+    }
+
+    /**
+     * Positional values for one row of named values; absent names bind as NULL
+     */
+    public Object[] bind(Map<String, ?> values) {
+        Object[] params = new Object[parameterNames.size()];
+        if (values != null) {
+            for (int i = 0; i < params.length; i++) {
+                params[i] = values.get(parameterNames.get(i));
+            }
+        }
+        return params;
+    }
+
+    public String getOriginalSql() {
+        return originalSql;
+    }
+
+    public String getJdbcSql() {
+        return jdbcSql;
+    }
+
+    public List<String> getParameterNames() {
+        return parameterNames;
+    }
+
+    /**
+     * Number of plain '?' markers written in the original SQL
+     */
+    public int getPositionalParameterCount() {
+        return positionalParameterCount;
+    }
+
+    @Override
+    public String toString() {
+        return jdbcSql;
+    }
+}
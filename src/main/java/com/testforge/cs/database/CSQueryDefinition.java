@@ -22,6 +22,7 @@ public class CSQueryDefinition {
     private QueryType queryType;
     private boolean cacheable;
     private long cacheExpirationMs;
+    private volatile CSNamedParameterSql parsedSql;
     
     /**
      * Query types
@@ -42,7 +43,7 @@ public class CSQueryDefinition {
     public CSQueryDefinition() {
         this.createdTime = LocalDateTime.now();
         this.lastModifiedTime = LocalDateTime.now();
-        this.cacheable = true;
+        this.cacheable = false; // results are only cached for queries marked cacheable
         this.cacheExpirationMs = 300000; // 5 minutes default
     }
     
@@ -110,10 +111,23 @@ public class CSQueryDefinition {
     
     public void setSql(String sql) {
         this.sql = sql;
+        this.parsedSql = null;
         this.queryType = determineQueryType(sql);
         updateLastModified();
     }
     
+    /**
+     * SQL with :name parameters made positional, parsed once per SQL text
+     */
+    public CSNamedParameterSql getParsedSql() {
+        CSNamedParameterSql parsed = parsedSql;
+        if (parsed == null && sql != null) {
+            parsed = CSNamedParameterSql.parse(sql);
+            parsedSql = parsed;
+        }
+        return parsed;
+    }
+    
     public String getDescription() {
         return description;
     }
@@ -201,6 +215,9 @@ public class CSQueryDefinition {
         updateLastModified();
     }
     
+    /**
+     * Whether results may be served from the query result cache (cs.queries.result.cache.enabled)
+     */
     public boolean isCacheable() {
         return cacheable;
     }
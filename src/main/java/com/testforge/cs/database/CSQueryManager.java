@@ -14,7 +14,6 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.sql.Connection;
-import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
@@ -35,7 +34,8 @@ public class CSQueryManager {
     
     // Query storage and caching
     private final Map<String, CSQueryDefinition> queryDefinitions = new ConcurrentHashMap<>();
-    private final Map<String, PreparedStatement> preparedStatementCache = new ConcurrentHashMap<>();
+    private final Map<String, CSNamedParameterSql> planCache;
+    private final Map<String, List<String>> templateVariables = new ConcurrentHashMap<>();
     private final Map<String, QueryExecutionStats> executionStats = new ConcurrentHashMap<>();
     
     // Configuration
@@ -45,10 +45,10 @@ public class CSQueryManager {
     private int maxCacheSize;
     private long cacheExpirationMs;
     private boolean performanceMonitoringEnabled;
+    private int batchSize;
     
     // Query parameter pattern for replacement
     private static final Pattern PARAMETER_PATTERN = Pattern.compile("\\$\\{([^}]+)\\}");
-    private static final Pattern NAMED_PARAMETER_PATTERN = Pattern.compile(":(\\w+)");
     
     /**
      * Get singleton instance
@@ -69,6 +69,13 @@ public class CSQueryManager {
      */
     private CSQueryManager() {
         initialize();
+        int planCacheSize = maxCacheSize;
+        planCache = Collections.synchronizedMap(new LinkedHashMap<String, CSNamedParameterSql>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CSNamedParameterSql> eldest) {
+                return size() > planCacheSize;
+            }
+        });
     }
     
     /**
@@ -84,6 +91,7 @@ public class CSQueryManager {
             maxCacheSize = Integer.parseInt(config.getProperty("cs.queries.cache.max.size", "100"));
             cacheExpirationMs = Long.parseLong(config.getProperty("cs.queries.cache.expiration.ms", "300000")); // 5 minutes
             performanceMonitoringEnabled = Boolean.parseBoolean(config.getProperty("cs.queries.performance.monitoring", "true"));
+            batchSize = Integer.parseInt(config.getProperty("cs.db.batch.size", "1000"));
             
             // Load query definitions
             loadQueryDefinitions();
@@ -197,6 +205,12 @@ public class CSQueryManager {
                     definition.setTags(tags);
                     definition.setParameterDefinitions(parameters);
                     definition.setFilePath(jsonFile.toString());
+                    if (queryDef.get("cacheable") != null) {
+                        definition.setCacheable(Boolean.parseBoolean(String.valueOf(queryDef.get("cacheable"))));
+                    }
+                    if (queryDef.get("cacheExpirationMs") instanceof Number) {
+                        definition.setCacheExpirationMs(((Number) queryDef.get("cacheExpirationMs")).longValue());
+                    }
                     
                     queryDefinitions.put(queryName, definition);
                 }
@@ -222,6 +236,8 @@ public class CSQueryManager {
     
     /**
      * Execute query and return results
+     * Results of cacheable SELECT queries are served from the query result cache when it is enabled;
+     * callers always get their own copy of the rows.
      */
     public List<Map<String, Object>> executeQuery(String queryName, Map<String, Object> parameters) {
         CSQueryDefinition definition = getQueryDefinition(queryName);
@@ -229,14 +245,28 @@ public class CSQueryManager {
             throw new CSDataException("Query not found: " + queryName);
         }
         
+        CSQueryResultCache resultCache = CSQueryResultCache.getInstance();
+        String cacheKey = resultCache.isEnabled() && definition.isCacheable()
+            && definition.getQueryType() == CSQueryDefinition.QueryType.SELECT
+            ? CSQueryResultCache.key("default", queryName, parameters) : null;
+        if (cacheKey != null) {
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> cached = (List<Map<String, Object>>) resultCache.get(cacheKey);
+            if (cached != null) {
+                logger.debug("Query '{}' served from result cache - {} rows", queryName, cached.size());
+                return copyRows(cached);
+            }
+        }
+        
+        long readGeneration = resultCache.generation();
         long startTime = System.currentTimeMillis();
         
         try {
-            // Prepare SQL with parameters
-            String sql = prepareSQL(definition.getSql(), parameters);
+            // Cached plan: ${...} substituted, :name parameters positional
+            CSNamedParameterSql plan = getPlan(definition, parameters);
             
             // Execute query using default database
-            List<Map<String, Object>> results = CSDbUtils.executeQuery(sql, convertParametersToObjects(parameters));
+            List<Map<String, Object>> results = CSDbUtils.executeQuery(plan.getJdbcSql(), bindParameters(plan, parameters));
             
             // Record execution stats
             if (performanceMonitoringEnabled) {
@@ -246,6 +276,11 @@ public class CSQueryManager {
             logger.debug("Executed query '{}' - {} rows returned in {}ms", 
                 queryName, results.size(), System.currentTimeMillis() - startTime);
             
+            if (cacheKey != null) {
+                resultCache.put(cacheKey, copyRows(results), definition.getCacheExpirationMs(),
+                    CSQueryResultCache.tablesReadBy(plan.getJdbcSql()), readGeneration);
+            }
+            
             return results;
             
         } catch (Exception e) {
@@ -259,6 +294,17 @@ public class CSQueryManager {
         }
     }
     
+    /**
+     * Copy rows so neither the cache nor the caller sees the other's modifications
+     */
+    private static List<Map<String, Object>> copyRows(List<Map<String, Object>> rows) {
+        List<Map<String, Object>> copy = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            copy.add(new LinkedHashMap<>(row));
+        }
+        return copy;
+    }
+    
     /**
      * Execute query and return single result
      */
@@ -302,11 +348,11 @@ public class CSQueryManager {
         long startTime = System.currentTimeMillis();
         
         try {
-            // Prepare SQL with parameters
-            String sql = prepareSQL(definition.getSql(), parameters);
+            // Cached plan: ${...} substituted, :name parameters positional
+            CSNamedParameterSql plan = getPlan(definition, parameters);
             
             // Execute update using default database
-            int rowsAffected = CSDbUtils.executeUpdate(sql, convertParametersToObjects(parameters));
+            int rowsAffected = CSDbUtils.executeUpdate(plan.getJdbcSql(), bindParameters(plan, parameters));
             
             // Record execution stats
             if (performanceMonitoringEnabled) {
@@ -330,9 +376,18 @@ public class CSQueryManager {
     }
     
     /**
-     * Execute batch operations
+     * Execute batch operations using the configured batch size (cs.db.batch.size)
      */
     public int[] executeBatch(String queryName, List<Map<String, Object>> batchParameters) {
+        return executeBatch(queryName, batchParameters, batchSize);
+    }
+    
+    /**
+     * Execute batch operations
+     * The named query is prepared once and its rows are bound into JDBC batches of batchSize,
+     * all within one transaction - a failing row rolls back the whole batch.
+     */
+    public int[] executeBatch(String queryName, List<Map<String, Object>> batchParameters, int batchSize) {
         CSQueryDefinition definition = getQueryDefinition(queryName);
         if (definition == null) {
             throw new CSDataException("Query not found: " + queryName);
@@ -343,39 +398,23 @@ public class CSQueryManager {
         }
         
         long startTime = System.currentTimeMillis();
+        CSNamedParameterSql namedSql = definition.getParsedSql();
         
-        // Use CSDbUtils for batch execution (simplified approach)
-        String sql = definition.getSql();
-        List<String> parameterNames = extractNamedParameters(sql);
+        // Rows are bound lazily so large batches are not copied up front
+        Iterable<Object[]> rows = () -> batchParameters.stream().map(namedSql::bind).iterator();
         
         try {
-            int totalAffected = 0;
-            int[] results = new int[batchParameters.size()];
-            
-            for (int i = 0; i < batchParameters.size(); i++) {
-                Map<String, Object> paramMap = batchParameters.get(i);
-                Object[] params = new Object[parameterNames.size()];
-                for (int j = 0; j < parameterNames.size(); j++) {
-                    params[j] = paramMap.get(parameterNames.get(j));
-                }
-                
-                try {
-                    int affected = CSDbUtils.executeUpdate(sql, params);
-                    results[i] = affected;
-                    totalAffected += affected;
-                } catch (Exception e) {
-                    results[i] = -1; // Error indicator
-                    logger.error("Batch execution failed for row {}", i, e);
-                }
-            }
-                
+            int[] results = CSDbUtils.executeBatch("default", namedSql.getJdbcSql(), rows, batchSize);
+            long elapsedMs = System.currentTimeMillis() - startTime;
+            
             // Record execution stats
             if (performanceMonitoringEnabled) {
-                recordExecutionStats(queryName, System.currentTimeMillis() - startTime, totalAffected, true);
+                recordExecutionStats(queryName, elapsedMs, results.length, true);
             }
             
-            logger.debug("Executed batch query '{}' - {} batches, {} total rows affected in {}ms", 
-                queryName, results.length, totalAffected, System.currentTimeMillis() - startTime);
+            logger.debug("Executed batch query '{}' - {} rows in batches of {} in {}ms ({} rows/s)", 
+                queryName, results.length, batchSize, elapsedMs, 
+                String.format("%.0f", QueryExecutionStats.rowsPerSecond(results.length, elapsedMs)));
             
             return results;
             
@@ -430,7 +469,10 @@ public class CSQueryManager {
             throw new IllegalArgumentException("Invalid query definition");
         }
         
-        queryDefinitions.put(definition.getName(), definition);
+        if (queryDefinitions.put(definition.getName(), definition) != null) {
+            // Cached results are keyed by query name and may belong to the replaced SQL
+            CSQueryResultCache.getInstance().clear();
+        }
         logger.debug("Added/updated query definition: {}", definition.getName());
     }
     
@@ -439,7 +481,8 @@ public class CSQueryManager {
      */
     public void removeQueryDefinition(String queryName) {
         queryDefinitions.remove(queryName);
-        preparedStatementCache.remove(queryName);
+        planCache.clear();
+        CSQueryResultCache.getInstance().clear();
         executionStats.remove(queryName);
         logger.debug("Removed query definition: {}", queryName);
     }
@@ -449,7 +492,9 @@ public class CSQueryManager {
      */
     public void reloadQueryDefinitions() {
         queryDefinitions.clear();
-        preparedStatementCache.clear();
+        planCache.clear();
+        CSQueryResultCache.getInstance().clear();
+        templateVariables.clear();
         loadQueryDefinitions();
         logger.info("Reloaded all query definitions - {} queries loaded", queryDefinitions.size());
     }
@@ -500,20 +545,62 @@ public class CSQueryManager {
     }
     
     /**
-     * Extract named parameters from SQL
+     * Parsed plan for a query execution
+     * SQL without ${...} uses the plan cached on its definition; otherwise plans are cached per
+     * SQL text and substituted values (the template signature), bounded by cs.queries.cache.max.size.
      */
-    private List<String> extractNamedParameters(String sql) {
-        List<String> parameters = new ArrayList<>();
-        Matcher matcher = NAMED_PARAMETER_PATTERN.matcher(sql);
+    private CSNamedParameterSql getPlan(CSQueryDefinition definition, Map<String, Object> parameters) {
+        String sql = definition.getSql();
+        List<String> variables = templateVariables.computeIfAbsent(sql, this::extractTemplateVariables);
+        if (variables.isEmpty()) {
+            return definition.getParsedSql();
+        }
+        if (!cacheEnabled) {
+            return CSNamedParameterSql.parse(prepareSQL(sql, parameters));
+        }
+        
+        StringBuilder signature = new StringBuilder(sql);
+        for (String variable : variables) {
+            Object value = parameters != null ? parameters.get(variable) : null;
+            signature.append('\u0000').append(value != null ? String.valueOf(value) : "${" + variable + "}");
+        }
+        String key = signature.toString();
+        CSNamedParameterSql plan = planCache.get(key);
+        if (plan == null) {
+            plan = CSNamedParameterSql.parse(prepareSQL(sql, parameters));
+            planCache.put(key, plan);
+        }
+        return plan;
+    }
+    
+    /**
+     * Positional values for a plan: :name parameters by name, plain '?' queries by map order
+     */
+    private Object[] bindParameters(CSNamedParameterSql plan, Map<String, Object> parameters) {
+        if (!plan.getParameterNames().isEmpty()) {
+            return plan.bind(parameters);
+        }
+        if (plan.getPositionalParameterCount() > 0) {
+            return convertParametersToObjects(parameters);
+        }
+        return new Object[0];
+    }
+    
+    /**
+     * Extract ${...} substitution variables from SQL
+     */
+    private List<String> extractTemplateVariables(String sql) {
+        List<String> variables = new ArrayList<>();
+        Matcher matcher = PARAMETER_PATTERN.matcher(sql);
         
         while (matcher.find()) {
-            String paramName = matcher.group(1);
-            if (!parameters.contains(paramName)) {
-                parameters.add(paramName);
+            String variable = matcher.group(1);
+            if (!variables.contains(variable)) {
+                variables.add(variable);
             }
         }
         
-        return parameters;
+        return variables;
     }
     
     /**
@@ -577,6 +664,7 @@ public class CSQueryManager {
         private long maxExecutionTimeMs = 0;
         private long totalRowsAffected;
         private long lastExecutionTime;
+        private double lastRowsPerSecond;
         
         public QueryExecutionStats(String queryName) {
             this.queryName = queryName;
@@ -596,6 +684,16 @@ public class CSQueryManager {
             maxExecutionTimeMs = Math.max(maxExecutionTimeMs, executionTimeMs);
             totalRowsAffected += rowsAffected;
             lastExecutionTime = System.currentTimeMillis();
+            if (success) {
+                lastRowsPerSecond = rowsPerSecond(rowsAffected, executionTimeMs);
+            }
+        }
+        
+        /**
+         * Throughput for rows processed in the given time; sub-millisecond runs count as 1ms
+         */
+        static double rowsPerSecond(long rows, long executionTimeMs) {
+            return rows * 1000.0 / Math.max(1, executionTimeMs);
         }
         
         // Getters
@@ -617,11 +715,15 @@ public class CSQueryManager {
             return totalExecutions > 0 ? (double) totalRowsAffected / totalExecutions : 0; 
         }
         public long getLastExecutionTime() { return lastExecutionTime; }
+        public double getRowsPerSecond() { 
+            return totalExecutions > 0 ? rowsPerSecond(totalRowsAffected, totalExecutionTimeMs) : 0; 
+        }
+        public double getLastRowsPerSecond() { return lastRowsPerSecond; }
         
         @Override
         public String toString() {
-            return String.format("QueryStats{name='%s', executions=%d, success=%.1f%%, avgTime=%.1fms}", 
-                queryName, totalExecutions, getSuccessRate(), getAverageExecutionTimeMs());
+            return String.format("QueryStats{name='%s', executions=%d, success=%.1f%%, avgTime=%.1fms, rows/s=%.0f}", 
+                queryName, totalExecutions, getSuccessRate(), getAverageExecutionTimeMs(), getRowsPerSecond());
         }
     }
 }
\ No newline at end of file
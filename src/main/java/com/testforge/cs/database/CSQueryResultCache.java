@@ -0,0 +1,328 @@
+package com.testforge.cs.database;
+
+import com.testforge.cs.config.CSConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Result cache for read-only reference-data queries (opt-in: cs.queries.result.cache.enabled)
+ * Named queries are cached when their definition is cacheable; CSDbUtils.getSingleValue results
+ * when every table the SQL reads is listed in cs.queries.result.cache.tables. Entries expire after
+ * their TTL, the least recently used entry goes when the cache is full, and every statement run
+ * through CSDbUtils, CSQueryManager or CSDatabase that writes a table evicts the entries reading it
+ * (a write whose target cannot be determined, or a committed transaction, clears the cache). Every
+ * invalidation bumps a generation; readers take it before querying and a result read across an
+ * invalidation is not stored.
+ */
+public final class CSQueryResultCache {
+    private static final Logger logger = LoggerFactory.getLogger(CSQueryResultCache.class);
+    private static final CSQueryResultCache instance = new CSQueryResultCache();
+
+    // Strings, quoted identifiers, dotted identifiers, then any other single character
+    private static final Pattern TOKEN_PATTERN = Pattern.compile(
+        "'(?:[^']|'')*'|(?:\"[^\"]*\"|`[^`]*`|\\[[^\\]]*\\]|[A-Za-z_][\\w$]*)(?:\\.(?:\"[^\"]*\"|`[^`]*`|\\[[^\\]]*\\]|[A-Za-z_][\\w$]*))*|\\S");
+    private static final Set<String> CLAUSE_KEYWORDS = new HashSet<>(Arrays.asList(
+        "where", "join", "inner", "left", "right", "full", "outer", "cross", "on", "using", "group", "order",
+        "having", "limit", "offset", "union", "intersect", "except", "fetch", "for", "window", "natural", "set",
+        "values", "select", "returning"));
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long defaultTtlMs;
+    private final Set<String> referenceTables = new HashSet<>();
+    private final Map<String, Entry> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private long generation;
+
+    private CSQueryResultCache() {
+        this(CSConfigManager.getInstance().getBooleanProperty("cs.queries.result.cache.enabled", false),
+            CSConfigManager.getInstance().getIntProperty("cs.queries.result.cache.max.entries", 500),
+            CSConfigManager.getInstance().getLongProperty("cs.queries.cache.expiration.ms", 300000),
+            CSConfigManager.getInstance().getProperty("cs.queries.result.cache.tables", ""));
+    }
+
+    CSQueryResultCache(boolean enabled, int maxEntries, long defaultTtlMs, String referenceTables) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.defaultTtlMs = defaultTtlMs;
+        for (String table : referenceTables.split(",")) {
+            if (!table.trim().isEmpty()) {
+                this.referenceTables.add(normalizeTable(table.trim()));
+            }
+        }
+        entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    public static CSQueryResultCache getInstance() {
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Whether every table the SQL reads is a registered reference table
+     */
+    public boolean readsOnlyReferenceTables(String sql) {
+        Set<String> tables = tablesReadBy(sql);
+        return !tables.isEmpty() && referenceTables.containsAll(tables);
+    }
+
+    /**
+     * Cache key for a statement and its parameters
+     */
+    public static String key(String dbName, String statement, Object parameters) {
+        StringBuilder key = new StringBuilder(dbName).append('\u0000').append(statement).append('\u0000');
+        if (parameters instanceof Map) {
+            Map<String, Object> sorted = new TreeMap<>();
+            ((Map<?, ?>) parameters).forEach((k, v) -> sorted.put(String.valueOf(k), v));
+            key.append(sorted);
+        } else if (parameters instanceof Object[]) {
+            key.append(Arrays.deepToString((Object[]) parameters));
+        } else {
+            key.append(parameters);
+        }
+        return key.toString();
+    }
+
+    /**
+     * Cached value, or null when absent or expired
+     */
+    public synchronized Object get(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(key);
+            entry = null;
+        }
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.value;
+    }
+
+    /**
+     * Current invalidation generation; take it before running the query whose result is put
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Cache a result read from the given tables; ttlMs &lt;= 0 uses cs.queries.cache.expiration.ms
+     */
+    public synchronized void put(String key, Object value, long ttlMs, Set<String> tables) {
+        put(key, value, ttlMs, tables, generation);
+    }
+
+    /**
+     * Cache a result unless the cache was invalidated since readGeneration was taken, in which case
+     * the value may predate a write and is dropped
+     */
+    public synchronized void put(String key, Object value, long ttlMs, Set<String> tables, long readGeneration) {
+        if (value == null || maxEntries <= 0 || readGeneration != generation) {
+            return;
+        }
+        long ttl = ttlMs > 0 ? ttlMs : defaultTtlMs;
+        entries.put(key, new Entry(value, System.currentTimeMillis() + ttl, tables));
+        if (entries.size() > maxEntries) {
+            Iterator<String> eldest = entries.keySet().iterator();
+            eldest.next();
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Evict entries reading the tables the statement writes
+     */
+    public void invalidateFor(String sql) {
+        if (!enabled) {
+            return;
+        }
+        Set<String> written = tablesWrittenBy(sql);
+        synchronized (this) {
+            // Bumped even when nothing is evicted - a read in flight may be about to store a stale result
+            generation++;
+            if (entries.isEmpty()) {
+                return;
+            }
+            if (written == null) {
+                logger.debug("Clearing query result cache - cannot tell which table is written by: {}", sql);
+                entries.clear();
+                return;
+            }
+            entries.values().removeIf(entry -> !Collections.disjoint(entry.tables, written));
+        }
+    }
+
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * Tables named after FROM and JOIN (including comma-separated lists) anywhere in the statement, subqueries included
+     */
+    public static Set<String> tablesReadBy(String sql) {
+        Set<String> tables = new HashSet<>();
+        String[] tokens = tokenize(sql);
+        for (int i = 0; i < tokens.length; i++) {
+            String token = tokens[i].toLowerCase(Locale.ROOT);
+            if (!token.equals("from") && !token.equals("join")) {
+                continue;
+            }
+            int next = i + 1;
+            while (next < tokens.length && isIdentifier(tokens[next])) {
+                tables.add(normalizeTable(tokens[next]));
+                next++;
+                // Optional alias
+                if (next < tokens.length && tokens[next].equalsIgnoreCase("as")) {
+                    next++;
+                }
+                if (next < tokens.length && isIdentifier(tokens[next])
+                        && !CLAUSE_KEYWORDS.contains(tokens[next].toLowerCase(Locale.ROOT))) {
+                    next++;
+                }
+                if (next < tokens.length && tokens[next].equals(",")) {
+                    next++;
+                } else {
+                    break;
+                }
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * Table an INSERT/UPDATE/DELETE/MERGE/TRUNCATE/DDL statement writes, or null when unknown
+     */
+    public static Set<String> tablesWrittenBy(String sql) {
+        String[] tokens = tokenize(sql);
+        if (tokens.length == 0) {
+            return null;
+        }
+        String verb = tokens[0].toLowerCase(Locale.ROOT);
+        int index;
+        switch (verb) {
+            case "insert":
+            case "merge":
+            case "delete":
+                index = indexAfter(tokens, 1, verb.equals("delete") ? "from" : "into");
+                break;
+            case "update":
+                index = 1;
+                break;
+            case "truncate":
+                index = tokens.length > 1 && tokens[1].equalsIgnoreCase("table") ? 2 : 1;
+                break;
+            case "alter":
+            case "drop":
+            case "create":
+                index = indexAfter(tokens, 1, "table");
+                break;
+            default:
+                return null;
+        }
+        if (index < 0 || index >= tokens.length || !isIdentifier(tokens[index])) {
+            return null;
+        }
+        // DELETE/UPDATE ... FROM/USING other tables still only write the target
+        return Collections.singleton(normalizeTable(tokens[index]));
+    }
+
+    private static int indexAfter(String[] tokens, int from, String keyword) {
+        for (int i = from; i < Math.min(tokens.length, from + 4); i++) {
+            if (tokens[i].equalsIgnoreCase(keyword)) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    private static String[] tokenize(String sql) {
+        if (sql == null) {
+            return new String[0];
+        }
+        Matcher matcher = TOKEN_PATTERN.matcher(sql);
+        List<String> tokens = new ArrayList<>();
+        while (matcher.find()) {
+            String token = matcher.group();
+            if (!token.startsWith("'")) {
+                tokens.add(token);
+            }
+        }
+        return tokens.toArray(new String[0]);
+    }
+
+    private static boolean isIdentifier(String token) {
+        char first = token.charAt(0);
+        return Character.isLetter(first) || first == '_' || first == '"' || first == '`' || first == '[';
+    }
+
+    /**
+     * Unqualified, unquoted, lower-case table name
+     */
+    static String normalizeTable(String table) {
+        String name = table;
+        int dot = name.lastIndexOf('.');
+        if (dot >= 0) {
+            name = name.substring(dot + 1);
+        }
+        name = name.replace("\"", "").replace("`", "").replace("[", "").replace("]", "");
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("QueryResultCache{entries=%d, hits=%d, misses=%d, evictions=%d}",
+            size(), hits.get(), misses.get(), evictions.get());
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final long expiresAt;
+        private final Set<String> tables;
+
+        Entry(Object value, long expiresAt, Set<String> tables) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.tables = tables;
+        }
+    }
+}
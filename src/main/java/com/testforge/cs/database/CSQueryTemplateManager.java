@@ -1,5 +1,6 @@
 package com.testforge.cs.database;
 
+import com.testforge.cs.config.CSConfigManager;
 import com.testforge.cs.exceptions.CSDataException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,6 +22,16 @@ public class CSQueryTemplateManager {
     // Template cache
     private final Map<String, QueryTemplate> templateCache = new ConcurrentHashMap<>();
     
+    // Rendered SQL per template and data signature - rendering is a series of regex passes
+    private static final int RENDER_CACHE_SIZE = CSConfigManager.getInstance().getIntProperty("cs.queries.template.cache.size", 256);
+    private final Map<String, String> renderCache = Collections.synchronizedMap(
+        new LinkedHashMap<String, String>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > RENDER_CACHE_SIZE;
+            }
+        });
+    
     // Template patterns
     private static final Pattern IF_PATTERN = Pattern.compile("\\{\\{#if\\s+([^}]+)\\}\\}(.*?)\\{\\{/if\\}\\}", Pattern.DOTALL);
     private static final Pattern UNLESS_PATTERN = Pattern.compile("\\{\\{#unless\\s+([^}]+)\\}\\}(.*?)\\{\\{/unless\\}\\}", Pattern.DOTALL);
@@ -80,6 +91,7 @@ public class CSQueryTemplateManager {
      */
     public void addTemplate(String name, String template) {
         templateCache.put(name, new QueryTemplate(name, template));
+        renderCache.clear();
         logger.debug("Added query template: {}", name);
     }
     
@@ -99,7 +111,47 @@ public class CSQueryTemplateManager {
             throw new CSDataException("Template not found: " + templateName);
         }
         
-        return processTemplateContent(template.getContent(), data);
+        if (RENDER_CACHE_SIZE <= 0) {
+            return processTemplateContent(template.getContent(), data);
+        }
+        StringBuilder signature = new StringBuilder(templateName).append('\u0000');
+        appendSignature(signature, data);
+        String key = signature.toString();
+        String rendered = renderCache.get(key);
+        if (rendered == null) {
+            rendered = processTemplateContent(template.getContent(), data);
+            renderCache.put(key, rendered);
+        }
+        return rendered;
+    }
+    
+    /**
+     * Canonical text of template data: maps in key order, values with their type
+     * (the type matters for conditions - Boolean false is falsy, the string "false" is not)
+     */
+    private static void appendSignature(StringBuilder signature, Object value) {
+        if (value instanceof Map) {
+            signature.append('{');
+            Map<String, Object> sorted = new TreeMap<>();
+            ((Map<?, ?>) value).forEach((k, v) -> sorted.put(String.valueOf(k), v));
+            sorted.forEach((k, v) -> {
+                signature.append(k).append('=');
+                appendSignature(signature, v);
+                signature.append(',');
+            });
+            signature.append('}');
+        } else if (value instanceof Collection) {
+            signature.append('[');
+            for (Object item : (Collection<?>) value) {
+                appendSignature(signature, item);
+                signature.append(',');
+            }
+            signature.append(']');
+        } else if (value != null) {
+            signature.append(value.getClass().getSimpleName()).append(':').append(value);
+        } else {
+            signature.append("null");
+        }
     }
     
     /**
@@ -414,6 +466,7 @@ public class CSQueryTemplateManager {
      */
     public void removeTemplate(String name) {
         templateCache.remove(name);
+        renderCache.clear();
         logger.debug("Removed query template: {}", name);
     }
     
@@ -422,6 +475,7 @@ public class CSQueryTemplateManager {
      */
     public void clearTemplates() {
         templateCache.clear();
+        renderCache.clear();
         logger.debug("Cleared all query templates");
     }
 }
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.testforge.cs.database;
+
+import com.testforge.cs.exceptions.CSDataException;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * One row of a streamed query result
+ * Rows hold only their values; column labels and the name lookup are shared by every row of the
+ * result, so a row costs one Object[] instead of a LinkedHashMap.
+ */
+public final class CSResultRow {
+    private final Columns columns;
+    private final Object[] values;
+
+    CSResultRow(Columns columns, Object[] values) {
+        this.columns = columns;
+        this.values = values;
+    }
+
+    /**
+     * Value by 0-based column index
+     */
+    public Object get(int index) {
+        return values[index];
+    }
+
+    /**
+     * Value by column label (case-insensitive)
+     */
+    public Object get(String column) {
+        return values[columns.indexOf(column)];
+    }
+
+    public String getString(String column) {
+        Object value = get(column);
+        return value != null ? String.valueOf(value) : null;
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    public Columns getColumns() {
+        return columns;
+    }
+
+    /**
+     * Copy into the map form returned by CSDbUtils.executeQuery
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            map.put(columns.labels[i], values[i]);
+        }
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+
+    /**
+     * Column labels of a result, read once from the ResultSet metadata
+     */
+    public static final class Columns {
+        private final String[] labels;
+        private final Map<String, Integer> indexByLabel;
+
+        public Columns(String... labels) {
+            this.labels = labels.clone();
+            this.indexByLabel = new HashMap<>();
+            for (int i = 0; i < labels.length; i++) {
+                indexByLabel.putIfAbsent(labels[i].toLowerCase(Locale.ROOT), i);
+            }
+        }
+
+        static Columns from(ResultSetMetaData metaData) throws SQLException {
+            String[] labels = new String[metaData.getColumnCount()];
+            for (int i = 0; i < labels.length; i++) {
+                labels[i] = metaData.getColumnLabel(i + 1);
+            }
+            return new Columns(labels);
+        }
+
+        /**
+         * 0-based index of a column label (case-insensitive)
+         */
+        public int indexOf(String column) {
+            Integer index = indexByLabel.get(column.toLowerCase(Locale.ROOT));
+            if (index == null) {
+                throw new CSDataException("Column not found: " + column + " (columns: " + Arrays.toString(labels) + ")");
+            }
+            return index;
+        }
+
+        public int size() {
+            return labels.length;
+        }
+
+        public List<String> getLabels() {
+            return Collections.unmodifiableList(Arrays.asList(labels));
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package com.testforge.cs.database;
+
+import com.testforge.cs.exceptions.CSDataException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Set-based comparison of two query results, e.g. source and target tables in reconciliation tests
+ * Rows are matched by key columns and the remaining common columns are compared. Values are
+ * normalized first, so 10, 10L and 10.00 are equal regardless of the driver's numeric types.
+ * Only counts and the first maxSamples differences are kept.
+ *
+ * Usage:
+ * <pre>
+ * try (Stream&lt;CSResultRow&gt; source = CSDbUtils.streamQuery("source", "SELECT * FROM orders ORDER BY id");
+ *      Stream&lt;CSResultRow&gt; target = CSDbUtils.streamQuery("target", "SELECT * FROM orders ORDER BY id")) {
+ *     CSResultSetDiff.Result diff = CSResultSetDiff.diffSorted(source, target, List.of("id"), 20);
+ *     Assert.assertTrue(diff.isEqual(), diff.toString());
+ * }
+ * </pre>
+ */
+public final class CSResultSetDiff {
+    /**
+     * Default key order for diffSorted: column by column on normalized values, nulls first,
+     * numbers numerically and strings by String.compareTo (UTF-16 code units, case-sensitive).
+     * This matches ORDER BY on numeric keys; text keys under a linguistic or case-insensitive
+     * collation need a matching comparator.
+     */
+    public static final Comparator<List<Object>> KEY_ORDER = CSResultSetDiff::compareKeys;
+
+    private CSResultSetDiff() {
+        // Utility class
+    }
+
+    /**
+     * Merge-join two results that are both ordered by the key columns in KEY_ORDER
+     * Memory use is constant: neither side is loaded.
+     */
+    public static Result diffSorted(Stream<CSResultRow> left, Stream<CSResultRow> right,
+                                    List<String> keyColumns, int maxSamples) {
+        return diffSorted(left, right, keyColumns, maxSamples, KEY_ORDER);
+    }
+
+    /**
+     * Merge-join two results that are both ordered by keyOrder, e.g. KEY_ORDER.reversed() for
+     * ORDER BY key DESC or a comparator matching the database collation. The comparator receives
+     * normalized key values; rows out of that order fail with a CSDataException.
+     */
+    public static Result diffSorted(Stream<CSResultRow> left, Stream<CSResultRow> right,
+                                    List<String> keyColumns, int maxSamples,
+                                    Comparator<List<Object>> keyOrder) {
+        Result result = new Result(maxSamples);
+        Iterator<CSResultRow> leftRows = left.iterator();
+        Iterator<CSResultRow> rightRows = right.iterator();
+        RowReader leftReader = new RowReader(leftRows, keyColumns, "left", keyOrder);
+        RowReader rightReader = new RowReader(rightRows, keyColumns, "right", keyOrder);
+        ColumnPairs pairs = null;
+
+        leftReader.advance();
+        rightReader.advance();
+        while (leftReader.row != null || rightReader.row != null) {
+            int order = leftReader.row == null ? 1
+                : rightReader.row == null ? -1
+                : keyOrder.compare(leftReader.key, rightReader.key);
+            if (order < 0) {
+                result.onlyLeft(leftReader.key, leftReader.row);
+                leftReader.advance();
+            } else if (order > 0) {
+                result.onlyRight(rightReader.key, rightReader.row);
+                rightReader.advance();
+            } else {
+                if (pairs == null) {
+                    pairs = new ColumnPairs(leftReader.row.getColumns(), rightReader.row.getColumns(), keyColumns);
+                }
+                result.compare(leftReader.key, leftReader.row, rightReader.row, pairs);
+                leftReader.advance();
+                rightReader.advance();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Compare two results in any order; the left side is held in memory, keyed - pass the smaller one
+     */
+    public static Result diff(Stream<CSResultRow> left, Stream<CSResultRow> right,
+                              List<String> keyColumns, int maxSamples) {
+        Result result = new Result(maxSamples);
+        Map<List<Object>, CSResultRow> leftByKey = new LinkedHashMap<>();
+        RowReader leftReader = new RowReader(left.iterator(), keyColumns, null, null);
+        for (leftReader.advance(); leftReader.row != null; leftReader.advance()) {
+            if (leftByKey.put(leftReader.key, leftReader.row) != null) {
+                throw new CSDataException("Duplicate key in left result: " + leftReader.key);
+            }
+        }
+
+        ColumnPairs pairs = null;
+        RowReader rightReader = new RowReader(right.iterator(), keyColumns, null, null);
+        for (rightReader.advance(); rightReader.row != null; rightReader.advance()) {
+            CSResultRow leftRow = leftByKey.remove(rightReader.key);
+            if (leftRow == null) {
+                result.onlyRight(rightReader.key, rightReader.row);
+                continue;
+            }
+            if (pairs == null) {
+                pairs = new ColumnPairs(leftRow.getColumns(), rightReader.row.getColumns(), keyColumns);
+            }
+            result.compare(rightReader.key, leftRow, rightReader.row, pairs);
+        }
+        leftByKey.forEach(result::onlyLeft);
+        return result;
+    }
+
+    /**
+     * Canonical form for comparison: numbers as BigDecimal without trailing zeros and with a scale of
+     * at least 0 (10, 10L, 10.00 and 10.0d all become 10), byte arrays by content
+     */
+    static Object normalize(Object value) {
+        if (value instanceof BigDecimal) {
+            return canonical((BigDecimal) value);
+        }
+        if (value instanceof BigInteger) {
+            return canonical(new BigDecimal((BigInteger) value));
+        }
+        if (value instanceof Double || value instanceof Float) {
+            double d = ((Number) value).doubleValue();
+            return Double.isFinite(d) ? canonical(new BigDecimal(value.toString())) : value;
+        }
+        if (value instanceof Number) {
+            return canonical(BigDecimal.valueOf(((Number) value).longValue()));
+        }
+        if (value instanceof Character) {
+            return value.toString();
+        }
+        if (value instanceof byte[]) {
+            return ByteBuffer.wrap((byte[]) value);
+        }
+        return value;
+    }
+
+    /**
+     * BigDecimal equals and hashCode include the scale, so every number is brought to one scale
+     */
+    private static BigDecimal canonical(BigDecimal number) {
+        BigDecimal stripped = number.stripTrailingZeros();
+        return stripped.scale() < 0 ? stripped.setScale(0) : stripped;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static int compareValues(Object a, Object b) {
+        if (a == b) {
+            return 0;
+        }
+        if (a == null) {
+            return -1;
+        }
+        if (b == null) {
+            return 1;
+        }
+        if (a instanceof Comparable && a.getClass() == b.getClass()) {
+            return ((Comparable) a).compareTo(b);
+        }
+        return a.toString().compareTo(b.toString());
+    }
+
+    private static int compareKeys(List<Object> a, List<Object> b) {
+        for (int i = 0; i < a.size(); i++) {
+            int order = compareValues(a.get(i), b.get(i));
+            if (order != 0) {
+                return order;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Iterates rows and extracts their normalized key; checks ordering when a side name is given
+     */
+    private static final class RowReader {
+        private final Iterator<CSResultRow> rows;
+        private final List<String> keyColumns;
+        private final String sortedSide;
+        private final Comparator<List<Object>> keyOrder;
+        private int[] keyIndexes;
+        private CSResultRow row;
+        private List<Object> key;
+
+        RowReader(Iterator<CSResultRow> rows, List<String> keyColumns, String sortedSide,
+                  Comparator<List<Object>> keyOrder) {
+            this.rows = rows;
+            this.keyColumns = keyColumns;
+            this.sortedSide = sortedSide;
+            this.keyOrder = keyOrder;
+        }
+
+        void advance() {
+            List<Object> previous = key;
+            if (!rows.hasNext()) {
+                row = null;
+                key = null;
+                return;
+            }
+            row = rows.next();
+            if (keyIndexes == null) {
+                keyIndexes = new int[keyColumns.size()];
+                for (int i = 0; i < keyIndexes.length; i++) {
+                    keyIndexes[i] = row.getColumns().indexOf(keyColumns.get(i));
+                }
+            }
+            List<Object> next = new ArrayList<>(keyIndexes.length);
+            for (int index : keyIndexes) {
+                next.add(normalize(row.get(index)));
+            }
+            key = next;
+            if (sortedSide != null && previous != null && keyOrder.compare(previous, key) >= 0) {
+                throw new CSDataException("The " + sortedSide + " result is not ordered by " + keyColumns + " or has duplicate keys"
+                    + " (key " + key + " after " + previous + ") - use diff(), ORDER BY the key or pass a matching key order");
+            }
+        }
+    }
+
+    /**
+     * Non-key columns present on both sides, by label
+     */
+    private static final class ColumnPairs {
+        private final List<String> labels = new ArrayList<>();
+        private final int[] leftIndexes;
+        private final int[] rightIndexes;
+
+        ColumnPairs(CSResultRow.Columns left, CSResultRow.Columns right, List<String> keyColumns) {
+            List<int[]> pairs = new ArrayList<>();
+            for (String label : left.getLabels()) {
+                boolean isKey = keyColumns.stream().anyMatch(label::equalsIgnoreCase);
+                boolean onRight = right.getLabels().stream().anyMatch(label::equalsIgnoreCase);
+                if (!isKey && onRight) {
+                    labels.add(label);
+                    pairs.add(new int[]{left.indexOf(label), right.indexOf(label)});
+                }
+            }
+            leftIndexes = pairs.stream().mapToInt(p -> p[0]).toArray();
+            rightIndexes = pairs.stream().mapToInt(p -> p[1]).toArray();
+        }
+    }
+
+    /**
+     * Outcome of a comparison
+     */
+    public static class Result {
+        private final int maxSamples;
+        private final List<Difference> samples = new ArrayList<>();
+        private long matched;
+        private long changed;
+        private long onlyLeft;
+        private long onlyRight;
+
+        Result(int maxSamples) {
+            this.maxSamples = maxSamples;
+        }
+
+        void compare(List<Object> key, CSResultRow left, CSResultRow right, ColumnPairs pairs) {
+            Map<String, Object[]> changes = null;
+            for (int i = 0; i < pairs.labels.size(); i++) {
+                Object leftValue = left.get(pairs.leftIndexes[i]);
+                Object rightValue = right.get(pairs.rightIndexes[i]);
+                if (!Objects.equals(normalize(leftValue), normalize(rightValue))) {
+                    if (changes == null) {
+                        changes = new LinkedHashMap<>();
+                    }
+                    changes.put(pairs.labels.get(i), new Object[]{leftValue, rightValue});
+                }
+            }
+            if (changes == null) {
+                matched++;
+            } else {
+                changed++;
+                sample(new Difference(Difference.Type.CHANGED, key, changes, left, right));
+            }
+        }
+
+        void onlyLeft(List<Object> key, CSResultRow row) {
+            onlyLeft++;
+            sample(new Difference(Difference.Type.ONLY_LEFT, key, Collections.emptyMap(), row, null));
+        }
+
+        void onlyRight(List<Object> key, CSResultRow row) {
+            onlyRight++;
+            sample(new Difference(Difference.Type.ONLY_RIGHT, key, Collections.emptyMap(), null, row));
+        }
+
+        private void sample(Difference difference) {
+            if (samples.size() < maxSamples) {
+                samples.add(difference);
+            }
+        }
+
+        public boolean isEqual() {
+            return changed == 0 && onlyLeft == 0 && onlyRight == 0;
+        }
+
+        // Getters
+        public long getMatched() { return matched; }
+        public long getChanged() { return changed; }
+        public long getOnlyLeft() { return onlyLeft; }
+        public long getOnlyRight() { return onlyRight; }
+        public List<Difference> getSamples() { return samples; }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder(String.format(
+                "ResultSetDiff{matched=%d, changed=%d, onlyLeft=%d, onlyRight=%d}", matched, changed, onlyLeft, onlyRight));
+            for (Difference difference : samples) {
+                text.append("\n  ").append(difference);
+            }
+            return text.toString();
+        }
+    }
+
+    /**
+     * One differing row; changedColumns maps label to {left, right}
+     */
+    public static class Difference {
+        public enum Type { CHANGED, ONLY_LEFT, ONLY_RIGHT }
+
+        private final Type type;
+        private final List<Object> key;
+        private final Map<String, Object[]> changedColumns;
+        private final CSResultRow left;
+        private final CSResultRow right;
+
+        Difference(Type type, List<Object> key, Map<String, Object[]> changedColumns, CSResultRow left, CSResultRow right) {
+            this.type = type;
+            this.key = key;
+            this.changedColumns = changedColumns;
+            this.left = left;
+            this.right = right;
+        }
+
+        // Getters
+        public Type getType() { return type; }
+        public List<Object> getKey() { return key; }
+        public Map<String, Object[]> getChangedColumns() { return changedColumns; }
+        public CSResultRow getLeft() { return left; }
+        public CSResultRow getRight() { return right; }
+
+        @Override
+        public String toString() {
+            if (type != Type.CHANGED) {
+                return type + " " + key;
+            }
+            Map<String, String> changes = new LinkedHashMap<>();
+            changedColumns.forEach((column, values) -> changes.put(column, values[0] + " -> " + values[1]));
+            return type + " " + key + " " + changes;
+        }
+    }
+}
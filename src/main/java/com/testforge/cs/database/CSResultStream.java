@@ -0,0 +1,103 @@
+package com.testforge.cs.database;
+
+import com.testforge.cs.exceptions.CSDataException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Cursor-backed query results as a Stream of CSResultRow
+ * Rows are fetched from the server fetchSize at a time, so memory stays flat however large the
+ * result is. The stream holds a pooled connection until it is closed - always use
+ * try-with-resources. Auto-commit is switched off while streaming, which PostgreSQL needs to use
+ * a server-side cursor instead of reading the whole result.
+ */
+public final class CSResultStream {
+    private static final Logger logger = LoggerFactory.getLogger(CSResultStream.class);
+
+    private CSResultStream() {
+        // Utility class
+    }
+
+    /**
+     * Run the query and stream its rows; close the stream to release the connection
+     */
+    public static Stream<CSResultRow> open(DataSource dataSource, String sql, int fetchSize, Object... params) {
+        Connection connection = null;
+        PreparedStatement statement = null;
+        try {
+            connection = dataSource.getConnection();
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < params.length; i++) {
+                statement.setObject(i + 1, params[i]);
+            }
+            ResultSet resultSet = statement.executeQuery();
+            logger.debug("Streaming query (fetch size {}): {}", fetchSize, sql);
+
+            CSResultRow.Columns columns = CSResultRow.Columns.from(resultSet.getMetaData());
+            Connection streamConnection = connection;
+            PreparedStatement streamStatement = statement;
+            Spliterator<CSResultRow> rows = new Spliterators.AbstractSpliterator<CSResultRow>(
+                    Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(Consumer<? super CSResultRow> action) {
+                    try {
+                        if (!resultSet.next()) {
+                            return false;
+                        }
+                        Object[] values = new Object[columns.size()];
+                        for (int i = 0; i < values.length; i++) {
+                            values[i] = resultSet.getObject(i + 1);
+                        }
+                        action.accept(new CSResultRow(columns, values));
+                        return true;
+                    } catch (SQLException e) {
+                        throw new CSDataException("Failed to read streamed row: " + sql, e);
+                    }
+                }
+            };
+            return StreamSupport.stream(rows, false)
+                .onClose(() -> release(streamConnection, streamStatement, autoCommit));
+
+        } catch (SQLException e) {
+            if (connection != null) {
+                release(connection, statement, true);
+            }
+            throw new CSDataException("Failed to execute streaming query: " + sql, e);
+        }
+    }
+
+    /**
+     * End the read transaction and return the connection to the pool
+     */
+    private static void release(Connection connection, PreparedStatement statement, boolean autoCommit) {
+        try {
+            if (statement != null) {
+                statement.close();
+            }
+            connection.rollback();
+            connection.setAutoCommit(autoCommit);
+        } catch (SQLException e) {
+            logger.warn("Error ending streaming query: {}", e.getMessage());
+        } finally {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                logger.warn("Error closing streaming connection: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -3,7 +3,10 @@ package com.testforge.cs.driver;
 import com.testforge.cs.config.CSConfigManager;
 import com.testforge.cs.elements.CSElement;
 import com.testforge.cs.exceptions.CSDriverException;
+import com.testforge.cs.reporting.CSPhaseProfiler;
 import com.testforge.cs.reporting.CSReportManager;
+import com.testforge.cs.locators.CSLocatorRegistry;
+import com.testforge.cs.waits.CSProfiledWait;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
@@ -50,7 +53,7 @@ public class CSDriver {
         this.enablePerformanceMetrics = config.getBoolean("cs.driver.performance.metrics", false);
         
         // Initialize wait
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(defaultTimeout));
+        this.wait = new CSProfiledWait(driver, Duration.ofSeconds(defaultTimeout));
     }
     
     /**
@@ -134,7 +137,7 @@ public class CSDriver {
      * Find element using locator string and description
      */
     public CSElement findElement(String locatorString, String description) {
-        By by = parseLocatorString(locatorString);
+        By by = CSLocatorRegistry.getBy(locatorString);
         return new CSElement(driver, by, description);
     }
     
@@ -387,7 +390,7 @@ public class CSDriver {
      */
     public byte[] takeScreenshot() {
         logger.info("Taking screenshot");
-        try {
+        try (CSPhaseProfiler.Scope ignored = CSPhaseProfiler.begin(CSPhaseProfiler.Phase.SCREENSHOT)) {
             TakesScreenshot screenshot = (TakesScreenshot) driver;
             byte[] screenshotBytes = screenshot.getScreenshotAs(OutputType.BYTES);
             CSReportManager.info("Screenshot captured successfully");
@@ -535,47 +538,6 @@ public class CSDriver {
         }
     }
     
-    /**
-     * Parse locator string to By object
-     */
-    private By parseLocatorString(String locatorString) {
-        if (locatorString.contains(":")) {
-            String[] parts = locatorString.split(":", 2);
-            String type = parts[0].toLowerCase();
-            String value = parts[1];
-            
-            switch (type) {
-                case "id":
-                    return By.id(value);
-                case "name":
-                    return By.name(value);
-                case "css":
-                    return By.cssSelector(value);
-                case "xpath":
-                    return By.xpath(value);
-                case "class":
-                    return By.className(value);
-                case "tag":
-                    return By.tagName(value);
-                case "link":
-                    return By.linkText(value);
-                case "partial":
-                    return By.partialLinkText(value);
-                default:
-                    throw new CSDriverException("Unknown locator type: " + type);
-            }
-        }
-        
-        // If no type specified, try to guess
-        if (locatorString.startsWith("//") || locatorString.contains("[")) {
-            return By.xpath(locatorString);
-        } else if (locatorString.startsWith("#") || locatorString.contains(".") || locatorString.contains(":")) {
-            return By.cssSelector(locatorString);
-        } else {
-            return By.id(locatorString);
-        }
-    }
-    
     @Override
     public String toString() {
         return String.format("CSDriver[%s]", driver.getClass().getSimpleName());
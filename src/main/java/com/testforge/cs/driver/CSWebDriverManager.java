@@ -3,7 +3,9 @@ package com.testforge.cs.driver;
 import com.testforge.cs.config.CSConfigManager;
 import com.testforge.cs.exceptions.CSFrameworkException;
 import com.testforge.cs.exceptions.CSWebDriverException;
+import com.testforge.cs.logging.CSEventLog;
 import com.testforge.cs.page.CSPageManager;
+import com.testforge.cs.reporting.CSPhaseProfiler;
 import com.testforge.cs.screenshot.CSScreenshotUtils;
 import io.github.bonigarcia.wdm.WebDriverManager;
 import io.github.bonigarcia.wdm.config.DriverManagerType;
@@ -362,9 +364,17 @@ public class CSWebDriverManager {
     
     /**
      * Create WebDriver instance
+     */
+    public static WebDriver createDriver(String browserType, boolean headless, Map<String, Object> capabilities) {
+        try (CSPhaseProfiler.Scope ignored = CSPhaseProfiler.begin(CSPhaseProfiler.Phase.BROWSER_CREATION)) {
+            return createDriverExclusive(browserType, headless, capabilities);
+        }
+    }
+    
+    /**
      * Synchronized to prevent race conditions during parallel browser creation
      */
-    public static synchronized WebDriver createDriver(String browserType, boolean headless, Map<String, Object> capabilities) {
+    private static synchronized WebDriver createDriverExclusive(String browserType, boolean headless, Map<String, Object> capabilities) {
         String threadName = Thread.currentThread().getName();
         long threadId = Thread.currentThread().getId();
         
@@ -404,9 +414,11 @@ public class CSWebDriverManager {
         }
         
         int currentCount = browserCount.incrementAndGet();
-        logger.error("!!! BROWSER #{} BEING CREATED !!! Thread: {} (ID: {}), Type: {}", 
+        logger.info("!!! BROWSER #{} BEING CREATED !!! Thread: {} (ID: {}), Type: {}", 
             currentCount, threadName, threadId, browserType);
-        logger.error("Current driver pool size before creation: {}", driverPool.size());
+        logger.info("Current driver pool size before creation: {}", driverPool.size());
+        CSEventLog.event(CSEventLog.Category.DRIVER, CSEventLog.Level.INFO, "browser.create",
+            "browser", browserType, "number", currentCount, "poolSize", driverPool.size());
         
         WebDriver driver = null;
         
@@ -1457,4 +1469,11 @@ public class CSWebDriverManager {
     public static int getDriverPoolSize() {
         return driverPool.size();
     }
+    
+    /**
+     * Get maximum number of browsers allowed (Integer.MAX_VALUE when unlimited)
+     */
+    public static int getMaxBrowsersAllowed() {
+        return maxBrowsersAllowed;
+    }
 }
\ No newline at end of file
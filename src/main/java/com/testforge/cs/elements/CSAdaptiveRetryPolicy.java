@@ -0,0 +1,107 @@
+package com.testforge.cs.elements;
+
+import com.testforge.cs.config.CSConfigManager;
+import com.testforge.cs.exceptions.CSElementNotFoundException;
+import org.openqa.selenium.InvalidArgumentException;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.support.ui.UnexpectedTagNameException;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Default exception-aware retry policy with exponential back-off and jitter.
+ * Stale references are retried immediately, failures that cannot succeed on retry
+ * (invalid selector, dead session, element already searched with its own retries)
+ * are not retried at all, everything else backs off exponentially.
+ */
+public class CSAdaptiveRetryPolicy implements CSRetryPolicy {
+
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final double multiplier;
+    private final long maxDelayMillis;
+    private final double jitter;
+
+    public CSAdaptiveRetryPolicy(int maxAttempts, long baseDelayMillis, double multiplier,
+                                 long maxDelayMillis, double jitter) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseDelayMillis = Math.max(0, baseDelayMillis);
+        this.multiplier = Math.max(1.0, multiplier);
+        this.maxDelayMillis = Math.max(this.baseDelayMillis, maxDelayMillis);
+        this.jitter = Math.min(1.0, Math.max(0.0, jitter));
+    }
+
+    /**
+     * Create policy from framework configuration
+     */
+    public static CSAdaptiveRetryPolicy fromConfig() {
+        CSConfigManager config = CSConfigManager.getInstance();
+        return new CSAdaptiveRetryPolicy(
+            config.getInt("cs.element.max.retries", 3),
+            config.getLong("cs.element.retry.delay", 500),
+            config.getDouble("cs.element.retry.backoff.multiplier", 2.0),
+            config.getLong("cs.element.retry.max.delay", 5000),
+            config.getDouble("cs.element.retry.jitter", 0.2)
+        );
+    }
+
+    @Override
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    @Override
+    public long nextDelayMillis(int attempt, Throwable failure) {
+        if (attempt >= maxAttempts) {
+            return -1;
+        }
+
+        switch (classify(failure)) {
+            case FATAL:
+                return -1;
+            case IMMEDIATE:
+                return 0;
+            default:
+                double delay = baseDelayMillis * Math.pow(multiplier, attempt - 1);
+                delay = Math.min(delay, maxDelayMillis);
+                if (jitter > 0 && delay > 0) {
+                    delay *= 1.0 + ThreadLocalRandom.current().nextDouble(-jitter, jitter);
+                }
+                return Math.round(delay);
+        }
+    }
+
+    private enum FailureKind { FATAL, IMMEDIATE, BACKOFF }
+
+    /**
+     * Classify failure by walking the cause chain
+     */
+    private FailureKind classify(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof CSElementNotFoundException
+                    || t instanceof InvalidSelectorException
+                    || t instanceof InvalidArgumentException
+                    || t instanceof NoSuchSessionException
+                    || t instanceof UnsupportedCommandException
+                    || t instanceof UnexpectedTagNameException) {
+                return FailureKind.FATAL;
+            }
+            if (t instanceof StaleElementReferenceException) {
+                return FailureKind.IMMEDIATE;
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return FailureKind.BACKOFF;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CSAdaptiveRetryPolicy[maxAttempts=%d, baseDelay=%dms, multiplier=%.1f, maxDelay=%dms, jitter=%.2f]",
+            maxAttempts, baseDelayMillis, multiplier, maxDelayMillis, jitter);
+    }
+}
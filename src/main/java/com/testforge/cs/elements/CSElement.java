@@ -3,6 +3,9 @@ package com.testforge.cs.elements;
 import com.testforge.cs.config.CSConfigManager;
 import com.testforge.cs.exceptions.CSElementException;
 import com.testforge.cs.exceptions.CSElementNotFoundException;
+import com.testforge.cs.locators.CSLocatorRegistry;
+import com.testforge.cs.locators.CSParsedLocator;
+import com.testforge.cs.reporting.CSPhaseProfiler;
 import com.testforge.cs.reporting.CSReportManager;
 import com.testforge.cs.waits.CSWaitUtils;
 import org.openqa.selenium.*;
@@ -12,6 +15,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -29,12 +34,13 @@ public class CSElement {
     private final String description;
     private final boolean aiEnabled;
     private final String[] alternativeLocators;
+    private volatile List<By> resolvedAlternatives;
     private final CSConfigManager config;
     private final CSReportManager reportManager;
     
     // Configuration
-    private final int maxRetries;
-    private final long retryDelay;
+    private final CSRetryPolicy retryPolicy;
+    private final boolean reportRetries;
     private final boolean highlightElements;
     private final boolean screenshotOnAction;
     
@@ -66,6 +72,16 @@ public class CSElement {
         this(driver, locator, description, false, new String[0]);
     }
     
+    /**
+     * Create element with already resolved alternative locators - avoids By -> String -> By round trips
+     */
+    public CSElement(WebDriver driver, By locator, String description, 
+                    boolean aiEnabled, List<By> alternativeLocators) {
+        this(driver, locator, description, aiEnabled, new String[0]);
+        this.resolvedAlternatives = alternativeLocators != null ? 
+            Collections.unmodifiableList(new ArrayList<>(alternativeLocators)) : Collections.emptyList();
+    }
+    
     public CSElement(WebDriver driver, By locator, String description, 
                     boolean aiEnabled, String[] alternativeLocators) {
         this.driver = driver;
@@ -77,8 +93,8 @@ public class CSElement {
         this.reportManager = CSReportManager.getInstance();
         
         // Load configuration
-        this.maxRetries = config.getInt("cs.element.max.retries", 3);
-        this.retryDelay = config.getLong("cs.element.retry.delay", 500);
+        this.retryPolicy = CSRetryContext.getPolicy();
+        this.reportRetries = config.getBoolean("cs.element.retry.report", false);
         this.highlightElements = config.getBoolean("cs.element.highlight", false);
         this.screenshotOnAction = config.getBoolean("cs.screenshot.on.action", false);
     }
@@ -1118,7 +1134,7 @@ public class CSElement {
         logger.debug("Select by visible text '{}' in element: {}", text, description);
         CSReportManager.info("Selecting '" + text + "' from " + description);
         
-        return performAction("selectByVisibleText", () -> {
+        return performActionWithValue("selectByVisibleText", text, () -> {
             Select select = new Select(getElement());
             select.selectByVisibleText(text);
             CSReportManager.pass("Selected '" + text + "' from " + description);
@@ -1290,6 +1306,23 @@ public class CSElement {
         });
     }
     
+    /**
+     * Uncheck checkbox
+     */
+    public CSElement uncheck() {
+        logger.debug("Uncheck element: {}", description);
+        
+        return performAction("uncheck", () -> {
+            WebElement el = getElement();
+            if (el.isSelected()) {
+                el.click();
+                CSReportManager.pass("Unchecked " + description);
+            } else {
+                CSReportManager.info(description + " was already unchecked");
+            }
+        });
+    }
+    
     /**
      * Get element for advanced operations
      * Fixed to work correctly with cs.browser.reuse.instance=false
@@ -1321,61 +1354,63 @@ public class CSElement {
      */
     private WebElement findElement() {
         int attempts = 0;
-        Exception lastException = null;
         long startTime = System.currentTimeMillis();
+        int maxAttempts = retryPolicy.getMaxAttempts();
         
         // Get implicit wait timeout from driver
         int implicitWaitSeconds = config.getInt("selenium.implicit.wait", 10);
         
-        logger.debug("Finding element: {} with locator: {} (max retries: {}, implicit wait: {}s)", 
-            description, locator, maxRetries, implicitWaitSeconds);
+        logger.debug("Finding element: {} with locator: {} (max attempts: {}, implicit wait: {}s)", 
+            description, locator, maxAttempts, implicitWaitSeconds);
         
-        while (attempts < maxRetries) {
-            long attemptStartTime = System.currentTimeMillis();
-            
-            try {
-                logger.debug("Attempt {}/{} to find element: {}", attempts + 1, maxRetries, description);
-                // Try primary locator - use getCurrentDriver() instead of cached driver
-                return getCurrentDriver().findElement(locator);
-            } catch (NoSuchElementException e) {
-                lastException = e;
-                long attemptDuration = System.currentTimeMillis() - attemptStartTime;
-                logger.debug("Element not found on attempt {}/{} after {}ms", 
-                    attempts + 1, maxRetries, attemptDuration);
+        try (CSRetryContext.Scope budget = CSRetryContext.begin();
+             CSPhaseProfiler.Scope phase = CSPhaseProfiler.begin(CSPhaseProfiler.Phase.ELEMENT_FIND)) {
+            while (true) {
+                long attemptStartTime = System.currentTimeMillis();
                 
-                // Try alternative locators
-                if (alternativeLocators != null && alternativeLocators.length > 0) {
-                    logger.debug("Trying {} alternative locators", alternativeLocators.length);
-                    for (int i = 0; i < alternativeLocators.length; i++) {
-                        String altLocator = alternativeLocators[i];
-                        try {
-                            By by = parseLocator(altLocator);
-                            logger.debug("Trying alternative locator {}/{}: {} -> {}", 
-                                i + 1, alternativeLocators.length, altLocator, by);
-                            WebElement foundElement = getCurrentDriver().findElement(by);
-                            logger.info("Self-healing SUCCESS: Element '{}' found using alternative locator {}: {} -> {}", 
-                                description, i + 1, altLocator, by);
-                            reportManager.logInfo("Self-healing activated: Found element using alternative locator: " + by);
-                            return foundElement;
-                        } catch (Exception altE) {
-                            logger.debug("Alternative locator {}/{} failed: {} ({})", 
-                                i + 1, alternativeLocators.length, altLocator, altE.getMessage());
-                            // Continue to next alternative
+                try {
+                    logger.debug("Attempt {}/{} to find element: {}", attempts + 1, maxAttempts, description);
+                    // Try primary locator - use getCurrentDriver() instead of cached driver
+                    return getCurrentDriver().findElement(locator);
+                } catch (NoSuchElementException e) {
+                    long attemptDuration = System.currentTimeMillis() - attemptStartTime;
+                    logger.debug("Element not found on attempt {}/{} after {}ms", 
+                        attempts + 1, maxAttempts, attemptDuration);
+                    
+                    // Try alternative locators
+                    List<By> alternatives = getAlternativeLocators();
+                    if (!alternatives.isEmpty()) {
+                        logger.debug("Trying {} alternative locators", alternatives.size());
+                        for (int i = 0; i < alternatives.size(); i++) {
+                            By by = alternatives.get(i);
+                            try {
+                                logger.debug("Trying alternative locator {}/{}: {}", 
+                                    i + 1, alternatives.size(), by);
+                                WebElement foundElement = getCurrentDriver().findElement(by);
+                                logger.info("Self-healing SUCCESS: Element '{}' found using alternative locator {}: {}", 
+                                    description, i + 1, by);
+                                reportManager.logInfo("Self-healing activated: Found element using alternative locator: " + by);
+                                return foundElement;
+                            } catch (Exception altE) {
+                                logger.debug("Alternative locator {}/{} failed: {} ({})", 
+                                    i + 1, alternatives.size(), by, altE.getMessage());
+                                // Continue to next alternative
+                            }
                         }
+                        logger.debug("All {} alternative locators failed for element: {}", 
+                            alternatives.size(), description);
                     }
-                    logger.debug("All {} alternative locators failed for element: {}", 
-                        alternativeLocators.length, description);
-                }
-                
-                attempts++;
-                if (attempts < maxRetries) {
-                    logger.debug("Waiting {}ms before retry {}/{}", retryDelay, attempts + 1, maxRetries);
-                    CSReportManager.info(String.format("[RETRY] Element not found, retrying in %dms (attempt %d/%d)", 
-                        retryDelay, attempts + 1, maxRetries));
-                    try {
-                        Thread.sleep(retryDelay);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
+                    
+                    attempts++;
+                    long delay = retryPolicy.nextDelayMillis(attempts, e);
+                    if (delay >= 0) {
+                        logger.debug("Waiting {}ms before retry {}/{}", delay, attempts + 1, maxAttempts);
+                        if (reportRetries) {
+                            CSReportManager.info(String.format("[RETRY] Element not found, retrying in %dms (attempt %d/%d)", 
+                                delay, attempts + 1, maxAttempts));
+                        }
+                    }
+                    if (!CSRetryContext.pause(delay, System.currentTimeMillis() - attemptStartTime)) {
                         break;
                     }
                 }
@@ -1395,60 +1430,36 @@ public class CSElement {
     }
     
     /**
-     * Parse locator string to By object
+     * Resolve alternative locators once - repository keys and locator strings are not re-parsed per attempt
      */
-    private By parseLocator(String locatorString) {
-        // Handle By.toString() format (e.g., "By.xpath: //table[@id='resultsTable']")
-        if (locatorString.startsWith("By.")) {
-            if (locatorString.startsWith("By.xpath: ")) {
-                return By.xpath(locatorString.substring("By.xpath: ".length()));
-            } else if (locatorString.startsWith("By.id: ")) {
-                return By.id(locatorString.substring("By.id: ".length()));
-            } else if (locatorString.startsWith("By.cssSelector: ")) {
-                return By.cssSelector(locatorString.substring("By.cssSelector: ".length()));
-            } else if (locatorString.startsWith("By.name: ")) {
-                return By.name(locatorString.substring("By.name: ".length()));
-            } else if (locatorString.startsWith("By.className: ")) {
-                return By.className(locatorString.substring("By.className: ".length()));
-            } else if (locatorString.startsWith("By.tagName: ")) {
-                return By.tagName(locatorString.substring("By.tagName: ".length()));
-            } else if (locatorString.startsWith("By.linkText: ")) {
-                return By.linkText(locatorString.substring("By.linkText: ".length()));
-            } else if (locatorString.startsWith("By.partialLinkText: ")) {
-                return By.partialLinkText(locatorString.substring("By.partialLinkText: ".length()));
+    private List<By> getAlternativeLocators() {
+        List<By> resolved = resolvedAlternatives;
+        if (resolved == null) {
+            resolved = new ArrayList<>();
+            if (alternativeLocators != null) {
+                for (String altLocator : alternativeLocators) {
+                    try {
+                        resolved.add(parseLocator(altLocator));
+                    } catch (Exception e) {
+                        logger.debug("Skipping unresolvable alternative locator '{}': {}", altLocator, e.getMessage());
+                    }
+                }
             }
+            resolved = Collections.unmodifiableList(resolved);
+            resolvedAlternatives = resolved;
         }
-        
-        // Handle standard format (e.g., "xpath://table[@id='resultsTable']")
-        if (locatorString.contains(":")) {
-            String[] parts = locatorString.split(":", 2);
-            String type = parts[0].toLowerCase();
-            String value = parts[1];
-            
-            switch (type) {
-                case "id":
-                    return By.id(value);
-                case "name":
-                    return By.name(value);
-                case "css":
-                    return By.cssSelector(value);
-                case "xpath":
-                    return By.xpath(value);
-                case "class":
-                    return By.className(value);
-                case "tag":
-                    return By.tagName(value);
-                case "link":
-                    return By.linkText(value);
-                case "partial":
-                    return By.partialLinkText(value);
-                default:
-                    // Assume it's a repository key
-                    return CSObjectRepositoryHelper.getLocator(locatorString);
-            }
+        return resolved;
+    }
+    
+    /**
+     * Parse locator string to By object - typed locators go through the shared registry,
+     * anything else is treated as a repository key
+     */
+    private By parseLocator(String locatorString) {
+        CSParsedLocator parsed = CSLocatorRegistry.parseTyped(locatorString);
+        if (parsed != null) {
+            return parsed.getBy();
         }
-        
-        // Assume it's a repository key
         return CSObjectRepositoryHelper.getLocator(locatorString);
     }
     
@@ -1481,9 +1492,9 @@ public class CSElement {
     }
     
     /**
-     * Get human-readable action description
+     * Get human-readable action description (also used by CSFormFiller for batched fields)
      */
-    private String getActionDescription(String actionName) {
+    static String getActionDescription(String actionName) {
         switch (actionName) {
             case "click": return "Click element";
             case "clearAndType": return "Clear and type text";
@@ -1497,6 +1508,7 @@ public class CSElement {
             case "clear": return "Clear field";
             case "submit": return "Submit form";
             case "selectByText": return "Select by text";
+            case "selectByVisibleText": return "Select by text";
             case "selectByValue": return "Select by value";
             case "selectByIndex": return "Select by index";
             case "hover": return "Hover over element";
@@ -1521,27 +1533,26 @@ public class CSElement {
         String actionDescription = getActionDescription(actionName);
         CSReportManager.addAction(actionName, actionDescription, description, value);
         
-        for (int attempt = 0; attempt < maxRetries; attempt++) {
-            try {
-                action.run();
-                
-                if (screenshotOnAction) {
-                    captureScreenshot(actionName);
-                }
-                
-                return this;
-            } catch (Exception e) {
-                lastException = e;
-                logger.warn("Action '{}' failed on attempt {}: {}", actionName, attempt + 1, e.getMessage());
-                
-                if (attempt < maxRetries - 1) {
-                    try {
-                        Thread.sleep(retryDelay);
-                        element = null; // Force re-find
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
+        try (CSRetryContext.Scope budget = CSRetryContext.begin()) {
+            for (int attempt = 1; ; attempt++) {
+                long attemptStartTime = System.currentTimeMillis();
+                try {
+                    action.run();
+                    
+                    if (screenshotOnAction) {
+                        captureScreenshot(actionName);
+                    }
+                    
+                    return this;
+                } catch (Exception e) {
+                    lastException = e;
+                    logger.warn("Action '{}' failed on attempt {}: {}", actionName, attempt, e.getMessage());
+                    
+                    long delay = retryPolicy.nextDelayMillis(attempt, e);
+                    if (!CSRetryContext.pause(delay, System.currentTimeMillis() - attemptStartTime)) {
                         break;
                     }
+                    element = null; // Force re-find
                 }
             }
         }
@@ -1601,52 +1612,52 @@ public class CSElement {
     private <T> T performFunction(String functionName, java.util.function.Supplier<T> function) {
         Exception lastException = null;
         long startTime = System.currentTimeMillis();
+        int maxAttempts = retryPolicy.getMaxAttempts();
+        int attempts = 0;
         
-        logger.debug("Executing function '{}' on element: {} (max retries: {})", 
-            functionName, description, maxRetries);
+        logger.debug("Executing function '{}' on element: {} (max attempts: {})", 
+            functionName, description, maxAttempts);
         
-        for (int attempt = 0; attempt < maxRetries; attempt++) {
-            long attemptStartTime = System.currentTimeMillis();
-            
-            try {
-                logger.debug("Function '{}' attempt {}/{}", functionName, attempt + 1, maxRetries);
-                T result = function.get();
-                
-                long totalDuration = System.currentTimeMillis() - startTime;
-                logger.debug("Function '{}' succeeded after {}ms", functionName, totalDuration);
-                
-                return result;
-            } catch (Exception e) {
-                lastException = e;
-                long attemptDuration = System.currentTimeMillis() - attemptStartTime;
-                
-                // Check if it's an element not found exception
-                if (e.getCause() instanceof CSElementNotFoundException) {
-                    CSElementNotFoundException enfe = (CSElementNotFoundException) e.getCause();
-                    logger.warn("Function '{}' failed on attempt {}/{}: Element not found after {} seconds", 
-                        functionName, attempt + 1, maxRetries, enfe.getTimeoutSeconds());
-                    CSReportManager.warn(String.format("Function '%s' failed on attempt %d: Element not found after %d seconds",
-                        functionName, attempt + 1, enfe.getTimeoutSeconds()));
-                } else {
-                    logger.warn("Function '{}' failed on attempt {}/{} after {}ms: {}", 
-                        functionName, attempt + 1, maxRetries, attemptDuration, e.getMessage());
-                    CSReportManager.warn(String.format("Function '%s' failed on attempt %d: %s",
-                        functionName, attempt + 1, e.getMessage()));
-                }
+        try (CSRetryContext.Scope budget = CSRetryContext.begin()) {
+            while (true) {
+                long attemptStartTime = System.currentTimeMillis();
+                attempts++;
                 
-                if (attempt < maxRetries - 1) {
-                    logger.debug("Waiting {}ms before retry {}/{} for function '{}'", 
-                        retryDelay, attempt + 2, maxRetries, functionName);
-                    CSReportManager.info(String.format("[RETRY] Function '%s' will retry in %dms (attempt %d/%d)",
-                        functionName, retryDelay, attempt + 2, maxRetries));
+                try {
+                    logger.debug("Function '{}' attempt {}/{}", functionName, attempts, maxAttempts);
+                    T result = function.get();
                     
-                    try {
-                        Thread.sleep(retryDelay);
-                        element = null; // Force re-find
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
+                    long totalDuration = System.currentTimeMillis() - startTime;
+                    logger.debug("Function '{}' succeeded after {}ms", functionName, totalDuration);
+                    
+                    return result;
+                } catch (Exception e) {
+                    lastException = e;
+                    long attemptDuration = System.currentTimeMillis() - attemptStartTime;
+                    
+                    // Check if it's an element not found exception
+                    if (e.getCause() instanceof CSElementNotFoundException) {
+                        CSElementNotFoundException enfe = (CSElementNotFoundException) e.getCause();
+                        logger.warn("Function '{}' failed on attempt {}/{}: Element not found after {} seconds", 
+                            functionName, attempts, maxAttempts, enfe.getTimeoutSeconds());
+                    } else {
+                        logger.warn("Function '{}' failed on attempt {}/{} after {}ms: {}", 
+                            functionName, attempts, maxAttempts, attemptDuration, e.getMessage());
+                    }
+                    
+                    long delay = retryPolicy.nextDelayMillis(attempts, e);
+                    if (delay >= 0) {
+                        logger.debug("Waiting {}ms before retry {}/{} for function '{}'", 
+                            delay, attempts + 1, maxAttempts, functionName);
+                        if (reportRetries) {
+                            CSReportManager.info(String.format("[RETRY] Function '%s' will retry in %dms (attempt %d/%d)",
+                                functionName, delay, attempts + 1, maxAttempts));
+                        }
+                    }
+                    if (!CSRetryContext.pause(delay, attemptDuration)) {
                         break;
                     }
+                    element = null; // Force re-find
                 }
             }
         }
@@ -1654,12 +1665,20 @@ public class CSElement {
         long totalDuration = System.currentTimeMillis() - startTime;
         double totalSeconds = totalDuration / 1000.0;
         
+        if (lastException != null && lastException.getCause() instanceof CSElementNotFoundException) {
+            CSReportManager.warn(String.format("Function '%s' failed: Element not found after %d seconds",
+                functionName, ((CSElementNotFoundException) lastException.getCause()).getTimeoutSeconds()));
+        } else {
+            CSReportManager.warn(String.format("Function '%s' failed after %d attempts: %s",
+                functionName, attempts, lastException != null ? lastException.getMessage() : "unknown error"));
+        }
+        
         logger.error("Function '{}' failed after {} attempts and {} seconds on element: {}", 
-            functionName, maxRetries, String.format("%.1f", totalSeconds), description);
+            functionName, attempts, String.format("%.1f", totalSeconds), description);
         
         String errorMessage = String.format(
             "Failed to execute function '%s' on element: %s after %d attempts and %.1f seconds", 
-            functionName, description, maxRetries, totalSeconds
+            functionName, description, attempts, totalSeconds
         );
         
         throw new CSElementException(errorMessage, lastException);
@@ -1692,6 +1711,20 @@ public class CSElement {
         // Implementation would use screenshot utility
     }
     
+    /**
+     * Get the primary locator of this element
+     */
+    public By getLocator() {
+        return locator;
+    }
+    
+    /**
+     * Get the human-readable description used in reports
+     */
+    public String getDescription() {
+        return description;
+    }
+    
     @Override
     public String toString() {
         return String.format("CSElement[%s]", description);
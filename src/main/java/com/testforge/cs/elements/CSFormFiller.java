@@ -0,0 +1,362 @@
+package com.testforge.cs.elements;
+
+import com.testforge.cs.config.CSConfigManager;
+import com.testforge.cs.driver.CSWebDriverManager;
+import com.testforge.cs.exceptions.CSElementException;
+import com.testforge.cs.locators.CSLocatorRegistry;
+import com.testforge.cs.locators.CSParsedLocator;
+import com.testforge.cs.reporting.CSReportManager;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Batch form filler for form-heavy flows
+ * Collects type/select/check operations and applies consecutive JavaScript-safe
+ * fields in a single script round trip. Fields that need real keyboard/mouse events
+ * (file inputs, fields the script cannot locate or change) and fields WebDriver could not
+ * interact with (hidden, disabled or read-only) fall back to the regular CSElement methods,
+ * so retries, self-healing, errors and reporting behave as usual. With
+ * cs.screenshot.on.action every field goes through CSElement so each gets its screenshot.
+ */
+public class CSFormFiller {
+    private static final Logger logger = LoggerFactory.getLogger(CSFormFiller.class);
+
+    private static final String BATCH_SCRIPT =
+        "var specs = arguments[0], out = [];" +
+        "function fire(el, name) {" +
+        "    var ev;" +
+        "    if (typeof Event === 'function') {" +
+        "        ev = new Event(name, { bubbles: true, cancelable: true });" +
+        "    } else {" +
+        "        ev = document.createEvent('HTMLEvents');" +
+        "        ev.initEvent(name, true, true);" +
+        "    }" +
+        "    el.dispatchEvent(ev);" +
+        "}" +
+        "function locate(s) {" +
+        "    if (s.element) return s.element;" +
+        "    if (s.strategy === 'id') return document.getElementById(s.selector);" +
+        "    if (s.strategy === 'name') return document.getElementsByName(s.selector)[0] || null;" +
+        "    if (s.strategy === 'css') return document.querySelector(s.selector);" +
+        "    if (s.strategy === 'xpath') return document.evaluate(s.selector, document, null, 9, null).singleNodeValue;" +
+        "    return null;" +
+        "}" +
+        "function shown(el) {" +
+        "    if ((el.type || '').toLowerCase() === 'hidden') return false;" +
+        "    var st = window.getComputedStyle(el);" +
+        "    if (st.visibility === 'hidden' || st.visibility === 'collapse' || st.display === 'none') return false;" +
+        "    return !!(el.offsetWidth || el.offsetHeight || el.getClientRects().length);" +
+        "}" +
+        "function setValue(el, v) {" +
+        "    var proto = Object.getPrototypeOf(el);" +
+        "    var d = proto ? Object.getOwnPropertyDescriptor(proto, 'value') : null;" +
+        "    if (d && d.set) { d.set.call(el, v); } else { el.value = v; }" +
+        "}" +
+        "for (var i = 0; i < specs.length; i++) {" +
+        "    var s = specs[i], el = locate(s);" +
+        "    if (!el) { out.push('native:not located'); break; }" +
+        "    if (!shown(el)) { out.push('native:not displayed'); break; }" +
+        "    if (el.disabled || el.readOnly) { out.push('native:disabled or read-only'); break; }" +
+        "    var tag = el.tagName.toLowerCase(), type = (el.type || '').toLowerCase();" +
+        "    if (s.op === 'TYPE') {" +
+        "        if ((tag !== 'input' && tag !== 'textarea') || type === 'file') { out.push('native:not a plain text field'); break; }" +
+        "        el.focus(); setValue(el, ''); setValue(el, s.value);" +
+        "        fire(el, 'input'); fire(el, 'change'); el.blur();" +
+        "        out.push('ok');" +
+        "    } else if (s.op === 'SELECT_TEXT' || s.op === 'SELECT_VALUE') {" +
+        "        if (tag !== 'select') { out.push('native:not a select'); break; }" +
+        "        var idx = -1;" +
+        "        for (var j = 0; j < el.options.length; j++) {" +
+        "            var o = el.options[j];" +
+        "            var t = s.op === 'SELECT_TEXT' ? (o.text || '').replace(/\\s+/g, ' ').replace(/^\\s+|\\s+$/g, '') : o.value;" +
+        "            if (t === s.value) { idx = j; break; }" +
+        "        }" +
+        "        if (idx < 0) { out.push('native:option not found'); break; }" +
+        "        el.selectedIndex = idx; fire(el, 'input'); fire(el, 'change');" +
+        "        out.push('ok');" +
+        "    } else {" +
+        "        var want = s.op === 'CHECK';" +
+        "        if (el.checked === want) { out.push('unchanged'); continue; }" +
+        "        el.click();" +
+        "        if (el.checked !== want) { out.push('native:click did not toggle'); break; }" +
+        "        out.push('ok');" +
+        "    }" +
+        "}" +
+        "return out;";
+
+    private enum Operation { TYPE, SELECT_TEXT, SELECT_VALUE, CHECK, UNCHECK }
+
+    private static final class FieldAction {
+        private final CSElement element;
+        private final Operation operation;
+        private final String value;
+        private final boolean nativeOnly;
+
+        private FieldAction(CSElement element, Operation operation, String value, boolean nativeOnly) {
+            this.element = element;
+            this.operation = operation;
+            this.value = value;
+            this.nativeOnly = nativeOnly;
+        }
+    }
+
+    private final List<FieldAction> actions = new ArrayList<>();
+    private final boolean jsEnabled;
+
+    public CSFormFiller() {
+        CSConfigManager config = CSConfigManager.getInstance();
+        this.jsEnabled = config.getBoolean("cs.form.batch.js.enabled", true)
+            && !config.getBoolean("cs.screenshot.on.action", false);
+    }
+
+    /**
+     * Clear the field and type text (JavaScript-assisted when possible)
+     */
+    public CSFormFiller type(CSElement element, String text) {
+        return add(element, Operation.TYPE, text, false);
+    }
+
+    /**
+     * Clear the field and type text with native key events - for inputs with key listeners
+     */
+    public CSFormFiller typeNative(CSElement element, String text) {
+        return add(element, Operation.TYPE, text, true);
+    }
+
+    /**
+     * Select dropdown option by visible text
+     */
+    public CSFormFiller select(CSElement element, String visibleText) {
+        return add(element, Operation.SELECT_TEXT, visibleText, false);
+    }
+
+    /**
+     * Select dropdown option by value
+     */
+    public CSFormFiller selectByValue(CSElement element, String value) {
+        return add(element, Operation.SELECT_VALUE, value, false);
+    }
+
+    /**
+     * Check checkbox or radio button
+     */
+    public CSFormFiller check(CSElement element) {
+        return add(element, Operation.CHECK, null, false);
+    }
+
+    /**
+     * Uncheck checkbox
+     */
+    public CSFormFiller uncheck(CSElement element) {
+        return add(element, Operation.UNCHECK, null, false);
+    }
+
+    /**
+     * Number of queued field operations
+     */
+    public int size() {
+        return actions.size();
+    }
+
+    /**
+     * Validate and perform all queued operations in order
+     * The queue is emptied afterwards (also on failure), so the filler can be reused for the next form.
+     */
+    public void execute() {
+        try {
+            validate();
+            if (actions.isEmpty()) {
+                return;
+            }
+
+            CSReportManager.info("[INFO] Filling form with " + actions.size() + " fields");
+            long startTime = System.currentTimeMillis();
+            int scriptCalls = 0;
+
+            int index = 0;
+            while (index < actions.size()) {
+                FieldAction action = actions.get(index);
+                if (!jsEnabled || action.nativeOnly) {
+                    performNative(action);
+                    index++;
+                    continue;
+                }
+
+                int end = index;
+                while (end < actions.size() && !actions.get(end).nativeOnly) {
+                    end++;
+                }
+
+                List<String> statuses = runBatchScript(actions.subList(index, end));
+                scriptCalls++;
+
+                for (String status : statuses) {
+                    FieldAction done = actions.get(index++);
+                    if (status.startsWith("native:")) {
+                        logger.debug("Field '{}' needs native handling: {}",
+                            done.element.getDescription(), status.substring("native:".length()));
+                        performNative(done);
+                        break;
+                    }
+                    reportBatched(done, "unchanged".equals(status));
+                }
+            }
+
+            logger.debug("Filled {} fields with {} script calls in {}ms",
+                actions.size(), scriptCalls, System.currentTimeMillis() - startTime);
+            CSReportManager.pass("[PASS] Filled form with " + actions.size() + " fields");
+        } finally {
+            actions.clear();
+        }
+    }
+
+    private CSFormFiller add(CSElement element, Operation operation, String value, boolean nativeOnly) {
+        actions.add(new FieldAction(element, operation, value, nativeOnly));
+        return this;
+    }
+
+    /**
+     * Validate all operations before touching the page so a bad entry fails fast
+     */
+    private void validate() {
+        for (int i = 0; i < actions.size(); i++) {
+            FieldAction action = actions.get(i);
+            if (action.element == null) {
+                throw new CSElementException("Form field " + (i + 1) + " has no element");
+            }
+            boolean needsValue = action.operation != Operation.CHECK && action.operation != Operation.UNCHECK;
+            if (needsValue && action.value == null) {
+                throw new CSElementException("Form field " + (i + 1) + " (" +
+                    action.element.getDescription() + ") has no value for " + action.operation);
+            }
+        }
+    }
+
+    /**
+     * Run one script over a run of fields; returns one status per processed field
+     */
+    @SuppressWarnings("unchecked")
+    private List<String> runBatchScript(List<FieldAction> batch) {
+        WebDriver driver = CSWebDriverManager.getDriver();
+        if (driver == null) {
+            throw new CSElementException("WebDriver is not initialized for thread: " + Thread.currentThread().getName());
+        }
+
+        List<Map<String, Object>> specs = new ArrayList<>();
+        for (FieldAction action : batch) {
+            Map<String, Object> spec = new HashMap<>();
+            spec.put("op", action.operation.name());
+            spec.put("value", action.value);
+            if (!putJsLocator(spec, action.element.getLocator())) {
+                spec.put("element", action.element.getElement());
+            }
+            specs.add(spec);
+        }
+
+        try {
+            Object result = ((JavascriptExecutor) driver).executeScript(BATCH_SCRIPT, specs);
+            List<String> statuses = new ArrayList<>();
+            if (result instanceof List) {
+                for (Object status : (List<Object>) result) {
+                    statuses.add(String.valueOf(status));
+                }
+            }
+            if (statuses.isEmpty()) {
+                statuses.add("native:no script result");
+            }
+            return statuses;
+        } catch (Exception e) {
+            logger.debug("Batch form script failed, falling back to native: {}", e.getMessage());
+            List<String> statuses = new ArrayList<>();
+            statuses.add("native:script error");
+            return statuses;
+        }
+    }
+
+    /**
+     * Describe the locator so the script can resolve it without a findElement round trip
+     */
+    private boolean putJsLocator(Map<String, Object> spec, By locator) {
+        CSParsedLocator parsed = CSLocatorRegistry.of(locator);
+        if (parsed == null || !parsed.isJsResolvable()) {
+            return false;
+        }
+        spec.put("strategy", parsed.getJsStrategy());
+        spec.put("selector", parsed.getJsSelector());
+        return true;
+    }
+
+    private void performNative(FieldAction action) {
+        CSElement element = action.element;
+        switch (action.operation) {
+            case TYPE:
+                element.clearAndType(action.value);
+                break;
+            case SELECT_TEXT:
+                element.selectByVisibleText(action.value);
+                break;
+            case SELECT_VALUE:
+                element.selectByValue(action.value);
+                break;
+            case CHECK:
+                element.check();
+                break;
+            case UNCHECK:
+                element.uncheck();
+                break;
+        }
+    }
+
+    /**
+     * Record the same per-field report entries (info, action and result lines) that the
+     * individual CSElement methods produce
+     */
+    private void reportBatched(FieldAction action, boolean unchanged) {
+        String description = action.element.getDescription();
+        switch (action.operation) {
+            case TYPE:
+                CSReportManager.info("[INFO] Clearing and typing '" + action.value + "' into " + description);
+                addAction("clearAndType", description, action.value);
+                CSReportManager.pass("[PASS] Entered text '" + action.value + "' into " + description);
+                break;
+            case SELECT_TEXT:
+                CSReportManager.info("Selecting '" + action.value + "' from " + description);
+                addAction("selectByVisibleText", description, action.value);
+                CSReportManager.pass("Selected '" + action.value + "' from " + description);
+                break;
+            case SELECT_VALUE:
+                CSReportManager.info("Selecting value '" + action.value + "' from " + description);
+                addAction("selectByValue", description, action.value);
+                CSReportManager.pass("Selected value '" + action.value + "' from " + description);
+                break;
+            case CHECK:
+                addAction("check", description, null);
+                if (unchanged) {
+                    CSReportManager.info(description + " was already checked");
+                } else {
+                    CSReportManager.pass("Checked " + description);
+                }
+                break;
+            case UNCHECK:
+                addAction("uncheck", description, null);
+                if (unchanged) {
+                    CSReportManager.info(description + " was already unchecked");
+                } else {
+                    CSReportManager.pass("Unchecked " + description);
+                }
+                break;
+        }
+    }
+
+    private static void addAction(String actionName, String description, String value) {
+        CSReportManager.addAction(actionName, CSElement.getActionDescription(actionName), description, value);
+    }
+}
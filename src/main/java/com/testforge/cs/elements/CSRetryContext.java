@@ -0,0 +1,148 @@
+package com.testforge.cs.elements;
+
+import com.testforge.cs.config.CSConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Holds the active retry policy and the per-thread retry deadline.
+ * The outermost element operation opens a budget; nested operations
+ * (e.g. findElement inside an action) share it instead of starting their own,
+ * so retries at different levels can never add up beyond the total budget.
+ */
+public final class CSRetryContext {
+    private static final Logger logger = LoggerFactory.getLogger(CSRetryContext.class);
+
+    private static volatile CSRetryPolicy policy;
+    private static final ThreadLocal<Long> deadline = new ThreadLocal<>();
+
+    private CSRetryContext() {
+        // Utility class
+    }
+
+    /**
+     * Get the active retry policy (configured class or adaptive default)
+     */
+    public static CSRetryPolicy getPolicy() {
+        CSRetryPolicy current = policy;
+        if (current == null) {
+            synchronized (CSRetryContext.class) {
+                if (policy == null) {
+                    policy = createConfiguredPolicy();
+                }
+                current = policy;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Override the retry policy for all elements; null restores the configured policy
+     */
+    public static void setPolicy(CSRetryPolicy retryPolicy) {
+        policy = retryPolicy;
+    }
+
+    /**
+     * Open a retry budget using cs.element.action.timeout
+     */
+    public static Scope begin() {
+        return begin(CSConfigManager.getInstance().getLong("cs.element.action.timeout", 60000));
+    }
+
+    /**
+     * Open a retry budget; if one is already active on this thread it is shared
+     *
+     * @param budgetMillis total budget in milliseconds, 0 or less for unlimited
+     */
+    public static Scope begin(long budgetMillis) {
+        if (deadline.get() != null) {
+            return new Scope(false);
+        }
+        long end = budgetMillis > 0 ? System.currentTimeMillis() + budgetMillis : Long.MAX_VALUE;
+        deadline.set(end);
+        return new Scope(true);
+    }
+
+    /**
+     * Remaining budget in milliseconds for the current thread
+     */
+    public static long remainingMillis() {
+        Long end = deadline.get();
+        if (end == null || end == Long.MAX_VALUE) {
+            return Long.MAX_VALUE;
+        }
+        return end - System.currentTimeMillis();
+    }
+
+    /**
+     * Wait before the next attempt if the budget still allows another attempt
+     * of similar length to the last one. The wait is shortened when only the full
+     * delay would overrun the budget, so the last attempt still fits in it.
+     *
+     * @return true if the caller should retry
+     */
+    public static boolean pause(long delayMillis, long lastAttemptMillis) {
+        if (delayMillis < 0) {
+            return false;
+        }
+        long remaining = remainingMillis();
+        if (remaining != Long.MAX_VALUE) {
+            long available = remaining - Math.max(0, lastAttemptMillis);
+            if (available < 0) {
+                logger.debug("Retry budget exhausted ({}ms left, next attempt needs ~{}ms)",
+                    remaining, lastAttemptMillis);
+                return false;
+            }
+            if (available < delayMillis) {
+                logger.debug("Shortening retry wait from {}ms to {}ms to stay within the budget", delayMillis, available);
+                delayMillis = available;
+            }
+        }
+        if (delayMillis == 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(delayMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static CSRetryPolicy createConfiguredPolicy() {
+        String className = CSConfigManager.getInstance().getProperty("cs.element.retry.policy.class");
+        if (className != null && !className.trim().isEmpty()) {
+            try {
+                Object instance = Class.forName(className.trim()).getDeclaredConstructor().newInstance();
+                if (instance instanceof CSRetryPolicy) {
+                    logger.info("Using custom element retry policy: {}", className);
+                    return (CSRetryPolicy) instance;
+                }
+                logger.warn("Class {} does not implement CSRetryPolicy - using default policy", className);
+            } catch (Exception e) {
+                logger.warn("Failed to create retry policy {} - using default policy: {}", className, e.getMessage());
+            }
+        }
+        return CSAdaptiveRetryPolicy.fromConfig();
+    }
+
+    /**
+     * Retry budget scope - only the scope that opened the budget clears it
+     */
+    public static final class Scope implements AutoCloseable {
+        private final boolean owner;
+
+        private Scope(boolean owner) {
+            this.owner = owner;
+        }
+
+        @Override
+        public void close() {
+            if (owner) {
+                deadline.remove();
+            }
+        }
+    }
+}
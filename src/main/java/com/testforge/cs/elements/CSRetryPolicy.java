@@ -0,0 +1,23 @@
+package com.testforge.cs.elements;
+
+/**
+ * Decides whether and when a failed element operation is retried.
+ * Implementations can be plugged in via cs.element.retry.policy.class
+ * or programmatically through {@link CSRetryContext#setPolicy(CSRetryPolicy)}.
+ */
+public interface CSRetryPolicy {
+
+    /**
+     * Maximum number of attempts (including the first one)
+     */
+    int getMaxAttempts();
+
+    /**
+     * Delay before the next attempt
+     *
+     * @param attempt number of attempts made so far (1 after the first failure)
+     * @param failure the exception thrown by the last attempt
+     * @return delay in milliseconds, or a negative value to stop retrying
+     */
+    long nextDelayMillis(int attempt, Throwable failure);
+}
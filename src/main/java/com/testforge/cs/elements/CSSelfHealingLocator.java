@@ -50,22 +50,17 @@ public class CSSelfHealingLocator {
         List<By> alternatives = locatorResolver.getAlternativeLocators(annotation);
         logger.debug("Found {} alternative locators", alternatives.size());
         
-        // Convert to string array for CSElement
-        String[] altLocatorStrings = alternatives.stream()
-            .map(By::toString)
-            .toArray(String[]::new);
-        
-        // Create element with self-healing
+        // Create element with self-healing - alternatives are passed as parsed locators
         CSElement element = new CSElement(
             driver,
             primaryLocator,
             annotation.description().isEmpty() ? fieldName : annotation.description(),
             annotation.aiEnabled(),
-            altLocatorStrings
+            alternatives
         );
         
         logger.debug("Created CSElement: {} with primary locator: {} and {} alternatives", 
-            fieldName, primaryLocator, altLocatorStrings.length);
+            fieldName, primaryLocator, alternatives.size());
         
         return element;
     }
@@ -0,0 +1,178 @@
+package com.testforge.cs.locators;
+
+import com.testforge.cs.config.CSConfigManager;
+import com.testforge.cs.exceptions.CSLocatorException;
+import org.openqa.selenium.By;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared registry of parsed locators
+ * Each locator string is parsed once into an immutable {@link CSParsedLocator};
+ * CSElement, CSDriver, CSBasePage, CSObjectRepositoryHelper and CSLocatorResolver
+ * all resolve locator strings through this registry.
+ *
+ * Supported formats:
+ * - "type:value" with type id, name, css, xpath, class(Name), tag(Name), link(Text), partial(Link/LinkText)
+ * - By.toString() format, e.g. "By.xpath: //table"
+ * - untyped values: xpath if it looks like a path expression, css if it looks like a selector, otherwise id
+ */
+public final class CSLocatorRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(CSLocatorRegistry.class);
+
+    private static final Map<String, CSParsedLocator.Type> TYPE_PREFIXES = new HashMap<>();
+    private static final Map<String, CSParsedLocator.Type> SELENIUM_PREFIXES = new HashMap<>();
+
+    static {
+        TYPE_PREFIXES.put("id", CSParsedLocator.Type.ID);
+        TYPE_PREFIXES.put("name", CSParsedLocator.Type.NAME);
+        TYPE_PREFIXES.put("css", CSParsedLocator.Type.CSS);
+        TYPE_PREFIXES.put("xpath", CSParsedLocator.Type.XPATH);
+        TYPE_PREFIXES.put("class", CSParsedLocator.Type.CLASS_NAME);
+        TYPE_PREFIXES.put("classname", CSParsedLocator.Type.CLASS_NAME);
+        TYPE_PREFIXES.put("tag", CSParsedLocator.Type.TAG_NAME);
+        TYPE_PREFIXES.put("tagname", CSParsedLocator.Type.TAG_NAME);
+        TYPE_PREFIXES.put("link", CSParsedLocator.Type.LINK_TEXT);
+        TYPE_PREFIXES.put("linktext", CSParsedLocator.Type.LINK_TEXT);
+        TYPE_PREFIXES.put("partial", CSParsedLocator.Type.PARTIAL_LINK_TEXT);
+        TYPE_PREFIXES.put("partiallink", CSParsedLocator.Type.PARTIAL_LINK_TEXT);
+        TYPE_PREFIXES.put("partiallinktext", CSParsedLocator.Type.PARTIAL_LINK_TEXT);
+
+        for (CSParsedLocator.Type type : CSParsedLocator.Type.values()) {
+            SELENIUM_PREFIXES.put("By." + type.getSeleniumName() + ": ", type);
+        }
+    }
+
+    private static final class Entry {
+        private final CSParsedLocator locator;
+        private final boolean explicit;
+
+        private Entry(CSParsedLocator locator, boolean explicit) {
+            this.locator = locator;
+            this.explicit = explicit;
+        }
+    }
+
+    private static final Map<String, Entry> cache = new ConcurrentHashMap<>();
+    private static final int maxSize = CSConfigManager.getInstance().getInt("cs.locator.cache.max.size", 10000);
+
+    private CSLocatorRegistry() {
+        // Utility class
+    }
+
+    /**
+     * Parse locator string, guessing the strategy when no type is given
+     */
+    public static CSParsedLocator parse(String locatorString) {
+        return lookup(locatorString).locator;
+    }
+
+    /**
+     * Parse locator string and return the Selenium By object
+     */
+    public static By getBy(String locatorString) {
+        return lookup(locatorString).locator.getBy();
+    }
+
+    /**
+     * Parse locator string only if it carries an explicit type ("xpath:..." or "By.xpath: ...")
+     *
+     * @return parsed locator, or null if the string has no known type prefix (e.g. a repository key)
+     */
+    public static CSParsedLocator parseTyped(String locatorString) {
+        Entry entry = lookup(locatorString);
+        return entry.explicit ? entry.locator : null;
+    }
+
+    /**
+     * Get parsed form of a standard Selenium By object
+     *
+     * @return parsed locator, or null for custom By implementations
+     */
+    public static CSParsedLocator of(By by) {
+        if (by == null) {
+            return null;
+        }
+        String text = by.toString();
+        return text.startsWith("By.") ? parseTyped(text) : null;
+    }
+
+    /**
+     * Number of cached locators
+     */
+    public static int size() {
+        return cache.size();
+    }
+
+    /**
+     * Clear cached locators
+     */
+    public static void clear() {
+        cache.clear();
+    }
+
+    private static Entry lookup(String locatorString) {
+        if (locatorString == null || locatorString.trim().isEmpty()) {
+            throw new CSLocatorException("Locator string is empty");
+        }
+
+        Entry entry = cache.get(locatorString);
+        if (entry == null) {
+            entry = parseEntry(locatorString);
+            if (cache.size() >= maxSize) {
+                // Dynamic locators can grow without bound - start over rather than track LRU order
+                logger.debug("Locator cache reached {} entries - clearing", maxSize);
+                cache.clear();
+            }
+            Entry existing = cache.putIfAbsent(locatorString, entry);
+            if (existing != null) {
+                entry = existing;
+            }
+        }
+        return entry;
+    }
+
+    private static Entry parseEntry(String locatorString) {
+        // By.toString() format (e.g. "By.xpath: //table[@id='resultsTable']")
+        if (locatorString.startsWith("By.")) {
+            for (Map.Entry<String, CSParsedLocator.Type> prefix : SELENIUM_PREFIXES.entrySet()) {
+                if (locatorString.startsWith(prefix.getKey())) {
+                    String value = locatorString.substring(prefix.getKey().length());
+                    return new Entry(new CSParsedLocator(prefix.getValue(), value), true);
+                }
+            }
+        }
+
+        // Standard format (e.g. "xpath://table[@id='resultsTable']")
+        int colon = locatorString.indexOf(':');
+        if (colon > 0) {
+            CSParsedLocator.Type type = TYPE_PREFIXES.get(locatorString.substring(0, colon).trim().toLowerCase());
+            if (type != null) {
+                return new Entry(new CSParsedLocator(type, locatorString.substring(colon + 1)), true);
+            }
+        }
+
+        return new Entry(new CSParsedLocator(guessType(locatorString), locatorString), false);
+    }
+
+    private static CSParsedLocator.Type guessType(String locatorString) {
+        String value = locatorString.trim();
+        if (value.startsWith("/") || value.startsWith("(") || value.startsWith("./")
+                || value.contains("[@") || value.contains("()")) {
+            return CSParsedLocator.Type.XPATH;
+        }
+        if (value.startsWith("#") || value.startsWith(".")) {
+            return CSParsedLocator.Type.CSS;
+        }
+        for (char c : value.toCharArray()) {
+            if (c == '.' || c == '[' || c == '=' || c == '>' || c == ':' || c == ' ' || c == '~' || c == '+') {
+                return CSParsedLocator.Type.CSS;
+            }
+        }
+        return CSParsedLocator.Type.ID;
+    }
+}
@@ -182,48 +182,10 @@ public class CSLocatorResolver {
     }
     
     /**
-     * Parse locator string in format "type:value"
+     * Parse locator string in format "type:value" (shared, cached parsing)
      */
     public By parseLocatorString(String locatorString) {
-        if (locatorString.contains(":")) {
-            String[] parts = locatorString.split(":", 2);
-            String type = parts[0].toLowerCase();
-            String value = parts[1];
-            
-            switch (type) {
-                case "id":
-                    return By.id(value);
-                case "name":
-                    return By.name(value);
-                case "css":
-                    return By.cssSelector(value);
-                case "xpath":
-                    return By.xpath(value);
-                case "class":
-                case "classname":
-                    return By.className(value);
-                case "tag":
-                case "tagname":
-                    return By.tagName(value);
-                case "link":
-                case "linktext":
-                    return By.linkText(value);
-                case "partial":
-                case "partiallinktext":
-                    return By.partialLinkText(value);
-                default:
-                    throw new CSLocatorException("Unknown locator type: " + type);
-            }
-        }
-        
-        // If no type specified, try to guess
-        if (locatorString.startsWith("//")) {
-            return By.xpath(locatorString);
-        } else if (locatorString.contains("=") || locatorString.contains("[")) {
-            return By.cssSelector(locatorString);
-        } else {
-            return By.id(locatorString);
-        }
+        return CSLocatorRegistry.getBy(locatorString);
     }
     
     /**
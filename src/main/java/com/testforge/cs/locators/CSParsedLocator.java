@@ -0,0 +1,165 @@
+package com.testforge.cs.locators;
+
+import org.openqa.selenium.By;
+
+/**
+ * Immutable, pre-parsed locator
+ * Holds the Selenium By object together with a form that can be resolved
+ * inside the browser by JavaScript (id, name, css or xpath).
+ */
+public final class CSParsedLocator {
+
+    /**
+     * Locator strategies supported by the framework
+     */
+    public enum Type {
+        ID("id"),
+        NAME("name"),
+        CSS("cssSelector"),
+        XPATH("xpath"),
+        CLASS_NAME("className"),
+        TAG_NAME("tagName"),
+        LINK_TEXT("linkText"),
+        PARTIAL_LINK_TEXT("partialLinkText");
+
+        private final String seleniumName;
+
+        Type(String seleniumName) {
+            this.seleniumName = seleniumName;
+        }
+
+        /**
+         * Name used by Selenium in By.toString() (e.g. "By.cssSelector: ...")
+         */
+        public String getSeleniumName() {
+            return seleniumName;
+        }
+    }
+
+    private final Type type;
+    private final String value;
+    private final By by;
+    private final String jsStrategy;
+    private final String jsSelector;
+
+    CSParsedLocator(Type type, String value) {
+        this.type = type;
+        this.value = value;
+        this.by = createBy(type, value);
+
+        String strategy;
+        String selector;
+        switch (type) {
+            case ID:
+                strategy = "id";
+                selector = value;
+                break;
+            case NAME:
+                strategy = "name";
+                selector = value;
+                break;
+            case CSS:
+                strategy = "css";
+                selector = value;
+                break;
+            case XPATH:
+                strategy = "xpath";
+                selector = value;
+                break;
+            case CLASS_NAME:
+                strategy = value.trim().contains(" ") ? null : "css";
+                selector = strategy != null ? "." + value.trim() : null;
+                break;
+            case TAG_NAME:
+                strategy = "css";
+                selector = value;
+                break;
+            case LINK_TEXT:
+                strategy = "xpath";
+                selector = "//a[normalize-space(.)=" + xpathLiteral(value.trim()) + "]";
+                break;
+            case PARTIAL_LINK_TEXT:
+                strategy = "xpath";
+                selector = "//a[contains(., " + xpathLiteral(value) + ")]";
+                break;
+            default:
+                strategy = null;
+                selector = null;
+        }
+        this.jsStrategy = strategy;
+        this.jsSelector = selector;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Shared, immutable Selenium locator
+     */
+    public By getBy() {
+        return by;
+    }
+
+    /**
+     * Strategy for in-browser resolution ("id", "name", "css" or "xpath"), null if not supported
+     */
+    public String getJsStrategy() {
+        return jsStrategy;
+    }
+
+    /**
+     * Selector for in-browser resolution, null if not supported
+     */
+    public String getJsSelector() {
+        return jsSelector;
+    }
+
+    public boolean isJsResolvable() {
+        return jsStrategy != null;
+    }
+
+    private static By createBy(Type type, String value) {
+        switch (type) {
+            case ID: return By.id(value);
+            case NAME: return By.name(value);
+            case CSS: return By.cssSelector(value);
+            case XPATH: return By.xpath(value);
+            case CLASS_NAME: return By.className(value);
+            case TAG_NAME: return By.tagName(value);
+            case LINK_TEXT: return By.linkText(value);
+            case PARTIAL_LINK_TEXT: return By.partialLinkText(value);
+            default: throw new IllegalArgumentException("Unsupported locator type: " + type);
+        }
+    }
+
+    /**
+     * Quote a string for use inside an XPath expression
+     */
+    private static String xpathLiteral(String text) {
+        if (!text.contains("'")) {
+            return "'" + text + "'";
+        }
+        if (!text.contains("\"")) {
+            return "\"" + text + "\"";
+        }
+        StringBuilder sb = new StringBuilder("concat(");
+        String[] parts = text.split("'", -1);
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                sb.append(", \"'\", ");
+            }
+            sb.append("'").append(parts[i]).append("'");
+        }
+        return sb.append(")").toString();
+    }
+
+    @Override
+    public String toString() {
+        return by.toString();
+    }
+}
@@ -0,0 +1,292 @@
+package com.testforge.cs.logging;
+
+import com.testforge.cs.config.CSConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Structured, asynchronous event log for the execution hot path
+ * Callers check isEnabled(category, level) before building arguments; enabled events are
+ * handed to a lock-free ring buffer and written as JSON lines by a single background thread,
+ * so test threads never format, lock or do I/O. When the buffer is full events are dropped
+ * and counted instead of blocking the test. The writer parks while the buffer is empty and the
+ * producer that finds it parked wakes it up.
+ *
+ * Usage:
+ * <pre>
+ * if (CSEventLog.isEnabled(CSEventLog.Category.STEP, CSEventLog.Level.INFO)) {
+ *     CSEventLog.event(CSEventLog.Category.STEP, CSEventLog.Level.INFO, "step.completed",
+ *         "step", text, "status", status, "durationMs", duration);
+ * }
+ * </pre>
+ */
+public final class CSEventLog {
+    private static final Logger logger = LoggerFactory.getLogger(CSEventLog.class);
+
+    public enum Category { RUNNER, STEP, ACTION, DRIVER, REPORT }
+
+    public enum Level { TRACE, DEBUG, INFO, WARN, ERROR, OFF }
+
+    private static final AtomicIntegerArray gates = new AtomicIntegerArray(Category.values().length);
+    private static final AtomicLong dropped = new AtomicLong(0);
+    private static final Object flushLock = new Object();
+    private static volatile CSEventRingBuffer<Event> buffer;
+    private static volatile Path eventFile;
+    private static volatile Thread writer;
+    private static volatile boolean writerParked = false;
+    private static volatile long flushedSequence = 0;
+
+    static {
+        configure();
+    }
+
+    private CSEventLog() {
+        // Utility class
+    }
+
+    /**
+     * Whether events of this category and level are recorded - check before building arguments
+     */
+    public static boolean isEnabled(Category category, Level level) {
+        return level.ordinal() >= gates.get(category.ordinal());
+    }
+
+    /**
+     * Record an event; fields are alternating names and values
+     */
+    public static void event(Category category, Level level, String name, Object... fields) {
+        CSEventRingBuffer<Event> ring = buffer;
+        if (ring == null || !isEnabled(category, level)) {
+            return;
+        }
+        Event event = new Event(System.currentTimeMillis(), category, level, Thread.currentThread().getName(), name, fields);
+        if (!ring.offer(event)) {
+            dropped.incrementAndGet();
+        }
+        // Read after the slot is published, so either the writer sees the event or we see it parked
+        if (writerParked) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * Change the level gate of a category at runtime
+     */
+    public static void setLevel(Category category, Level level) {
+        gates.set(category.ordinal(), level.ordinal());
+    }
+
+    /**
+     * Wait until all events recorded so far are written to the event file
+     *
+     * @return true if everything was written within the timeout
+     */
+    public static boolean flush(long timeoutMillis) {
+        CSEventRingBuffer<Event> ring = buffer;
+        if (ring == null) {
+            return true;
+        }
+        long target = ring.getClaimedSequence();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        synchronized (flushLock) {
+            while (flushedSequence < target) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) {
+                    return false;
+                }
+                try {
+                    flushLock.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Event file written by the background thread, null when the event log is disabled
+     */
+    public static Path getEventFile() {
+        return eventFile;
+    }
+
+    /**
+     * Number of events dropped because the ring buffer was full
+     */
+    public static long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private static void configure() {
+        CSConfigManager config = CSConfigManager.getInstance();
+        // DEBUG keeps the step and action events that were logged before the event log existed
+        Level defaultLevel = parseLevel(config.getProperty("cs.log.events.level", "DEBUG"), Level.DEBUG);
+        for (Category category : Category.values()) {
+            String key = "cs.log.events.level." + category.name().toLowerCase();
+            gates.set(category.ordinal(), parseLevel(config.getProperty(key, defaultLevel.name()), defaultLevel).ordinal());
+        }
+
+        if (!config.getBooleanProperty("cs.log.events.enabled", true)) {
+            for (Category category : Category.values()) {
+                gates.set(category.ordinal(), Level.OFF.ordinal());
+            }
+            return;
+        }
+
+        eventFile = Paths.get(config.getProperty("cs.log.events.file", "target/cs-events.jsonl"));
+        buffer = new CSEventRingBuffer<>(config.getInt("cs.log.events.buffer.size", 8192));
+        Thread thread = new Thread(CSEventLog::drain, "cs-event-log");
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+    }
+
+    private static Level parseLevel(String value, Level fallback) {
+        try {
+            return Level.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Unknown event log level '{}', using {}", value, fallback);
+            return fallback;
+        }
+    }
+
+    /**
+     * Background writer: drain the ring buffer, flush when idle and park until the next event
+     */
+    private static void drain() {
+        CSEventRingBuffer<Event> ring = buffer;
+        try {
+            File parent = eventFile.toAbsolutePath().getParent().toFile();
+            parent.mkdirs();
+            try (Writer out = Files.newBufferedWriter(eventFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                StringBuilder line = new StringBuilder(256);
+                long reportedDrops = 0;
+                boolean dirty = false;
+                while (true) {
+                    Event event = ring.poll();
+                    if (event != null) {
+                        line.setLength(0);
+                        event.appendJson(line);
+                        out.append(line).append('\n');
+                        dirty = true;
+                        continue;
+                    }
+                    long drops = dropped.get();
+                    if (drops != reportedDrops) {
+                        out.append("{\"ts\":\"").append(Instant.now().toString())
+                            .append("\",\"level\":\"WARN\",\"cat\":\"REPORT\",\"event\":\"events.dropped\",\"count\":")
+                            .append(String.valueOf(drops)).append("}\n");
+                        reportedDrops = drops;
+                        dirty = true;
+                    }
+                    if (dirty) {
+                        out.flush();
+                        dirty = false;
+                    }
+                    synchronized (flushLock) {
+                        flushedSequence = ring.getConsumedSequence();
+                        flushLock.notifyAll();
+                    }
+                    // Announce the park before the last look, so a producer publishing now unparks us
+                    writerParked = true;
+                    if (ring.isEmpty()) {
+                        LockSupport.park(CSEventLog.class);
+                    }
+                    writerParked = false;
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Event log writer stopped: {}", e.getMessage());
+            buffer = null;
+            synchronized (flushLock) {
+                flushedSequence = Long.MAX_VALUE;
+                flushLock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Event as recorded by the producer - formatting happens on the writer thread
+     */
+    private static final class Event {
+        private final long timestamp;
+        private final Category category;
+        private final Level level;
+        private final String thread;
+        private final String name;
+        private final Object[] fields;
+
+        Event(long timestamp, Category category, Level level, String thread, String name, Object[] fields) {
+            this.timestamp = timestamp;
+            this.category = category;
+            this.level = level;
+            this.thread = thread;
+            this.name = name;
+            this.fields = fields;
+        }
+
+        void appendJson(StringBuilder json) {
+            json.append("{\"ts\":\"").append(Instant.ofEpochMilli(timestamp).toString())
+                .append("\",\"level\":\"").append(level.name())
+                .append("\",\"cat\":\"").append(category.name())
+                .append("\",\"thread\":");
+            appendString(json, thread);
+            json.append(",\"event\":");
+            appendString(json, name);
+            for (int i = 0; i + 1 < fields.length; i += 2) {
+                json.append(',');
+                appendString(json, String.valueOf(fields[i]));
+                json.append(':');
+                Object value = fields[i + 1];
+                if (value instanceof Number || value instanceof Boolean) {
+                    json.append(value);
+                } else {
+                    appendString(json, value == null ? null : String.valueOf(value));
+                }
+            }
+            json.append('}');
+        }
+
+        private static void appendString(StringBuilder json, String value) {
+            if (value == null) {
+                json.append("null");
+                return;
+            }
+            json.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"': json.append("\\\""); break;
+                    case '\\': json.append("\\\\"); break;
+                    case '\n': json.append("\\n"); break;
+                    case '\r': json.append("\\r"); break;
+                    case '\t': json.append("\\t"); break;
+                    default:
+                        if (c < 0x20) {
+                            json.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            json.append(c);
+                        }
+                }
+            }
+            json.append('"');
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.testforge.cs.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free ring buffer for many producers and one consumer
+ * Producers claim a sequence with CAS and publish their slot; they never block - offer() returns
+ * false when the buffer is full. The single consumer polls slots in sequence order.
+ */
+public class CSEventRingBuffer<T> {
+
+    private final Object[] slots;
+    private final AtomicLongArray published;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong(0);
+    private final AtomicLong consumed = new AtomicLong(0);
+
+    /**
+     * @param capacity rounded up to the next power of two
+     */
+    public CSEventRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.slots = new Object[size];
+        this.published = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            published.set(i, -1);
+        }
+    }
+
+    /**
+     * Add an element; returns false without waiting when the buffer is full
+     */
+    public boolean offer(T element) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed.get() >= slots.length) {
+                return false;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        int index = (int) (sequence & mask);
+        slots[index] = element;
+        // Volatile write publishes the slot content to the consumer
+        published.set(index, sequence);
+        return true;
+    }
+
+    /**
+     * Take the next element, or null if none is published yet (single consumer only)
+     */
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        long sequence = consumed.get();
+        int index = (int) (sequence & mask);
+        if (published.get(index) != sequence) {
+            return null;
+        }
+        T element = (T) slots[index];
+        slots[index] = null;
+        consumed.set(sequence + 1);
+        return element;
+    }
+
+    /**
+     * Whether the next element in sequence is not published yet (single consumer only)
+     */
+    public boolean isEmpty() {
+        long sequence = consumed.get();
+        return published.get((int) (sequence & mask)) != sequence;
+    }
+
+    /**
+     * Sequence of the next element to be claimed - everything below it has been offered
+     */
+    public long getClaimedSequence() {
+        return claimed.get();
+    }
+
+    /**
+     * Sequence of the next element to be polled - everything below it has been consumed
+     */
+    public long getConsumedSequence() {
+        return consumed.get();
+    }
+
+    public int getCapacity() {
+        return slots.length;
+    }
+}
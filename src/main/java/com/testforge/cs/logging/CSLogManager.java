@@ -8,9 +8,10 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 
 /**
  * Manages logging configuration and log file storage for test runs
@@ -147,9 +148,20 @@ public class CSLogManager {
             Path source = originalLog.toPath();
             Path target = testRunLog.toPath();
             
-            Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+            long copied = transferFile(source, target);
             
-            logger.info("Log file copied to test run directory: {}", testRunLog.getAbsolutePath());
+            logger.info("Log file copied to test run directory: {} ({} bytes)", testRunLog.getAbsolutePath(), copied);
+            
+            // Copy the structured event log once the background writer has caught up
+            Path eventFile = CSEventLog.getEventFile();
+            if (eventFile != null) {
+                if (!CSEventLog.flush(2000)) {
+                    logger.warn("Event log still writing - copied event file may be incomplete");
+                }
+                if (Files.exists(eventFile)) {
+                    transferFile(eventFile, new File(testRunDir, "test-events.jsonl").toPath());
+                }
+            }
             
             // Also create a console output capture if available
             createConsoleOutputSummary(testRunDir);
@@ -159,6 +171,28 @@ public class CSLogManager {
         }
     }
     
+    /**
+     * Copy a file with FileChannel.transferTo, which lets the OS move the bytes without
+     * passing them through Java buffers
+     */
+    static long transferFile(Path source, Path target) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                 StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            // Snapshot the size: the log may still grow while it is copied
+            long size = in.size();
+            long position = 0;
+            while (position < size) {
+                long transferred = in.transferTo(position, size - position, out);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+            }
+            return position;
+        }
+    }
+    
     /**
      * Create a summary of console output for the test run
      */
@@ -175,6 +209,7 @@ public class CSLogManager {
             summary.append("\n");
             summary.append("This summary provides key information about the test execution:\n");
             summary.append("- All console output has been captured in test-execution.log\n");
+            summary.append("- Structured execution events (JSON lines) are in test-events.jsonl\n");
             summary.append("- Screenshots are stored in the screenshots/ folder (if not embedded)\n");
             summary.append("- HTML test report is available as cs_test_run_report.html\n");
             summary.append("- Test run data is stored in report-data.json\n");
@@ -64,6 +64,13 @@ public class CSHtmlReportGenerator {
             // Create timestamped folder for this test run
             String timestamp = LocalDateTime.now().format(FILE_TIMESTAMP_FORMAT);
             String runFolder = "test-run-" + timestamp;
+            
+            // Shards of one run write side by side - keep their folders apart
+            int shardCount = CSConfigManager.getInstance().getInt("cs.shard.count", 1);
+            boolean isShard = shardCount > 1;
+            if (isShard) {
+                runFolder += "_shard-" + CSConfigManager.getInstance().getInt("cs.shard.index", 0) + "-of-" + shardCount;
+            }
             String runPath = reportDir + File.separator + runFolder;
             
             File runDir = new File(runPath);
@@ -106,6 +113,12 @@ public class CSHtmlReportGenerator {
             // Save trend data for future comparison
             saveTrendData(reportData);
             
+            // Record scenario durations for duration-aware scheduling of the next run
+            // (shards leave this to the merged report so concurrent shards don't overwrite each other)
+            if (!isShard) {
+                new CSTestDurationHistory().update(reportData.getTestResults());
+            }
+            
             // Clean up temp screenshots directory first
             cleanupTempScreenshots();
             
@@ -1759,6 +1772,33 @@ public class CSHtmlReportGenerator {
             background-color: var(--warning-color);
         }
         
+        /* Phase Profile (flame graph) Styles */
+        .flame-graph {
+            position: relative;
+            background-color: #f9fafb;
+            border-radius: 0.25rem;
+            margin-bottom: 1.5rem;
+        }
+        
+        .flame-frame {
+            position: absolute;
+            height: 22px;
+            border: 1px solid rgba(255, 255, 255, 0.8);
+            border-radius: 0.2rem;
+            color: white;
+            font-size: 0.7rem;
+            line-height: 20px;
+            padding: 0 0.3rem;
+            white-space: nowrap;
+            overflow: hidden;
+            text-overflow: ellipsis;
+            box-sizing: border-box;
+        }
+        
+        .flame-frame:hover {
+            opacity: 0.85;
+        }
+        
         /* Resource Timeline Styles */
         .resource-timeline {
             display: grid;
@@ -3247,6 +3287,8 @@ public class CSHtmlReportGenerator {
         section.append("        </div>\n");
         section.append("    </div>\n");
         
+        section.append(generatePhaseProfileCard(reportData));
+        
         // Traditional Timeline (existing implementation)
         section.append("    <div class=\"card\">\n");
         section.append("        <div class=\"card-header\">\n");
@@ -3288,6 +3330,183 @@ public class CSHtmlReportGenerator {
         return section.toString();
     }
     
+    /**
+     * Flame graph of the phase profiles recorded per scenario (see CSPhaseProfiler), plus the
+     * run-wide self time per phase and the scenarios spending most time outside their steps
+     */
+    private String generatePhaseProfileCard(CSReportData reportData) {
+        Map<String, Double> profile = CSPhaseProfiler.aggregate(reportData.getTestResults());
+        if (profile.isEmpty()) {
+            return "";
+        }
+        
+        // Inclusive time per path -> tree; the root spans all top-level phases
+        ProfileNode root = new ProfileNode("all", "");
+        for (Map.Entry<String, Double> entry : profile.entrySet()) {
+            ProfileNode node = root;
+            StringBuilder path = new StringBuilder();
+            for (String label : entry.getKey().split(";")) {
+                path.append(path.length() > 0 ? ";" : "").append(label);
+                String childPath = path.toString();
+                node = node.children.computeIfAbsent(label, k -> new ProfileNode(k, childPath));
+            }
+            node.millis += entry.getValue();
+        }
+        root.millis = root.children.values().stream().mapToDouble(child -> child.millis).sum();
+        if (root.millis <= 0) {
+            return "";
+        }
+        
+        StringBuilder card = new StringBuilder();
+        card.append("    <div class=\"card\">\n");
+        card.append("        <div class=\"card-header\">\n");
+        card.append("            <h3 class=\"card-title\">Phase Profile</h3>\n");
+        card.append("        </div>\n");
+        card.append("        <div class=\"card-body\">\n");
+        card.append("            <div class=\"flame-graph\" style=\"height: ").append(root.depth() * 24).append("px;\">\n");
+        appendFlameFrames(card, root, 0, 100, 0, root.millis);
+        card.append("            </div>\n");
+        
+        // Self time per phase across the run
+        Map<String, Double> selfByPhase = new LinkedHashMap<>();
+        root.children.values().forEach(child -> child.collectSelfTime(selfByPhase));
+        card.append("            <table class=\"table\">\n");
+        card.append("                <thead>\n");
+        card.append("                    <tr>\n");
+        card.append("                        <th>Phase</th>\n");
+        card.append("                        <th>Self Time</th>\n");
+        card.append("                        <th>Share</th>\n");
+        card.append("                        <th>Avg per Scenario</th>\n");
+        card.append("                    </tr>\n");
+        card.append("                </thead>\n");
+        card.append("                <tbody>\n");
+        int scenarios = Math.max(1, reportData.getTestResults().size());
+        selfByPhase.entrySet().stream()
+            .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+            .forEach(entry -> {
+                card.append("                    <tr>\n");
+                card.append("                        <td>").append(escapeHtml(entry.getKey())).append("</td>\n");
+                card.append("                        <td>").append(formatDuration(Math.round(entry.getValue()))).append("</td>\n");
+                card.append("                        <td>").append(String.format("%.1f%%", entry.getValue() * 100 / root.millis)).append("</td>\n");
+                card.append("                        <td>").append(formatDuration(Math.round(entry.getValue() / scenarios))).append("</td>\n");
+                card.append("                    </tr>\n");
+            });
+        card.append("                </tbody>\n");
+        card.append("            </table>\n");
+        
+        // Scenarios with the most overhead (everything but the steps themselves)
+        card.append("            <table class=\"table\">\n");
+        card.append("                <thead>\n");
+        card.append("                    <tr>\n");
+        card.append("                        <th>Scenario</th>\n");
+        card.append("                        <th>Profiled</th>\n");
+        card.append("                        <th>Browser</th>\n");
+        card.append("                        <th>Element Find</th>\n");
+        card.append("                        <th>Wait</th>\n");
+        card.append("                        <th>Screenshot</th>\n");
+        card.append("                        <th>Report / ADO</th>\n");
+        card.append("                    </tr>\n");
+        card.append("                </thead>\n");
+        card.append("                <tbody>\n");
+        reportData.getTestResults().stream()
+            .filter(test -> test.getMetadata() != null && test.getMetadata().get(CSPhaseProfiler.METADATA_KEY) instanceof Map)
+            .sorted(Comparator.comparingDouble((CSTestResult test) -> profiledMillis(test, null)).reversed())
+            .limit(10)
+            .forEach(test -> {
+                String scenarioName = test.getScenarioName() != null ? test.getScenarioName() : extractScenarioName(test.getTestName());
+                card.append("                    <tr>\n");
+                card.append("                        <td>").append(escapeHtml(scenarioName)).append("</td>\n");
+                card.append("                        <td>").append(formatDuration(Math.round(profiledMillis(test, null)))).append("</td>\n");
+                card.append("                        <td>").append(formatDuration(Math.round(profiledMillis(test, "browser.create")))).append("</td>\n");
+                card.append("                        <td>").append(formatDuration(Math.round(profiledMillis(test, "element.find")))).append("</td>\n");
+                card.append("                        <td>").append(formatDuration(Math.round(profiledMillis(test, "wait")))).append("</td>\n");
+                card.append("                        <td>").append(formatDuration(Math.round(profiledMillis(test, "screenshot")))).append("</td>\n");
+                card.append("                        <td>").append(formatDuration(Math.round(profiledMillis(test, "report") + profiledMillis(test, "ado.publish")))).append("</td>\n");
+                card.append("                    </tr>\n");
+            });
+        card.append("                </tbody>\n");
+        card.append("            </table>\n");
+        card.append("        </div>\n");
+        card.append("    </div>\n");
+        return card.toString();
+    }
+    
+    private void appendFlameFrames(StringBuilder html, ProfileNode node, double left, double width, int level, double total) {
+        // The synthetic root is drawn as the full-width base row
+        String label = level == 0 ? "all phases" : node.label;
+        html.append("                <div class=\"flame-frame\" style=\"left: ").append(String.format(Locale.ROOT, "%.3f", left))
+            .append("%; width: ").append(String.format(Locale.ROOT, "%.3f", width))
+            .append("%; top: ").append(level * 24)
+            .append("px; background-color: ").append(flameColor(node.label))
+            .append(";\" title=\"").append(escapeHtml(level == 0 ? label : node.path)).append(" - ")
+            .append(formatDuration(Math.round(node.millis))).append(String.format(" (%.1f%%)", node.millis * 100 / total))
+            .append("\">").append(width > 4 ? escapeHtml(label) : "").append("</div>\n");
+        double childLeft = left;
+        for (ProfileNode child : node.children.values()) {
+            double childWidth = node.millis > 0 ? width * child.millis / node.millis : 0;
+            if (childWidth >= 0.05) {
+                appendFlameFrames(html, child, childLeft, childWidth, level + 1, total);
+            }
+            childLeft += childWidth;
+        }
+    }
+    
+    private static String flameColor(String label) {
+        switch (label) {
+            case "scenario": return "#6366f1";
+            case "step": return "#3b82f6";
+            case "browser.create": return "#f59e0b";
+            case "page.injection": return "#d97706";
+            case "step.lookup": return "#14b8a6";
+            case "element.find": return "#ef4444";
+            case "wait": return "#f97316";
+            case "screenshot": return "#a855f7";
+            case "report": return "#64748b";
+            case "ado.publish": return "#0ea5e9";
+            default: return "#9ca3af";
+        }
+    }
+    
+    private static double profiledMillis(CSTestResult test, String phaseLabel) {
+        Map<?, ?> profile = (Map<?, ?>) test.getMetadata().get(CSPhaseProfiler.METADATA_KEY);
+        double millis = 0;
+        for (Map.Entry<?, ?> entry : profile.entrySet()) {
+            String path = String.valueOf(entry.getKey());
+            boolean matches = phaseLabel == null
+                ? !path.contains(";")
+                : path.equals(phaseLabel) || path.endsWith(";" + phaseLabel);
+            if (matches && entry.getValue() instanceof Number) {
+                millis += ((Number) entry.getValue()).doubleValue();
+            }
+        }
+        return millis;
+    }
+    
+    /**
+     * Node of the phase tree; millis is inclusive of children
+     */
+    private static final class ProfileNode {
+        private final String label;
+        private final String path;
+        private final Map<String, ProfileNode> children = new LinkedHashMap<>();
+        private double millis;
+        
+        ProfileNode(String label, String path) {
+            this.label = label;
+            this.path = path;
+        }
+        
+        int depth() {
+            return 1 + children.values().stream().mapToInt(ProfileNode::depth).max().orElse(0);
+        }
+        
+        void collectSelfTime(Map<String, Double> selfByPhase) {
+            double childMillis = children.values().stream().mapToDouble(child -> child.millis).sum();
+            selfByPhase.merge(label, Math.max(0, millis - childMillis), Double::sum);
+            children.values().forEach(child -> child.collectSelfTime(selfByPhase));
+        }
+    }
+    
     private String generateCategoriesSection(CSReportData reportData) {
         StringBuilder section = new StringBuilder();
         section.append("<div id=\"categories\" class=\"section\">\n");
@@ -3660,6 +3879,24 @@ public class CSHtmlReportGenerator {
         
         section.append("        </div>\n");
         
+        // Database Connection Pools Card (only when the run used a database)
+        if (envData != null && envData.keySet().stream().anyMatch(k -> k.startsWith("db.pool."))) {
+            section.append("        <div class=\"env-card\">\n");
+            section.append("            <div class=\"env-card-title\">\n");
+            section.append("                <i class=\"fas fa-database\"></i> Database Connection Pools\n");
+            section.append("            </div>\n");
+            envData.entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith("db.pool."))
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> {
+                    section.append("            <div class=\"env-item\">\n");
+                    section.append("                <span class=\"env-label\">").append(escapeHtml(entry.getKey().substring(8))).append("</span>\n");
+                    section.append("                <span class=\"env-value\">").append(escapeHtml(entry.getValue())).append("</span>\n");
+                    section.append("            </div>\n");
+                });
+            section.append("        </div>\n");
+        }
+        
         // Framework Information Card
         section.append("        <div class=\"env-card\">\n");
         section.append("            <div class=\"env-card-title\">\n");
@@ -5575,20 +5812,9 @@ public class CSHtmlReportGenerator {
     }
     
     private void saveReportDataJson(CSReportData reportData, String jsonPath) {
-        try (FileWriter writer = new FileWriter(jsonPath)) {
-            // Create a simple JSON representation
-            writer.write("{\n");
-            writer.write("  \"reportName\": \"" + reportData.getReportName() + "\",\n");
-            writer.write("  \"totalTests\": " + reportData.getTotalTests() + ",\n");
-            writer.write("  \"passedTests\": " + reportData.getPassedTests() + ",\n");
-            writer.write("  \"failedTests\": " + reportData.getFailedTests() + ",\n");
-            writer.write("  \"skippedTests\": " + reportData.getSkippedTests() + ",\n");
-            writer.write("  \"passRate\": " + reportData.getPassRate() + ",\n");
-            writer.write("  \"startTime\": \"" + reportData.getStartTime() + "\",\n");
-            writer.write("  \"endTime\": \"" + reportData.getEndTime() + "\",\n");
-            writer.write("  \"duration\": " + reportData.getDuration().toMillis() + "\n");
-            writer.write("}\n");
-        } catch (IOException e) {
+        try {
+            CSReportDataJson.write(reportData, Paths.get(jsonPath));
+        } catch (Exception e) {
             logger.warn("Failed to save report data JSON", e);
         }
     }
@@ -5861,6 +6087,7 @@ public class CSHtmlReportGenerator {
         
         // Load historical execution data from trends
         Map<String, List<Boolean>> testHistory = loadTestExecutionHistory();
+        Map<String, Boolean> currentRun = new LinkedHashMap<>();
         
         for (CSTestResult test : reportData.getTestResults()) {
             String testName = test.getTestName();
@@ -5901,12 +6128,13 @@ public class CSHtmlReportGenerator {
             // Add current result to history
             history.add(test.getStatus() == CSTestResult.Status.PASSED);
             testHistory.put(testName, history);
+            currentRun.put(testName, test.getStatus() == CSTestResult.Status.PASSED);
             
             flakinessScores.put(testName, flakinessScore);
         }
         
         // Save updated history
-        saveTestExecutionHistory(testHistory);
+        saveTestExecutionHistory(testHistory, currentRun);
         
         return flakinessScores;
     }
@@ -5915,33 +6143,17 @@ public class CSHtmlReportGenerator {
      * Load test execution history from file
      */
     private Map<String, List<Boolean>> loadTestExecutionHistory() {
-        Map<String, List<Boolean>> history = new HashMap<>();
-        try {
-            File historyFile = new File("cs-reports/trends/test-history.dat");
-            if (historyFile.exists()) {
-                List<String> lines = Files.readAllLines(historyFile.toPath());
-                for (String line : lines) {
-                    String[] parts = line.split(":");
-                    if (parts.length == 2) {
-                        String testName = parts[0];
-                        List<Boolean> results = new ArrayList<>();
-                        for (char c : parts[1].toCharArray()) {
-                            results.add(c == 'P');
-                        }
-                        history.put(testName, results);
-                    }
-                }
-            }
-        } catch (Exception e) {
-            logger.debug("Failed to load test history", e);
-        }
-        return history;
+        return CSTestExecutionHistory.load(new File(CSTestExecutionHistory.HISTORY_FILE));
     }
     
     /**
-     * Save test execution history to file
+     * Save test execution history and the results of this run to file
      */
-    private void saveTestExecutionHistory(Map<String, List<Boolean>> history) {
+    private void saveTestExecutionHistory(Map<String, List<Boolean>> history, Map<String, Boolean> currentRun) {
+        if (CSConfigManager.getInstance().getInt("cs.shard.count", 1) > 1) {
+            // Shards run concurrently - the merged report records the history once
+            return;
+        }
         try {
             File trendsDir = new File("cs-reports/trends");
             if (!trendsDir.exists()) {
@@ -5960,6 +6172,7 @@ public class CSHtmlReportGenerator {
             }
             
             Files.write(historyFile.toPath(), lines);
+            CSTestExecutionHistory.saveLastRun(new File(CSTestExecutionHistory.LAST_RUN_FILE), currentRun);
         } catch (Exception e) {
             logger.debug("Failed to save test history", e);
         }
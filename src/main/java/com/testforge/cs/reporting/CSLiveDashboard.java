@@ -0,0 +1,242 @@
+package com.testforge.cs.reporting;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.testforge.cs.config.CSConfigManager;
+import com.testforge.cs.driver.CSWebDriverManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Live execution dashboard served on localhost
+ * A snapshot of progress (queue depth, running scenario per thread, pass/fail counts, step
+ * latency percentiles, browser pool usage) is built from the CSReportManager counters once per
+ * interval on the dashboard's own thread and pushed to browsers as Server-Sent Events, so test
+ * threads do no extra work while someone is watching.
+ *
+ * Endpoints: / (page), /events (SSE stream), /status (one JSON snapshot)
+ */
+public class CSLiveDashboard {
+    private static final Logger logger = LoggerFactory.getLogger(CSLiveDashboard.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private static CSLiveDashboard instance;
+    private static volatile int expectedTests = 0;
+
+    private final HttpServer server;
+    private final ExecutorService handlers;
+    private final ScheduledExecutorService broadcaster;
+    private final List<HttpExchange> clients = new CopyOnWriteArrayList<>();
+
+    private CSLiveDashboard(int port, long intervalMillis) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/", this::handlePage);
+        server.createContext("/status", this::handleStatus);
+        server.createContext("/events", this::handleEvents);
+        handlers = Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "cs-dashboard-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(handlers);
+        broadcaster = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cs-dashboard");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.start();
+        broadcaster.scheduleAtFixedRate(this::broadcast, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Start the dashboard when cs.dashboard.enabled is true
+     */
+    public static synchronized void startIfEnabled() {
+        CSConfigManager config = CSConfigManager.getInstance();
+        if (config.getBooleanProperty("cs.dashboard.enabled", false)) {
+            start(config.getInt("cs.dashboard.port", 8765), config.getInt("cs.dashboard.interval.ms", 1000));
+        }
+    }
+
+    /**
+     * Start the dashboard on the given port (0 picks a free port)
+     *
+     * @return the bound port, or -1 if the server could not start
+     */
+    public static synchronized int start(int port, long intervalMillis) {
+        if (instance == null) {
+            try {
+                instance = new CSLiveDashboard(port, Math.max(100, intervalMillis));
+                logger.info("Live dashboard available at http://localhost:{}/", instance.getPort());
+            } catch (IOException e) {
+                logger.warn("Could not start live dashboard on port {}: {}", port, e.getMessage());
+                return -1;
+            }
+        }
+        return instance.getPort();
+    }
+
+    /**
+     * Push a final snapshot and stop the server
+     */
+    public static synchronized void stop() {
+        if (instance != null) {
+            instance.broadcaster.shutdownNow();
+            instance.broadcast();
+            for (HttpExchange client : instance.clients) {
+                client.close();
+            }
+            instance.server.stop(0);
+            instance.handlers.shutdownNow();
+            instance = null;
+        }
+    }
+
+    /**
+     * Number of scenarios the run is expected to execute, used for the queue depth
+     */
+    public static void setExpectedTests(int count) {
+        expectedTests = count;
+    }
+
+    /**
+     * Current progress snapshot
+     */
+    public static Map<String, Object> snapshot() {
+        CSReportManager reportManager = CSReportManager.getInstance();
+        int passed = reportManager.getPassedCount();
+        int failed = reportManager.getFailedCount();
+        int skipped = reportManager.getSkippedCount();
+        Map<String, CSTestResult> running = CSReportManager.getRunningTests();
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("timestamp", System.currentTimeMillis());
+        snapshot.put("expected", expectedTests);
+        snapshot.put("completed", passed + failed + skipped);
+        snapshot.put("running", running.size());
+        snapshot.put("queued", Math.max(0, expectedTests - passed - failed - skipped - running.size()));
+        snapshot.put("passed", passed);
+        snapshot.put("failed", failed);
+        snapshot.put("skipped", skipped);
+
+        List<Map<String, Object>> threads = new ArrayList<>();
+        running.forEach((thread, result) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("thread", thread);
+            entry.put("scenario", result.getTestName());
+            entry.put("runningMs", result.getStartTime() != null
+                ? Duration.between(result.getStartTime(), LocalDateTime.now()).toMillis() : 0);
+            threads.add(entry);
+        });
+        snapshot.put("threads", threads);
+
+        CSLatencyHistogram latency = CSReportManager.getStepLatency();
+        Map<String, Object> steps = new LinkedHashMap<>();
+        steps.put("count", latency.getCount());
+        steps.put("p50", latency.getPercentile(50));
+        steps.put("p95", latency.getPercentile(95));
+        steps.put("max", latency.getMax());
+        snapshot.put("stepLatencyMs", steps);
+
+        Map<String, Object> browsers = new LinkedHashMap<>();
+        int max = CSWebDriverManager.getMaxBrowsersAllowed();
+        browsers.put("active", CSWebDriverManager.getDriverPoolSize());
+        browsers.put("max", max == Integer.MAX_VALUE ? -1 : max);
+        snapshot.put("browsers", browsers);
+        return snapshot;
+    }
+
+    private int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private synchronized void broadcast() {
+        if (clients.isEmpty()) {
+            return;
+        }
+        byte[] event;
+        try {
+            event = ("data: " + mapper.writeValueAsString(snapshot()) + "\n\n").getBytes(StandardCharsets.UTF_8);
+        } catch (Exception e) {
+            logger.debug("Could not build dashboard snapshot: {}", e.getMessage());
+            return;
+        }
+        for (HttpExchange client : clients) {
+            try {
+                OutputStream out = client.getResponseBody();
+                out.write(event);
+                out.flush();
+            } catch (IOException e) {
+                // Browser went away
+                clients.remove(client);
+                client.close();
+            }
+        }
+    }
+
+    private void handleEvents(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+        // Left open - the broadcaster writes to it until the client disconnects
+        clients.add(exchange);
+    }
+
+    private void handleStatus(HttpExchange exchange) throws IOException {
+        respond(exchange, "application/json", mapper.writeValueAsBytes(snapshot()));
+    }
+
+    private void handlePage(HttpExchange exchange) throws IOException {
+        if (!"/".equals(exchange.getRequestURI().getPath())) {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+        respond(exchange, "text/html; charset=utf-8", PAGE.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void respond(HttpExchange exchange, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static final String PAGE = "<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>CS Live Execution</title>"
+        + "<style>body{font-family:sans-serif;margin:20px}td,th{padding:4px 10px;text-align:left}"
+        + ".pass{color:#2e7d32}.fail{color:#c62828}</style></head><body>"
+        + "<h2>Live Execution</h2><div id=\"summary\">Waiting for data...</div>"
+        + "<h3>Running</h3><table><thead><tr><th>Thread</th><th>Scenario</th><th>Running (s)</th></tr></thead>"
+        + "<tbody id=\"threads\"></tbody></table>"
+        + "<script>"
+        + "function esc(s){return String(s).replace(/[&<>]/g,function(c){return{'&':'&amp;','<':'&lt;','>':'&gt;'}[c];});}"
+        + "new EventSource('/events').onmessage=function(e){var d=JSON.parse(e.data);"
+        + "document.getElementById('summary').innerHTML='Completed '+d.completed+' / '+d.expected"
+        + "+' &middot; queued '+d.queued+' &middot; running '+d.running"
+        + "+' &middot; <span class=\"pass\">passed '+d.passed+'</span> &middot; <span class=\"fail\">failed '+d.failed+'</span>'"
+        + "+' &middot; skipped '+d.skipped+'<br>Step latency p50 '+d.stepLatencyMs.p50+' ms, p95 '+d.stepLatencyMs.p95"
+        + "+' ms, max '+d.stepLatencyMs.max+' ms &middot; browsers '+d.browsers.active"
+        + "+(d.browsers.max>0?' / '+d.browsers.max:'');"
+        + "document.getElementById('threads').innerHTML=d.threads.map(function(t){return '<tr><td>'+esc(t.thread)"
+        + "+'</td><td>'+esc(t.scenario)+'</td><td>'+Math.round(t.runningMs/1000)+'</td></tr>';}).join('');};"
+        + "</script></body></html>";
+}
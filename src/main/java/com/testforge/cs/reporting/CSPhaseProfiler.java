@@ -0,0 +1,172 @@
+package com.testforge.cs.reporting;
+
+import com.testforge.cs.config.CSConfigManager;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Records where scenario time goes, phase by phase
+ * Framework code wraps each phase in a scope; nested scopes form a call path such as
+ * "scenario;step;element.find", and the time of every path is summed per thread. When a scenario
+ * finishes its profile (milliseconds per path, inclusive of nested phases) is attached to the test
+ * result under the "profile" metadata key, from which the report aggregates the run and draws a
+ * flame graph. Work done between scenarios, like browser creation in @BeforeMethod, is counted
+ * towards the next scenario on that thread.
+ *
+ * Usage:
+ * <pre>
+ * try (CSPhaseProfiler.Scope ignored = CSPhaseProfiler.begin(CSPhaseProfiler.Phase.WAIT)) {
+ *     wait.until(condition);
+ * }
+ * </pre>
+ */
+public final class CSPhaseProfiler {
+
+    public enum Phase {
+        SCENARIO("scenario"),
+        BROWSER_CREATION("browser.create"),
+        PAGE_INJECTION("page.injection"),
+        STEP("step"),
+        STEP_LOOKUP("step.lookup"),
+        ELEMENT_FIND("element.find"),
+        WAIT("wait"),
+        SCREENSHOT("screenshot"),
+        REPORTING("report"),
+        ADO_PUBLISH("ado.publish");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    /**
+     * Open phase - close it (try-with-resources) when the phase ends
+     */
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    public static final String METADATA_KEY = "profile";
+
+    private static final Scope NO_OP = () -> { };
+    private static final boolean enabled = CSConfigManager.getInstance().getBooleanProperty("cs.profiler.enabled", true);
+    private static final ThreadLocal<ThreadProfile> profiles = ThreadLocal.withInitial(ThreadProfile::new);
+
+    private CSPhaseProfiler() {
+        // Utility class
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Start a phase on the current thread
+     */
+    public static Scope begin(Phase phase) {
+        if (!enabled) {
+            return NO_OP;
+        }
+        return profiles.get().push(phase);
+    }
+
+    /**
+     * Profile of the scenario that just finished on this thread (ms per path), then start a new one
+     */
+    public static Map<String, Double> finishScenario() {
+        if (!enabled) {
+            return new LinkedHashMap<>();
+        }
+        return profiles.get().drain();
+    }
+
+    /**
+     * Sum the profiles attached to test results - the run-wide profile
+     */
+    public static Map<String, Double> aggregate(Iterable<CSTestResult> results) {
+        Map<String, Double> total = new LinkedHashMap<>();
+        for (CSTestResult result : results) {
+            Object profile = result.getMetadata() != null ? result.getMetadata().get(METADATA_KEY) : null;
+            if (profile instanceof Map) {
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) profile).entrySet()) {
+                    if (entry.getValue() instanceof Number) {
+                        total.merge(String.valueOf(entry.getKey()), ((Number) entry.getValue()).doubleValue(), Double::sum);
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Thread-confined stack of open phases plus accumulated nanoseconds per path
+     * Every phase gets its own frame, so a scope that is closed again later cannot end a newer phase.
+     */
+    private static final class ThreadProfile {
+        private Frame[] frames = new Frame[8];
+        private int depth;
+        private final Map<String, long[]> nanosByPath = new HashMap<>();
+
+        Frame push(Phase phase) {
+            if (depth == frames.length) {
+                frames = Arrays.copyOf(frames, depth * 2);
+            }
+            String path = depth == 0 ? phase.label : frames[depth - 1].path + ";" + phase.label;
+            Frame frame = new Frame(this, path, depth, System.nanoTime());
+            frames[depth++] = frame;
+            return frame;
+        }
+
+        void pop(Frame frame) {
+            if (frame.closed || frame.level >= depth || frames[frame.level] != frame) {
+                frame.closed = true;
+                return; // already closed, or ended together with an enclosing phase
+            }
+            long now = System.nanoTime();
+            // Close phases left open by an exception inside this one
+            while (depth > frame.level) {
+                Frame open = frames[--depth];
+                frames[depth] = null;
+                open.closed = true;
+                nanosByPath.computeIfAbsent(open.path, k -> new long[1])[0] += now - open.start;
+            }
+        }
+
+        Map<String, Double> drain() {
+            Map<String, Double> profile = new LinkedHashMap<>();
+            nanosByPath.forEach((path, nanos) -> profile.put(path, Math.round(nanos[0] / 10_000.0) / 100.0));
+            nanosByPath.clear();
+            return profile;
+        }
+    }
+
+    private static final class Frame implements Scope {
+        private final ThreadProfile owner;
+        private final String path;
+        private final int level;
+        private final long start;
+        private boolean closed;
+
+        Frame(ThreadProfile owner, String path, int level, long start) {
+            this.owner = owner;
+            this.path = path;
+            this.level = level;
+            this.start = start;
+        }
+
+        @Override
+        public void close() {
+            owner.pop(this);
+        }
+    }
+}
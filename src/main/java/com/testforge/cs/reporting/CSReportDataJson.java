@@ -0,0 +1,293 @@
+package com.testforge.cs.reporting;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.testforge.cs.config.CSConfigManager;
+import com.testforge.cs.exceptions.CSReportingException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Reads and writes report-data.json
+ * Besides the run summary the file holds every test result, so a report can be rebuilt
+ * later - e.g. when merging the outputs of sharded runs or rerunning failed scenarios.
+ * Reading accepts the JSON file itself, a test-run folder or a compressed test-run ZIP.
+ * Embedded (base64) screenshots are written as files to report-data-screenshots next to the JSON
+ * and referenced by path, so the file stays small; reading puts them back as data URIs.
+ */
+public final class CSReportDataJson {
+
+    public static final String FILE_NAME = "report-data.json";
+    public static final String SCREENSHOT_DIR = "report-data-screenshots";
+
+    private static final String DATA_URI_PREFIX = "data:image/";
+    private static final String BASE64_MARKER = ";base64,";
+    private static final String SCREENSHOT_REF_PREFIX = "report-data-screenshot:";
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    static {
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        mapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        mapper.enable(SerializationFeature.INDENT_OUTPUT);
+        mapper.findAndRegisterModules();
+        mapper.addMixIn(CSTestResult.Screenshot.class, ScreenshotMixin.class);
+    }
+
+    /**
+     * Screenshot has no default constructor - map its fields to the existing one
+     */
+    abstract static class ScreenshotMixin {
+        @JsonCreator
+        ScreenshotMixin(@JsonProperty("path") String path,
+                        @JsonProperty("name") String name,
+                        @JsonProperty("timestamp") long timestamp) {
+        }
+    }
+
+    private CSReportDataJson() {
+        // Utility class
+    }
+
+    /**
+     * Write summary, shard identity (index, count and cs.shard.run.id) and all test results
+     */
+    public static void write(CSReportData reportData, Path jsonFile) {
+        CSConfigManager config = CSConfigManager.getInstance();
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("reportName", reportData.getReportName());
+        json.put("totalTests", reportData.getTotalTests());
+        json.put("passedTests", reportData.getPassedTests());
+        json.put("failedTests", reportData.getFailedTests());
+        json.put("skippedTests", reportData.getSkippedTests());
+        json.put("passRate", reportData.getPassRate());
+        json.put("startTime", String.valueOf(reportData.getStartTime()));
+        json.put("endTime", String.valueOf(reportData.getEndTime()));
+        json.put("duration", reportData.getDuration() != null ? reportData.getDuration().toMillis() : 0);
+        json.put("executionMode", reportData.getExecutionMode());
+        json.put("shardIndex", config.getInt("cs.shard.index", 0));
+        json.put("shardCount", config.getInt("cs.shard.count", 1));
+        json.put("shardRunId", config.getProperty("cs.shard.run.id", ""));
+        json.put("environment", reportData.getEnvironment());
+        json.put("testResults", reportData.getTestResults());
+
+        JsonNode root = mapper.valueToTree(json);
+        Path parent = jsonFile.toAbsolutePath().getParent();
+        try (OutputStream out = Files.newOutputStream(jsonFile)) {
+            externalizeScreenshots(root, parent.resolve(SCREENSHOT_DIR), new int[1]);
+            mapper.writeValue(out, root);
+        } catch (IOException e) {
+            throw new CSReportingException("Failed to write report data: " + jsonFile, e);
+        }
+    }
+
+    /**
+     * Read report data from a report-data.json file, a test-run folder or a test-run ZIP
+     */
+    public static CSReportData read(Path source) {
+        try {
+            if (Files.isDirectory(source)) {
+                return read(source.resolve(FILE_NAME));
+            }
+            if (source.getFileName().toString().toLowerCase().endsWith(".zip")) {
+                try (ZipFile zip = new ZipFile(source.toFile())) {
+                    ZipEntry entry = zip.stream()
+                        .filter(e -> e.getName().endsWith(FILE_NAME))
+                        .findFirst()
+                        .orElseThrow(() -> new CSReportingException("No " + FILE_NAME + " in " + source));
+                    String folder = entry.getName().substring(0, entry.getName().length() - FILE_NAME.length());
+                    JsonNode root;
+                    try (InputStream in = zip.getInputStream(entry)) {
+                        root = mapper.readTree(in);
+                    }
+                    inlineScreenshots(root, reference -> {
+                        ZipEntry screenshot = zip.getEntry(folder + reference);
+                        if (screenshot == null) {
+                            return null;
+                        }
+                        try (InputStream in = zip.getInputStream(screenshot)) {
+                            return in.readAllBytes();
+                        }
+                    });
+                    return toReportData(root);
+                }
+            }
+            JsonNode root;
+            try (InputStream in = Files.newInputStream(source)) {
+                root = mapper.readTree(in);
+            }
+            Path folder = source.toAbsolutePath().getParent();
+            inlineScreenshots(root, reference -> {
+                Path screenshot = folder.resolve(reference);
+                return Files.isRegularFile(screenshot) ? Files.readAllBytes(screenshot) : null;
+            });
+            return toReportData(root);
+        } catch (IOException e) {
+            throw new CSReportingException("Failed to read report data: " + source, e);
+        }
+    }
+
+    /**
+     * Shard index recorded in report data (0 for unsharded runs)
+     */
+    public static int getShardIndex(CSReportData reportData) {
+        String index = reportData.getEnvironment() != null ? reportData.getEnvironment().get("shardIndex") : null;
+        try {
+            return index != null ? Integer.parseInt(index) : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Run id recorded in report data (cs.shard.run.id of the run, empty when not set)
+     */
+    public static String getShardRunId(CSReportData reportData) {
+        String runId = reportData.getEnvironment() != null ? reportData.getEnvironment().get("shardRunId") : null;
+        return runId != null ? runId : "";
+    }
+
+    /**
+     * Replace base64 data URIs anywhere in the tree by files in the screenshot folder
+     */
+    private static void externalizeScreenshots(JsonNode node, Path folder, int[] counter) throws IOException {
+        if (node instanceof ObjectNode) {
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                String reference = writeScreenshot(field.getValue(), folder, counter);
+                if (reference != null) {
+                    field.setValue(TextNode.valueOf(reference));
+                } else {
+                    externalizeScreenshots(field.getValue(), folder, counter);
+                }
+            }
+        } else if (node instanceof ArrayNode) {
+            ArrayNode array = (ArrayNode) node;
+            for (int i = 0; i < array.size(); i++) {
+                String reference = writeScreenshot(array.get(i), folder, counter);
+                if (reference != null) {
+                    array.set(i, TextNode.valueOf(reference));
+                } else {
+                    externalizeScreenshots(array.get(i), folder, counter);
+                }
+            }
+        }
+    }
+
+    private static String writeScreenshot(JsonNode value, Path folder, int[] counter) throws IOException {
+        String text = value.isTextual() ? value.asText() : null;
+        int marker = text != null && text.startsWith(DATA_URI_PREFIX) ? text.indexOf(BASE64_MARKER) : -1;
+        if (marker < 0) {
+            return null;
+        }
+        String type = text.substring(DATA_URI_PREFIX.length(), marker);
+        String fileName = "screenshot-" + (++counter[0]) + "." + type.replaceAll("[^A-Za-z0-9]", "");
+        Files.createDirectories(folder);
+        Files.write(folder.resolve(fileName), Base64.getMimeDecoder().decode(text.substring(marker + BASE64_MARKER.length())));
+        return SCREENSHOT_REF_PREFIX + SCREENSHOT_DIR + "/" + fileName;
+    }
+
+    /**
+     * Turn screenshot references back into data URIs; a missing file leaves the reference in place
+     */
+    private static void inlineScreenshots(JsonNode node, ScreenshotLoader loader) throws IOException {
+        if (node instanceof ObjectNode) {
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                String dataUri = readScreenshot(field.getValue(), loader);
+                if (dataUri != null) {
+                    field.setValue(TextNode.valueOf(dataUri));
+                } else {
+                    inlineScreenshots(field.getValue(), loader);
+                }
+            }
+        } else if (node instanceof ArrayNode) {
+            ArrayNode array = (ArrayNode) node;
+            for (int i = 0; i < array.size(); i++) {
+                String dataUri = readScreenshot(array.get(i), loader);
+                if (dataUri != null) {
+                    array.set(i, TextNode.valueOf(dataUri));
+                } else {
+                    inlineScreenshots(array.get(i), loader);
+                }
+            }
+        }
+    }
+
+    private static String readScreenshot(JsonNode value, ScreenshotLoader loader) throws IOException {
+        if (!value.isTextual() || !value.asText().startsWith(SCREENSHOT_REF_PREFIX)) {
+            return null;
+        }
+        String reference = value.asText().substring(SCREENSHOT_REF_PREFIX.length());
+        byte[] content = loader.load(reference);
+        if (content == null) {
+            return null;
+        }
+        String type = reference.substring(reference.lastIndexOf('.') + 1);
+        return DATA_URI_PREFIX + type + BASE64_MARKER + Base64.getEncoder().encodeToString(content);
+    }
+
+    /**
+     * Reads a screenshot file by its path relative to the report-data.json folder
+     */
+    private interface ScreenshotLoader {
+        byte[] load(String reference) throws IOException;
+    }
+
+    private static CSReportData toReportData(JsonNode root) throws IOException {
+        CSReportData reportData = new CSReportData();
+        reportData.setReportName(root.path("reportName").asText("CS TestForge Report"));
+
+        List<CSTestResult> results = new ArrayList<>();
+        for (JsonNode node : root.path("testResults")) {
+            results.add(mapper.treeToValue(node, CSTestResult.class));
+        }
+        reportData.buildFrom(results);
+
+        reportData.setStartTime(parseTime(root.path("startTime").asText(null)));
+        reportData.setEndTime(parseTime(root.path("endTime").asText(null)));
+        reportData.setDuration(Duration.ofMillis(root.path("duration").asLong(0)));
+        reportData.setExecutionMode(root.path("executionMode").asText(null));
+
+        Map<String, String> environment = new HashMap<>();
+        root.path("environment").fields().forEachRemaining(e -> environment.put(e.getKey(), e.getValue().asText()));
+        // Shard identity is kept in the environment map so it survives in the rebuilt report
+        environment.put("shardIndex", String.valueOf(root.path("shardIndex").asInt(0)));
+        environment.put("shardCount", String.valueOf(root.path("shardCount").asInt(1)));
+        environment.put("shardRunId", root.path("shardRunId").asText(""));
+        reportData.setEnvironment(environment);
+        return reportData;
+    }
+
+    private static LocalDateTime parseTime(String value) {
+        if (value == null || value.isEmpty() || "null".equals(value)) {
+            return null;
+        }
+        return LocalDateTime.parse(value);
+    }
+}
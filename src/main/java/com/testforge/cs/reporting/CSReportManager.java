@@ -1,6 +1,7 @@
 package com.testforge.cs.reporting;
 
 import com.testforge.cs.config.CSConfigManager;
+import com.testforge.cs.database.CSConnectionPoolRegistry;
 import com.testforge.cs.environment.CSEnvironmentCollector;
 import com.testforge.cs.exceptions.CSReportingException;
 import com.testforge.cs.utils.CSFileUtils;
@@ -8,6 +9,7 @@ import com.testforge.cs.utils.CSJsonUtils;
 import com.testforge.cs.utils.CSImageUtils;
 import com.testforge.cs.driver.CSWebDriverManager;
 import com.testforge.cs.bdd.CSScenarioRunner;
+import com.testforge.cs.logging.CSEventLog;
 import org.openqa.selenium.WebDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,6 +40,10 @@ public class CSReportManager {
     private final AtomicInteger failedTests = new AtomicInteger(0);
     private final AtomicInteger skippedTests = new AtomicInteger(0);
     
+    // Live progress: tests currently running per thread and step latency distribution
+    private static final Map<String, CSTestResult> runningTests = new ConcurrentHashMap<>();
+    private static final CSLatencyHistogram stepLatency = new CSLatencyHistogram();
+    
     // Thread-local storage for current step context
     private static final ThreadLocal<CSStepReport> currentStep = new ThreadLocal<>();
     private static final ThreadLocal<CSStepReport> lastCompletedStep = new ThreadLocal<>();
@@ -369,6 +375,9 @@ public class CSReportManager {
         envMap.put("parallelExecution", reportMetadata.getOrDefault("parallelExecution", "No").toString());
         envMap.put("executionCommand", reportMetadata.getOrDefault("executionCommand", "mvn test").toString());
         
+        // Connection pool usage of the run (borrow latency, waits, timeouts)
+        envMap.putAll(CSConnectionPoolRegistry.getInstance().getMetricsSummary());
+        
         csReportData.setEnvironment(envMap);
         
         // Set execution mode separately
@@ -424,6 +433,7 @@ public class CSReportManager {
         passedTests.set(0);
         failedTests.set(0);
         skippedTests.set(0);
+        stepLatency.reset();
     }
     
     /**
@@ -950,7 +960,10 @@ public class CSReportManager {
     public static void startStep(String stepType, String stepText) {
         CSStepReport step = new CSStepReport(stepType, stepText);
         currentStep.set(step);
-        logger.info("Step started in thread {}: {} {}", Thread.currentThread().getName(), stepType, stepText);
+        if (CSEventLog.isEnabled(CSEventLog.Category.STEP, CSEventLog.Level.DEBUG)) {
+            CSEventLog.event(CSEventLog.Category.STEP, CSEventLog.Level.DEBUG, "step.started",
+                "type", stepType, "step", stepText);
+        }
     }
     
     /**
@@ -959,32 +972,37 @@ public class CSReportManager {
     public static void endStep() {
         CSStepReport step = currentStep.get();
         if (step != null) {
-            step.complete();
-            
-            // Store the step temporarily before clearing
-            lastCompletedStep.set(step);
-            
-            // Add step to current test result
-            String testId = currentTestId.get();
-            if (testId != null) {
-                CSTestResult testResult = getInstance().testResults.get(testId);
-                if (testResult != null) {
-                    // Get the last executed step from CSScenarioRunner and enhance it with actions
-                    if (!testResult.getExecutedSteps().isEmpty()) {
-                        Map<String, Object> lastStep = testResult.getExecutedSteps().get(
-                            testResult.getExecutedSteps().size() - 1);
-                        
-                        // Add the actions to the step
-                        lastStep.put("actions", step.getActions().stream()
-                            .map(CSStepAction::toMap)
-                            .collect(Collectors.toList()));
+            try (CSPhaseProfiler.Scope ignored = CSPhaseProfiler.begin(CSPhaseProfiler.Phase.REPORTING)) {
+                step.complete();
+                
+                // Store the step temporarily before clearing
+                lastCompletedStep.set(step);
+                
+                // Add step to current test result
+                String testId = currentTestId.get();
+                if (testId != null) {
+                    CSTestResult testResult = getInstance().testResults.get(testId);
+                    if (testResult != null) {
+                        // Get the last executed step from CSScenarioRunner and enhance it with actions
+                        if (!testResult.getExecutedSteps().isEmpty()) {
+                            Map<String, Object> lastStep = testResult.getExecutedSteps().get(
+                                testResult.getExecutedSteps().size() - 1);
+                            
+                            // Add the actions to the step
+                            lastStep.put("actions", step.getActions().stream()
+                                .map(CSStepAction::toMap)
+                                .collect(Collectors.toList()));
+                        }
                     }
                 }
+                
+                stepLatency.record(step.getDuration());
+                if (CSEventLog.isEnabled(CSEventLog.Category.STEP, CSEventLog.Level.INFO)) {
+                    CSEventLog.event(CSEventLog.Category.STEP, CSEventLog.Level.INFO, "step.completed",
+                        "step", step.getStepText(), "status", step.getStatus(), "durationMs", step.getDuration());
+                }
+                currentStep.remove();
             }
-            
-            logger.info("Step completed: {} - {} ({}ms)", 
-                step.getStepText(), step.getStatus(), step.getDuration());
-            currentStep.remove();
         }
     }
     
@@ -996,7 +1014,10 @@ public class CSReportManager {
         if (step != null) {
             CSStepAction action = new CSStepAction(actionType, description);
             step.addAction(action);
-            logger.info("Added action to CSStepReport: {} - {}", actionType, description);
+            if (CSEventLog.isEnabled(CSEventLog.Category.ACTION, CSEventLog.Level.DEBUG)) {
+                CSEventLog.event(CSEventLog.Category.ACTION, CSEventLog.Level.DEBUG, "action",
+                    "type", actionType, "description", description);
+            }
             return;
         } else {
             logger.warn("No current step in ThreadLocal to add action: {} - {}", actionType, description);
@@ -1040,7 +1061,10 @@ public class CSReportManager {
         if (step != null) {
             CSStepAction action = new CSStepAction(actionType, description, target);
             step.addAction(action);
-            logger.debug("Action: {} - {} on {}", actionType, description, target);
+            if (CSEventLog.isEnabled(CSEventLog.Category.ACTION, CSEventLog.Level.DEBUG)) {
+                CSEventLog.event(CSEventLog.Category.ACTION, CSEventLog.Level.DEBUG, "action",
+                    "type", actionType, "description", description, "target", target);
+            }
         }
     }
     
@@ -1052,7 +1076,10 @@ public class CSReportManager {
         if (step != null) {
             CSStepAction action = new CSStepAction(actionType, description, target, value);
             step.addAction(action);
-            logger.debug("Action: {} - {} on {} with value '{}'", actionType, description, target, value);
+            if (CSEventLog.isEnabled(CSEventLog.Category.ACTION, CSEventLog.Level.DEBUG)) {
+                CSEventLog.event(CSEventLog.Category.ACTION, CSEventLog.Level.DEBUG, "action",
+                    "type", actionType, "description", description, "target", target, "value", value);
+            }
         }
     }
     
@@ -1065,6 +1092,8 @@ public class CSReportManager {
             CSStepAction lastAction = step.getActions().get(step.getActions().size() - 1);
             lastAction.setError(error);
             logger.error("Action failed: {}", error);
+            CSEventLog.event(CSEventLog.Category.ACTION, CSEventLog.Level.ERROR, "action.failed",
+                "action", lastAction.getDescription(), "error", error);
         }
     }
     
@@ -1075,16 +1104,51 @@ public class CSReportManager {
         currentTestId.set(testId);
     }
     
+    /**
+     * Set current test context and publish the test as running on this thread
+     */
+    public static void setCurrentTestContext(CSTestResult testResult) {
+        currentTestId.set(testResult.getTestId());
+        runningTests.put(Thread.currentThread().getName(), testResult);
+    }
+    
     /**
      * Clear current test context
      */
     public static void clearCurrentTestContext() {
+        runningTests.remove(Thread.currentThread().getName());
         currentTestId.remove();
         currentStep.remove();
         lastCompletedStep.remove();
     }
     
     
+    /**
+     * Tests running right now, keyed by thread name
+     */
+    public static Map<String, CSTestResult> getRunningTests() {
+        return Collections.unmodifiableMap(runningTests);
+    }
+    
+    /**
+     * Step duration distribution since the report was last reset
+     */
+    public static CSLatencyHistogram getStepLatency() {
+        return stepLatency;
+    }
+    
+    public int getPassedCount() {
+        return passedTests.get();
+    }
+    
+    public int getFailedCount() {
+        return failedTests.get();
+    }
+    
+    public int getSkippedCount() {
+        return skippedTests.get();
+    }
+    
     /**
      * Get actions from the last completed step
      */
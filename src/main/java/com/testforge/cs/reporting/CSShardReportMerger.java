@@ -0,0 +1,284 @@
+package com.testforge.cs.reporting;
+
+import com.testforge.cs.azuredevops.CSAzureDevOpsPublisher;
+import com.testforge.cs.config.CSConfigManager;
+import com.testforge.cs.exceptions.CSReportingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Merges the report data of sharded runs into one report and one Azure DevOps test run
+ * Each shard (cs.shard.index / cs.shard.count) writes its own test-run folder with a partial
+ * report-data.json; this tool reads them (folders or ZIPs), keeps the newest output per shard
+ * and generates a single CSHtmlReportGenerator report.
+ *
+ * Only outputs of one run are merged: the expected shard count and run id (cs.shard.run.id, e.g.
+ * the CI build id) are given with --shards / --run-id or taken from the newest output. Outputs
+ * of other runs are skipped, and the merge fails unless every shard of the run is present.
+ *
+ * Usage: java CSShardReportMerger [--ado] [--output &lt;report dir&gt;] [--shards &lt;count&gt;] [--run-id &lt;id&gt;]
+ *        &lt;shard folder, ZIP, json or report dir&gt;...
+ */
+public class CSShardReportMerger {
+    private static final Logger logger = LoggerFactory.getLogger(CSShardReportMerger.class);
+    private static final Pattern SHARD_SUFFIX = Pattern.compile("_shard-\\d+-of-(\\d+)(\\.zip)?$");
+
+    private CSShardReportMerger() {
+        // Utility class
+    }
+
+    /**
+     * Find shard outputs in the given paths: report-data.json files, test-run folders, test-run ZIPs,
+     * or report directories containing shard folders/ZIPs
+     */
+    public static List<Path> findShardOutputs(List<Path> paths) {
+        return findShardOutputs(paths, 0);
+    }
+
+    /**
+     * Find shard outputs as above; in report directories only folders/ZIPs of runs split into
+     * shardCount shards ("_shard-i-of-shardCount") are taken, any count when shardCount is 0
+     */
+    public static List<Path> findShardOutputs(List<Path> paths, int shardCount) {
+        List<Path> outputs = new ArrayList<>();
+        for (Path path : paths) {
+            if (Files.isRegularFile(path) || Files.isRegularFile(path.resolve(CSReportDataJson.FILE_NAME))) {
+                outputs.add(path);
+                continue;
+            }
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> children = Files.list(path)) {
+                    children.filter(p -> isShardOutput(p.getFileName().toString(), shardCount))
+                        .filter(p -> p.toString().endsWith(".zip") || Files.isRegularFile(p.resolve(CSReportDataJson.FILE_NAME)))
+                        .sorted()
+                        .forEach(outputs::add);
+                } catch (IOException e) {
+                    throw new CSReportingException("Failed to list shard outputs in " + path, e);
+                }
+            }
+        }
+        return outputs;
+    }
+
+    private static boolean isShardOutput(String fileName, int shardCount) {
+        Matcher matcher = SHARD_SUFFIX.matcher(fileName);
+        return matcher.find() && (shardCount <= 0 || Integer.parseInt(matcher.group(1)) == shardCount);
+    }
+
+    /**
+     * Merge the shard report data of the newest run among the outputs
+     */
+    public static CSReportData merge(List<Path> shardOutputs) {
+        return merge(shardOutputs, 0, null);
+    }
+
+    /**
+     * Merge shard report data of one run; when a shard ran more than once, its newest output wins
+     * shardCount (0 = any) and runId (null = any) select the run; when either is open, it is taken
+     * from the newest matching output. Outputs of other runs are skipped; a missing shard fails.
+     */
+    public static CSReportData merge(List<Path> shardOutputs, int shardCount, String runId) {
+        Map<Path, CSReportData> outputs = new LinkedHashMap<>();
+        CSReportData newest = null;
+        for (Path output : shardOutputs) {
+            CSReportData data = CSReportDataJson.read(output);
+            outputs.put(output, data);
+            if (belongsTo(data, shardCount, runId) && (newest == null || isNewer(data, newest))) {
+                newest = data;
+            }
+        }
+        if (newest == null) {
+            throw new CSReportingException("No shard report data found" + (outputs.isEmpty() ? "" : " for the requested run"));
+        }
+        int expectedShards = Integer.parseInt(newest.getEnvironment().get("shardCount"));
+        String expectedRunId = CSReportDataJson.getShardRunId(newest);
+
+        Map<Integer, CSReportData> byShard = new HashMap<>();
+        for (Map.Entry<Path, CSReportData> output : outputs.entrySet()) {
+            CSReportData data = output.getValue();
+            if (!belongsTo(data, expectedShards, expectedRunId)) {
+                logger.warn("Skipping {}: output of another run ({} shards, run id '{}')", output.getKey(),
+                    data.getEnvironment().get("shardCount"), CSReportDataJson.getShardRunId(data));
+                continue;
+            }
+            int shard = CSReportDataJson.getShardIndex(data);
+            CSReportData existing = byShard.get(shard);
+            if (existing == null || isNewer(data, existing)) {
+                byShard.put(shard, data);
+            }
+            logger.info("Read shard {} output: {} ({} tests)", shard, output.getKey(), data.getTotalTests());
+        }
+        if (byShard.size() != expectedShards) {
+            throw new CSReportingException("Shard outputs of run '" + expectedRunId + "' are incomplete: found shards "
+                + new TreeSet<>(byShard.keySet()) + " of " + expectedShards);
+        }
+
+        Map<String, CSTestResult> results = new LinkedHashMap<>();
+        LocalDateTime start = null;
+        LocalDateTime end = null;
+        Map<String, String> environment = new HashMap<>();
+        Set<String> executionModes = new LinkedHashSet<>();
+
+        List<Integer> shards = byShard.keySet().stream().sorted().collect(Collectors.toList());
+        for (Integer shard : shards) {
+            CSReportData data = byShard.get(shard);
+            for (CSTestResult result : data.getTestResults()) {
+                results.putIfAbsent(result.getTestId() != null ? result.getTestId() : shard + ":" + results.size(), result);
+            }
+            if (data.getStartTime() != null && (start == null || data.getStartTime().isBefore(start))) {
+                start = data.getStartTime();
+            }
+            if (data.getEndTime() != null && (end == null || data.getEndTime().isAfter(end))) {
+                end = data.getEndTime();
+            }
+            if (environment.isEmpty() && data.getEnvironment() != null) {
+                environment.putAll(data.getEnvironment());
+            }
+            if (data.getExecutionMode() != null && !data.getExecutionMode().isEmpty()) {
+                executionModes.add(data.getExecutionMode());
+            }
+        }
+
+        environment.remove("shardIndex");
+        environment.put("shards", shards.size() + " of " + expectedShards);
+
+        CSReportData merged = new CSReportData();
+        merged.setReportName("CS TestForge Report");
+        List<CSTestResult> ordered = new ArrayList<>(results.values());
+        ordered.sort(Comparator.comparing(CSTestResult::getStartTime, Comparator.nullsLast(Comparator.naturalOrder())));
+        merged.buildFrom(ordered);
+        merged.setStartTime(start != null ? start : LocalDateTime.now());
+        merged.setEndTime(end != null ? end : merged.getStartTime());
+        merged.setDuration(Duration.between(merged.getStartTime(), merged.getEndTime()));
+        merged.setEnvironment(environment);
+        merged.setExecutionMode((executionModes.isEmpty() ? "sharded" : String.join(", ", executionModes))
+            + " (" + shards.size() + " shards)");
+        return merged;
+    }
+
+    /**
+     * Publish merged results as one Azure DevOps test run
+     */
+    public static void publishToAzureDevOps(CSReportData merged, String runName) {
+        CSAzureDevOpsPublisher publisher = CSAzureDevOpsPublisher.getInstance();
+        if (!publisher.isEnabled()) {
+            logger.info("Azure DevOps integration is disabled - skipping publication");
+            return;
+        }
+
+        List<CSTestResult> mapped = new ArrayList<>();
+        Set<Integer> testPointIds = new LinkedHashSet<>();
+        for (CSTestResult result : merged.getTestResults()) {
+            Map<String, Object> metadata = result.getMetadata();
+            if (metadata == null || !metadata.containsKey("ado.testplan.id") || !metadata.containsKey("ado.testsuite.id")) {
+                continue;
+            }
+            mapped.add(result);
+            for (Integer testCaseId : testCaseIds(metadata)) {
+                Integer pointId = publisher.getTestPointId(Integer.valueOf(metadata.get("ado.testplan.id").toString()),
+                    Integer.valueOf(metadata.get("ado.testsuite.id").toString()), testCaseId);
+                if (pointId != null) {
+                    testPointIds.add(pointId);
+                }
+            }
+        }
+        if (testPointIds.isEmpty()) {
+            logger.info("No merged results have complete ADO mapping - no test run created");
+            return;
+        }
+
+        publisher.startTestRunWithPoints(runName, new ArrayList<>(testPointIds));
+        for (CSTestResult result : mapped) {
+            for (Integer testCaseId : testCaseIds(result.getMetadata())) {
+                result.getMetadata().put("ado.testcase.id", testCaseId.toString());
+                publisher.publishTestResult(result);
+            }
+        }
+        publisher.completeTestRun();
+        logger.info("Published {} merged results to Azure DevOps test run '{}'", mapped.size(), runName);
+    }
+
+    private static List<Integer> testCaseIds(Map<String, Object> metadata) {
+        Object ids = metadata.containsKey("ado.testcase.ids") ? metadata.get("ado.testcase.ids") : metadata.get("ado.testcase.id");
+        List<Integer> result = new ArrayList<>();
+        if (ids != null) {
+            for (String id : ids.toString().split(",")) {
+                if (!id.trim().isEmpty()) {
+                    result.add(Integer.valueOf(id.trim()));
+                }
+            }
+        }
+        return result;
+    }
+
+    private static boolean belongsTo(CSReportData data, int shardCount, String runId) {
+        return (shardCount <= 0 || String.valueOf(shardCount).equals(data.getEnvironment().get("shardCount")))
+            && (runId == null || runId.equals(CSReportDataJson.getShardRunId(data)));
+    }
+
+    private static boolean isNewer(CSReportData candidate, CSReportData existing) {
+        return candidate.getEndTime() != null
+            && (existing.getEndTime() == null || candidate.getEndTime().isAfter(existing.getEndTime()));
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.out.println("CS Shard Report Merger");
+            System.out.println("Usage: java CSShardReportMerger [--ado] [--output <report dir>] [--shards <count>] [--run-id <id>]"
+                + " <shard folder|zip|json|report dir>...");
+            System.out.println("  e.g. java CSShardReportMerger --ado cs-reports");
+            return;
+        }
+
+        boolean publishAdo = false;
+        CSConfigManager config = CSConfigManager.getInstance();
+        String outputDir = config.getProperty("cs.report.directory", "cs-reports");
+        int shardCount = config.getInt("cs.shard.count", 1) > 1 ? config.getInt("cs.shard.count", 1) : 0;
+        String runId = config.getProperty("cs.shard.run.id", "");
+        runId = runId.isEmpty() ? null : runId;
+        List<Path> inputs = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if ("--ado".equals(args[i])) {
+                publishAdo = true;
+            } else if ("--output".equals(args[i]) && i + 1 < args.length) {
+                outputDir = args[++i];
+            } else if ("--shards".equals(args[i]) && i + 1 < args.length) {
+                shardCount = Integer.parseInt(args[++i]);
+            } else if ("--run-id".equals(args[i]) && i + 1 < args.length) {
+                runId = args[++i];
+            } else {
+                inputs.add(Paths.get(args[i]));
+            }
+        }
+
+        CSReportData merged = merge(findShardOutputs(inputs, shardCount), shardCount, runId);
+        String reportPath = new CSHtmlReportGenerator().generateReport(merged, outputDir);
+        System.out.println("Merged " + merged.getTotalTests() + " tests into: " + reportPath);
+
+        if (publishAdo) {
+            publishToAzureDevOps(merged, "CS BDD Test Run (merged shards) - " +
+                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+        }
+    }
+}
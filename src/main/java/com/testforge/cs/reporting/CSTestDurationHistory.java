@@ -0,0 +1,173 @@
+package com.testforge.cs.reporting;
+
+import com.testforge.cs.config.CSConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Historical per-scenario durations collected from previous test runs
+ * Stored next to test-history.dat as one "testName:averageMillis:samples" line per scenario.
+ * Data-driven iterations ("_Iteration3") share the entry of their base scenario, and the
+ * average is smoothed so one slow run does not dominate the estimate.
+ */
+public class CSTestDurationHistory {
+    private static final Logger logger = LoggerFactory.getLogger(CSTestDurationHistory.class);
+
+    private static final Pattern ITERATION_SUFFIX = Pattern.compile("_Iteration\\d+$");
+
+    private final Path historyFile;
+    private final double smoothing;
+    private final Map<String, Long> averages = new HashMap<>();
+    private final Map<String, Integer> samples = new HashMap<>();
+
+    public CSTestDurationHistory() {
+        this(Paths.get(CSConfigManager.getInstance().getProperty("cs.scheduler.history.file", "cs-reports/trends/test-durations.dat")),
+            CSConfigManager.getInstance().getDouble("cs.scheduler.history.smoothing", 0.5));
+    }
+
+    public CSTestDurationHistory(Path historyFile, double smoothing) {
+        this.historyFile = historyFile;
+        this.smoothing = Math.max(0.0, Math.min(1.0, smoothing));
+        load();
+    }
+
+    /**
+     * Key used to look up a scenario - test name without the data-driven iteration suffix
+     */
+    public static String keyFor(String testName) {
+        return testName == null ? "" : ITERATION_SUFFIX.matcher(testName).replaceFirst("");
+    }
+
+    /**
+     * Estimated duration in milliseconds, or -1 if the scenario has never been recorded
+     */
+    public long getEstimate(String testName) {
+        Long average = averages.get(keyFor(testName));
+        return average != null ? average : -1;
+    }
+
+    /**
+     * Number of scenarios with recorded durations
+     */
+    public int size() {
+        return averages.size();
+    }
+
+    /**
+     * Merge durations of the given results into the history and save it
+     */
+    public void update(List<CSTestResult> results) {
+        if (results == null || results.isEmpty()) {
+            return;
+        }
+
+        // Average the iterations of a scenario within this run first
+        Map<String, long[]> runTotals = new HashMap<>();
+        for (CSTestResult result : results) {
+            if (result.getDuration() <= 0 || result.getStatus() == CSTestResult.Status.SKIPPED) {
+                continue;
+            }
+            long[] total = runTotals.computeIfAbsent(keyFor(result.getTestName()), k -> new long[2]);
+            total[0] += result.getDuration();
+            total[1]++;
+        }
+
+        for (Map.Entry<String, long[]> entry : runTotals.entrySet()) {
+            long current = entry.getValue()[0] / entry.getValue()[1];
+            Long previous = averages.get(entry.getKey());
+            long updated = previous == null ? current : Math.round(smoothing * current + (1 - smoothing) * previous);
+            averages.put(entry.getKey(), updated);
+            samples.merge(entry.getKey(), 1, Integer::sum);
+        }
+
+        save();
+    }
+
+    /**
+     * Load saved durations line by line; invalid lines are skipped and the valid ones kept
+     */
+    private void load() {
+        if (!Files.isRegularFile(historyFile)) {
+            return;
+        }
+        // Undecodable bytes become U+FFFD instead of failing the whole read
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        int skipped = 0;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(Files.newInputStream(historyFile), decoder))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                if (!parseLine(line)) {
+                    skipped++;
+                    logger.warn("Skipping invalid duration history line in {}: {}", historyFile, line);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to read duration history {} - keeping the {} entries read so far: {}",
+                historyFile, averages.size(), e.getMessage());
+        }
+        logger.debug("Loaded durations for {} scenarios from {} ({} invalid lines skipped)",
+            averages.size(), historyFile, skipped);
+    }
+
+    /**
+     * Parse one "testName:averageMillis:samples" line; false if it is invalid
+     */
+    private boolean parseLine(String line) {
+        // Test names may contain ':' - parse the two numeric fields from the end
+        int countSeparator = line.lastIndexOf(':');
+        int averageSeparator = countSeparator > 0 ? line.lastIndexOf(':', countSeparator - 1) : -1;
+        if (averageSeparator <= 0) {
+            return false;
+        }
+        try {
+            long average = Long.parseLong(line.substring(averageSeparator + 1, countSeparator));
+            int count = Integer.parseInt(line.substring(countSeparator + 1));
+            if (average < 0 || count < 1) {
+                return false;
+            }
+            String name = line.substring(0, averageSeparator);
+            averages.put(name, average);
+            samples.put(name, count);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private void save() {
+        try {
+            Path parent = historyFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+
+            List<String> lines = new ArrayList<>();
+            for (Map.Entry<String, Long> entry : new TreeMap<>(averages).entrySet()) {
+                lines.add(entry.getKey() + ":" + entry.getValue() + ":" + samples.getOrDefault(entry.getKey(), 1));
+            }
+            Files.write(historyFile, lines);
+        } catch (IOException e) {
+            logger.debug("Failed to save duration history", e);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.testforge.cs.reporting;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Pass/fail history of previous test runs (cs-reports/trends/test-history.dat)
+ * Each line is "testName:PFPP..." with the oldest result first. Tests that did not run keep their
+ * older results, so the outcome of the most recent run is kept separately in
+ * cs-reports/trends/test-last-run.dat. Lookups use the scenario name without the data-driven
+ * iteration suffix and combine all of its iterations.
+ */
+public class CSTestExecutionHistory {
+    private static final Logger logger = LoggerFactory.getLogger(CSTestExecutionHistory.class);
+
+    public static final String HISTORY_FILE = "cs-reports/trends/test-history.dat";
+    public static final String LAST_RUN_FILE = "cs-reports/trends/test-last-run.dat";
+
+    private final Set<String> lastRunFailed = new HashSet<>();
+    private final Map<String, List<List<Boolean>>> iterations = new HashMap<>();
+
+    public CSTestExecutionHistory() {
+        this(load(new File(HISTORY_FILE)), loadLastRun(new File(LAST_RUN_FILE)));
+    }
+
+    /**
+     * @param history test name to results, oldest first
+     * @param lastRun test name to passed/failed for every test of the most recent run
+     */
+    public CSTestExecutionHistory(Map<String, List<Boolean>> history, Map<String, Boolean> lastRun) {
+        for (Map.Entry<String, List<Boolean>> entry : history.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                iterations.computeIfAbsent(CSTestDurationHistory.keyFor(entry.getKey()), k -> new ArrayList<>())
+                    .add(entry.getValue());
+            }
+        }
+        for (Map.Entry<String, Boolean> entry : lastRun.entrySet()) {
+            if (!entry.getValue()) {
+                lastRunFailed.add(CSTestDurationHistory.keyFor(entry.getKey()));
+            }
+        }
+    }
+
+    /**
+     * Load raw history - test name to results, oldest first
+     */
+    public static Map<String, List<Boolean>> load(File historyFile) {
+        Map<String, List<Boolean>> history = new HashMap<>();
+        try {
+            if (historyFile.exists()) {
+                for (String line : Files.readAllLines(historyFile.toPath())) {
+                    int separator = line.lastIndexOf(':');
+                    if (separator > 0) {
+                        List<Boolean> results = new ArrayList<>();
+                        for (char c : line.substring(separator + 1).toCharArray()) {
+                            results.add(c == 'P');
+                        }
+                        history.put(line.substring(0, separator), results);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            logger.debug("Failed to load test history", e);
+        }
+        return history;
+    }
+
+    /**
+     * Load the most recent run - test name to passed/failed, empty if no run was recorded
+     */
+    public static Map<String, Boolean> loadLastRun(File lastRunFile) {
+        Map<String, Boolean> lastRun = new HashMap<>();
+        try {
+            if (lastRunFile.exists()) {
+                for (String line : Files.readAllLines(lastRunFile.toPath())) {
+                    int separator = line.lastIndexOf(':');
+                    if (separator > 0 && separator == line.length() - 2) {
+                        lastRun.put(line.substring(0, separator), line.charAt(separator + 1) == 'P');
+                    }
+                }
+            }
+        } catch (Exception e) {
+            logger.debug("Failed to load last run results", e);
+        }
+        return lastRun;
+    }
+
+    /**
+     * Record the tests of the run that just finished, replacing the previous run
+     */
+    public static void saveLastRun(File lastRunFile, Map<String, Boolean> lastRun) {
+        try {
+            List<String> lines = new ArrayList<>();
+            for (Map.Entry<String, Boolean> entry : lastRun.entrySet()) {
+                lines.add(entry.getKey() + ":" + (entry.getValue() ? 'P' : 'F'));
+            }
+            Files.write(lastRunFile.toPath(), lines);
+        } catch (Exception e) {
+            logger.debug("Failed to save last run results", e);
+        }
+    }
+
+    /**
+     * Whether the scenario (any of its iterations) failed in the most recent run
+     * Scenarios that did not take part in that run are not counted, whatever their own last result.
+     */
+    public boolean failedLastRun(String testName) {
+        return lastRunFailed.contains(CSTestDurationHistory.keyFor(testName));
+    }
+
+    /**
+     * Whether the scenario both passed and failed within its last {@code window} runs
+     */
+    public boolean isFlaky(String testName, int window) {
+        List<List<Boolean>> runs = iterations.get(CSTestDurationHistory.keyFor(testName));
+        if (runs == null) {
+            return false;
+        }
+        boolean passed = false;
+        boolean failed = false;
+        for (List<Boolean> results : runs) {
+            for (Boolean result : results.subList(Math.max(0, results.size() - window), results.size())) {
+                if (result) {
+                    passed = true;
+                } else {
+                    failed = true;
+                }
+            }
+        }
+        return passed && failed;
+    }
+}
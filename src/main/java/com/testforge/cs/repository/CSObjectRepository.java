@@ -8,32 +8,35 @@ import org.openqa.selenium.By;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.time.LocalDateTime;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.FileTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Production-ready Object Repository Management System
  * Centralized management of page objects, locators, and test data
  * Thread-safe with caching and hot-reload capabilities
+ * Lookups read an immutable snapshot; a file watcher rebuilds and swaps the snapshot when files change
  */
 public class CSObjectRepository {
     private static final Logger logger = LoggerFactory.getLogger(CSObjectRepository.class);
     private static volatile CSObjectRepository instance;
     
-    // Repository storage
-    private final Map<String, CSPageObjectDefinition> pageObjects = new ConcurrentHashMap<>();
-    private final Map<String, CSElementDefinition> elements = new ConcurrentHashMap<>();
-    private final Map<String, CSTestDataSet> testDataSets = new ConcurrentHashMap<>();
-    private final Map<String, CSEnvironmentConfig> environments = new ConcurrentHashMap<>();
-    
-    // Caching and monitoring
-    private final Map<String, LocalDateTime> fileLastModified = new ConcurrentHashMap<>();
+    // Repository storage - immutable snapshot, swapped atomically on reload so lookups never lock
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
     private final Object reloadLock = new Object();
     
     // Configuration
@@ -41,11 +44,25 @@ public class CSObjectRepository {
     private boolean autoReloadEnabled;
     private int cacheTimeoutMinutes;
     private boolean strictModeEnabled;
+    private long watchDebounceMillis;
     
     private CSObjectRepository() {
         initialize();
     }
     
+    /**
+     * Repository over the given directory, bypassing the cs.repository.* configuration
+     */
+    CSObjectRepository(String repositoryBasePath, boolean autoReloadEnabled, boolean strictModeEnabled,
+                       long watchDebounceMillis) {
+        this.repositoryBasePath = repositoryBasePath;
+        this.autoReloadEnabled = autoReloadEnabled;
+        this.cacheTimeoutMinutes = 30;
+        this.strictModeEnabled = strictModeEnabled;
+        this.watchDebounceMillis = watchDebounceMillis;
+        start();
+    }
+    
     public static CSObjectRepository getInstance() {
         if (instance == null) {
             synchronized (CSObjectRepository.class) {
@@ -69,7 +86,19 @@ public class CSObjectRepository {
             autoReloadEnabled = Boolean.parseBoolean(config.getProperty("cs.repository.auto.reload.enabled", "true"));
             cacheTimeoutMinutes = Integer.parseInt(config.getProperty("cs.repository.cache.timeout.minutes", "30"));
             strictModeEnabled = Boolean.parseBoolean(config.getProperty("cs.repository.strict.mode.enabled", "true"));
-            
+            watchDebounceMillis = Long.parseLong(config.getProperty("cs.repository.watch.debounce.ms", "250"));
+        } catch (Exception e) {
+            logger.error("Failed to initialize object repository", e);
+            throw new CSRepositoryException("Repository initialization failed", e);
+        }
+        start();
+    }
+    
+    /**
+     * Load the repository and start monitoring it
+     */
+    private void start() {
+        try {
             // Create repository directories if they don't exist
             createRepositoryStructure();
             
@@ -107,18 +136,23 @@ public class CSObjectRepository {
     }
     
     /**
-     * Load all repository data
+     * Load all repository data into a new snapshot and swap it in.
+     * If loading fails the previous snapshot stays active.
      */
     private void loadAllRepositoryData() {
         synchronized (reloadLock) {
             try {
-                loadPageObjects();
-                loadElements();
-                loadTestDataSets();
-                loadEnvironments();
+                Snapshot.Builder builder = new Snapshot.Builder();
+                loadPageObjects(builder);
+                loadElements(builder);
+                loadTestDataSets(builder);
+                loadEnvironments(builder);
+                
+                Snapshot loaded = builder.build();
+                snapshot = loaded;
                 
                 logger.info("Loaded repository data - Pages: {}, Elements: {}, DataSets: {}, Environments: {}",
-                    pageObjects.size(), elements.size(), testDataSets.size(), environments.size());
+                    loaded.pageObjects.size(), loaded.elements.size(), loaded.testDataSets.size(), loaded.environments.size());
                     
             } catch (Exception e) {
                 logger.error("Error loading repository data", e);
@@ -132,151 +166,240 @@ public class CSObjectRepository {
     /**
      * Load page object definitions
      */
-    private void loadPageObjects() throws Exception {
-        Path pagesDir = Paths.get(repositoryBasePath, "pages");
-        if (!Files.exists(pagesDir)) {
-            return;
-        }
+    private void loadPageObjects(Snapshot.Builder builder) throws Exception {
+        List<Path> files = listJsonFiles("pages");
+        List<CSPageObjectDefinition> parsed = parseInParallel(files, "page object", (path, content) -> {
+            CSPageObjectDefinition pageObject = CSJsonUtils.fromJson(content, CSPageObjectDefinition.class);
+            
+            // Validate page object
+            validatePageObject(pageObject);
+            
+            logger.debug("Loaded page object: {} from {}", pageObject.getName(), path);
+            return pageObject;
+        });
         
-        Files.walk(pagesDir)
-            .filter(path -> path.toString().endsWith(".json"))
-            .forEach(path -> {
-                try {
-                    String content = CSFileUtils.readFileAsString(path.toString());
-                    CSPageObjectDefinition pageObject = CSJsonUtils.fromJson(content, CSPageObjectDefinition.class);
-                    
-                    // Validate page object
-                    validatePageObject(pageObject);
-                    
-                    pageObjects.put(pageObject.getName(), pageObject);
-                    fileLastModified.put(path.toString(), LocalDateTime.now());
-                    
-                    logger.debug("Loaded page object: {} from {}", pageObject.getName(), path);
-                    
-                } catch (Exception e) {
-                    logger.error("Failed to load page object from: {}", path, e);
-                    if (strictModeEnabled) {
-                        throw new CSRepositoryException("Failed to load page object: " + path, e);
-                    }
-                }
-            });
+        for (int i = 0; i < files.size(); i++) {
+            CSPageObjectDefinition pageObject = parsed.get(i);
+            if (pageObject != null) {
+                builder.pageObjects.put(pageObject.getName(), pageObject);
+            }
+            builder.trackFile(files.get(i));
+        }
     }
     
     /**
      * Load element definitions
      */
-    private void loadElements() throws Exception {
-        Path elementsDir = Paths.get(repositoryBasePath, "elements");
-        if (!Files.exists(elementsDir)) {
-            return;
-        }
+    private void loadElements(Snapshot.Builder builder) throws Exception {
+        List<Path> files = listJsonFiles("elements");
+        List<List<CSElementDefinition>> parsed = parseInParallel(files, "elements", (path, content) -> {
+            List<CSElementDefinition> elementList;
+            
+            // Support both single element and array of elements
+            if (content.trim().startsWith("[")) {
+                elementList = CSJsonUtils.fromJson(
+                    content, 
+                    new com.fasterxml.jackson.core.type.TypeReference<List<CSElementDefinition>>() {}
+                );
+            } else {
+                elementList = Collections.singletonList(CSJsonUtils.fromJson(content, CSElementDefinition.class));
+            }
+            
+            for (CSElementDefinition element : elementList) {
+                validateElement(element);
+            }
+            
+            logger.debug("Loaded {} elements from {}", elementList.size(), path);
+            return elementList;
+        });
         
-        Files.walk(elementsDir)
-            .filter(path -> path.toString().endsWith(".json"))
-            .forEach(path -> {
-                try {
-                    String content = CSFileUtils.readFileAsString(path.toString());
-                    
-                    // Support both single element and array of elements
-                    if (content.trim().startsWith("[")) {
-                        List<CSElementDefinition> elementList = CSJsonUtils.fromJson(
-                            content, 
-                            new com.fasterxml.jackson.core.type.TypeReference<List<CSElementDefinition>>() {}
-                        );
-                        
-                        for (CSElementDefinition element : elementList) {
-                            validateElement(element);
-                            elements.put(element.getName(), element);
-                        }
-                        
-                        logger.debug("Loaded {} elements from {}", elementList.size(), path);
-                        
-                    } else {
-                        CSElementDefinition element = CSJsonUtils.fromJson(content, CSElementDefinition.class);
-                        validateElement(element);
-                        elements.put(element.getName(), element);
-                        
-                        logger.debug("Loaded element: {} from {}", element.getName(), path);
-                    }
-                    
-                    fileLastModified.put(path.toString(), LocalDateTime.now());
-                    
-                } catch (Exception e) {
-                    logger.error("Failed to load elements from: {}", path, e);
-                    if (strictModeEnabled) {
-                        throw new CSRepositoryException("Failed to load elements: " + path, e);
-                    }
+        for (int i = 0; i < files.size(); i++) {
+            List<CSElementDefinition> elementList = parsed.get(i);
+            if (elementList != null) {
+                for (CSElementDefinition element : elementList) {
+                    builder.elements.put(element.getName(), element);
                 }
-            });
+            }
+            builder.trackFile(files.get(i));
+        }
     }
     
     /**
      * Load test data sets
      */
-    private void loadTestDataSets() throws Exception {
-        Path dataDir = Paths.get(repositoryBasePath, "data");
-        if (!Files.exists(dataDir)) {
-            return;
+    private void loadTestDataSets(Snapshot.Builder builder) throws Exception {
+        List<Path> files = listJsonFiles("data");
+        List<CSTestDataSet> parsed = parseInParallel(files, "test data set", (path, content) -> {
+            CSTestDataSet dataSet = CSJsonUtils.fromJson(content, CSTestDataSet.class);
+            validateTestDataSet(dataSet);
+            
+            logger.debug("Loaded test data set: {} from {}", dataSet.getName(), path);
+            return dataSet;
+        });
+        
+        for (int i = 0; i < files.size(); i++) {
+            CSTestDataSet dataSet = parsed.get(i);
+            if (dataSet != null) {
+                builder.testDataSets.put(dataSet.getName(), dataSet);
+            }
+            builder.trackFile(files.get(i));
         }
+    }
+    
+    /**
+     * Load environment configurations
+     */
+    private void loadEnvironments(Snapshot.Builder builder) throws Exception {
+        List<Path> files = listJsonFiles("environments");
+        List<CSEnvironmentConfig> parsed = parseInParallel(files, "environment config", (path, content) -> {
+            CSEnvironmentConfig envConfig = CSJsonUtils.fromJson(content, CSEnvironmentConfig.class);
+            validateEnvironmentConfig(envConfig);
+            
+            logger.debug("Loaded environment config: {} from {}", envConfig.getName(), path);
+            return envConfig;
+        });
         
-        Files.walk(dataDir)
-            .filter(path -> path.toString().endsWith(".json"))
-            .forEach(path -> {
+        for (int i = 0; i < files.size(); i++) {
+            CSEnvironmentConfig envConfig = parsed.get(i);
+            if (envConfig != null) {
+                builder.environments.put(envConfig.getName(), envConfig);
+            }
+            builder.trackFile(files.get(i));
+        }
+    }
+    
+    /**
+     * List JSON files below a repository sub directory in a stable order
+     */
+    private List<Path> listJsonFiles(String subDirectory) throws IOException {
+        Path dir = Paths.get(repositoryBasePath, subDirectory);
+        if (!Files.exists(dir)) {
+            return Collections.emptyList();
+        }
+        try (Stream<Path> walk = Files.walk(dir)) {
+            return walk.filter(path -> path.toString().endsWith(".json"))
+                .sorted()
+                .collect(Collectors.toList());
+        }
+    }
+    
+    /**
+     * Read and parse files in parallel; results keep file order (null for files that failed in lenient mode)
+     * so merging stays deterministic - later files still override earlier ones.
+     */
+    private <T> List<T> parseInParallel(List<Path> files, String kind, RepositoryFileParser<T> parser) {
+        return files.parallelStream()
+            .map(path -> {
                 try {
-                    String content = CSFileUtils.readFileAsString(path.toString());
-                    CSTestDataSet dataSet = CSJsonUtils.fromJson(content, CSTestDataSet.class);
-                    
-                    validateTestDataSet(dataSet);
-                    testDataSets.put(dataSet.getName(), dataSet);
-                    fileLastModified.put(path.toString(), LocalDateTime.now());
-                    
-                    logger.debug("Loaded test data set: {} from {}", dataSet.getName(), path);
-                    
+                    return parser.parse(path, CSFileUtils.readFileAsString(path.toString()));
                 } catch (Exception e) {
-                    logger.error("Failed to load test data set from: {}", path, e);
+                    logger.error("Failed to load {} from: {}", kind, path, e);
                     if (strictModeEnabled) {
-                        throw new CSRepositoryException("Failed to load test data set: " + path, e);
+                        throw new CSRepositoryException("Failed to load " + kind + ": " + path, e);
                     }
+                    return null;
                 }
-            });
+            })
+            .collect(Collectors.toList());
+    }
+    
+    @FunctionalInterface
+    private interface RepositoryFileParser<T> {
+        T parse(Path path, String content) throws Exception;
     }
     
     /**
-     * Load environment configurations
+     * Start auto-reload monitoring
+     * Uses a WatchService so reloads happen only when repository files change;
+     * falls back to periodic polling if the file system does not support watching.
      */
-    private void loadEnvironments() throws Exception {
-        Path envDir = Paths.get(repositoryBasePath, "environments");
-        if (!Files.exists(envDir)) {
+    private void startAutoReloadMonitoring() {
+        WatchService watchService;
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            registerRecursively(watchService, Paths.get(repositoryBasePath));
+        } catch (Exception e) {
+            logger.warn("File watching not available for {} - falling back to polling: {}", 
+                repositoryBasePath, e.getMessage());
+            startPollingMonitor();
             return;
         }
         
-        Files.walk(envDir)
-            .filter(path -> path.toString().endsWith(".json"))
-            .forEach(path -> {
-                try {
-                    String content = CSFileUtils.readFileAsString(path.toString());
-                    CSEnvironmentConfig envConfig = CSJsonUtils.fromJson(content, CSEnvironmentConfig.class);
-                    
-                    validateEnvironmentConfig(envConfig);
-                    environments.put(envConfig.getName(), envConfig);
-                    fileLastModified.put(path.toString(), LocalDateTime.now());
-                    
-                    logger.debug("Loaded environment config: {} from {}", envConfig.getName(), path);
-                    
-                } catch (Exception e) {
-                    logger.error("Failed to load environment config from: {}", path, e);
-                    if (strictModeEnabled) {
-                        throw new CSRepositoryException("Failed to load environment config: " + path, e);
+        Thread monitorThread = new Thread(() -> watchForChanges(watchService), "CS-Repository-Watcher");
+        monitorThread.setDaemon(true);
+        monitorThread.start();
+        
+        logger.info("Started file watcher for object repository: {}", repositoryBasePath);
+    }
+    
+    /**
+     * Register directory tree with the watch service
+     */
+    private void registerRecursively(WatchService watchService, Path root) throws IOException {
+        try (Stream<Path> dirs = Files.walk(root)) {
+            for (Path dir : (Iterable<Path>) dirs.filter(Files::isDirectory)::iterator) {
+                dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            }
+        }
+    }
+    
+    /**
+     * Watch loop - batches bursts of events (editors often write a file several times) into one reload
+     */
+    private void watchForChanges(WatchService watchService) {
+        try (WatchService watcher = watchService) {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watcher.take();
+                boolean changed = false;
+                
+                do {
+                    Path dir = (Path) key.watchable();
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            changed = true;
+                            continue;
+                        }
+                        Path changedPath = dir.resolve((Path) event.context());
+                        if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(changedPath)) {
+                            try {
+                                registerRecursively(watcher, changedPath);
+                            } catch (IOException e) {
+                                // Directory removed or unreadable before it could be watched - keep watching the rest
+                                logger.warn("Could not watch new repository directory {}: {}", changedPath, e.getMessage());
+                            }
+                            changed = true;
+                        } else if (changedPath.toString().endsWith(".json")) {
+                            logger.debug("Repository file {}: {}", event.kind().name(), changedPath);
+                            changed = true;
+                        }
+                    }
+                    key.reset();
+                    key = watcher.poll(watchDebounceMillis, TimeUnit.MILLISECONDS);
+                } while (key != null);
+                
+                if (changed) {
+                    logger.info("Detected object repository changes, reloading");
+                    try {
+                        loadAllRepositoryData();
+                    } catch (Exception e) {
+                        logger.error("Reload failed - keeping previous repository data", e);
                     }
                 }
-            });
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            logger.debug("Repository watcher closed");
+        } catch (Exception e) {
+            logger.error("Error in repository file watcher", e);
+        }
     }
     
     /**
-     * Start auto-reload monitoring
+     * Polling fallback for file systems without watch support
      */
-    private void startAutoReloadMonitoring() {
-        // Simple file system monitoring using a background thread
+    private void startPollingMonitor() {
         Thread monitorThread = new Thread(() -> {
             while (!Thread.currentThread().isInterrupted()) {
                 try {
@@ -294,36 +417,31 @@ public class CSObjectRepository {
         monitorThread.setDaemon(true);
         monitorThread.start();
         
-        logger.info("Started auto-reload monitoring for object repository");
+        logger.info("Started auto-reload polling for object repository");
     }
     
     /**
      * Check for file changes and reload if necessary
      */
-    private void checkForFileChanges() {
-        try {
-            Path basePath = Paths.get(repositoryBasePath);
-            
-            Files.walk(basePath)
+    void checkForFileChanges() {
+        Map<String, FileTime> known = snapshot.fileLastModified;
+        try (Stream<Path> files = Files.walk(Paths.get(repositoryBasePath))) {
+            boolean changed = files
                 .filter(path -> path.toString().endsWith(".json"))
-                .forEach(path -> {
+                .anyMatch(path -> {
                     try {
-                        LocalDateTime currentModified = Files.getLastModifiedTime(path).toInstant()
-                            .atZone(java.time.ZoneId.systemDefault())
-                            .toLocalDateTime();
-                            
-                        LocalDateTime lastKnown = fileLastModified.get(path.toString());
-                        
-                        if (lastKnown == null || currentModified.isAfter(lastKnown)) {
-                            logger.info("Detected file change, reloading: {}", path);
-                            loadAllRepositoryData();
-                        }
-                        
-                    } catch (Exception e) {
+                        FileTime lastKnown = known.get(path.toString());
+                        return lastKnown == null || Files.getLastModifiedTime(path).compareTo(lastKnown) > 0;
+                    } catch (IOException e) {
                         logger.warn("Error checking file modification time: {}", path, e);
+                        return false;
                     }
                 });
-                
+            
+            if (changed || known.keySet().stream().anyMatch(file -> !Files.exists(Paths.get(file)))) {
+                logger.info("Detected object repository changes, reloading");
+                loadAllRepositoryData();
+            }
         } catch (Exception e) {
             logger.error("Error checking for file changes", e);
         }
@@ -384,50 +502,20 @@ public class CSObjectRepository {
     
     // Public API methods
     
-    /**
-     * Check and reload if needed
-     */
-    private void reloadIfNeeded() {
-        if (autoReloadEnabled) {
-            // Check if files have been modified
-            try {
-                boolean needsReload = fileLastModified.entrySet().stream()
-                    .anyMatch(entry -> {
-                        Path path = Paths.get(entry.getKey());
-                        try {
-                            LocalDateTime lastModified = LocalDateTime.ofInstant(
-                                Files.getLastModifiedTime(path).toInstant(),
-                                java.time.ZoneOffset.UTC
-                            );
-                            return lastModified.isAfter(entry.getValue());
-                        } catch (Exception e) {
-                            return false;
-                        }
-                    });
-                
-                if (needsReload) {
-                    reload();
-                }
-            } catch (Exception e) {
-                logger.error("Error checking for file modifications", e);
-            }
-        }
-    }
-    
     /**
      * Get locator by key
      */
     public String getLocator(String locatorKey) {
-        reloadIfNeeded();
+        Snapshot current = snapshot;
         
         // First try elements
-        CSElementDefinition element = elements.get(locatorKey);
+        CSElementDefinition element = current.elements.get(locatorKey);
         if (element != null && !element.getLocators().isEmpty()) {
             return element.getLocators().get(0).getValue();
         }
         
         // Then try page objects
-        CSPageObjectDefinition pageObject = pageObjects.get(locatorKey);
+        CSPageObjectDefinition pageObject = current.pageObjects.get(locatorKey);
         if (pageObject != null) {
             // Return first element's first locator if available
             for (CSElementDefinition el : pageObject.getElements()) {
@@ -444,7 +532,7 @@ public class CSObjectRepository {
      * Get page object by name
      */
     public CSPageObjectDefinition getPageObject(String name) {
-        CSPageObjectDefinition pageObject = pageObjects.get(name);
+        CSPageObjectDefinition pageObject = snapshot.pageObjects.get(name);
         if (pageObject == null && strictModeEnabled) {
             throw new CSRepositoryException("Page object not found: " + name);
         }
@@ -455,7 +543,7 @@ public class CSObjectRepository {
      * Get element by name
      */
     public CSElementDefinition getElement(String name) {
-        CSElementDefinition element = elements.get(name);
+        CSElementDefinition element = snapshot.elements.get(name);
         if (element == null && strictModeEnabled) {
             throw new CSRepositoryException("Element not found: " + name);
         }
@@ -466,7 +554,7 @@ public class CSObjectRepository {
      * Get test data set by name
      */
     public CSTestDataSet getTestDataSet(String name) {
-        CSTestDataSet dataSet = testDataSets.get(name);
+        CSTestDataSet dataSet = snapshot.testDataSets.get(name);
         if (dataSet == null && strictModeEnabled) {
             throw new CSRepositoryException("Test data set not found: " + name);
         }
@@ -477,7 +565,7 @@ public class CSObjectRepository {
      * Get environment config by name
      */
     public CSEnvironmentConfig getEnvironmentConfig(String name) {
-        CSEnvironmentConfig envConfig = environments.get(name);
+        CSEnvironmentConfig envConfig = snapshot.environments.get(name);
         if (envConfig == null && strictModeEnabled) {
             throw new CSRepositoryException("Environment config not found: " + name);
         }
@@ -488,7 +576,7 @@ public class CSObjectRepository {
      * Search elements by criteria
      */
     public List<CSElementDefinition> searchElements(String namePattern, String locatorType, String tag) {
-        return elements.values().stream()
+        return snapshot.elements.values().stream()
             .filter(element -> {
                 boolean matches = true;
                 
@@ -514,28 +602,28 @@ public class CSObjectRepository {
      * Get all page object names
      */
     public Set<String> getAllPageObjectNames() {
-        return new HashSet<>(pageObjects.keySet());
+        return new HashSet<>(snapshot.pageObjects.keySet());
     }
     
     /**
      * Get all element names
      */
     public Set<String> getAllElementNames() {
-        return new HashSet<>(elements.keySet());
+        return new HashSet<>(snapshot.elements.keySet());
     }
     
     /**
      * Get all test data set names
      */
     public Set<String> getAllTestDataSetNames() {
-        return new HashSet<>(testDataSets.keySet());
+        return new HashSet<>(snapshot.testDataSets.keySet());
     }
     
     /**
      * Get all environment names
      */
     public Set<String> getAllEnvironmentNames() {
-        return new HashSet<>(environments.keySet());
+        return new HashSet<>(snapshot.environments.keySet());
     }
     
     /**
@@ -551,11 +639,7 @@ public class CSObjectRepository {
      */
     public void clearCache() {
         synchronized (reloadLock) {
-            pageObjects.clear();
-            elements.clear();
-            testDataSets.clear();
-            environments.clear();
-            fileLastModified.clear();
+            snapshot = Snapshot.EMPTY;
             
             logger.info("Cleared object repository cache");
         }
@@ -565,12 +649,13 @@ public class CSObjectRepository {
      * Get repository statistics
      */
     public RepositoryStats getStats() {
+        Snapshot current = snapshot;
         return new RepositoryStats(
-            pageObjects.size(),
-            elements.size(),
-            testDataSets.size(),
-            environments.size(),
-            fileLastModified.size()
+            current.pageObjects.size(),
+            current.elements.size(),
+            current.testDataSets.size(),
+            current.environments.size(),
+            current.fileLastModified.size()
         );
     }
     
@@ -618,6 +703,51 @@ public class CSObjectRepository {
         return primaryLocator.toSeleniumBy();
     }
     
+    /**
+     * Immutable view of all repository data
+     */
+    private static final class Snapshot {
+        private static final Snapshot EMPTY = new Builder().build();
+        
+        private final Map<String, CSPageObjectDefinition> pageObjects;
+        private final Map<String, CSElementDefinition> elements;
+        private final Map<String, CSTestDataSet> testDataSets;
+        private final Map<String, CSEnvironmentConfig> environments;
+        private final Map<String, FileTime> fileLastModified;
+        
+        private Snapshot(Builder builder) {
+            this.pageObjects = Collections.unmodifiableMap(new HashMap<>(builder.pageObjects));
+            this.elements = Collections.unmodifiableMap(new HashMap<>(builder.elements));
+            this.testDataSets = Collections.unmodifiableMap(new HashMap<>(builder.testDataSets));
+            this.environments = Collections.unmodifiableMap(new HashMap<>(builder.environments));
+            this.fileLastModified = Collections.unmodifiableMap(new HashMap<>(builder.fileLastModified));
+        }
+        
+        private static final class Builder {
+            private final Map<String, CSPageObjectDefinition> pageObjects = new ConcurrentHashMap<>();
+            private final Map<String, CSElementDefinition> elements = new ConcurrentHashMap<>();
+            private final Map<String, CSTestDataSet> testDataSets = new ConcurrentHashMap<>();
+            private final Map<String, CSEnvironmentConfig> environments = new ConcurrentHashMap<>();
+            private final Map<String, FileTime> fileLastModified = new ConcurrentHashMap<>();
+            
+            /**
+             * Record a listed file's modification time - also for files that failed to load in lenient
+             * mode, so the polling monitor reloads only once they change again
+             */
+            private void trackFile(Path path) {
+                try {
+                    fileLastModified.put(path.toString(), Files.getLastModifiedTime(path));
+                } catch (IOException e) {
+                    fileLastModified.put(path.toString(), FileTime.fromMillis(0));
+                }
+            }
+            
+            private Snapshot build() {
+                return new Snapshot(this);
+            }
+        }
+    }
+    
     /**
      * Repository statistics
      */
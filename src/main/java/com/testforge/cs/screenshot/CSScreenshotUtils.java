@@ -2,6 +2,7 @@ package com.testforge.cs.screenshot;
 
 import com.testforge.cs.config.CSConfigManager;
 import com.testforge.cs.driver.CSDriver;
+import com.testforge.cs.reporting.CSPhaseProfiler;
 import com.testforge.cs.reporting.CSReportManager;
 import com.testforge.cs.utils.CSFileUtils;
 import org.openqa.selenium.JavascriptExecutor;
@@ -43,7 +44,7 @@ public class CSScreenshotUtils {
      * Capture screenshot of entire page
      */
     public static byte[] captureScreenshot(WebDriver driver) {
-        try {
+        try (CSPhaseProfiler.Scope ignored = CSPhaseProfiler.begin(CSPhaseProfiler.Phase.SCREENSHOT)) {
             if (driver == null) {
                 logger.warn("WebDriver is null, creating placeholder screenshot");
                 return createPlaceholderScreenshot("WebDriver not initialized");
@@ -8,7 +8,12 @@ import javax.crypto.spec.SecretKeySpec;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.slf4j.Logger;
@@ -29,13 +34,30 @@ public class CSEncryptionUtils {
     private static final int IV_LENGTH = 12;
     private static final int KEY_LENGTH = 256;
     
+    // Decrypted values kept per cipher text; values longer than the limit are not cached
+    private static final int DECRYPT_CACHE_SIZE = 1024;
+    private static final int DECRYPT_CACHE_MAX_LENGTH = 4096;
+    
     // Pattern to detect encrypted values
     private static final Pattern ENCRYPTED_PATTERN = Pattern.compile("ENC\\(([^)]+)\\)");
     private static final String ENCRYPTED_PREFIX = "ENC(";
     private static final String ENCRYPTED_SUFFIX = ")";
     
     // Secret key for encryption/decryption
-    private static SecretKey secretKey;
+    private static volatile SecretKey secretKey;
+    
+    // Ciphers are re-initialised per value, so each thread keeps one instead of a JCE lookup per call
+    private static final ThreadLocal<Cipher> DECRYPT_CIPHER = ThreadLocal.withInitial(CSEncryptionUtils::newCipher);
+    private static final ThreadLocal<Cipher> ENCRYPT_CIPHER = ThreadLocal.withInitial(CSEncryptionUtils::newCipher);
+    private static final SecureRandom RANDOM = new SecureRandom();
+    
+    // Least recently used decrypted values by cipher text, cleared when the key changes
+    private static final Map<String, String> decryptCache = new LinkedHashMap<String, String>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > DECRYPT_CACHE_SIZE;
+        }
+    };
     
     static {
         initializeKey();
@@ -90,11 +112,10 @@ public class CSEncryptionUtils {
         try {
             // Generate random IV
             byte[] iv = new byte[IV_LENGTH];
-            SecureRandom random = new SecureRandom();
-            random.nextBytes(iv);
+            RANDOM.nextBytes(iv);
             
             // Setup cipher
-            Cipher cipher = Cipher.getInstance(ALGORITHM);
+            Cipher cipher = ENCRYPT_CIPHER.get();
             GCMParameterSpec spec = new GCMParameterSpec(TAG_LENGTH, iv);
             cipher.init(Cipher.ENCRYPT_MODE, secretKey, spec);
             
@@ -134,24 +155,7 @@ public class CSEncryptionUtils {
         }
         
         try {
-            // Decode from Base64
-            byte[] cipherMessage = Base64.getDecoder().decode(encrypted);
-            
-            // Extract IV and cipher text
-            ByteBuffer byteBuffer = ByteBuffer.wrap(cipherMessage);
-            byte[] iv = new byte[IV_LENGTH];
-            byteBuffer.get(iv);
-            byte[] cipherText = new byte[byteBuffer.remaining()];
-            byteBuffer.get(cipherText);
-            
-            // Setup cipher
-            Cipher cipher = Cipher.getInstance(ALGORITHM);
-            GCMParameterSpec spec = new GCMParameterSpec(TAG_LENGTH, iv);
-            cipher.init(Cipher.DECRYPT_MODE, secretKey, spec);
-            
-            // Decrypt
-            byte[] plainText = cipher.doFinal(cipherText);
-            return new String(plainText, StandardCharsets.UTF_8);
+            return decryptBase64(encrypted);
             
         } catch (Exception e) {
             logger.error("Failed to decrypt value: {}", encryptedText, e);
@@ -160,6 +164,32 @@ public class CSEncryptionUtils {
         }
     }
     
+    /**
+     * Decrypt every ENC() value of a collection; other values are returned unchanged
+     * @param values Values that may be wrapped in ENC()
+     * @return Values in the same order with encrypted ones decrypted
+     */
+    public static List<String> decryptAll(Collection<String> values) {
+        List<String> decrypted = new ArrayList<>(values.size());
+        for (String value : values) {
+            decrypted.add(decrypt(value));
+        }
+        return decrypted;
+    }
+    
+    /**
+     * Decrypt every ENC() value of a map, e.g. a row of test data
+     * @param values Map whose values may be wrapped in ENC()
+     * @return New map in the same order with encrypted values decrypted
+     */
+    public static <K> Map<K, String> decryptAll(Map<K, String> values) {
+        Map<K, String> decrypted = new LinkedHashMap<>();
+        for (Map.Entry<K, String> entry : values.entrySet()) {
+            decrypted.put(entry.getKey(), decrypt(entry.getValue()));
+        }
+        return decrypted;
+    }
+    
     /**
      * Process a string that may contain multiple encrypted values
      * @param text Text that may contain ENC() wrapped values
@@ -189,7 +219,22 @@ public class CSEncryptionUtils {
      * @return true if the value is encrypted
      */
     public static boolean isEncrypted(String value) {
-        return value != null && ENCRYPTED_PATTERN.matcher(value).find();
+        if (value == null) {
+            return false;
+        }
+        // Same as ENCRYPTED_PATTERN.find(): ENC( followed by at least one character before a )
+        int start = value.indexOf(ENCRYPTED_PREFIX);
+        while (start >= 0) {
+            int close = value.indexOf(')', start + ENCRYPTED_PREFIX.length());
+            if (close < 0) {
+                return false;
+            }
+            if (close > start + ENCRYPTED_PREFIX.length()) {
+                return true;
+            }
+            start = value.indexOf(ENCRYPTED_PREFIX, start + 1);
+        }
+        return false;
     }
     
     /**
@@ -198,16 +243,16 @@ public class CSEncryptionUtils {
      * @return The encrypted value without wrapper, or null if not encrypted
      */
     private static String extractEncryptedValue(String text) {
-        if (text == null) {
+        if (text == null || !text.startsWith(ENCRYPTED_PREFIX) || !text.endsWith(ENCRYPTED_SUFFIX)) {
             return null;
         }
         
-        Matcher matcher = ENCRYPTED_PATTERN.matcher(text);
-        if (matcher.matches()) {
-            return matcher.group(1);
+        // Same as ENCRYPTED_PATTERN.matches(): a non-empty value without )
+        String value = text.substring(ENCRYPTED_PREFIX.length(), text.length() - ENCRYPTED_SUFFIX.length());
+        if (value.isEmpty() || value.indexOf(')') >= 0) {
+            return null;
         }
-        
-        return null;
+        return value;
     }
     
     /**
@@ -217,24 +262,7 @@ public class CSEncryptionUtils {
      */
     private static String decryptDirectValue(String encryptedValue) {
         try {
-            // Decode from Base64
-            byte[] cipherMessage = Base64.getDecoder().decode(encryptedValue);
-            
-            // Extract IV and cipher text
-            ByteBuffer byteBuffer = ByteBuffer.wrap(cipherMessage);
-            byte[] iv = new byte[IV_LENGTH];
-            byteBuffer.get(iv);
-            byte[] cipherText = new byte[byteBuffer.remaining()];
-            byteBuffer.get(cipherText);
-            
-            // Setup cipher
-            Cipher cipher = Cipher.getInstance(ALGORITHM);
-            GCMParameterSpec spec = new GCMParameterSpec(TAG_LENGTH, iv);
-            cipher.init(Cipher.DECRYPT_MODE, secretKey, spec);
-            
-            // Decrypt
-            byte[] plainText = cipher.doFinal(cipherText);
-            return new String(plainText, StandardCharsets.UTF_8);
+            return decryptBase64(encryptedValue);
             
         } catch (Exception e) {
             logger.error("Failed to decrypt direct value", e);
@@ -242,6 +270,59 @@ public class CSEncryptionUtils {
         }
     }
     
+    /**
+     * Decrypt a Base64 IV + cipher text message, from the cache when it was decrypted before
+     */
+    private static String decryptBase64(String encryptedValue) throws Exception {
+        String cached;
+        synchronized (decryptCache) {
+            cached = decryptCache.get(encryptedValue);
+        }
+        if (cached != null) {
+            return cached;
+        }
+        
+        SecretKey key = secretKey;
+        String plainText = decryptBase64(encryptedValue, key);
+        if (encryptedValue.length() <= DECRYPT_CACHE_MAX_LENGTH) {
+            synchronized (decryptCache) {
+                // Skip if the key changed while decrypting
+                if (key == secretKey) {
+                    decryptCache.put(encryptedValue, plainText);
+                }
+            }
+        }
+        return plainText;
+    }
+    
+    /**
+     * Decrypt a Base64 IV + cipher text message with this thread's cipher
+     */
+    private static String decryptBase64(String encryptedValue, SecretKey key) throws Exception {
+        // Decode from Base64
+        byte[] cipherMessage = Base64.getDecoder().decode(encryptedValue);
+        if (cipherMessage.length <= IV_LENGTH) {
+            throw new IllegalArgumentException("Encrypted value is too short");
+        }
+        
+        // IV and cipher text are read in place from the message
+        Cipher cipher = DECRYPT_CIPHER.get();
+        GCMParameterSpec spec = new GCMParameterSpec(TAG_LENGTH, cipherMessage, 0, IV_LENGTH);
+        cipher.init(Cipher.DECRYPT_MODE, key, spec);
+        
+        // Decrypt
+        byte[] plainText = cipher.doFinal(cipherMessage, IV_LENGTH, cipherMessage.length - IV_LENGTH);
+        return new String(plainText, StandardCharsets.UTF_8);
+    }
+    
+    private static Cipher newCipher() {
+        try {
+            return Cipher.getInstance(ALGORITHM);
+        } catch (Exception e) {
+            throw new IllegalStateException("Cipher not available: " + ALGORITHM, e);
+        }
+    }
+    
     /**
      * Set a custom encryption key
      * @param key Base64 encoded encryption key
@@ -249,7 +330,10 @@ public class CSEncryptionUtils {
     public static void setEncryptionKey(String key) {
         try {
             byte[] keyBytes = Base64.getDecoder().decode(key);
-            secretKey = new SecretKeySpec(keyBytes, KEY_ALGORITHM);
+            synchronized (decryptCache) {
+                secretKey = new SecretKeySpec(keyBytes, KEY_ALGORITHM);
+                decryptCache.clear();
+            }
             logger.info("Custom encryption key set");
         } catch (Exception e) {
             logger.error("Failed to set encryption key", e);
@@ -0,0 +1,215 @@
+package com.testforge.cs.utils;
+
+import com.testforge.cs.exceptions.CSDataException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Buffered CSV tokenizer yielding records one at a time
+ * Follows RFC 4180 quoting (delimiters, line breaks and doubled quotes inside quoted fields),
+ * accepts \n, \r\n and \r line endings, trims fields and skips blank lines like the original
+ * line-based parser. Characters are scanned straight from a char buffer, with no per-line Strings.
+ */
+final class CSCsvReader implements Iterator<Map<String, String>>, Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Reader in;
+    private final String filePath;
+    private final String delimiter;
+    private final char delimiterStart;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder field = new StringBuilder();
+    private int position;
+    private int limit;
+    private boolean endOfInput;
+    private CSCsvRow.Header header;
+    private boolean[] usedColumns;
+    private Map<String, String> next;
+
+    /**
+     * Tokenizer for raw records via nextRecord(), without header handling
+     */
+    CSCsvReader(Reader in, String filePath, String delimiter) {
+        if (delimiter == null || delimiter.isEmpty()) {
+            throw new IllegalArgumentException("CSV delimiter must not be empty");
+        }
+        this.in = in;
+        this.filePath = filePath;
+        this.delimiter = delimiter;
+        this.delimiterStart = delimiter.charAt(0);
+    }
+
+    /**
+     * Row iterator; the first record is the header, or Column1..N are generated from its width
+     */
+    CSCsvReader(Reader in, String filePath, boolean hasHeader, String delimiter) {
+        this(in, filePath, hasHeader, delimiter, null);
+    }
+
+    /**
+     * Row iterator keeping only the projected columns; fields of other columns are not extracted
+     */
+    CSCsvReader(Reader in, String filePath, boolean hasHeader, String delimiter, Collection<String> columns) {
+        this(in, filePath, delimiter);
+        try {
+            List<String> first = nextRecord();
+            if (first != null) {
+                if (hasHeader) {
+                    header = new CSCsvRow.Header(first, columns);
+                    usedColumns = header.usedColumns();
+                    advance();
+                } else {
+                    List<String> generated = new ArrayList<>();
+                    for (int i = 0; i < first.size(); i++) {
+                        generated.add("Column" + (i + 1));
+                    }
+                    header = new CSCsvRow.Header(generated, columns);
+                    usedColumns = header.usedColumns();
+                    next = header.row(first);
+                }
+            }
+        } catch (IOException e) {
+            throw new CSDataException(filePath, "CSV", "Failed to read CSV file", e);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    @Override
+    public Map<String, String> next() {
+        if (next == null) {
+            throw new NoSuchElementException();
+        }
+        Map<String, String> current = next;
+        try {
+            advance();
+        } catch (IOException e) {
+            throw new CSDataException(filePath, "CSV", "Failed to read CSV file", e);
+        }
+        return current;
+    }
+
+    private void advance() throws IOException {
+        List<String> fields = nextRecord();
+        next = fields != null ? header.row(fields) : null;
+    }
+
+    /**
+     * Fields of the next non-blank record, or null at the end of the input
+     */
+    List<String> nextRecord() throws IOException {
+        while (true) {
+            if (!ensure(1)) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            boolean inQuotes = false;
+            boolean quoted = false;
+            field.setLength(0);
+
+            while (ensure(1)) {
+                char ch = buffer[position++];
+                if (ch == '"') {
+                    if (inQuotes && ensure(1) && buffer[position] == '"') {
+                        // Escaped quote
+                        field.append('"');
+                        position++;
+                    } else {
+                        inQuotes = !inQuotes;
+                        quoted = true;
+                    }
+                } else if (inQuotes) {
+                    field.append(ch);
+                } else if (ch == '\n' || ch == '\r') {
+                    if (ch == '\r' && ensure(1) && buffer[position] == '\n') {
+                        position++;
+                    }
+                    break;
+                } else if (ch == delimiterStart && matchesDelimiterRest()) {
+                    addField(fields);
+                } else {
+                    field.append(ch);
+                }
+            }
+
+            boolean blank = fields.isEmpty() && !quoted && field.toString().trim().isEmpty();
+            addField(fields);
+            if (!blank) {
+                return fields;
+            }
+        }
+    }
+
+    /**
+     * Add the current field, or "" for a column outside the projection
+     */
+    private void addField(List<String> fields) {
+        int column = fields.size();
+        boolean used = usedColumns == null || (column < usedColumns.length && usedColumns[column]);
+        fields.add(used ? field.toString().trim() : "");
+        field.setLength(0);
+    }
+
+    /**
+     * Whether the rest of a multi-character delimiter follows; consumes it if so
+     */
+    private boolean matchesDelimiterRest() throws IOException {
+        int rest = delimiter.length() - 1;
+        if (rest == 0) {
+            return true;
+        }
+        if (!ensure(rest)) {
+            return false;
+        }
+        for (int i = 0; i < rest; i++) {
+            if (buffer[position + i] != delimiter.charAt(i + 1)) {
+                return false;
+            }
+        }
+        position += rest;
+        return true;
+    }
+
+    /**
+     * Make at least count unread characters available; false if the input ends first
+     */
+    private boolean ensure(int count) throws IOException {
+        while (limit - position < count) {
+            if (endOfInput) {
+                return false;
+            }
+            if (position > 0) {
+                System.arraycopy(buffer, position, buffer, 0, limit - position);
+                limit -= position;
+                position = 0;
+            }
+            int read = in.read(buffer, limit, buffer.length - limit);
+            if (read < 0) {
+                endOfInput = true;
+            } else {
+                limit += read;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void close() {
+        try {
+            in.close();
+        } catch (IOException e) {
+            // Nothing to release beyond the reader
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.testforge.cs.utils;
+
+import com.testforge.cs.security.CSEncryptionUtils;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * One CSV record as a Map from header to value
+ * Rows share their file's Header and hold only a String[] of values. ENC() values are decrypted
+ * when first read, so encrypted columns a test never uses are never decrypted. The first put or
+ * remove copies the row into a plain LinkedHashMap, after which it behaves exactly like one.
+ */
+final class CSCsvRow extends AbstractMap<String, String> {
+    private final Header header;
+    private final String[] values;
+    private Map<String, String> copy;
+
+    CSCsvRow(Header header, String[] values) {
+        this.header = header;
+        this.values = values;
+    }
+
+    /**
+     * Value of the header at position, decrypting it on first access
+     */
+    private String value(int position) {
+        int column = header.columns[position];
+        String value = values[column];
+        if (value.startsWith("ENC(") && value.endsWith(")")) {
+            value = CSEncryptionUtils.decrypt(value);
+            values[column] = value;
+        }
+        return value;
+    }
+
+    @Override
+    public String get(Object key) {
+        if (copy != null) {
+            return copy.get(key);
+        }
+        Integer position = header.positions.get(key);
+        return position != null ? value(position) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return copy != null ? copy.containsKey(key) : header.positions.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return copy != null ? copy.size() : header.names.length;
+    }
+
+    @Override
+    public String put(String key, String value) {
+        return modifiable().put(key, value);
+    }
+
+    @Override
+    public String remove(Object key) {
+        return modifiable().remove(key);
+    }
+
+    @Override
+    public void clear() {
+        modifiable().clear();
+    }
+
+    private Map<String, String> modifiable() {
+        if (copy == null) {
+            Map<String, String> map = new LinkedHashMap<>();
+            for (int i = 0; i < header.names.length; i++) {
+                map.put(header.names[i], value(i));
+            }
+            copy = map;
+        }
+        return copy;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        if (copy != null) {
+            return copy.entrySet();
+        }
+        return new AbstractSet<Entry<String, String>>() {
+            @Override
+            public Iterator<Entry<String, String>> iterator() {
+                if (copy != null) {
+                    return copy.entrySet().iterator();
+                }
+                return new Iterator<Entry<String, String>>() {
+                    private int position;
+
+                    @Override
+                    public boolean hasNext() {
+                        return position < header.names.length;
+                    }
+
+                    @Override
+                    public Entry<String, String> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        int current = position++;
+                        return new SimpleImmutableEntry<>(header.names[current], value(current));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return CSCsvRow.this.size();
+            }
+        };
+    }
+
+    /**
+     * Column names of a file, shared by all of its rows
+     * A name repeated in the header maps to its last column, as successive Map.put calls would.
+     * With a column projection only the selected names are kept and only their values are copied.
+     */
+    static final class Header {
+        private final String[] names;
+        private final int[] columns;
+        private final Map<String, Integer> positions = new HashMap<>();
+        private final int width;
+
+        Header(List<String> headers) {
+            this(headers, null);
+        }
+
+        Header(List<String> headers, Collection<String> projection) {
+            Map<String, Integer> lastColumn = new LinkedHashMap<>();
+            for (int i = 0; i < headers.size(); i++) {
+                if (projection == null || projection.contains(headers.get(i))) {
+                    lastColumn.put(headers.get(i), i);
+                }
+            }
+            names = lastColumn.keySet().toArray(new String[0]);
+            columns = new int[names.length];
+            for (int i = 0; i < names.length; i++) {
+                columns[i] = lastColumn.get(names[i]);
+                positions.put(names[i], i);
+            }
+            width = headers.size();
+        }
+
+        /**
+         * Columns whose values rows read; null when every column is used
+         */
+        boolean[] usedColumns() {
+            if (names.length == width) {
+                return null;
+            }
+            boolean[] used = new boolean[width];
+            for (int column : columns) {
+                used[column] = true;
+            }
+            return used;
+        }
+
+        /**
+         * Row for the parsed fields; extra fields are dropped and missing ones are ""
+         */
+        CSCsvRow row(List<String> fields) {
+            String[] values = new String[width];
+            for (int column : columns) {
+                values[column] = column < fields.size() ? fields.get(column) : "";
+            }
+            return new CSCsvRow(this, values);
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package com.testforge.cs.utils;
 
 import com.testforge.cs.exceptions.CSDataException;
-import com.testforge.cs.security.CSEncryptionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -9,14 +8,19 @@ import java.io.*;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Utility class for CSV operations
  * Supports key field filtering and advanced operations
+ * Files are tokenized from a char buffer (RFC 4180 quoting, multi-line quoted fields); rows share
+ * their header and decrypt ENC() values only when a value is read.
  */
 public class CSCsvUtils {
     private static final Logger logger = LoggerFactory.getLogger(CSCsvUtils.class);
@@ -53,61 +57,57 @@ public class CSCsvUtils {
      */
     public static List<Map<String, String>> readCsv(String filePath, boolean hasHeader, 
                                                    String delimiter, Charset charset) {
-        List<Map<String, String>> data = new ArrayList<>();
-        
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get(filePath), charset)) {
-            logger.debug("Reading CSV file: {}", filePath);
-            
-            String line;
-            List<String> headers = null;
-            int lineNumber = 0;
-            
-            while ((line = reader.readLine()) != null) {
-                lineNumber++;
-                
-                if (line.trim().isEmpty()) {
-                    continue;
-                }
-                
-                List<String> values = parseCsvLine(line, delimiter);
-                
-                if (hasHeader && headers == null) {
-                    headers = values;
-                    continue;
-                }
-                
-                if (headers == null) {
-                    // Generate default headers
-                    headers = new ArrayList<>();
-                    for (int i = 0; i < values.size(); i++) {
-                        headers.add("Column" + (i + 1));
-                    }
-                }
-                
-                Map<String, String> row = new LinkedHashMap<>();
-                for (int i = 0; i < headers.size() && i < values.size(); i++) {
-                    String value = values.get(i);
-                    // Decrypt encrypted values
-                    if (CSEncryptionUtils.isEncrypted(value)) {
-                        value = CSEncryptionUtils.decrypt(value);
-                    }
-                    row.put(headers.get(i), value);
-                }
-                
-                // Add empty values for missing columns
-                for (int i = values.size(); i < headers.size(); i++) {
-                    row.put(headers.get(i), "");
-                }
-                
-                data.add(row);
-            }
-            
+        logger.debug("Reading CSV file: {}", filePath);
+        try (Stream<Map<String, String>> rows = streamCsv(filePath, hasHeader, delimiter, charset)) {
+            List<Map<String, String>> data = rows.collect(Collectors.toList());
             logger.debug("Read {} rows from CSV file", data.size());
             return data;
-            
+        }
+    }
+    
+    /**
+     * Stream CSV rows lazily with default settings
+     */
+    public static Stream<Map<String, String>> streamCsv(String filePath, boolean hasHeader) {
+        return streamCsv(filePath, hasHeader, DEFAULT_DELIMITER, DEFAULT_CHARSET);
+    }
+    
+    /**
+     * Stream CSV rows lazily, one record parsed per element
+     * The stream keeps the file open until it is closed - use try-with-resources.
+     */
+    public static Stream<Map<String, String>> streamCsv(String filePath, boolean hasHeader, 
+                                                       String delimiter, Charset charset) {
+        return streamCsv(filePath, hasHeader, delimiter, charset, null);
+    }
+    
+    /**
+     * Stream CSV rows lazily, keeping only the given columns (null for all)
+     * Fields of other columns are skipped by the tokenizer and never reach the rows.
+     */
+    public static Stream<Map<String, String>> streamCsv(String filePath, boolean hasHeader, String delimiter, 
+                                                       Charset charset, Collection<String> columns) {
+        Reader reader;
+        try {
+            reader = new InputStreamReader(Files.newInputStream(Paths.get(filePath)), charset);
         } catch (IOException e) {
             throw new CSDataException(filePath, "CSV", "Failed to read CSV file", e);
         }
+        
+        CSCsvReader csvReader;
+        try {
+            csvReader = new CSCsvReader(reader, filePath, hasHeader, delimiter, columns);
+        } catch (RuntimeException e) {
+            try {
+                reader.close();
+            } catch (IOException closeError) {
+                e.addSuppressed(closeError);
+            }
+            throw e;
+        }
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(csvReader, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(csvReader::close);
     }
     
     /**
@@ -122,11 +122,12 @@ public class CSCsvUtils {
      */
     public static List<Map<String, String>> readCsvWithKey(String filePath, String keyField, 
                                                           List<String> keyValues, boolean hasHeader, String delimiter) {
-        List<Map<String, String>> allData = readCsv(filePath, hasHeader, delimiter);
-        
-        return allData.stream()
-            .filter(row -> keyValues.contains(row.get(keyField)))
-            .collect(Collectors.toList());
+        Set<String> keys = new HashSet<>(keyValues);
+        try (Stream<Map<String, String>> rows = streamCsv(filePath, hasHeader, delimiter, DEFAULT_CHARSET)) {
+            return rows
+                .filter(row -> keys.contains(row.get(keyField)))
+                .collect(Collectors.toList());
+        }
     }
     
     /**
@@ -148,35 +149,43 @@ public class CSCsvUtils {
      */
     public static void writeCsv(String filePath, List<Map<String, String>> data, boolean writeHeader,
                                String delimiter, Charset charset) {
+        writeCsv(filePath, data.stream(), writeHeader, delimiter, charset);
+    }
+    
+    /**
+     * Write CSV rows as they are produced, e.g. from streamCsv; the header follows the first row
+     */
+    public static void writeCsv(String filePath, Stream<Map<String, String>> rows, boolean writeHeader,
+                               String delimiter, Charset charset) {
         try {
             logger.debug("Writing CSV file: {}", filePath);
             
             // Create parent directories if needed
-            Files.createDirectories(Paths.get(filePath).getParent());
+            Path parent = Paths.get(filePath).getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
             
+            int rowCount = 0;
             try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(filePath), charset,
                     StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
                 
-                if (data.isEmpty()) {
-                    return;
-                }
-                
-                // Write header
-                if (writeHeader) {
-                    List<String> headers = new ArrayList<>(data.get(0).keySet());
-                    writer.write(formatCsvLine(headers, delimiter));
-                    writer.newLine();
-                }
-                
-                // Write data
-                for (Map<String, String> row : data) {
-                    List<String> values = new ArrayList<>(row.values());
-                    writer.write(formatCsvLine(values, delimiter));
-                    writer.newLine();
+                Iterator<Map<String, String>> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    Map<String, String> row = iterator.next();
+                    
+                    // Write header
+                    if (rowCount == 0 && writeHeader) {
+                        writeCsvLine(writer, row.keySet(), delimiter);
+                    }
+                    
+                    // Write data
+                    writeCsvLine(writer, row.values(), delimiter);
+                    rowCount++;
                 }
             }
             
-            logger.debug("Wrote {} rows to CSV file", data.size());
+            logger.debug("Wrote {} rows to CSV file", rowCount);
             
         } catch (IOException e) {
             throw new CSDataException(filePath, "CSV", "Failed to write CSV file", e);
@@ -196,9 +205,7 @@ public class CSCsvUtils {
                     StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
                 
                 for (Map<String, String> row : data) {
-                    List<String> values = new ArrayList<>(row.values());
-                    writer.write(formatCsvLine(values, delimiter));
-                    writer.newLine();
+                    writeCsvLine(writer, row.values(), delimiter);
                 }
             }
             
@@ -213,10 +220,11 @@ public class CSCsvUtils {
      * Filter CSV data by column value
      */
     public static List<Map<String, String>> filterCsv(String filePath, String columnName, String value) {
-        List<Map<String, String>> data = readCsv(filePath);
-        return data.stream()
-            .filter(row -> value.equals(row.get(columnName)))
-            .collect(Collectors.toList());
+        try (Stream<Map<String, String>> rows = streamCsv(filePath, true)) {
+            return rows
+                .filter(row -> value.equals(row.get(columnName)))
+                .collect(Collectors.toList());
+        }
     }
     
     /**
@@ -241,11 +249,12 @@ public class CSCsvUtils {
      * Get column values from CSV
      */
     public static List<String> getColumnValues(String filePath, String columnName) {
-        List<Map<String, String>> data = readCsv(filePath);
-        return data.stream()
-            .map(row -> row.get(columnName))
-            .filter(Objects::nonNull)
-            .collect(Collectors.toList());
+        try (Stream<Map<String, String>> rows = streamCsv(filePath, true)) {
+            return rows
+                .map(row -> row.get(columnName))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        }
     }
     
     /**
@@ -270,12 +279,11 @@ public class CSCsvUtils {
     public static List<List<String>> readCsvAsList(String filePath, String delimiter) {
         List<List<String>> data = new ArrayList<>();
         
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get(filePath), DEFAULT_CHARSET)) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (!line.trim().isEmpty()) {
-                    data.add(parseCsvLine(line, delimiter));
-                }
+        try (Reader reader = Files.newBufferedReader(Paths.get(filePath), DEFAULT_CHARSET)) {
+            CSCsvReader records = new CSCsvReader(reader, filePath, delimiter);
+            List<String> record;
+            while ((record = records.nextRecord()) != null) {
+                data.add(record);
             }
             return data;
             
@@ -285,58 +293,39 @@ public class CSCsvUtils {
     }
     
     /**
-     * Parse CSV line handling quotes and escapes
+     * Write one CSV line, quoting values that contain the delimiter, quotes or line breaks
      */
-    private static List<String> parseCsvLine(String line, String delimiter) {
-        List<String> values = new ArrayList<>();
-        boolean inQuotes = false;
-        StringBuilder currentValue = new StringBuilder();
-        
-        for (int i = 0; i < line.length(); i++) {
-            char ch = line.charAt(i);
-            
-            if (ch == '"') {
-                if (inQuotes && i + 1 < line.length() && line.charAt(i + 1) == '"') {
-                    // Escaped quote
-                    currentValue.append('"');
-                    i++; // Skip next quote
-                } else {
-                    // Toggle quote mode
-                    inQuotes = !inQuotes;
-                }
-            } else if (ch == delimiter.charAt(0) && !inQuotes && delimiter.length() == 1) {
-                // End of field
-                values.add(currentValue.toString().trim());
-                currentValue = new StringBuilder();
+    private static void writeCsvLine(Writer writer, Collection<String> values, String delimiter) throws IOException {
+        boolean first = true;
+        for (String value : values) {
+            if (!first) {
+                writer.write(delimiter);
+            }
+            first = false;
+            if (value == null || value.isEmpty()) {
+                continue;
+            }
+            if (needsQuoting(value, delimiter)) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
             } else {
-                currentValue.append(ch);
+                writer.write(value);
             }
         }
-        
-        // Add last field
-        values.add(currentValue.toString().trim());
-        
-        return values;
+        writer.write(System.lineSeparator());
     }
     
-    /**
-     * Format CSV line with proper escaping
-     */
-    private static String formatCsvLine(List<String> values, String delimiter) {
-        return values.stream()
-            .map(value -> {
-                if (value == null) value = "";
-                
-                // Check if value needs quoting
-                if (value.contains(delimiter) || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
-                    // Escape quotes
-                    value = value.replace("\"", "\"\"");
-                    // Wrap in quotes
-                    return "\"" + value + "\"";
-                }
-                return value;
-            })
-            .collect(Collectors.joining(delimiter));
+    private static boolean needsQuoting(String value, String delimiter) {
+        char delimiterStart = delimiter.charAt(0);
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            if (ch == '"' || ch == '\n' || ch == '\r' 
+                    || (ch == delimiterStart && value.startsWith(delimiter, i))) {
+                return true;
+            }
+        }
+        return false;
     }
     
     /**
@@ -359,12 +348,9 @@ public class CSCsvUtils {
      * Get column count
      */
     public static int getColumnCount(String filePath, String delimiter) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get(filePath), DEFAULT_CHARSET)) {
-            String firstLine = reader.readLine();
-            if (firstLine != null) {
-                return parseCsvLine(firstLine, delimiter).size();
-            }
-            return 0;
+        try (Reader reader = Files.newBufferedReader(Paths.get(filePath), DEFAULT_CHARSET)) {
+            List<String> firstRecord = new CSCsvReader(reader, filePath, delimiter).nextRecord();
+            return firstRecord != null ? firstRecord.size() : 0;
             
         } catch (IOException e) {
             throw new CSDataException(filePath, "CSV", "Failed to get column count", e);
@@ -389,12 +375,9 @@ public class CSCsvUtils {
      * Get headers from CSV file
      */
     public static List<String> getHeaders(String filePath, String delimiter) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get(filePath), DEFAULT_CHARSET)) {
-            String firstLine = reader.readLine();
-            if (firstLine != null) {
-                return parseCsvLine(firstLine, delimiter);
-            }
-            return new ArrayList<>();
+        try (Reader reader = Files.newBufferedReader(Paths.get(filePath), DEFAULT_CHARSET)) {
+            List<String> firstRecord = new CSCsvReader(reader, filePath, delimiter).nextRecord();
+            return firstRecord != null ? firstRecord : new ArrayList<>();
             
         } catch (IOException e) {
             throw new CSDataException(filePath, "CSV", "Failed to get headers", e);
@@ -0,0 +1,245 @@
+package com.testforge.cs.utils;
+
+import com.testforge.cs.config.CSConfigManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Data-source row filter, compiled once from its expression and applied to every row
+ * Conditions are parsed up front (operator, field, unquoted, lower-cased and numeric forms of the
+ * value), so evaluating a row is a map lookup and a comparison. Lists of at least
+ * cs.datasource.filter.parallel.threshold rows are filtered in parallel, keeping their order.
+ * Equality conditions can also be pushed down into a SQL query as a WHERE clause.
+ */
+public final class CSDataFilter implements Predicate<Map<String, String>> {
+    // Checked in this order, so "!=" wins over "=" and ">=" over ">"
+    private static final String[] OPERATORS = {"!=", ">=", "<=", "!~", "=", ">", "<", "~"};
+    private static final Pattern AND_PATTERN = Pattern.compile("\\s+AND\\s+");
+    private static final Pattern SQL_IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+    private static final Pattern WHOLE_NUMBER = Pattern.compile("[-+]?[0-9]+");
+    private static final Pattern ORDER_BY = Pattern.compile("\\border\\s+by\\b", Pattern.CASE_INSENSITIVE);
+    private static final CSDataFilter NONE = new CSDataFilter(Collections.emptyList());
+
+    private final List<Condition> conditions;
+
+    private CSDataFilter(List<Condition> conditions) {
+        this.conditions = conditions;
+    }
+
+    /**
+     * Compile a filter expression such as "status=active", "age>25", "name~John" or
+     * "price>=100 AND category=electronics"
+     * Operators: =, !=, >, <, >=, <= (numeric when both sides are numbers), ~ and !~ (contains,
+     * ignoring case). A condition without an operator matches no row.
+     */
+    public static CSDataFilter parse(String expression) {
+        if (expression == null || expression.trim().isEmpty()) {
+            return NONE;
+        }
+        List<Condition> conditions = new ArrayList<>();
+        for (String condition : AND_PATTERN.split(expression, -1)) {
+            conditions.add(Condition.parse(condition.trim()));
+        }
+        return new CSDataFilter(conditions);
+    }
+
+    /**
+     * Compile an equality filter list: "Field1=Value1;Field2=Value2" or "Field1:Value1;Field2:Value2"
+     * Pairs that do not split into exactly a field and a value are ignored.
+     */
+    public static CSDataFilter parseEquals(String filterString) {
+        if (filterString == null || filterString.trim().isEmpty()) {
+            return NONE;
+        }
+        Map<String, String> filters = new LinkedHashMap<>();
+        for (String filterPair : filterString.split(";")) {
+            String[] parts = filterPair.split("[:=]");
+            if (parts.length == 2) {
+                filters.put(parts[0].trim(), parts[1].trim());
+            }
+        }
+        List<Condition> conditions = new ArrayList<>();
+        filters.forEach((field, value) -> conditions.add(new Condition(field, "=", value)));
+        return new CSDataFilter(conditions);
+    }
+
+    public boolean isEmpty() {
+        return conditions.isEmpty();
+    }
+
+    /**
+     * Fields the filter reads, e.g. to keep them in a column projection
+     */
+    public Set<String> getFields() {
+        Set<String> fields = new LinkedHashSet<>();
+        for (Condition condition : conditions) {
+            if (condition.field != null) {
+                fields.add(condition.field);
+            }
+        }
+        return fields;
+    }
+
+    @Override
+    public boolean test(Map<String, String> row) {
+        for (Condition condition : conditions) {
+            if (!condition.test(row)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Matching rows in their original order; large lists are filtered in parallel
+     */
+    public List<Map<String, String>> apply(List<Map<String, String>> rows) {
+        if (conditions.isEmpty()) {
+            return rows;
+        }
+        int threshold = CSConfigManager.getInstance().getIntProperty("cs.datasource.filter.parallel.threshold", 10000);
+        boolean parallel = threshold > 0 && rows.size() >= threshold;
+        return (parallel ? rows.parallelStream() : rows.stream())
+            .filter(this)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Wrap a SELECT so the database drops rows failing this filter's equality conditions
+     * Only "field=value" conditions on plain column names are pushed, with their values appended to
+     * parameters; test() still gives the final answer on the returned rows. The value must be
+     * non-empty and, if numeric, a whole number: a decimal such as 0.1 can miss a FLOAT or REAL
+     * column whose Java string matches. Text equality under any collation or trailing-space rule
+     * accepts at least the rows that exact string equality does. A value that cannot be converted to
+     * its column's type fails the pushed query, and CSDbUtils then runs the original one. Queries that are not a single SELECT, or that
+     * carry an ORDER BY (whose order a derived table would not keep), are returned unchanged.
+     */
+    public String pushDown(String sql, List<Object> parameters) {
+        String query = sql.trim();
+        if (query.endsWith(";")) {
+            query = query.substring(0, query.length() - 1).trim();
+        }
+        if (!query.regionMatches(true, 0, "select", 0, 6) || query.contains(";")
+                || ORDER_BY.matcher(query).find()) {
+            return sql;
+        }
+
+        StringBuilder where = new StringBuilder();
+        List<Object> values = new ArrayList<>();
+        for (Condition condition : conditions) {
+            if ("=".equals(condition.operator) && !condition.value.isEmpty()
+                    && (condition.numericValue == null || WHOLE_NUMBER.matcher(condition.value).matches())
+                    && SQL_IDENTIFIER.matcher(condition.field).matches()) {
+                where.append(values.isEmpty() ? " WHERE " : " AND ").append(condition.field).append(" = ?");
+                values.add(condition.value);
+            }
+        }
+        if (values.isEmpty()) {
+            return sql;
+        }
+        parameters.addAll(values);
+        return "SELECT * FROM (" + query + ") cs_filtered" + where;
+    }
+
+    @Override
+    public String toString() {
+        return conditions.stream().map(Condition::toString).collect(Collectors.joining(" AND "));
+    }
+
+    /**
+     * One parsed comparison; field is null when the text had no operator
+     */
+    private static final class Condition {
+        private final String field;
+        private final String operator;
+        private final String value;
+        private final String lowerValue;
+        private final Double numericValue;
+
+        private Condition(String field, String operator, String value) {
+            this.field = field;
+            this.operator = operator;
+            this.value = value;
+            this.lowerValue = value != null ? value.toLowerCase() : null;
+            this.numericValue = value != null ? parseDouble(value) : null;
+        }
+
+        static Condition parse(String condition) {
+            for (String op : OPERATORS) {
+                int index = condition.indexOf(op);
+                if (index >= 0) {
+                    String field = condition.substring(0, index).trim();
+                    // Remove surrounding quotes
+                    String value = condition.substring(index + op.length()).trim().replaceAll("^['\"]|['\"]$", "");
+                    return new Condition(field, op, value);
+                }
+            }
+            return new Condition(null, null, null);
+        }
+
+        boolean test(Map<String, String> row) {
+            if (field == null) {
+                return false;
+            }
+            String actual = row.get(field);
+            if (actual == null) {
+                return false;
+            }
+            switch (operator) {
+                case "=":
+                    return actual.equals(value);
+                case "!=":
+                    return !actual.equals(value);
+                case ">":
+                    return compare(actual) > 0;
+                case "<":
+                    return compare(actual) < 0;
+                case ">=":
+                    return compare(actual) >= 0;
+                case "<=":
+                    return compare(actual) <= 0;
+                case "~":
+                    return actual.toLowerCase().contains(lowerValue);
+                case "!~":
+                    return !actual.toLowerCase().contains(lowerValue);
+                default:
+                    return false;
+            }
+        }
+
+        /**
+         * Compare numerically when both sides are numbers, else as strings
+         */
+        private int compare(String actual) {
+            if (numericValue != null) {
+                Double actualNum = parseDouble(actual);
+                if (actualNum != null) {
+                    return Double.compare(actualNum, numericValue);
+                }
+            }
+            return actual.compareTo(value);
+        }
+
+        private static Double parseDouble(String text) {
+            try {
+                return Double.parseDouble(text);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return field == null ? "<invalid>" : field + operator + value;
+        }
+    }
+}
@@ -1,24 +1,26 @@
 package com.testforge.cs.utils;
 
 import com.testforge.cs.config.CSConfigManager;
+import com.testforge.cs.database.CSConnectionPoolRegistry;
+import com.testforge.cs.database.CSQueryResultCache;
+import com.testforge.cs.database.CSResultRow;
+import com.testforge.cs.database.CSResultStream;
 import com.testforge.cs.exceptions.CSDataException;
-import com.zaxxer.hikari.HikariConfig;
-import com.zaxxer.hikari.HikariDataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.sql.DataSource;
 import java.sql.*;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Utility class for database operations
- * Supports multiple database types and connection pooling
+ * Supports multiple database types; connections come from the shared CSConnectionPoolRegistry
  */
 public class CSDbUtils {
     private static final Logger logger = LoggerFactory.getLogger(CSDbUtils.class);
-    private static final Map<String, HikariDataSource> dataSources = new ConcurrentHashMap<>();
     private static final CSConfigManager config = CSConfigManager.getInstance();
     
     private CSDbUtils() {
@@ -36,52 +38,7 @@ public class CSDbUtils {
      * Get data source for specific database
      */
     public static DataSource getDataSource(String dbName) {
-        return dataSources.computeIfAbsent(dbName, CSDbUtils::createDataSource);
-    }
-    
-    /**
-     * Create data source
-     */
-    private static HikariDataSource createDataSource(String dbName) {
-        try {
-            logger.info("Creating data source for database: {}", dbName);
-            
-            HikariConfig hikariConfig = new HikariConfig();
-            
-            // Get database configuration
-            String dbType = config.getProperty("cs.db." + dbName + ".type", "postgresql");
-            String host = config.getProperty("cs.db." + dbName + ".host", "localhost");
-            String port = config.getProperty("cs.db." + dbName + ".port", getDefaultPort(dbType));
-            String database = config.getProperty("cs.db." + dbName + ".name", "testdb");
-            String username = config.getProperty("cs.db." + dbName + ".username", "testuser");
-            String password = config.getProperty("cs.db." + dbName + ".password", "testpass");
-            
-            // Build JDBC URL
-            String jdbcUrl = buildJdbcUrl(dbType, host, port, database);
-            hikariConfig.setJdbcUrl(jdbcUrl);
-            hikariConfig.setUsername(username);
-            hikariConfig.setPassword(password);
-            
-            // Set driver class
-            hikariConfig.setDriverClassName(getDriverClass(dbType));
-            
-            // Connection pool settings
-            hikariConfig.setPoolName("CS-Pool-" + dbName);
-            hikariConfig.setMaximumPoolSize(config.getIntProperty("cs.db.connection.pool.size", 10));
-            hikariConfig.setConnectionTimeout(config.getLongProperty("cs.db.connection.timeout", 30000));
-            hikariConfig.setIdleTimeout(600000);
-            hikariConfig.setMaxLifetime(1800000);
-            hikariConfig.setAutoCommit(true);
-            
-            // Create data source
-            HikariDataSource dataSource = new HikariDataSource(hikariConfig);
-            logger.info("Data source created successfully for: {}", dbName);
-            
-            return dataSource;
-            
-        } catch (Exception e) {
-            throw new CSDataException("Failed to create data source for: " + dbName, e);
-        }
+        return CSConnectionPoolRegistry.getInstance().getDataSource(dbName);
     }
     
     /**
@@ -105,13 +62,15 @@ public class CSDbUtils {
             
             ResultSetMetaData metaData = resultSet.getMetaData();
             int columnCount = metaData.getColumnCount();
+            String[] columnNames = new String[columnCount];
+            for (int i = 1; i <= columnCount; i++) {
+                columnNames[i - 1] = metaData.getColumnLabel(i);
+            }
             
             while (resultSet.next()) {
-                Map<String, Object> row = new LinkedHashMap<>();
+                Map<String, Object> row = new LinkedHashMap<>(columnCount * 4 / 3 + 1);
                 for (int i = 1; i <= columnCount; i++) {
-                    String columnName = metaData.getColumnLabel(i);
-                    Object value = resultSet.getObject(i);
-                    row.put(columnName, value);
+                    row.put(columnNames[i - 1], resultSet.getObject(i));
                 }
                 results.add(row);
             }
@@ -124,6 +83,70 @@ public class CSDbUtils {
         }
     }
     
+    /**
+     * Execute a query with the filter's equality conditions pushed down as a WHERE clause
+     * Falls back to the unfiltered query if the database rejects the wrapped one as invalid SQL
+     * (SQLState class 42, e.g. a filter column the query does not return) or cannot compare a value
+     * with its column (class 22, e.g. "abc" against an INT column), so pushing down never changes the
+     * result; other failures are thrown. The rows may still include some the filter rejects (see
+     * CSDataFilter.pushDown) - apply the filter to the result.
+     */
+    public static List<Map<String, Object>> executeFilteredQuery(String dbName, String sql, CSDataFilter filter, 
+                                                                 Object... params) {
+        List<Object> filteredParams = new ArrayList<>(Arrays.asList(params));
+        String filteredSql = filter.pushDown(sql, filteredParams);
+        if (filteredSql.equals(sql)) {
+            return executeQuery(dbName, sql, params);
+        }
+        try {
+            return executeQuery(dbName, filteredSql, filteredParams.toArray());
+        } catch (CSDataException e) {
+            if (!isRejectedFilter(e)) {
+                throw e;
+            }
+            logger.warn("Could not push filter '{}' down to the query, filtering in memory: {}", filter, e.getMessage());
+            return executeQuery(dbName, sql, params);
+        }
+    }
+    
+    /**
+     * Whether the cause chain holds a syntax or access rule violation (SQLState class 42) or a
+     * data exception (class 22), i.e. an error caused by the pushed-down filter itself
+     */
+    private static boolean isRejectedFilter(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException) {
+                String state = ((SQLException) cause).getSQLState();
+                if (state != null && (state.startsWith("42") || state.startsWith("22"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Stream query rows through a cursor (cs.db.fetch.size rows per round trip)
+     * The stream holds a connection until closed - use try-with-resources.
+     */
+    public static Stream<CSResultRow> streamQuery(String dbName, String sql, Object... params) {
+        return CSResultStream.open(getDataSource(dbName), sql, config.getIntProperty("cs.db.fetch.size", 1000), params);
+    }
+    
+    /**
+     * Pass every query row to the action without materializing the result; returns the row count
+     */
+    public static long forEachRow(String dbName, String sql, Consumer<CSResultRow> action, Object... params) {
+        try (Stream<CSResultRow> rows = streamQuery(dbName, sql, params)) {
+            long[] count = {0};
+            rows.forEach(row -> {
+                action.accept(row);
+                count[0]++;
+            });
+            return count[0];
+        }
+    }
+    
     /**
      * Execute update (INSERT, UPDATE, DELETE)
      */
@@ -146,6 +169,8 @@ public class CSDbUtils {
             
         } catch (SQLException e) {
             throw new CSDataException("Failed to execute update: " + sql, e);
+        } finally {
+            CSQueryResultCache.getInstance().invalidateFor(sql);
         }
     }
     
@@ -181,6 +206,8 @@ public class CSDbUtils {
             
         } catch (SQLException e) {
             throw new CSDataException("Failed to execute insert: " + sql, e);
+        } finally {
+            CSQueryResultCache.getInstance().invalidateFor(sql);
         }
     }
     
@@ -212,7 +239,72 @@ public class CSDbUtils {
             
         } catch (SQLException e) {
             throw new CSDataException("Failed to execute batch: " + sql, e);
+        } finally {
+            CSQueryResultCache.getInstance().invalidateFor(sql);
+        }
+    }
+    
+    /**
+     * Execute batch update in chunks of batchSize rows within one transaction
+     * The statement is prepared once; every chunk is sent with executeBatch and all rows are
+     * committed together, or rolled back when any chunk fails. Returns the update count per row
+     * (Statement.SUCCESS_NO_INFO where the driver does not report it, e.g. with batch rewriting).
+     */
+    public static int[] executeBatch(String dbName, String sql, Iterable<Object[]> paramsList, int batchSize) {
+        int chunkSize = Math.max(1, batchSize);
+        int[] results = new int[16];
+        int rowCount = 0;
+        
+        try (Connection connection = getDataSource(dbName).getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                logger.debug("Executing chunked batch update: {} (batch size {})", sql, chunkSize);
+                int pending = 0;
+                
+                for (Object[] params : paramsList) {
+                    setParameters(statement, params);
+                    statement.addBatch();
+                    if (++pending == chunkSize) {
+                        results = appendCounts(results, rowCount, statement.executeBatch());
+                        rowCount += pending;
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    results = appendCounts(results, rowCount, statement.executeBatch());
+                    rowCount += pending;
+                }
+                
+                connection.commit();
+                logger.debug("Chunked batch update committed {} rows", rowCount);
+                
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            
+            return Arrays.copyOf(results, rowCount);
+            
+        } catch (SQLException e) {
+            throw new CSDataException("Failed to execute batch after " + rowCount + " rows: " + sql, e);
+        } finally {
+            CSQueryResultCache.getInstance().invalidateFor(sql);
+        }
+    }
+    
+    /**
+     * Copy one executeBatch result into the per-row result array, growing it as needed
+     */
+    private static int[] appendCounts(int[] results, int offset, int[] counts) {
+        if (offset + counts.length > results.length) {
+            results = Arrays.copyOf(results, Math.max(results.length * 2, offset + counts.length));
         }
+        System.arraycopy(counts, 0, results, offset, counts.length);
+        return results;
     }
     
     /**
@@ -276,6 +368,9 @@ public class CSDbUtils {
             
         } catch (SQLException e) {
             throw new CSDataException("Failed to execute stored procedure: " + procedureName, e);
+        } finally {
+            // The tables a procedure writes are unknown, so this clears the result cache
+            CSQueryResultCache.getInstance().invalidateFor("CALL " + procedureName);
         }
     }
     
@@ -288,8 +383,21 @@ public class CSDbUtils {
     
     /**
      * Get single value from specific database
+     * Served from the query result cache when it is enabled and the query reads only registered
+     * reference tables (cs.queries.result.cache.tables).
      */
     public static <T> T getSingleValue(String dbName, String sql, Class<T> type, Object... params) {
+        CSQueryResultCache cache = CSQueryResultCache.getInstance();
+        String cacheKey = cache.isEnabled() && cache.readsOnlyReferenceTables(sql)
+            ? CSQueryResultCache.key(dbName, sql, params) : null;
+        if (cacheKey != null) {
+            Object cached = cache.get(cacheKey);
+            if (cached != null) {
+                return castValue(cached, type);
+            }
+        }
+        
+        long readGeneration = cache.generation();
         List<Map<String, Object>> results = executeQuery(dbName, sql, params);
         
         if (results.isEmpty()) {
@@ -302,6 +410,9 @@ public class CSDbUtils {
         }
         
         Object value = firstRow.values().iterator().next();
+        if (cacheKey != null) {
+            cache.put(cacheKey, value, 0, CSQueryResultCache.tablesReadBy(sql), readGeneration);
+        }
         return castValue(value, type);
     }
     
@@ -367,6 +478,9 @@ public class CSDbUtils {
             logger.debug("Transaction committed");
         } catch (SQLException e) {
             throw new CSDataException("Failed to commit transaction", e);
+        } finally {
+            // The statements run on the connection are unknown - drop every cached result
+            CSQueryResultCache.getInstance().clear();
         }
     }
     
@@ -389,8 +503,7 @@ public class CSDbUtils {
      */
     public static void closeAllDataSources() {
         logger.info("Closing all data sources");
-        dataSources.values().forEach(HikariDataSource::close);
-        dataSources.clear();
+        CSConnectionPoolRegistry.getInstance().closeAll();
     }
     
     /**
@@ -446,67 +559,6 @@ public class CSDbUtils {
         }
     }
     
-    /**
-     * Build JDBC URL based on database type
-     */
-    private static String buildJdbcUrl(String dbType, String host, String port, String database) {
-        switch (dbType.toLowerCase()) {
-            case "postgresql":
-            case "postgres":
-                return "jdbc:postgresql://" + host + ":" + port + "/" + database;
-            case "mysql":
-                return "jdbc:mysql://" + host + ":" + port + "/" + database + "?useSSL=false&serverTimezone=UTC";
-            case "h2":
-                return "jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1";
-            case "sqlserver":
-                return "jdbc:sqlserver://" + host + ":" + port + ";databaseName=" + database;
-            case "oracle":
-                return "jdbc:oracle:thin:@" + host + ":" + port + ":" + database;
-            default:
-                throw new CSDataException("Unsupported database type: " + dbType);
-        }
-    }
-    
-    /**
-     * Get driver class name
-     */
-    private static String getDriverClass(String dbType) {
-        switch (dbType.toLowerCase()) {
-            case "postgresql":
-            case "postgres":
-                return "org.postgresql.Driver";
-            case "mysql":
-                return "com.mysql.cj.jdbc.Driver";
-            case "h2":
-                return "org.h2.Driver";
-            case "sqlserver":
-                return "com.microsoft.sqlserver.jdbc.SQLServerDriver";
-            case "oracle":
-                return "oracle.jdbc.OracleDriver";
-            default:
-                throw new CSDataException("Unsupported database type: " + dbType);
-        }
-    }
-    
-    /**
-     * Get default port for database type
-     */
-    private static String getDefaultPort(String dbType) {
-        switch (dbType.toLowerCase()) {
-            case "postgresql":
-            case "postgres":
-                return "5432";
-            case "mysql":
-                return "3306";
-            case "sqlserver":
-                return "1433";
-            case "oracle":
-                return "1521";
-            default:
-                return "5432";
-        }
-    }
-    
     /**
      * Cast value to specified type
      */
@@ -0,0 +1,359 @@
+package com.testforge.cs.utils;
+
+import com.testforge.cs.exceptions.CSDataException;
+import com.testforge.cs.security.CSEncryptionUtils;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Closeable;
+import java.io.InputStream;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Pull-based reader for one .xlsx sheet, yielding rows as maps one at a time
+ * The sheet XML is parsed with StAX straight from the package, so only the shared strings and
+ * the current row are held in memory instead of the whole POI workbook. Cell values are
+ * converted exactly as CSExcelUtils does for the DOM model (numbers, dates, booleans,
+ * formulas and ENC() decryption).
+ */
+final class CSExcelStreamReader implements Iterator<Map<String, String>>, Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(CSExcelStreamReader.class);
+
+    private final String filePath;
+    private final OPCPackage pkg;
+    private final InputStream sheetData;
+    private final XMLStreamReader xml;
+    private final ReadOnlySharedStringsTable sharedStrings;
+    private final StylesTable styles;
+    private final boolean date1904;
+    private final Map<Integer, Boolean> dateStyles = new HashMap<>();
+    private List<String> headers;
+    private boolean[] usedColumns;
+    private Map<String, String> next;
+
+    private CSExcelStreamReader(String filePath, String sheetName, int sheetIndex, boolean hasHeader,
+                                Collection<String> columns) {
+        this.filePath = filePath;
+        try {
+            pkg = OPCPackage.open(filePath, PackageAccess.READ);
+        } catch (Exception e) {
+            throw new CSDataException(filePath, "Excel", "Failed to open Excel file", e);
+        }
+        try {
+            XSSFReader reader = new XSSFReader(pkg);
+            sharedStrings = new ReadOnlySharedStringsTable(pkg, false);
+            styles = reader.getStylesTable();
+            date1904 = isDate1904(reader);
+            sheetData = findSheet(reader, sheetName, sheetIndex);
+            xml = XMLHelper.newXMLInputFactory().createXMLStreamReader(sheetData);
+            initHeaders(hasHeader, columns);
+        } catch (CSDataException e) {
+            close();
+            throw e;
+        } catch (Exception e) {
+            close();
+            throw new CSDataException(filePath, "Excel", "Failed to read Excel file", e);
+        }
+    }
+
+    /**
+     * Open a sheet by name, or by index when sheetName is null
+     */
+    static CSExcelStreamReader open(String filePath, String sheetName, int sheetIndex, boolean hasHeader) {
+        return new CSExcelStreamReader(filePath, sheetName, sheetIndex, hasHeader, null);
+    }
+
+    /**
+     * Open a sheet keeping only the given columns; cells of other columns are not converted
+     */
+    static CSExcelStreamReader open(String filePath, String sheetName, int sheetIndex, boolean hasHeader,
+                                    Collection<String> columns) {
+        return new CSExcelStreamReader(filePath, sheetName, sheetIndex, hasHeader, columns);
+    }
+
+    private static InputStream findSheet(XSSFReader reader, String sheetName, int sheetIndex) throws Exception {
+        XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+        int index = 0;
+        while (sheets.hasNext()) {
+            InputStream data = sheets.next();
+            if (sheetName != null ? sheetName.equals(sheets.getSheetName()) : index == sheetIndex) {
+                return data;
+            }
+            data.close();
+            index++;
+        }
+        throw new CSDataException(sheetName != null ? "Sheet not found: " + sheetName
+            : "Sheet index out of range: " + sheetIndex);
+    }
+
+    private static boolean isDate1904(XSSFReader reader) throws Exception {
+        try (InputStream workbook = reader.getWorkbookData()) {
+            XMLStreamReader xml = XMLHelper.newXMLInputFactory().createXMLStreamReader(workbook);
+            try {
+                while (xml.hasNext()) {
+                    if (xml.next() == XMLStreamConstants.START_ELEMENT) {
+                        if ("workbookPr".equals(xml.getLocalName())) {
+                            String value = xml.getAttributeValue(null, "date1904");
+                            return "1".equals(value) || "true".equals(value);
+                        }
+                        if ("sheets".equals(xml.getLocalName())) {
+                            return false;
+                        }
+                    }
+                }
+                return false;
+            } finally {
+                xml.close();
+            }
+        }
+    }
+
+    private void initHeaders(boolean hasHeader, Collection<String> columns) throws XMLStreamException {
+        List<String> firstRow = readRow();
+        if (firstRow == null) {
+            headers = new ArrayList<>();
+            return;
+        }
+        headers = new ArrayList<>(firstRow.size());
+        if (hasHeader) {
+            headers.addAll(firstRow);
+        } else {
+            for (int i = 0; i < firstRow.size(); i++) {
+                headers.add("Column" + (i + 1));
+            }
+        }
+        if (columns != null) {
+            usedColumns = new boolean[headers.size()];
+            for (int i = 0; i < headers.size(); i++) {
+                usedColumns[i] = columns.contains(headers.get(i));
+            }
+        }
+        next = hasHeader ? readRecord() : toRecord(firstRow);
+    }
+
+    private boolean isUsed(int column) {
+        return usedColumns == null || (column < usedColumns.length && usedColumns[column]);
+    }
+
+    public List<String> getHeaders() {
+        return headers;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    @Override
+    public Map<String, String> next() {
+        if (next == null) {
+            throw new NoSuchElementException();
+        }
+        Map<String, String> current = next;
+        try {
+            next = readRecord();
+        } catch (XMLStreamException e) {
+            throw new CSDataException(filePath, "Excel", "Failed to read Excel file", e);
+        }
+        return current;
+    }
+
+    private Map<String, String> readRecord() throws XMLStreamException {
+        List<String> cells = readRow();
+        return cells != null ? toRecord(cells) : null;
+    }
+
+    private Map<String, String> toRecord(List<String> cells) {
+        Map<String, String> record = new LinkedHashMap<>();
+        int columns = Math.min(headers.size(), cells.size());
+        for (int i = 0; i < columns; i++) {
+            if (isUsed(i)) {
+                record.put(headers.get(i), cells.get(i));
+            }
+        }
+        return record;
+    }
+
+    /**
+     * Cells of the next row element up to its last cell, "" for gaps; null at the end of the sheet
+     */
+    private List<String> readRow() throws XMLStreamException {
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT && "row".equals(xml.getLocalName())) {
+                break;
+            }
+            if (event == XMLStreamConstants.END_ELEMENT && "sheetData".equals(xml.getLocalName())) {
+                return null;
+            }
+        }
+        if (!xml.hasNext()) {
+            return null;
+        }
+
+        List<String> cells = new ArrayList<>();
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.END_ELEMENT && "row".equals(xml.getLocalName())) {
+                return cells;
+            }
+            if (event == XMLStreamConstants.START_ELEMENT && "c".equals(xml.getLocalName())) {
+                String reference = xml.getAttributeValue(null, "r");
+                int column = reference != null ? columnIndex(reference) : cells.size();
+                String value = readCell(xml.getAttributeValue(null, "t"), xml.getAttributeValue(null, "s"),
+                    isUsed(column));
+                while (cells.size() < column) {
+                    cells.add("");
+                }
+                if (column < cells.size()) {
+                    cells.set(column, value);
+                } else {
+                    cells.add(value);
+                }
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Read a c element's children and convert its value ("" when not used); positioned after the
+     * element's end
+     */
+    private String readCell(String type, String style, boolean used) throws XMLStreamException {
+        String raw = null;
+        StringBuilder inline = null;
+        boolean formula = false;
+        int phoneticDepth = 0;
+
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                String name = xml.getLocalName();
+                if ("c".equals(name)) {
+                    break;
+                }
+                if ("rPh".equals(name)) {
+                    phoneticDepth--;
+                }
+            } else if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = xml.getLocalName();
+                if ("v".equals(name)) {
+                    raw = xml.getElementText();
+                } else if ("f".equals(name)) {
+                    formula = true;
+                    xml.getElementText();
+                } else if ("is".equals(name)) {
+                    inline = new StringBuilder();
+                } else if ("rPh".equals(name)) {
+                    phoneticDepth++;
+                } else if ("t".equals(name) && inline != null && phoneticDepth == 0) {
+                    inline.append(xml.getElementText());
+                }
+            }
+        }
+
+        if (!used) {
+            return "";
+        }
+        String value = convert(type, style, raw, inline, formula);
+        if (CSEncryptionUtils.isEncrypted(value)) {
+            value = CSEncryptionUtils.decrypt(value);
+        }
+        return value;
+    }
+
+    private String convert(String type, String style, String raw, StringBuilder inline, boolean formula) {
+        if ("inlineStr".equals(type)) {
+            return inline != null ? inline.toString() : "";
+        }
+        if (raw == null) {
+            return "";
+        }
+        if (type == null || "n".equals(type)) {
+            double numValue = Double.parseDouble(raw);
+            if (formula) {
+                return String.valueOf(numValue);
+            }
+            if (isDateStyle(style) && DateUtil.isValidExcelDate(numValue)) {
+                Date date = DateUtil.getJavaDate(numValue, date1904);
+                return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime().toString();
+            }
+            return numValue == Math.floor(numValue) ? String.valueOf((long) numValue) : String.valueOf(numValue);
+        }
+        switch (type) {
+            case "s":
+                return sharedStrings.getItemAt(Integer.parseInt(raw)).getString();
+            case "b":
+                return String.valueOf("1".equals(raw) || "true".equals(raw));
+            case "e":
+                return "";
+            default:
+                // str (formula string) and d (ISO date)
+                return raw;
+        }
+    }
+
+    private boolean isDateStyle(String style) {
+        if (style == null || styles == null) {
+            return false;
+        }
+        int styleIndex = Integer.parseInt(style);
+        return dateStyles.computeIfAbsent(styleIndex, index -> {
+            XSSFCellStyle cellStyle = styles.getStyleAt(index);
+            return cellStyle != null
+                && DateUtil.isADateFormat(cellStyle.getDataFormat(), cellStyle.getDataFormatString());
+        });
+    }
+
+    /**
+     * 0-based column of a cell reference such as "AB12"
+     */
+    static int columnIndex(String reference) {
+        int column = 0;
+        for (int i = 0; i < reference.length(); i++) {
+            char c = reference.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (xml != null) {
+                xml.close();
+            }
+            if (sheetData != null) {
+                sheetData.close();
+            }
+        } catch (Exception e) {
+            logger.debug("Error closing sheet stream: {}", e.getMessage());
+        } finally {
+            // Read-only package: revert releases the file without writing
+            pkg.revert();
+        }
+    }
+}
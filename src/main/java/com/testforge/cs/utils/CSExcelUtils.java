@@ -1,8 +1,11 @@
 package com.testforge.cs.utils;
 
+import com.testforge.cs.config.CSConfigManager;
 import com.testforge.cs.exceptions.CSDataException;
 import com.testforge.cs.security.CSEncryptionUtils;
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.slf4j.Logger;
@@ -17,10 +20,14 @@ import java.time.ZoneId;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Utility class for Excel operations using Apache POI
  * Supports key field filtering and advanced operations
+ * .xlsx sheets are read by streaming the sheet XML and written through SXSSF, so neither
+ * side holds the whole workbook in memory.
  */
 public class CSExcelUtils {
     private static final Logger logger = LoggerFactory.getLogger(CSExcelUtils.class);
@@ -40,6 +47,13 @@ public class CSExcelUtils {
      * Read Excel file with sheet index
      */
     public static List<Map<String, String>> readExcel(String filePath, int sheetIndex, boolean hasHeader) {
+        if (filePath.endsWith(".xlsx")) {
+            logger.debug("Reading Excel file: {}", filePath);
+            try (Stream<Map<String, String>> rows = streamExcel(filePath, null, sheetIndex, hasHeader, null)) {
+                return rows.collect(Collectors.toList());
+            }
+        }
+        
         try (InputStream inputStream = Files.newInputStream(Paths.get(filePath));
              Workbook workbook = createWorkbook(inputStream, filePath)) {
             
@@ -56,6 +70,13 @@ public class CSExcelUtils {
      * Read Excel file with sheet name
      */
     public static List<Map<String, String>> readExcel(String filePath, String sheetName, boolean hasHeader) {
+        if (filePath.endsWith(".xlsx")) {
+            logger.debug("Reading Excel file: {} - Sheet: {}", filePath, sheetName);
+            try (Stream<Map<String, String>> rows = streamExcel(filePath, sheetName, hasHeader)) {
+                return rows.collect(Collectors.toList());
+            }
+        }
+        
         try (InputStream inputStream = Files.newInputStream(Paths.get(filePath));
              Workbook workbook = createWorkbook(inputStream, filePath)) {
             
@@ -71,6 +92,51 @@ public class CSExcelUtils {
         }
     }
     
+    /**
+     * Stream the rows of an Excel sheet lazily, e.g. to filter or copy large workbooks
+     * .xlsx sheets are parsed row by row; .xls files are loaded first. The stream keeps the file
+     * open until it is closed - use try-with-resources.
+     */
+    public static Stream<Map<String, String>> streamExcel(String filePath, String sheetName, boolean hasHeader) {
+        return streamExcel(filePath, sheetName, 0, hasHeader, null);
+    }
+    
+    /**
+     * Stream the rows of an Excel sheet keeping only the given columns (null for all)
+     * For .xlsx sheets the cells of other columns are skipped without being converted or decrypted.
+     */
+    public static Stream<Map<String, String>> streamExcel(String filePath, String sheetName, boolean hasHeader,
+                                                          Collection<String> columns) {
+        return streamExcel(filePath, sheetName, 0, hasHeader, columns);
+    }
+    
+    private static Stream<Map<String, String>> streamExcel(String filePath, String sheetName, int sheetIndex, 
+                                                           boolean hasHeader, Collection<String> columns) {
+        if (!filePath.endsWith(".xlsx")) {
+            Stream<Map<String, String>> rows = (sheetName != null ? readExcel(filePath, sheetName, hasHeader) 
+                : readExcel(filePath, sheetIndex, hasHeader)).stream();
+            return columns == null ? rows : rows.map(row -> project(row, columns));
+        }
+        
+        CSExcelStreamReader reader = CSExcelStreamReader.open(filePath, sheetName, sheetIndex, hasHeader, columns);
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(reader, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(reader::close);
+    }
+    
+    /**
+     * Copy of a row with only the given columns, in the row's column order
+     */
+    private static Map<String, String> project(Map<String, String> row, Collection<String> columns) {
+        Map<String, String> projected = new LinkedHashMap<>();
+        row.forEach((column, value) -> {
+            if (columns.contains(column)) {
+                projected.put(column, value);
+            }
+        });
+        return projected;
+    }
+    
     /**
      * Read Excel with key field filtering
      */
@@ -84,11 +150,12 @@ public class CSExcelUtils {
      */
     public static List<Map<String, String>> readExcelWithKey(String filePath, String sheetName, 
                                                              String keyField, List<String> keyValues) {
-        List<Map<String, String>> allData = readExcel(filePath, sheetName, true);
-        
-        return allData.stream()
-            .filter(row -> keyValues.contains(row.get(keyField)))
-            .collect(Collectors.toList());
+        Set<String> keys = new HashSet<>(keyValues);
+        try (Stream<Map<String, String>> rows = streamExcel(filePath, sheetName, true)) {
+            return rows
+                .filter(row -> keys.contains(row.get(keyField)))
+                .collect(Collectors.toList());
+        }
     }
     
     /**
@@ -103,59 +170,104 @@ public class CSExcelUtils {
      */
     public static void writeExcel(String filePath, List<Map<String, String>> data, 
                                  String sheetName, boolean writeHeader) {
+        writeRows(filePath, data.iterator(), sheetName, writeHeader);
+    }
+    
+    /**
+     * Write rows to Excel file as they are produced, e.g. from streamExcel or a database cursor
+     * Columns follow the keys of the first row.
+     */
+    public static void writeExcel(String filePath, Stream<Map<String, String>> rows, 
+                                 String sheetName, boolean writeHeader) {
+        writeRows(filePath, rows.iterator(), sheetName, writeHeader);
+    }
+    
+    /**
+     * Write rows; .xlsx files keep only cs.excel.write.window.size rows in memory
+     * Columns are auto-sized unless cs.excel.write.autosize is false.
+     */
+    private static void writeRows(String filePath, Iterator<Map<String, String>> rows, 
+                                  String sheetName, boolean writeHeader) {
+        CSConfigManager config = CSConfigManager.getInstance();
+        boolean autoSize = config.getBooleanProperty("cs.excel.write.autosize", true);
+        Workbook workbook = filePath.endsWith(".xlsx") 
+            ? new SXSSFWorkbook(config.getIntProperty("cs.excel.write.window.size", 100)) 
+            : new HSSFWorkbook();
+        
         try {
             logger.debug("Writing Excel file: {}", filePath);
-            Workbook workbook = filePath.endsWith(".xlsx") ? new XSSFWorkbook() : new HSSFWorkbook();
             Sheet sheet = workbook.createSheet(sheetName);
             
-            if (data.isEmpty()) {
-                workbook.write(new FileOutputStream(filePath));
-                workbook.close();
-                return;
-            }
-            
-            // Write header
-            int rowNum = 0;
-            if (writeHeader) {
-                Row headerRow = sheet.createRow(rowNum++);
-                List<String> headers = new ArrayList<>(data.get(0).keySet());
-                for (int i = 0; i < headers.size(); i++) {
-                    Cell cell = headerRow.createCell(i);
-                    cell.setCellValue(headers.get(i));
-                    
-                    // Style header
+            if (rows.hasNext()) {
+                if (autoSize && sheet instanceof SXSSFSheet) {
+                    // Widths are measured as rows are flushed out of the window
+                    ((SXSSFSheet) sheet).trackAllColumnsForAutoSizing();
+                }
+                
+                Map<String, String> firstRow = rows.next();
+                int columnCount = firstRow.size();
+                int rowNum = 0;
+                
+                // Write header with one shared style
+                if (writeHeader) {
                     CellStyle headerStyle = workbook.createCellStyle();
                     Font font = workbook.createFont();
                     font.setBold(true);
                     headerStyle.setFont(font);
-                    cell.setCellStyle(headerStyle);
+                    
+                    Row headerRow = sheet.createRow(rowNum++);
+                    int i = 0;
+                    for (String header : firstRow.keySet()) {
+                        Cell cell = headerRow.createCell(i++);
+                        cell.setCellValue(header);
+                        cell.setCellStyle(headerStyle);
+                    }
                 }
-            }
-            
-            // Write data
-            for (Map<String, String> rowData : data) {
-                Row row = sheet.createRow(rowNum++);
-                List<String> headers = new ArrayList<>(rowData.keySet());
-                for (int i = 0; i < headers.size(); i++) {
-                    Cell cell = row.createCell(i);
-                    setCellValue(cell, rowData.get(headers.get(i)));
+                
+                // Write data
+                writeRow(sheet.createRow(rowNum++), firstRow);
+                while (rows.hasNext()) {
+                    writeRow(sheet.createRow(rowNum++), rows.next());
+                }
+                
+                // Auto-size columns
+                if (autoSize) {
+                    for (int i = 0; i < columnCount; i++) {
+                        sheet.autoSizeColumn(i);
+                    }
                 }
-            }
-            
-            // Auto-size columns
-            List<String> headers = new ArrayList<>(data.get(0).keySet());
-            for (int i = 0; i < headers.size(); i++) {
-                sheet.autoSizeColumn(i);
             }
             
             // Write to file
-            try (FileOutputStream outputStream = new FileOutputStream(filePath)) {
+            try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(filePath))) {
                 workbook.write(outputStream);
             }
-            workbook.close();
             
         } catch (IOException e) {
             throw new CSDataException(filePath, "Excel", "Failed to write Excel file", e);
+        } finally {
+            closeWorkbook(workbook);
+        }
+    }
+    
+    private static void writeRow(Row row, Map<String, String> rowData) {
+        int i = 0;
+        for (String value : rowData.values()) {
+            setCellValue(row.createCell(i++), value);
+        }
+    }
+    
+    /**
+     * Close a workbook, deleting SXSSF temporary files
+     */
+    private static void closeWorkbook(Workbook workbook) {
+        try {
+            if (workbook instanceof SXSSFWorkbook) {
+                ((SXSSFWorkbook) workbook).dispose();
+            }
+            workbook.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close workbook: {}", e.getMessage());
         }
     }
     
@@ -478,13 +590,15 @@ public class CSExcelUtils {
             return;
         }
         
-        // Try to parse as number
-        try {
-            double numValue = Double.parseDouble(value);
-            cell.setCellValue(numValue);
-            return;
-        } catch (NumberFormatException e) {
-            // Not a number
+        // Try to parse as number (skipping values that cannot be one, to avoid the exception)
+        if (mayBeNumber(value)) {
+            try {
+                double numValue = Double.parseDouble(value);
+                cell.setCellValue(numValue);
+                return;
+            } catch (NumberFormatException e) {
+                // Not a number
+            }
         }
         
         // Try to parse as boolean
@@ -496,4 +610,17 @@ public class CSExcelUtils {
         // Default to string
         cell.setCellValue(value);
     }
+    
+    /**
+     * Whether Double.parseDouble could accept the value, judged by its first non-blank character
+     */
+    private static boolean mayBeNumber(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c > ' ') {
+                return (c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'N' || c == 'I';
+            }
+        }
+        return false;
+    }
 }
\ No newline at end of file
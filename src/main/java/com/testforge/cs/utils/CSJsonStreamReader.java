@@ -0,0 +1,183 @@
+package com.testforge.cs.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testforge.cs.exceptions.CSDataException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Token-streaming reader for the objects of a JSON array, e.g. $.testData.users[*]
+ * The parser walks to the array without building a tree and reads one element at a time;
+ * fields outside the projection are skipped while tokenizing, so only the needed values of
+ * the current row are ever materialized. A root object without a path is read as one row.
+ */
+final class CSJsonStreamReader implements Iterator<Map<String, Object>>, Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(CSJsonStreamReader.class);
+
+    private final JsonParser parser;
+    private final String filePath;
+    private final Set<String> fields;
+    private boolean singleObject;
+    private Map<String, Object> next;
+
+    /**
+     * @param arrayPath $.path.to.array[*], $[*] or null for a root array (or single root object)
+     * @param fields    Top-level fields to keep, or null for all
+     */
+    CSJsonStreamReader(ObjectMapper mapper, String filePath, String arrayPath, Set<String> fields) {
+        this.filePath = filePath;
+        this.fields = fields;
+        try {
+            parser = mapper.getFactory().createParser(new File(filePath));
+        } catch (IOException e) {
+            throw new CSDataException("Failed to read JSON file: " + filePath, e);
+        }
+        try {
+            JsonToken token = parser.nextToken();
+            String[] pathParts = parsePath(arrayPath);
+            for (String part : pathParts) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw new CSDataException("Invalid JSON path structure at: " + part + " in path: " + arrayPath);
+                }
+                token = moveToField(part, arrayPath);
+            }
+            if (token == JsonToken.START_OBJECT && pathParts.length == 0 && arrayPath == null) {
+                singleObject = true;
+            } else if (token != JsonToken.START_ARRAY) {
+                throw new CSDataException("JSON path " + (arrayPath != null ? arrayPath : "$")
+                    + " does not point to an array. Found: " + token);
+            }
+            advance();
+        } catch (IOException e) {
+            close();
+            throw new CSDataException("Failed to read JSON file: " + filePath, e);
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Path parts between $. and [*]; empty for the root
+     */
+    static String[] parsePath(String arrayPath) {
+        if (arrayPath == null || arrayPath.equals("$") || arrayPath.equals("$[*]")) {
+            return new String[0];
+        }
+        if (!arrayPath.startsWith("$.") || !arrayPath.endsWith("[*]")) {
+            throw new CSDataException("Unsupported JSON path format: " + arrayPath
+                + ". Supported format: $.path.to.array[*]");
+        }
+        return arrayPath.substring(2, arrayPath.length() - 3).split("\\.");
+    }
+
+    /**
+     * Within an object, skip to the value of the named field; returns the value's first token
+     */
+    private JsonToken moveToField(String name, String arrayPath) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (name.equals(fieldName)) {
+                return value;
+            }
+            parser.skipChildren();
+        }
+        throw new CSDataException("JSON path key not found: " + name + " in path: " + arrayPath);
+    }
+
+    private void advance() throws IOException {
+        next = null;
+        if (singleObject) {
+            if (parser.currentToken() == JsonToken.START_OBJECT) {
+                next = readObject();
+                parser.nextToken();
+            }
+            return;
+        }
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.END_ARRAY) {
+            if (token == JsonToken.START_OBJECT) {
+                next = readObject();
+                return;
+            }
+            logger.warn("Array item is not a Map object, skipping: {}", token);
+            parser.skipChildren();
+        }
+    }
+
+    /**
+     * Read the object at the current START_OBJECT, keeping only projected fields
+     */
+    private Map<String, Object> readObject() throws IOException {
+        Map<String, Object> row = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (fields != null && !fields.contains(name)) {
+                parser.skipChildren();
+                continue;
+            }
+            row.put(name, readValue(value));
+        }
+        return row;
+    }
+
+    private Object readValue(JsonToken token) throws IOException {
+        switch (token) {
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return parser.getNumberValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return null;
+            default:
+                // Nested objects and arrays become Maps and Lists, as with jsonToMap
+                return parser.readValueAs(Object.class);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    @Override
+    public Map<String, Object> next() {
+        if (next == null) {
+            throw new NoSuchElementException();
+        }
+        Map<String, Object> current = next;
+        try {
+            advance();
+        } catch (IOException e) {
+            throw new CSDataException("Failed to read JSON file: " + filePath, e);
+        }
+        return current;
+    }
+
+    @Override
+    public void close() {
+        try {
+            parser.close();
+        } catch (IOException e) {
+            logger.debug("Error closing JSON parser: {}", e.getMessage());
+        }
+    }
+}
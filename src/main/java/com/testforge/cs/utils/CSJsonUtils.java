@@ -1,6 +1,9 @@
 package com.testforge.cs.utils;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.databind.node.ArrayNode;
@@ -12,10 +15,13 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.StringWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Utility class for JSON operations using Jackson
@@ -123,6 +129,22 @@ public class CSJsonUtils {
         return fromJson(json, new TypeReference<List<Map<String, Object>>>() {});
     }
     
+    /**
+     * Stream the objects of a JSON array in a file without loading the whole file
+     * arrayPath selects the array ($.path.to.array[*]; null or $[*] for the root - a root object
+     * is then a single row) and fields limits each row to those top-level fields (null for all).
+     * The stream keeps the file open until it is closed - use try-with-resources.
+     */
+    public static Stream<Map<String, Object>> streamJsonArray(String filePath, String arrayPath, 
+                                                             Collection<String> fields) {
+        logger.debug("Streaming JSON file: {} (path {})", filePath, arrayPath);
+        CSJsonStreamReader reader = new CSJsonStreamReader(mapper, filePath, arrayPath, 
+            fields != null ? new HashSet<>(fields) : null);
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(reader, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(reader::close);
+    }
+    
     /**
      * Write object to JSON file
      */
@@ -318,26 +340,33 @@ public class CSJsonUtils {
      * Filter JSON array by key-value
      */
     public static String filterJsonArray(String json, String key, String value) {
-        try {
-            JsonNode rootNode = mapper.readTree(json);
-            ArrayNode filteredArray = mapper.createArrayNode();
-            
-            if (rootNode.isArray()) {
-                for (JsonNode node : rootNode) {
+        // Elements are read and written one at a time, so only the current element is held as a tree
+        StringWriter output = new StringWriter(json.length() / 4 + 16);
+        try (JsonParser parser = mapper.getFactory().createParser(json);
+             JsonGenerator generator = mapper.getFactory().createGenerator(output)) {
+            generator.writeStartArray();
+            if (parser.nextToken() == JsonToken.START_ARRAY) {
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    JsonNode node = mapper.readTree(parser);
                     JsonNode keyNode = node.get(key);
                     if (keyNode != null && keyNode.asText().equals(value)) {
-                        filteredArray.add(node);
+                        mapper.writeTree(generator, node);
                     }
                 }
+            } else {
+                // Still validate the document, as reading the whole tree did
+                mapper.readTree(parser);
             }
-            return mapper.writeValueAsString(filteredArray);
-        } catch (JsonProcessingException e) {
+            generator.writeEndArray();
+        } catch (IOException e) {
             throw new CSDataException("Failed to filter JSON array", e);
         }
+        return output.toString();
     }
     
     /**
      * Sort JSON array by key
+     * Reads the whole tree on purpose: no element can be written before all have been compared.
      */
     public static String sortJsonArray(String json, String key, boolean ascending) {
         try {
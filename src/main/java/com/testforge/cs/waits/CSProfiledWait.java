@@ -0,0 +1,25 @@
+package com.testforge.cs.waits;
+
+import com.testforge.cs.reporting.CSPhaseProfiler;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * WebDriverWait that reports the time spent waiting to the phase profiler
+ */
+public class CSProfiledWait extends WebDriverWait {
+
+    public CSProfiledWait(WebDriver driver, Duration timeout) {
+        super(driver, timeout);
+    }
+
+    @Override
+    public <V> V until(Function<? super WebDriver, V> isTrue) {
+        try (CSPhaseProfiler.Scope ignored = CSPhaseProfiler.begin(CSPhaseProfiler.Phase.WAIT)) {
+            return super.until(isTrue);
+        }
+    }
+}
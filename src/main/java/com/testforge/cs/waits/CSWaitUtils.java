@@ -42,7 +42,7 @@ public class CSWaitUtils {
     public static WebElement waitForElementVisible(WebDriver driver, By locator, int timeoutSeconds) {
         logger.debug("Waiting for element to be visible: {}", locator);
         CSReportManager.addAction("wait", "Wait for element to be visible", locator.toString());
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
+        WebDriverWait wait = new CSProfiledWait(driver, Duration.ofSeconds(timeoutSeconds));
         return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
     }
     
@@ -51,7 +51,7 @@ public class CSWaitUtils {
      */
     public static WebElement waitForElementClickable(WebDriver driver, By locator, int timeoutSeconds) {
         logger.debug("Waiting for element to be clickable: {}", locator);
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
+        WebDriverWait wait = new CSProfiledWait(driver, Duration.ofSeconds(timeoutSeconds));
         return wait.until(ExpectedConditions.elementToBeClickable(locator));
     }
     
@@ -60,7 +60,7 @@ public class CSWaitUtils {
      */
     public static WebElement waitForElementPresent(WebDriver driver, By locator, int timeoutSeconds) {
         logger.debug("Waiting for element to be present: {}", locator);
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
+        WebDriverWait wait = new CSProfiledWait(driver, Duration.ofSeconds(timeoutSeconds));
         return wait.until(ExpectedConditions.presenceOfElementLocated(locator));
     }
     
@@ -69,7 +69,7 @@ public class CSWaitUtils {
      */
     public static List<WebElement> waitForAllElementsVisible(WebDriver driver, By locator, int timeoutSeconds) {
         logger.debug("Waiting for all elements to be visible: {}", locator);
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
+        WebDriverWait wait = new CSProfiledWait(driver, Duration.ofSeconds(timeoutSeconds));
         return wait.until(ExpectedConditions.visibilityOfAllElementsLocatedBy(locator));
     }
     
@@ -78,7 +78,7 @@ public class CSWaitUtils {
      */
     public static boolean waitForElementInvisible(WebDriver driver, By locator, int timeoutSeconds) {
         logger.debug("Waiting for element to be invisible: {}", locator);
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
+        WebDriverWait wait = new CSProfiledWait(driver, Duration.ofSeconds(timeoutSeconds));
         return wait.until(ExpectedConditions.invisibilityOfElementLocated(locator));
     }
     
@@ -87,7 +87,7 @@ public class CSWaitUtils {
      */
     public static boolean waitForTextInElement(WebDriver driver, By locator, String text, int timeoutSeconds) {
         logger.debug("Waiting for text '{}' in element: {}", text, locator);
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
+        WebDriverWait wait = new CSProfiledWait(driver, Duration.ofSeconds(timeoutSeconds));
         return wait.until(ExpectedConditions.textToBePresentInElementLocated(locator, text));
     }
     
@@ -103,7 +103,7 @@ public class CSWaitUtils {
      */
     public static boolean waitForAttributeValue(WebDriver driver, By locator, String attribute, String value, int timeoutSeconds) {
         logger.debug("Waiting for attribute '{}' to have value '{}' in element: {}", attribute, value, locator);
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
+        WebDriverWait wait = new CSProfiledWait(driver, Duration.ofSeconds(timeoutSeconds));
         return wait.until(ExpectedConditions.attributeToBe(locator, attribute, value));
     }
     
@@ -112,7 +112,7 @@ public class CSWaitUtils {
      */
     public static <T> T waitForCondition(WebDriver driver, Function<WebDriver, T> condition, int timeoutSeconds, String message) {
         logger.debug("Waiting for custom condition: {}", message);
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
+        WebDriverWait wait = new CSProfiledWait(driver, Duration.ofSeconds(timeoutSeconds));
         wait.withMessage(message);
         return wait.until(condition);
     }
@@ -129,7 +129,7 @@ public class CSWaitUtils {
      */
     public static void waitForPageLoad(WebDriver driver, int timeoutSeconds) {
         logger.debug("Waiting for page load complete");
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
+        WebDriverWait wait = new CSProfiledWait(driver, Duration.ofSeconds(timeoutSeconds));
         wait.until((ExpectedCondition<Boolean>) wd -> {
             String readyState = ((JavascriptExecutor) wd).executeScript("return document.readyState").toString();
             return "complete".equals(readyState);
@@ -141,7 +141,7 @@ public class CSWaitUtils {
      */
     public static void waitForJQuery(WebDriver driver, int timeoutSeconds) {
         logger.debug("Waiting for jQuery to complete");
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
+        WebDriverWait wait = new CSProfiledWait(driver, Duration.ofSeconds(timeoutSeconds));
         wait.until((ExpectedCondition<Boolean>) wd -> {
             try {
                 return (Boolean) ((JavascriptExecutor) wd).executeScript("return jQuery.active == 0");
@@ -157,7 +157,7 @@ public class CSWaitUtils {
      */
     public static void waitForAngular(WebDriver driver, int timeoutSeconds) {
         logger.debug("Waiting for Angular to complete");
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
+        WebDriverWait wait = new CSProfiledWait(driver, Duration.ofSeconds(timeoutSeconds));
         wait.until((ExpectedCondition<Boolean>) wd -> {
             try {
                 return (Boolean) ((JavascriptExecutor) wd).executeScript(
@@ -175,7 +175,7 @@ public class CSWaitUtils {
      */
     public static boolean waitForElementCount(WebDriver driver, By locator, int expectedCount, int timeoutSeconds) {
         logger.debug("Waiting for {} elements matching: {}", expectedCount, locator);
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
+        WebDriverWait wait = new CSProfiledWait(driver, Duration.ofSeconds(timeoutSeconds));
         return wait.until((ExpectedCondition<Boolean>) wd -> {
             List<WebElement> elements = wd.findElements(locator);
             return elements.size() == expectedCount;
@@ -187,7 +187,7 @@ public class CSWaitUtils {
      */
     public static boolean waitForUrlContains(WebDriver driver, String urlPart, int timeoutSeconds) {
         logger.debug("Waiting for URL to contain: {}", urlPart);
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
+        WebDriverWait wait = new CSProfiledWait(driver, Duration.ofSeconds(timeoutSeconds));
         return wait.until(ExpectedConditions.urlContains(urlPart));
     }
     
@@ -196,7 +196,7 @@ public class CSWaitUtils {
      */
     public static boolean waitForTitleContains(WebDriver driver, String titlePart, int timeoutSeconds) {
         logger.debug("Waiting for title to contain: {}", titlePart);
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
+        WebDriverWait wait = new CSProfiledWait(driver, Duration.ofSeconds(timeoutSeconds));
         return wait.until(ExpectedConditions.titleContains(titlePart));
     }
     
@@ -206,7 +206,7 @@ public class CSWaitUtils {
     public static boolean waitForAlertPresent(WebDriver driver, int timeoutSeconds) {
         logger.debug("Waiting for alert to be present");
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
+            WebDriverWait wait = new CSProfiledWait(driver, Duration.ofSeconds(timeoutSeconds));
             wait.until(ExpectedConditions.alertIsPresent());
             return true;
         } catch (Exception e) {
@@ -220,7 +220,7 @@ public class CSWaitUtils {
     public static <T> T fluentWait(WebDriver driver, Function<WebDriver, T> condition, 
                                    int timeoutSeconds, int pollingMillis, String message) {
         logger.debug("Fluent wait with polling every {}ms: {}", pollingMillis, message);
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
+        WebDriverWait wait = new CSProfiledWait(driver, Duration.ofSeconds(timeoutSeconds));
         wait.pollingEvery(Duration.ofMillis(pollingMillis));
         wait.withMessage(message);
         return wait.until(condition);
@@ -0,0 +1,95 @@
+package com.testforge.cs.bdd;
+
+import com.testforge.cs.annotations.CSStep;
+import com.testforge.cs.api.CSHttpClient;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for CSBrowserlessExecutor
+ * Verifies browserless detection by tag and by step class, and concurrent execution
+ */
+public class CSBrowserlessExecutorTest {
+
+    public static class PingApiSteps {
+        private CSHttpClient httpClient;
+
+        @CSStep("the browserless test service is pinged")
+        public void ping() {
+        }
+    }
+
+    public static class PingUiSteps {
+        private WebDriver driver;
+
+        @CSStep("the browserless test page shows the ping")
+        public void verifyPing() {
+        }
+    }
+
+    @BeforeClass
+    public void registerSteps() {
+        CSStepRegistry.getInstance().registerStepClass(PingApiSteps.class);
+        CSStepRegistry.getInstance().registerStepClass(PingUiSteps.class);
+    }
+
+    @Test
+    public void testDetection() {
+        CSBrowserlessExecutor executor = new CSBrowserlessExecutor(true, 4, false, true,
+            Arrays.asList("@api"), Collections.emptyList());
+        CSFeatureFile feature = new CSFeatureFile();
+
+        Assert.assertTrue(executor.isBrowserless(feature, scenario(Arrays.asList("@api"))));
+        Assert.assertTrue(executor.isBrowserless(feature, scenario(Collections.emptyList(),
+            "the browserless test service is pinged")));
+        Assert.assertFalse(executor.isBrowserless(feature, scenario(Collections.emptyList(),
+            "the browserless test service is pinged", "the browserless test page shows the ping")));
+        Assert.assertFalse(executor.isBrowserless(feature, scenario(Collections.emptyList(),
+            "an unknown browserless test step")));
+    }
+
+    @Test
+    public void testScenariosRunConcurrently() throws Exception {
+        CSBrowserlessExecutor executor = new CSBrowserlessExecutor(true, 8, true, false,
+            Collections.emptyList(), Collections.emptyList());
+        CountDownLatch allStarted = new CountDownLatch(8);
+        AtomicInteger completed = new AtomicInteger();
+        for (int i = 0; i < 8; i++) {
+            executor.submit(() -> {
+                allStarted.countDown();
+                try {
+                    // Only returns if all eight scenarios are in flight at the same time
+                    if (allStarted.await(10, TimeUnit.SECONDS)) {
+                        completed.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        executor.awaitCompletion(30);
+        Assert.assertEquals(completed.get(), 8);
+    }
+
+    private CSFeatureFile.Scenario scenario(List<String> tags, String... stepTexts) {
+        CSFeatureFile.Scenario scenario = new CSFeatureFile.Scenario();
+        scenario.setName("Ping");
+        scenario.setTags(tags);
+        for (String text : stepTexts) {
+            CSFeatureFile.Step step = new CSFeatureFile.Step();
+            step.setKeyword("Given");
+            step.setText(text);
+            scenario.getSteps().add(step);
+        }
+        return scenario;
+    }
+}
@@ -0,0 +1,134 @@
+package com.testforge.cs.bdd;
+
+import com.testforge.cs.exceptions.CSBddException;
+import com.testforge.cs.exceptions.CSDataException;
+import com.testforge.cs.utils.CSDbUtils;
+import com.testforge.cs.utils.CSExcelUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test class for loading and filtering data sources in CSDataSourceProcessor
+ */
+public class CSDataSourceProcessorTest {
+    private static final String DB = "datasourcetest";
+    private final CSDataSourceProcessor processor = new CSDataSourceProcessor();
+    private String jsonPath;
+    private String csvPath;
+    private String xlsxPath;
+
+    @BeforeClass
+    public void setUp() throws Exception {
+        File json = File.createTempFile("cs-datasource", ".json");
+        json.deleteOnExit();
+        StringBuilder content = new StringBuilder("{\"testData\": {\"users\": [");
+        for (int i = 1; i <= 50; i++) {
+            content.append(i > 1 ? "," : "")
+                .append("{\"id\": \"U").append(i).append("\", \"priority\": \"").append(i % 5 == 0 ? "High" : "Low")
+                .append("\", \"name\": \"User ").append(i).append("\", \"payload\": {\"blob\": \"x\"}}");
+        }
+        Files.write(json.toPath(), content.append("]}}").toString().getBytes(StandardCharsets.UTF_8));
+        jsonPath = json.getPath().replace('\\', '/');
+
+        File csv = File.createTempFile("cs-datasource", ".csv");
+        csv.deleteOnExit();
+        Files.write(csv.toPath(), ("id,priority,name,notes\n"
+            + "U1,High,User 1,\"long, quoted\"\n"
+            + "U2,Low,User 2,x\n"
+            + "U3,High,User 3,y\n").getBytes(StandardCharsets.UTF_8));
+        csvPath = csv.getPath().replace('\\', '/');
+
+        File xlsx = File.createTempFile("cs-datasource", ".xlsx");
+        xlsx.deleteOnExit();
+        List<Map<String, String>> sheet = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            Map<String, String> row = new LinkedHashMap<>();
+            row.put("id", "U" + i);
+            row.put("priority", i % 2 == 0 ? "High" : "Low");
+            row.put("name", "User " + i);
+            sheet.add(row);
+        }
+        CSExcelUtils.writeExcel(xlsx.getPath(), sheet);
+        xlsxPath = xlsx.getPath().replace('\\', '/');
+
+        System.setProperty("cs.db." + DB + ".type", "h2");
+        System.setProperty("cs.db." + DB + ".name", DB);
+        System.setProperty("cs.db." + DB + ".username", "sa");
+        System.setProperty("cs.db." + DB + ".password", "");
+        CSDbUtils.executeUpdate(DB, "CREATE TABLE users (id VARCHAR(10), status VARCHAR(10), age INT)");
+        CSDbUtils.executeUpdate(DB, "INSERT INTO users VALUES ('U1', 'active', 30), ('U2', 'locked', 40), "
+            + "('U3', 'active', 50)");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        CSDbUtils.executeUpdate(DB, "DROP TABLE users");
+    }
+
+    @Test
+    public void testJsonPathFilterAndProjection() {
+        List<Map<String, String>> rows = processor.processExamplesConfig("{\"type\": \"json\", \"source\": \"" + jsonPath
+            + "\", \"path\": \"$.testData.users[*]\", \"fields\": \"name\", \"filter\": \"priority=High\"}");
+
+        Assert.assertEquals(rows.size(), 10);
+        Assert.assertEquals(rows.get(0), Map.of("name", "User 5", "priority", "High"));
+    }
+
+    @Test
+    public void testJsonKeyValues() {
+        List<Map<String, String>> rows = processor.processExamplesConfig("{\"type\": \"json\", \"source\": \"" + jsonPath
+            + "\", \"path\": \"$.testData.users[*]\", \"key\": \"id\", \"keyValues\": \"U2,U7\"}");
+
+        Assert.assertEquals(rows.size(), 2);
+        Assert.assertEquals(rows.get(1).get("name"), "User 7");
+        Assert.assertEquals(rows.get(1).get("payload"), "{blob=x}");
+    }
+
+    @Test
+    public void testCsvAndExcelFilterWithColumnProjection() {
+        List<Map<String, String>> csvRows = processor.processExamplesConfig("{\"type\": \"csv\", \"source\": \""
+            + csvPath + "\", \"fields\": \"name\", \"filter\": \"priority=High\"}");
+        Assert.assertEquals(csvRows, List.of(Map.of("name", "User 1", "priority", "High"),
+            Map.of("name", "User 3", "priority", "High")));
+
+        List<Map<String, String>> excelRows = processor.processExamplesConfig("{\"type\": \"excel\", \"source\": \""
+            + xlsxPath + "\", \"fields\": \"name\", \"key\": \"id\", \"keyValues\": \"U2,U3,U4\", "
+            + "\"filter\": \"priority:High\"}");
+        Assert.assertEquals(excelRows, List.of(Map.of("id", "U2", "name", "User 2", "priority", "High"),
+            Map.of("id", "U4", "name", "User 4", "priority", "High")));
+    }
+
+    @Test
+    public void testDatabaseFilterIsPushedDown() {
+        List<Map<String, String>> rows = processor.processExamplesConfig("{\"type\": \"database\", \"name\": \""
+            + DB + "\", \"query\": \"SELECT id, status, age FROM users WHERE age > :minAge\", "
+            + "\"param.minAge\": \"35\", \"filter\": \"STATUS=active\"}");
+        Assert.assertEquals(rows, List.of(Map.of("ID", "U3", "STATUS", "active", "AGE", "50")));
+
+        // A column the query does not return fails in SQL and falls back to in-memory filtering
+        List<Map<String, String>> none = processor.processExamplesConfig("{\"type\": \"database\", \"name\": \""
+            + DB + "\", \"query\": \"SELECT id FROM users\", \"filter\": \"STATUS=active\"}");
+        Assert.assertTrue(none.isEmpty());
+
+        // A value the column cannot hold fails in SQL too and matches no row, as in memory
+        List<Map<String, String>> unconvertible = processor.processExamplesConfig("{\"type\": \"database\", "
+            + "\"name\": \"" + DB + "\", \"query\": \"SELECT id, age FROM users\", \"filter\": \"AGE=abc\"}");
+        Assert.assertTrue(unconvertible.isEmpty());
+
+        // Errors that have nothing to do with the filter are not hidden by the fallback
+        CSBddException error = Assert.expectThrows(CSBddException.class, () -> processor.processExamplesConfig(
+            "{\"type\": \"database\", \"name\": \"" + DB + "\", \"query\": \"SELECT id FROM missing_users\", "
+            + "\"filter\": \"ID=U1\"}"));
+        Assert.assertTrue(error.getCause() instanceof CSDataException, String.valueOf(error.getCause()));
+    }
+}
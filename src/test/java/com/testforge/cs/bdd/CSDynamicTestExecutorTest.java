@@ -0,0 +1,47 @@
+package com.testforge.cs.bdd;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+
+/**
+ * Test class for CSDynamicTestExecutor
+ * Verifies browser/session affinity and work stealing
+ */
+public class CSDynamicTestExecutorTest {
+
+    @Test
+    public void testAffinityThenWorkStealing() {
+        CSDynamicTestExecutor executor = CSDynamicTestExecutor.getInstance(2);
+        executor.reset();
+
+        // Added in scheduled order; browsers are tagged because the default browser.name is
+        // captured when the shared executor is first created, possibly under another test's settings
+        executor.addTest(scenario("login.feature", "Long login", "@browser:chrome"));
+        executor.addTest(scenario("search.feature", "Firefox search", "@browser:firefox"));
+        executor.addTest(scenario("search.feature", "Chrome search", "@browser:chrome"));
+        executor.addTest(scenario("login.feature", "Short login", "@browser:chrome"));
+
+        // Same browser and session wins over scenarios earlier in the queue
+        Assert.assertEquals(executor.getNextTest("chrome", "search.feature").getScenario().getName(), "Chrome search");
+        // Same browser without a session match takes the first remaining one
+        Assert.assertEquals(executor.getNextTest("firefox", "login.feature").getScenario().getName(), "Firefox search");
+        // Nothing left for firefox - steal in queue order
+        Assert.assertEquals(executor.getNextTest("firefox", null).getScenario().getName(), "Long login");
+        Assert.assertEquals(executor.getNextTest("chrome", "login.feature").getScenario().getName(), "Short login");
+        Assert.assertNull(executor.getNextTest("chrome", null));
+        Assert.assertFalse(executor.hasMoreTests());
+
+        executor.reset();
+    }
+
+    private CSDynamicTestExecutor.TestScenario scenario(String featureFile, String name, String... tags) {
+        CSFeatureFile feature = new CSFeatureFile();
+        feature.setName(featureFile);
+        CSFeatureFile.Scenario scenario = new CSFeatureFile.Scenario();
+        scenario.setName(name);
+        scenario.setTags(Arrays.asList(tags));
+        return new CSDynamicTestExecutor.TestScenario(featureFile, feature, scenario);
+    }
+}
@@ -0,0 +1,79 @@
+package com.testforge.cs.bdd;
+
+import com.testforge.cs.reporting.CSReportData;
+import com.testforge.cs.reporting.CSTestResult;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test class for CSRerunSelector
+ * Verifies that exactly the failed Examples rows are selected and the rest is carried over
+ */
+public class CSRerunSelectorTest {
+
+    @Test
+    public void testSelectsFailedIterationsOnly() {
+        CSFeatureFile feature = new CSFeatureFile();
+        feature.setName("Login");
+        List<Object[]> testData = new ArrayList<>();
+        String[] users = {"admin", "guest", "locked", "guest"};
+        for (int i = 0; i < users.length; i++) {
+            String user = users[i];
+            CSFeatureFile.Scenario scenario = new CSFeatureFile.Scenario();
+            scenario.setName("Login with role");
+            scenario.setExampleIndex(i + 1);
+            Map<String, String> row = new HashMap<>();
+            row.put("user", user);
+            scenario.setDataRow(row);
+            testData.add(new Object[]{"features/login.feature", feature, scenario});
+        }
+        CSFeatureFile.Scenario plain = new CSFeatureFile.Scenario();
+        plain.setName("Logout");
+        testData.add(new Object[]{"features/login.feature", feature, plain});
+
+        List<CSTestResult> previous = new ArrayList<>();
+        previous.add(result("Login with role_Iteration1", "admin", CSTestResult.Status.PASSED));
+        previous.add(result("Login with role_Iteration2", "guest", CSTestResult.Status.PASSED));
+        previous.add(result("Login with role_Iteration3", "locked", CSTestResult.Status.PASSED));
+        previous.add(result("Login with role_Iteration4", "guest", CSTestResult.Status.FAILED));
+        previous.add(result("Logout", null, CSTestResult.Status.FAILED));
+        previous.add(result("Removed scenario", null, CSTestResult.Status.FAILED));
+        CSReportData previousRun = new CSReportData();
+        previousRun.buildFrom(previous);
+
+        CSRerunSelector selector = new CSRerunSelector(previousRun, EnumSet.of(CSTestResult.Status.FAILED));
+        List<Object[]> selected = selector.select(testData);
+
+        Assert.assertEquals(selected.size(), 2);
+        CSFeatureFile.Scenario guest = (CSFeatureFile.Scenario) selected.get(0)[2];
+        // The same data row appears twice - the Examples row index picks the one that failed
+        Assert.assertEquals(guest.getDataRow().get("user"), "guest");
+        Assert.assertEquals(guest.getExampleIndex(), 4);
+        Assert.assertEquals(selector.getOriginal(guest).getScenarioName(), "Login with role_Iteration4");
+        Assert.assertSame(selected.get(1)[2], plain);
+        // Three passed iterations plus the failure whose scenario no longer exists
+        Assert.assertEquals(selector.getCarriedOverResults().size(), 4);
+    }
+
+    private static CSTestResult result(String scenarioName, String user, CSTestResult.Status status) {
+        CSTestResult result = new CSTestResult();
+        result.setTestName("Login - " + scenarioName);
+        result.setScenarioName(scenarioName);
+        result.setFeatureFile("login.feature");
+        result.setStatus(status);
+        if (user != null) {
+            Map<String, Object> testData = new HashMap<>();
+            testData.put("user", user);
+            testData.put("dataSourceType", "CSV");
+            testData.put("dataSourceFile", "users.csv");
+            result.setTestData(testData);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,127 @@
+package com.testforge.cs.bdd;
+
+import com.testforge.cs.reporting.CSTestDurationHistory;
+import com.testforge.cs.reporting.CSTestExecutionHistory;
+import com.testforge.cs.reporting.CSTestResult;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test class for CSScenarioScheduler
+ * Verifies longest-first and failure-first ordering from run history
+ */
+public class CSScenarioSchedulerTest {
+
+    @Test
+    public void testLongestScenariosRunFirst() throws Exception {
+        Path historyFile = Files.createTempFile("cs-durations", ".dat");
+        Files.write(historyFile, Arrays.asList(
+            "Checkout - Short:1000:3",
+            "Checkout - Long:20000:3",
+            "Checkout - Medium:5000:3"));
+
+        CSFeatureFile feature = new CSFeatureFile();
+        feature.setName("Checkout");
+        List<Object[]> testData = new ArrayList<>();
+        for (String name : Arrays.asList("Short", "New", "Long", "Medium")) {
+            CSFeatureFile.Scenario scenario = new CSFeatureFile.Scenario();
+            scenario.setName(name);
+            testData.add(new Object[]{"checkout.feature", feature, scenario});
+        }
+
+        CSScenarioScheduler scheduler = new CSScenarioScheduler(new CSTestDurationHistory(historyFile, 0.5), 2);
+        List<Object[]> ordered = scheduler.schedule(testData);
+
+        List<String> names = new ArrayList<>();
+        for (Object[] row : ordered) {
+            names.add(((CSFeatureFile.Scenario) row[2]).getName());
+        }
+        // "New" has no history and is estimated with the average of the known scenarios (8666ms)
+        Assert.assertEquals(names, Arrays.asList("Long", "New", "Medium", "Short"));
+        Assert.assertEquals(scheduler.getPredictedMakespan(), 20000);
+
+        Files.deleteIfExists(historyFile);
+    }
+
+    @Test
+    public void testHistoryMergesIterations() throws Exception {
+        Path historyFile = Files.createTempFile("cs-durations", ".dat");
+        Files.delete(historyFile);
+
+        List<CSTestResult> results = new ArrayList<>();
+        for (long duration : new long[]{1000, 3000}) {
+            CSTestResult result = new CSTestResult();
+            result.setTestName("Login - Valid user_Iteration" + (results.size() + 1));
+            result.setStatus(CSTestResult.Status.PASSED);
+            result.setDuration(duration);
+            results.add(result);
+        }
+        new CSTestDurationHistory(historyFile, 0.5).update(results);
+
+        CSTestDurationHistory reloaded = new CSTestDurationHistory(historyFile, 0.5);
+        Assert.assertEquals(reloaded.getEstimate("Login - Valid user"), 2000);
+        Assert.assertEquals(reloaded.getEstimate("Login - Valid user_Iteration7"), 2000);
+        Assert.assertEquals(reloaded.getEstimate("Login - Unknown"), -1);
+
+        Files.deleteIfExists(historyFile);
+    }
+
+    @Test
+    public void testInvalidHistoryLinesAreSkipped() throws Exception {
+        Path historyFile = Files.createTempFile("cs-durations", ".dat");
+        byte[] invalidUtf8 = {'B', 'a', 'd', (byte) 0xC3, (byte) 0x28, ':', '1', ':', '1', '\n'};
+        Files.write(historyFile, ("Cart - Add:4000:2\n"
+            + "garbage\n"
+            + "Cart - Remove:abc:2\n").getBytes(StandardCharsets.UTF_8));
+        Files.write(historyFile, invalidUtf8, StandardOpenOption.APPEND);
+        Files.write(historyFile, "Cart - Pay:9000:1\n".getBytes(StandardCharsets.UTF_8),
+            StandardOpenOption.APPEND);
+
+        CSTestDurationHistory history = new CSTestDurationHistory(historyFile, 0.5);
+        Assert.assertEquals(history.getEstimate("Cart - Add"), 4000);
+        Assert.assertEquals(history.getEstimate("Cart - Pay"), 9000);
+        Assert.assertEquals(history.getEstimate("Cart - Remove"), -1);
+
+        Files.deleteIfExists(historyFile);
+    }
+
+    @Test
+    public void testFailuresFirst() {
+        Map<String, List<Boolean>> history = new HashMap<>();
+        history.put("Orders - Stable", Arrays.asList(true, true, true));
+        history.put("Orders - Broken_Iteration2", Arrays.asList(true, true, false));
+        history.put("Orders - Flaky", Arrays.asList(true, false, true));
+        // Failed in its own last run, but was not part of the most recent run
+        history.put("Orders - Retired", Arrays.asList(false, false));
+        Map<String, Boolean> lastRun = new HashMap<>();
+        lastRun.put("Orders - Stable", true);
+        lastRun.put("Orders - Broken_Iteration2", false);
+        lastRun.put("Orders - Flaky", true);
+
+        CSFeatureFile feature = new CSFeatureFile();
+        feature.setName("Orders");
+        List<Object[]> testData = new ArrayList<>();
+        for (String name : Arrays.asList("Stable", "Retired", "Flaky", "Broken")) {
+            CSFeatureFile.Scenario scenario = new CSFeatureFile.Scenario();
+            scenario.setName(name);
+            testData.add(new Object[]{"orders.feature", feature, scenario});
+        }
+
+        CSScenarioScheduler scheduler = new CSScenarioScheduler(new CSTestDurationHistory(Path.of("target", "none.dat"), 0.5), 1);
+        List<Object[]> ordered = scheduler.order(testData, true, new CSTestExecutionHistory(history, lastRun), 5);
+        Assert.assertEquals(((CSFeatureFile.Scenario) ordered.get(0)[2]).getName(), "Broken");
+        Assert.assertEquals(((CSFeatureFile.Scenario) ordered.get(1)[2]).getName(), "Flaky");
+        Assert.assertEquals(((CSFeatureFile.Scenario) ordered.get(2)[2]).getName(), "Stable");
+        Assert.assertEquals(((CSFeatureFile.Scenario) ordered.get(3)[2]).getName(), "Retired");
+    }
+}
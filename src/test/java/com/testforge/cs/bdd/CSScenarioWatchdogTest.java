@@ -0,0 +1,61 @@
+package com.testforge.cs.bdd;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Test class for CSScenarioWatchdog
+ * Verifies that an exceeded budget interrupts the worker and records diagnostics
+ */
+public class CSScenarioWatchdogTest {
+
+    private final Path diagnostics = Paths.get("target", "watchdog-test");
+
+    @Test
+    public void testStepBudgetInterruptsWorker() throws Exception {
+        CSScenarioWatchdog watchdog = new CSScenarioWatchdog(0, 200, 20, diagnostics);
+        CSScenarioWatchdog.Watch watch = watchdog.start("Slow scenario", Collections.emptyList(), null);
+        boolean interrupted = false;
+        try {
+            watch.stepStarted("When the server hangs");
+            Thread.sleep(10000);
+        } catch (InterruptedException e) {
+            interrupted = true;
+        } finally {
+            watch.close();
+        }
+
+        Assert.assertTrue(interrupted);
+        Assert.assertTrue(watch.isExpired());
+        Assert.assertTrue(watch.getExpiredReason().contains("When the server hangs"));
+        Assert.assertNotNull(watch.getDiagnosticsPath());
+        String report = new String(Files.readAllBytes(Paths.get(watch.getDiagnosticsPath(), "diagnostics.txt")));
+        Assert.assertTrue(report.contains("Current step: When the server hangs"));
+        Assert.assertFalse(Thread.currentThread().isInterrupted());
+        Assert.assertNull(CSScenarioWatchdog.current());
+    }
+
+    @Test
+    public void testTimeoutTagOverridesBudget() throws Exception {
+        CSScenarioWatchdog watchdog = new CSScenarioWatchdog(60000, 0, 20, diagnostics);
+        CSScenarioWatchdog.Watch watch = watchdog.start("Tagged scenario", Arrays.asList("@smoke", "@timeout:0"), null);
+        try {
+            Thread.sleep(100);
+        } finally {
+            watch.close();
+        }
+        Assert.assertFalse(watch.isExpired());
+    }
+
+    @Test
+    public void testMaxScenarioTimeCoversBudgetAndDiagnostics() {
+        Assert.assertEquals(new CSScenarioWatchdog(0, 0, 20, diagnostics).getMaxScenarioMillis(), 0);
+        Assert.assertEquals(new CSScenarioWatchdog(300000, 0, 20, diagnostics).getMaxScenarioMillis(), 310000);
+    }
+}
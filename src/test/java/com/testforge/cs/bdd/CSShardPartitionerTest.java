@@ -0,0 +1,48 @@
+package com.testforge.cs.bdd;
+
+import com.testforge.cs.reporting.CSTestDurationHistory;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test class for CSShardPartitioner
+ * Verifies every scenario lands on exactly one shard, independent of discovery order
+ */
+public class CSShardPartitionerTest {
+
+    @Test
+    public void testEveryScenarioOnExactlyOneShard() {
+        CSFeatureFile feature = new CSFeatureFile();
+        feature.setName("Catalog");
+        List<Object[]> testData = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            CSFeatureFile.Scenario scenario = new CSFeatureFile.Scenario();
+            scenario.setName("Scenario " + i);
+            testData.add(new Object[]{"catalog" + (i % 3) + ".feature", feature, scenario});
+        }
+        List<Object[]> shuffled = new ArrayList<>(testData);
+        Collections.reverse(shuffled);
+
+        CSTestDurationHistory history = new CSTestDurationHistory(Path.of("target", "none.dat"), 0.5);
+        for (CSShardPartitioner.Strategy strategy : CSShardPartitioner.Strategy.values()) {
+            Map<Object[], Integer> seen = new IdentityHashMap<>();
+            for (int shard = 0; shard < 3; shard++) {
+                List<Object[]> selected = new CSShardPartitioner(shard, 3, strategy).select(testData, history);
+                List<Object[]> selectedShuffled = new CSShardPartitioner(shard, 3, strategy).select(shuffled, history);
+                Assert.assertEquals(selectedShuffled.size(), selected.size(), strategy + " depends on discovery order");
+                for (Object[] row : selected) {
+                    Assert.assertNull(seen.put(row, shard), strategy + " assigned a scenario twice");
+                    Assert.assertTrue(selectedShuffled.contains(row), strategy + " depends on discovery order");
+                }
+            }
+            Assert.assertEquals(seen.size(), testData.size(), strategy + " dropped scenarios");
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.testforge.cs.config;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test class for CSRepositorySnapshot
+ * Verifies per-source round trips, staleness checks and rewriting a loaded snapshot
+ */
+public class CSRepositorySnapshotTest {
+
+    @Test
+    public void testRoundTripPerSourceAndRewriteAfterLoad() throws Exception {
+        Path dir = Files.createTempDirectory("cs-snapshot");
+        Path first = Files.write(dir.resolve("a.properties"), Arrays.asList("login.user=id:user"));
+        Path second = Files.write(dir.resolve("b.properties"), Arrays.asList("login.user=id:override"));
+        Path snapshot = dir.resolve("repo.snapshot");
+        List<Path> sources = Arrays.asList(first, second);
+
+        Map<String, String> a = new LinkedHashMap<>();
+        a.put("login.user", "id:user");
+        a.put("login.pass", "id:pass");
+        Map<String, String> b = new LinkedHashMap<>();
+        b.put("login.user", "id:override");
+        CSRepositorySnapshot.write(snapshot, sources, Arrays.asList(a, b));
+
+        List<Map<String, String>> loaded = CSRepositorySnapshot.load(snapshot, sources);
+        Assert.assertEquals(loaded, Arrays.asList(a, b));
+
+        // The loaded snapshot holds no file handle, so it can be replaced right away
+        b.put("login.submit", "css:button");
+        CSRepositorySnapshot.write(snapshot, sources, Arrays.asList(a, b));
+        Assert.assertEquals(CSRepositorySnapshot.load(snapshot, sources).get(1).get("login.submit"), "css:button");
+
+        // A changed source makes the snapshot stale
+        Files.write(second, Arrays.asList("login.user=id:changed", "extra=x"));
+        Assert.assertNull(CSRepositorySnapshot.load(snapshot, sources));
+        Assert.assertNull(CSRepositorySnapshot.load(snapshot, Arrays.asList(first)));
+    }
+}
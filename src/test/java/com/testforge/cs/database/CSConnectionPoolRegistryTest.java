@@ -0,0 +1,102 @@
+package com.testforge.cs.database;
+
+import com.testforge.cs.utils.CSDbUtils;
+import com.zaxxer.hikari.HikariConfig;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Test class for CSConnectionPoolRegistry
+ * Verifies that names pointing at the same database share one pool, that borrows are measured
+ * that a pool stays open while any owner holds it and that a name registered for another
+ * database moves to a pool for it
+ */
+public class CSConnectionPoolRegistryTest {
+
+    @Test
+    public void testSameDatabaseSharesOnePool() {
+        for (String name : new String[]{"registryA", "registryB"}) {
+            System.setProperty("cs.db." + name + ".type", "h2");
+            System.setProperty("cs.db." + name + ".name", "registrytest");
+            System.setProperty("cs.db." + name + ".username", "sa");
+            System.setProperty("cs.db." + name + ".password", "");
+        }
+        CSConnectionPoolRegistry registry = CSConnectionPoolRegistry.getInstance();
+
+        Assert.assertSame(registry.getDataSource("registryA"), CSDbUtils.getDataSource("registryB"));
+        Assert.assertEquals(CSDbUtils.getSingleValue("registryA", "SELECT 1", Integer.class).intValue(), 1);
+        Assert.assertEquals(CSDbUtils.getSingleValue("registryB", "SELECT 2", Integer.class).intValue(), 2);
+
+        CSConnectionPoolRegistry.PoolMetrics metrics = registry.getMetrics().stream()
+            .filter(m -> m.getDatabaseNames().contains("registryA"))
+            .findFirst().orElseThrow();
+        Assert.assertEquals(metrics.getDatabaseNames().size(), 2);
+        Assert.assertTrue(metrics.getBorrows() >= 2, "borrows were " + metrics.getBorrows());
+        Assert.assertTrue(registry.getMetricsSummary().containsKey("db.pool." + metrics.getPoolName()));
+
+        // The pool stays open until its last name is released
+        registry.close("registryA");
+        Assert.assertEquals(CSDbUtils.getSingleValue("registryB", "SELECT 3", Integer.class).intValue(), 3);
+        registry.close("registryB");
+        List<CSConnectionPoolRegistry.PoolMetrics> remaining = registry.getMetrics();
+        Assert.assertTrue(remaining.stream().noneMatch(m -> m.getPoolName().equals(metrics.getPoolName())));
+    }
+
+    @Test
+    public void testOwnerCloseKeepsPoolForOtherUsers() {
+        System.setProperty("cs.db.registryOwned.type", "h2");
+        System.setProperty("cs.db.registryOwned.name", "registryowned");
+        System.setProperty("cs.db.registryOwned.username", "sa");
+        System.setProperty("cs.db.registryOwned.password", "");
+        CSConnectionPoolRegistry registry = CSConnectionPoolRegistry.getInstance();
+
+        // An owner such as CSDatabaseManager holds the name while CSDbUtils uses it implicitly
+        DataSource owned = registry.acquire("registryOwned");
+        Assert.assertEquals(CSDbUtils.getSingleValue("registryOwned", "SELECT 1", Integer.class).intValue(), 1);
+
+        // A later registration with other settings joins the existing pool unchanged
+        HikariConfig other = new HikariConfig();
+        other.setJdbcUrl(registry.getHikariDataSource("registryOwned").getJdbcUrl());
+        other.setUsername("sa");
+        other.setMaximumPoolSize(2);
+        Assert.assertSame(registry.register("registryOwned", other), owned);
+        registry.close("registryOwned");
+
+        registry.close("registryOwned");
+        Assert.assertTrue(registry.isRegistered("registryOwned"));
+        Assert.assertEquals(CSDbUtils.getSingleValue("registryOwned", "SELECT 2", Integer.class).intValue(), 2);
+
+        // The implicit hold is the last one
+        registry.close("registryOwned");
+        Assert.assertFalse(registry.isRegistered("registryOwned"));
+    }
+
+    @Test
+    public void testRegisterForAnotherDatabaseMovesTheName() {
+        System.setProperty("cs.db.registryMoved.type", "h2");
+        System.setProperty("cs.db.registryMoved.name", "registrymovedold");
+        System.setProperty("cs.db.registryMoved.username", "sa");
+        System.setProperty("cs.db.registryMoved.password", "");
+        CSConnectionPoolRegistry registry = CSConnectionPoolRegistry.getInstance();
+        DataSource old = registry.getDataSource("registryMoved");
+        CSDbUtils.executeUpdate("registryMoved", "CREATE TABLE registry_moved_old (id INT)");
+
+        // Another holder registers the name for a different database while the implicit hold is open
+        HikariConfig moved = new HikariConfig();
+        moved.setJdbcUrl("jdbc:h2:mem:registrymovednew;DB_CLOSE_DELAY=-1");
+        moved.setUsername("sa");
+        DataSource registered = registry.register("registryMoved", moved);
+
+        Assert.assertNotSame(registered, old);
+        Assert.assertSame(registry.getDataSource("registryMoved"), registered);
+        Assert.assertEquals(CSDbUtils.getSingleValue("registryMoved",
+            "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = 'REGISTRY_MOVED_OLD'", Integer.class).intValue(), 0);
+
+        registry.close("registryMoved");
+        registry.close("registryMoved");
+        Assert.assertFalse(registry.isRegistered("registryMoved"));
+    }
+}
@@ -0,0 +1,51 @@
+package com.testforge.cs.database;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Test class for CSNamedParameterSql
+ * Verifies :name rewriting outside literals, comments and casts, and positional binding
+ */
+public class CSNamedParameterSqlTest {
+
+    @Test
+    public void testRewritesNamedParameters() {
+        CSNamedParameterSql sql = CSNamedParameterSql.parse(
+            "SELECT * FROM users WHERE id = :id AND (owner = :user OR editor = :user) AND created > :since::date");
+
+        Assert.assertEquals(sql.getJdbcSql(),
+            "SELECT * FROM users WHERE id = ? AND (owner = ? OR editor = ?) AND created > ?::date");
+        Assert.assertEquals(sql.getParameterNames(), Arrays.asList("id", "user", "user", "since"));
+
+        Map<String, Object> values = new HashMap<>();
+        values.put("id", 7);
+        values.put("user", "alice");
+        Assert.assertEquals(sql.bind(values), new Object[]{7, "alice", "alice", null});
+    }
+
+    @Test
+    public void testIgnoresLiteralsAndComments() {
+        String text = "SELECT ':not', \"a:b\", 'it''s :x' -- :comment\n/* :block */ FROM t WHERE c = :real";
+        CSNamedParameterSql sql = CSNamedParameterSql.parse(text);
+
+        Assert.assertEquals(sql.getParameterNames(), Arrays.asList("real"));
+        Assert.assertEquals(sql.getJdbcSql(), text.replace(":real", "?"));
+    }
+
+    @Test
+    public void testDefinitionCachesParsedSql() {
+        CSQueryDefinition definition = new CSQueryDefinition("byStatus", "SELECT * FROM orders WHERE status = :status");
+        CSNamedParameterSql parsed = definition.getParsedSql();
+        Assert.assertSame(definition.getParsedSql(), parsed);
+
+        definition.setSql("SELECT * FROM orders WHERE id = ? AND region = ?");
+        Assert.assertNotSame(definition.getParsedSql(), parsed);
+        Assert.assertTrue(definition.getParsedSql().getParameterNames().isEmpty());
+        Assert.assertEquals(definition.getParsedSql().getPositionalParameterCount(), 2);
+    }
+}
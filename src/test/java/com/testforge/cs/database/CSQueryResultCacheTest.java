@@ -0,0 +1,97 @@
+package com.testforge.cs.database;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tests for CSQueryResultCache
+ */
+public class CSQueryResultCacheTest {
+
+    @Test
+    public void testTablesReadBy() {
+        Assert.assertEquals(CSQueryResultCache.tablesReadBy(
+            "SELECT c.name FROM ref.countries c JOIN currencies AS cur ON cur.code = c.currency WHERE c.code = ?"),
+            Set.of("countries", "currencies"));
+        Assert.assertEquals(CSQueryResultCache.tablesReadBy("SELECT * FROM a x, \"B\" WHERE x.id = 'from z'"),
+            Set.of("a", "b"));
+        Assert.assertEquals(CSQueryResultCache.tablesReadBy(
+            "SELECT * FROM (SELECT id FROM orders) o LEFT JOIN items i ON i.order_id = o.id"),
+            Set.of("orders", "items"));
+    }
+
+    @Test
+    public void testTablesWrittenBy() {
+        Assert.assertEquals(CSQueryResultCache.tablesWrittenBy("INSERT INTO dbo.[Countries] (code) VALUES (?)"),
+            Set.of("countries"));
+        Assert.assertEquals(CSQueryResultCache.tablesWrittenBy("update countries set name = ?"), Set.of("countries"));
+        Assert.assertEquals(CSQueryResultCache.tablesWrittenBy("DELETE FROM orders WHERE id = ?"), Set.of("orders"));
+        Assert.assertEquals(CSQueryResultCache.tablesWrittenBy("TRUNCATE TABLE orders"), Set.of("orders"));
+        Assert.assertNull(CSQueryResultCache.tablesWrittenBy("CALL refresh_all()"));
+    }
+
+    @Test
+    public void testWriteEvictsOnlyEntriesReadingTheTable() {
+        CSQueryResultCache cache = new CSQueryResultCache(true, 10, 60000, "countries");
+        String countries = CSQueryResultCache.key("default", "countryName", Map.of("code", "GB"));
+        String orders = CSQueryResultCache.key("default", "orderCount", new Object[]{42});
+        cache.put(countries, "United Kingdom", 0, Set.of("countries"));
+        cache.put(orders, 7, 0, Set.of("orders"));
+
+        cache.invalidateFor("UPDATE countries SET name = ? WHERE code = ?");
+        Assert.assertNull(cache.get(countries));
+        Assert.assertEquals(cache.get(orders), 7);
+
+        cache.invalidateFor("CALL refresh_all()");
+        Assert.assertEquals(cache.size(), 0);
+    }
+
+    @Test
+    public void testReadAcrossInvalidationIsNotStored() {
+        CSQueryResultCache cache = new CSQueryResultCache(true, 10, 60000, "countries");
+        String countries = CSQueryResultCache.key("default", "countryName", Map.of("code", "GB"));
+
+        // A write lands between the reader's miss and its put, with nothing cached to evict
+        long readGeneration = cache.generation();
+        cache.invalidateFor("UPDATE countries SET name = ? WHERE code = ?");
+        cache.put(countries, "Great Britain", 0, Set.of("countries"), readGeneration);
+        Assert.assertNull(cache.get(countries));
+
+        readGeneration = cache.generation();
+        cache.put(countries, "United Kingdom", 0, Set.of("countries"), readGeneration);
+        Assert.assertEquals(cache.get(countries), "United Kingdom");
+
+        readGeneration = cache.generation();
+        cache.clear();
+        cache.put(countries, "Great Britain", 0, Set.of("countries"), readGeneration);
+        Assert.assertEquals(cache.size(), 0);
+    }
+
+    @Test
+    public void testLruEvictionAndExpiry() throws InterruptedException {
+        CSQueryResultCache cache = new CSQueryResultCache(true, 2, 60000, "");
+        cache.put("a", 1, 0, Set.of());
+        cache.put("b", 2, 0, Set.of());
+        cache.get("a");
+        cache.put("c", 3, 0, Set.of());
+        Assert.assertNull(cache.get("b"));
+        Assert.assertEquals(cache.get("a"), 1);
+        Assert.assertEquals(cache.getEvictions(), 1);
+
+        cache.put("d", 4, 1, Set.of());
+        Thread.sleep(5);
+        Assert.assertNull(cache.get("d"));
+    }
+
+    @Test
+    public void testReferenceTableCheck() {
+        CSQueryResultCache cache = new CSQueryResultCache(true, 10, 60000, "countries, ref.currencies");
+        Assert.assertTrue(cache.readsOnlyReferenceTables("SELECT name FROM countries WHERE code = ?"));
+        Assert.assertFalse(cache.readsOnlyReferenceTables(
+            "SELECT o.id FROM orders o JOIN countries c ON c.code = o.country"));
+        Assert.assertFalse(cache.readsOnlyReferenceTables("SELECT 1"));
+    }
+}
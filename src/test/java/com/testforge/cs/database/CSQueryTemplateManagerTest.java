@@ -0,0 +1,51 @@
+package com.testforge.cs.database;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Test class for CSQueryTemplateManager
+ * Verifies that cached renders are keyed by the full template data
+ */
+public class CSQueryTemplateManagerTest {
+
+    @Test
+    public void testRenderCacheDistinguishesData() {
+        CSQueryTemplateManager templates = CSQueryTemplateManager.getInstance();
+        templates.addTemplate("activeFilter", "{{#if active}}WHERE active = 1{{/if}}");
+
+        Map<String, Object> booleanFalse = new HashMap<>();
+        booleanFalse.put("active", false);
+        Map<String, Object> stringFalse = new HashMap<>();
+        stringFalse.put("active", "false");
+
+        Assert.assertEquals(templates.processTemplate("activeFilter", booleanFalse), "");
+        Assert.assertEquals(templates.processTemplate("activeFilter", stringFalse), "WHERE active = 1");
+        Assert.assertEquals(templates.processTemplate("activeFilter", booleanFalse), "");
+
+        Map<String, Object> paging = new HashMap<>();
+        paging.put("pageSize", 10);
+        String first = templates.processTemplate("pagination", paging);
+        Assert.assertEquals(first, "LIMIT 10");
+        Assert.assertSame(templates.processTemplate("pagination", new HashMap<>(paging)), first);
+
+        paging.put("offset", 20);
+        Assert.assertEquals(templates.processTemplate("pagination", paging), "LIMIT 10 OFFSET 20");
+
+        Map<String, Object> joins = new HashMap<>();
+        Map<String, Object> customers = new HashMap<>();
+        customers.put("type", "INNER");
+        customers.put("table", "customers c");
+        customers.put("condition", "c.id = o.customer_id");
+        joins.put("joins", Arrays.asList(customers));
+        Assert.assertEquals(templates.processTemplate("dynamicJoins", joins), "INNER JOIN customers c ON c.id = o.customer_id");
+        // Nested data changed in place must not hit the earlier render
+        customers.put("type", "LEFT");
+        Assert.assertEquals(templates.processTemplate("dynamicJoins", joins), "LEFT JOIN customers c ON c.id = o.customer_id");
+        templates.removeTemplate("activeFilter");
+    }
+}
@@ -0,0 +1,140 @@
+package com.testforge.cs.database;
+
+import com.testforge.cs.exceptions.CSDataException;
+import com.testforge.cs.utils.CSDbUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Test class for streamed results and CSResultSetDiff
+ * Runs against an in-memory H2 database with a source and a slightly different target table
+ */
+public class CSResultSetDiffTest {
+    private static final String DB = "difftest";
+    private static final List<String> KEY = Arrays.asList("id");
+
+    @BeforeClass
+    public void setUp() {
+        System.setProperty("cs.db." + DB + ".type", "h2");
+        System.setProperty("cs.db." + DB + ".name", "difftest");
+        System.setProperty("cs.db." + DB + ".username", "sa");
+        System.setProperty("cs.db." + DB + ".password", "");
+        CSDbUtils.executeUpdate(DB, "CREATE TABLE source_orders (id INT PRIMARY KEY, amount DECIMAL(10,2), status VARCHAR(10))");
+        CSDbUtils.executeUpdate(DB, "CREATE TABLE target_orders (id BIGINT PRIMARY KEY, amount DOUBLE, status VARCHAR(10))");
+
+        List<Object[]> source = new ArrayList<>();
+        List<Object[]> target = new ArrayList<>();
+        for (int i = 1; i <= 1000; i++) {
+            source.add(new Object[]{i, new BigDecimal(i + ".50"), "OPEN"});
+            if (i != 500) {
+                target.add(new Object[]{(long) i, i + 0.5, i == 42 ? "CLOSED" : "OPEN"});
+            }
+        }
+        target.add(new Object[]{1001L, 1.0, "OPEN"});
+        CSDbUtils.executeBatch(DB, "INSERT INTO source_orders VALUES (?, ?, ?)", source, 200);
+        CSDbUtils.executeBatch(DB, "INSERT INTO target_orders VALUES (?, ?, ?)", target, 200);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        CSDbUtils.executeUpdate(DB, "DROP TABLE source_orders");
+        CSDbUtils.executeUpdate(DB, "DROP TABLE target_orders");
+        CSConnectionPoolRegistry.getInstance().close(DB);
+    }
+
+    @Test
+    public void testStreamSharesColumns() {
+        List<CSResultRow> rows = new ArrayList<>();
+        long count = CSDbUtils.forEachRow(DB, "SELECT id, status FROM source_orders WHERE id <= ? ORDER BY id", rows::add, 10);
+
+        Assert.assertEquals(count, 10);
+        Assert.assertEquals(((Number) rows.get(9).get("id")).intValue(), 10);
+        Assert.assertSame(rows.get(0).getColumns(), rows.get(9).getColumns());
+        Assert.assertEquals(rows.get(0).toMap().get("STATUS"), "OPEN");
+    }
+
+    @Test
+    public void testSortedDiff() {
+        try (Stream<CSResultRow> source = CSDbUtils.streamQuery(DB, "SELECT * FROM source_orders ORDER BY id");
+             Stream<CSResultRow> target = CSDbUtils.streamQuery(DB, "SELECT * FROM target_orders ORDER BY id")) {
+            assertExpectedDifferences(CSResultSetDiff.diffSorted(source, target, KEY, 10));
+        }
+    }
+
+    @Test
+    public void testUnorderedDiff() {
+        try (Stream<CSResultRow> source = CSDbUtils.streamQuery(DB, "SELECT * FROM source_orders ORDER BY id DESC");
+             Stream<CSResultRow> target = CSDbUtils.streamQuery(DB, "SELECT * FROM target_orders")) {
+            assertExpectedDifferences(CSResultSetDiff.diff(source, target, KEY, 10));
+        }
+    }
+
+    @Test
+    public void testSortedDiffRejectsUnorderedInput() {
+        try (Stream<CSResultRow> source = CSDbUtils.streamQuery(DB, "SELECT * FROM source_orders ORDER BY id DESC");
+             Stream<CSResultRow> target = CSDbUtils.streamQuery(DB, "SELECT * FROM target_orders ORDER BY id")) {
+            Assert.assertThrows(CSDataException.class, () -> CSResultSetDiff.diffSorted(source, target, KEY, 10));
+        }
+    }
+
+    @Test
+    public void testSortedDiffWithKeyOrder() {
+        try (Stream<CSResultRow> source = CSDbUtils.streamQuery(DB, "SELECT * FROM source_orders ORDER BY id DESC");
+             Stream<CSResultRow> target = CSDbUtils.streamQuery(DB, "SELECT * FROM target_orders ORDER BY id DESC")) {
+            assertExpectedDifferences(CSResultSetDiff.diffSorted(source, target, KEY, 10,
+                CSResultSetDiff.KEY_ORDER.reversed()));
+        }
+    }
+
+    @Test
+    public void testRoundNumbersMatchAcrossIntAndDecimal() {
+        CSDbUtils.executeUpdate(DB, "CREATE TABLE int_totals (id INT PRIMARY KEY, total INT)");
+        CSDbUtils.executeUpdate(DB, "CREATE TABLE decimal_totals (id DECIMAL(10,2) PRIMARY KEY, total DOUBLE)");
+        try {
+            CSDbUtils.executeUpdate(DB, "INSERT INTO int_totals VALUES (10, 100), (20, 200), (30, 300)");
+            CSDbUtils.executeUpdate(DB, "INSERT INTO decimal_totals VALUES (10.00, 100.0), (20.00, 200.0), (30.00, 301.0)");
+
+            try (Stream<CSResultRow> left = CSDbUtils.streamQuery(DB, "SELECT * FROM int_totals ORDER BY id");
+                 Stream<CSResultRow> right = CSDbUtils.streamQuery(DB, "SELECT * FROM decimal_totals ORDER BY id")) {
+                assertRoundNumberDifferences(CSResultSetDiff.diffSorted(left, right, KEY, 10));
+            }
+            try (Stream<CSResultRow> left = CSDbUtils.streamQuery(DB, "SELECT * FROM int_totals");
+                 Stream<CSResultRow> right = CSDbUtils.streamQuery(DB, "SELECT * FROM decimal_totals")) {
+                assertRoundNumberDifferences(CSResultSetDiff.diff(left, right, KEY, 10));
+            }
+        } finally {
+            CSDbUtils.executeUpdate(DB, "DROP TABLE int_totals");
+            CSDbUtils.executeUpdate(DB, "DROP TABLE decimal_totals");
+        }
+    }
+
+    private static void assertRoundNumberDifferences(CSResultSetDiff.Result diff) {
+        Assert.assertEquals(diff.getMatched(), 2, diff.toString());
+        Assert.assertEquals(diff.getChanged(), 1);
+        Assert.assertEquals(diff.getOnlyLeft(), 0);
+        Assert.assertEquals(diff.getOnlyRight(), 0);
+        Assert.assertEquals(diff.getSamples().get(0).getKey(), Arrays.asList(new BigDecimal("30")));
+    }
+
+    private static void assertExpectedDifferences(CSResultSetDiff.Result diff) {
+        // INT vs BIGINT keys and DECIMAL vs DOUBLE amounts compare equal after normalization
+        Assert.assertEquals(diff.getMatched(), 998, diff.toString());
+        Assert.assertEquals(diff.getChanged(), 1);
+        Assert.assertEquals(diff.getOnlyLeft(), 1);
+        Assert.assertEquals(diff.getOnlyRight(), 1);
+        CSResultSetDiff.Difference changed = diff.getSamples().stream()
+            .filter(d -> d.getType() == CSResultSetDiff.Difference.Type.CHANGED)
+            .findFirst().orElseThrow();
+        Assert.assertEquals(changed.getKey(), Arrays.asList(BigDecimal.valueOf(42)));
+        Assert.assertEquals(changed.getChangedColumns().keySet(), Collections.singleton("STATUS"));
+    }
+}
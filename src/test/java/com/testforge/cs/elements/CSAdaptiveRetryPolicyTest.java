@@ -0,0 +1,81 @@
+package com.testforge.cs.elements;
+
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Tests for CSAdaptiveRetryPolicy back-off and the CSRetryContext budget
+ */
+public class CSAdaptiveRetryPolicyTest {
+
+    private static final Throwable TIMEOUT = new TimeoutException("still loading");
+
+    @Test
+    public void testBackoffCurveIsCappedAndStopsAtMaxAttempts() {
+        CSAdaptiveRetryPolicy policy = new CSAdaptiveRetryPolicy(6, 100, 2.0, 500, 0.0);
+        Assert.assertEquals(policy.nextDelayMillis(1, TIMEOUT), 100);
+        Assert.assertEquals(policy.nextDelayMillis(2, TIMEOUT), 200);
+        Assert.assertEquals(policy.nextDelayMillis(3, TIMEOUT), 400);
+        Assert.assertEquals(policy.nextDelayMillis(4, TIMEOUT), 500);
+        Assert.assertEquals(policy.nextDelayMillis(5, TIMEOUT), 500);
+        Assert.assertEquals(policy.nextDelayMillis(6, TIMEOUT), -1);
+    }
+
+    @Test
+    public void testJitterStaysWithinBounds() {
+        CSAdaptiveRetryPolicy policy = new CSAdaptiveRetryPolicy(3, 1000, 2.0, 5000, 0.2);
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            long delay = policy.nextDelayMillis(1, TIMEOUT);
+            Assert.assertTrue(delay >= 800 && delay <= 1200, "Delay out of jitter bounds: " + delay);
+            seen.add(delay);
+        }
+        Assert.assertTrue(seen.size() > 1, "Jitter never varied the delay");
+    }
+
+    @Test
+    public void testFailureClassification() {
+        CSAdaptiveRetryPolicy policy = new CSAdaptiveRetryPolicy(3, 100, 2.0, 500, 0.0);
+        Assert.assertEquals(policy.nextDelayMillis(1, new StaleElementReferenceException("detached")), 0);
+        Assert.assertEquals(policy.nextDelayMillis(1,
+            new RuntimeException("wrapped", new NoSuchSessionException("gone"))), -1);
+    }
+
+    @Test
+    public void testNestedScopesShareTheBudget() {
+        Assert.assertEquals(CSRetryContext.remainingMillis(), Long.MAX_VALUE);
+        try (CSRetryContext.Scope outer = CSRetryContext.begin(1000)) {
+            try (CSRetryContext.Scope inner = CSRetryContext.begin(60000)) {
+                Assert.assertTrue(CSRetryContext.remainingMillis() <= 1000);
+            }
+            Assert.assertTrue(CSRetryContext.remainingMillis() <= 1000);
+        }
+        Assert.assertEquals(CSRetryContext.remainingMillis(), Long.MAX_VALUE);
+    }
+
+    @Test
+    public void testPauseHonoursTheBudget() {
+        Assert.assertFalse(CSRetryContext.pause(-1, 0));
+        Assert.assertTrue(CSRetryContext.pause(0, 0));
+
+        try (CSRetryContext.Scope budget = CSRetryContext.begin(300)) {
+            // The full delay would overrun the budget - the wait is cut to what is left after one attempt
+            long start = System.currentTimeMillis();
+            Assert.assertTrue(CSRetryContext.pause(5000, 100));
+            long waited = System.currentTimeMillis() - start;
+            Assert.assertTrue(waited < 1000, "Wait not clamped to the budget: " + waited + "ms");
+            Assert.assertTrue(CSRetryContext.remainingMillis() >= 0);
+
+            // Not even one more attempt of the last one's length fits
+            start = System.currentTimeMillis();
+            Assert.assertFalse(CSRetryContext.pause(10, 5000));
+            Assert.assertTrue(System.currentTimeMillis() - start < 1000);
+        }
+    }
+}
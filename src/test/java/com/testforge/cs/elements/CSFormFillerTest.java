@@ -0,0 +1,209 @@
+package com.testforge.cs.elements;
+
+import com.testforge.cs.driver.CSWebDriverManager;
+import com.testforge.cs.reporting.CSReportManager;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Test class for CSFormFiller
+ * Runs against a scripted stand-in driver: verifies that fields the batch script hands back go
+ * through the regular CSElement methods and that batched fields are reported like native ones
+ */
+public class CSFormFillerTest {
+    private final List<String> calls = new ArrayList<>();
+    private final Deque<List<String>> scriptResults = new ArrayDeque<>();
+    private final List<List<?>> scriptSpecs = new ArrayList<>();
+
+    @BeforeMethod
+    public void setUp() {
+        calls.clear();
+        scriptResults.clear();
+        scriptSpecs.clear();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        System.clearProperty("cs.form.batch.js.enabled");
+    }
+
+    @Test
+    public void testBatchedFieldsAreReportedLikeNativeCalls() throws Exception {
+        onOwnThread(this::reportsLikeNativeCalls);
+    }
+
+    private void reportsLikeNativeCalls() {
+        CSWebDriverManager.setDriver(fakeDriver());
+
+        System.setProperty("cs.form.batch.js.enabled", "false");
+        List<String> nativeEntries = fill();
+        Assert.assertTrue(scriptSpecs.isEmpty());
+
+        System.clearProperty("cs.form.batch.js.enabled");
+        scriptResults.add(Arrays.asList("ok", "ok", "ok", "ok"));
+        List<String> batchedEntries = fill();
+        Assert.assertEquals(scriptSpecs.size(), 1);
+
+        Assert.assertEquals(batchedEntries, nativeEntries);
+        Assert.assertTrue(batchedEntries.contains("selectByVisibleText|Select by text|Country|Norway"), batchedEntries.toString());
+    }
+
+    @Test
+    public void testFieldTheScriptCannotUseGoesNative() throws Exception {
+        onOwnThread(this::hiddenFieldGoesNative);
+    }
+
+    private void hiddenFieldGoesNative() {
+        CSWebDriverManager.setDriver(fakeDriver());
+        // The second field is hidden: the script stops there and the rest is sent in a new batch
+        scriptResults.add(Arrays.asList("ok", "native:not displayed"));
+        scriptResults.add(Collections.singletonList("ok"));
+
+        new CSFormFiller()
+            .type(element("first"), "Ada")
+            .type(element("token"), "secret")
+            .type(element("last"), "Lovelace")
+            .execute();
+
+        Assert.assertEquals(scriptSpecs.size(), 2);
+        Assert.assertEquals(scriptSpecs.get(0).size(), 3);
+        Assert.assertEquals(scriptSpecs.get(1).size(), 1);
+        Assert.assertEquals(calls, Arrays.asList("clear", "sendKeys:secret"));
+    }
+
+    /**
+     * The driver and report step are thread-local, so each test gets a thread of its own
+     */
+    private static void onOwnThread(Runnable body) throws Exception {
+        Throwable[] failure = new Throwable[1];
+        Thread thread = new Thread(() -> {
+            try {
+                body.run();
+            } catch (Throwable t) {
+                failure[0] = t;
+            }
+        }, "form-filler-test");
+        thread.start();
+        thread.join();
+        if (failure[0] instanceof Error) {
+            throw (Error) failure[0];
+        }
+        if (failure[0] != null) {
+            throw (Exception) failure[0];
+        }
+    }
+
+    private List<String> fill() {
+        CSReportManager.startStep("When", "I fill the form");
+        new CSFormFiller()
+            .type(element("name"), "Ada")
+            .select(element("country"), "Norway")
+            .selectByValue(element("plan"), "pro")
+            .check(element("terms"))
+            .execute();
+        CSReportManager.endStep();
+        return CSReportManager.getLastStepActions().stream()
+            .map(CSFormFillerTest::entry)
+            .collect(Collectors.toList());
+    }
+
+    private static String entry(Map<String, Object> action) {
+        return action.get("actionType") + "|" + action.get("description") + "|" + action.get("target") + "|"
+            + action.get("value");
+    }
+
+    private CSElement element(String id) {
+        String description = Character.toUpperCase(id.charAt(0)) + id.substring(1);
+        return new CSElement(CSWebDriverManager.getDriver(), By.id(id), description);
+    }
+
+    private WebDriver fakeDriver() {
+        return (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[]{WebDriver.class, JavascriptExecutor.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getTitle":
+                        return "Form";
+                    case "findElement":
+                        return fakeElement(((By) args[0]).toString());
+                    case "executeScript":
+                        scriptSpecs.add((List<?>) ((Object[]) args[1])[0]);
+                        return scriptResults.poll();
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    default:
+                        return null;
+                }
+            });
+    }
+
+    private WebElement fakeElement(String locator) {
+        boolean select = locator.contains("country") || locator.contains("plan");
+        return (WebElement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{WebElement.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getTagName":
+                        return select ? "select" : "input";
+                    case "isEnabled":
+                    case "isDisplayed":
+                        return true;
+                    case "isSelected":
+                        return false;
+                    case "findElements":
+                        // A select's options: one option matching whatever is asked for
+                        return Collections.singletonList(fakeOption());
+                    case "clear":
+                    case "click":
+                        calls.add(method.getName());
+                        return null;
+                    case "sendKeys":
+                        calls.add("sendKeys:" + String.join("", (CharSequence[]) args[0]));
+                        return null;
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    default:
+                        return null;
+                }
+            });
+    }
+
+    private WebElement fakeOption() {
+        return (WebElement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{WebElement.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "isEnabled":
+                    case "isDisplayed":
+                        return true;
+                    case "isSelected":
+                        return false;
+                    case "getTagName":
+                        return "option";
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    default:
+                        return null;
+                }
+            });
+    }
+}
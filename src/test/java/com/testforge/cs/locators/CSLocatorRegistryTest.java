@@ -0,0 +1,59 @@
+package com.testforge.cs.locators;
+
+import org.openqa.selenium.By;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for CSLocatorRegistry
+ * Verifies the shared locator grammar and caching
+ */
+public class CSLocatorRegistryTest {
+
+    @Test
+    public void testTypedLocators() {
+        Assert.assertEquals(CSLocatorRegistry.getBy("id:username"), By.id("username"));
+        Assert.assertEquals(CSLocatorRegistry.getBy("css:input[name='q']"), By.cssSelector("input[name='q']"));
+        Assert.assertEquals(CSLocatorRegistry.getBy("xpath://div[@id='a:b']"), By.xpath("//div[@id='a:b']"));
+        Assert.assertEquals(CSLocatorRegistry.getBy("className:btn"), By.className("btn"));
+        Assert.assertEquals(CSLocatorRegistry.getBy("partialLink:Sign"), By.partialLinkText("Sign"));
+    }
+
+    @Test
+    public void testSeleniumToStringFormat() {
+        By original = By.xpath("//table[@id='resultsTable']");
+        CSParsedLocator parsed = CSLocatorRegistry.of(original);
+        Assert.assertNotNull(parsed);
+        Assert.assertEquals(parsed.getBy(), original);
+        Assert.assertEquals(parsed.getJsStrategy(), "xpath");
+    }
+
+    @Test
+    public void testUntypedLocatorsAreGuessed() {
+        Assert.assertEquals(CSLocatorRegistry.getBy("//button[text()='Login']"), By.xpath("//button[text()='Login']"));
+        Assert.assertEquals(CSLocatorRegistry.getBy("#main .title"), By.cssSelector("#main .title"));
+        Assert.assertEquals(CSLocatorRegistry.getBy("a:hover"), By.cssSelector("a:hover"));
+        Assert.assertEquals(CSLocatorRegistry.getBy("submitButton"), By.id("submitButton"));
+
+        // Repository keys are not treated as typed locators
+        Assert.assertNull(CSLocatorRegistry.parseTyped("login.username.field"));
+    }
+
+    @Test
+    public void testParsedLocatorsAreShared() {
+        CSParsedLocator first = CSLocatorRegistry.parse("name:email");
+        CSParsedLocator second = CSLocatorRegistry.parse("name:email");
+        Assert.assertSame(first, second);
+        Assert.assertSame(first.getBy(), second.getBy());
+    }
+
+    @Test
+    public void testJavaScriptForm() {
+        CSParsedLocator link = CSLocatorRegistry.parse("link:Don't panic");
+        Assert.assertEquals(link.getJsStrategy(), "xpath");
+        Assert.assertEquals(link.getJsSelector(), "//a[normalize-space(.)=\"Don't panic\"]");
+
+        CSParsedLocator className = CSLocatorRegistry.parse("class:primary");
+        Assert.assertEquals(className.getJsSelector(), ".primary");
+    }
+}
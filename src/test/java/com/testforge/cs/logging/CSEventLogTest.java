@@ -0,0 +1,34 @@
+package com.testforge.cs.logging;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+/**
+ * Test class for CSEventLog
+ * Verifies the default gates and that flush() returns once a parked writer has written new events
+ */
+public class CSEventLogTest {
+
+    @Test
+    public void testStepAndActionEventsAreWrittenByDefault() throws Exception {
+        Assert.assertTrue(CSEventLog.isEnabled(CSEventLog.Category.STEP, CSEventLog.Level.DEBUG));
+        Assert.assertTrue(CSEventLog.isEnabled(CSEventLog.Category.ACTION, CSEventLog.Level.DEBUG));
+        Assert.assertNotNull(CSEventLog.getEventFile());
+
+        // Let the writer go idle and park before the next events arrive
+        Assert.assertTrue(CSEventLog.flush(2000));
+        Thread.sleep(50);
+        for (int i = 0; i < 3; i++) {
+            CSEventLog.event(CSEventLog.Category.ACTION, CSEventLog.Level.DEBUG, "action", "type", "CLICK", "index", i);
+            Thread.sleep(20);
+        }
+        Assert.assertTrue(CSEventLog.flush(2000));
+
+        List<String> lines = Files.readAllLines(CSEventLog.getEventFile(), StandardCharsets.UTF_8);
+        Assert.assertTrue(lines.stream().anyMatch(line -> line.contains("\"event\":\"action\"") && line.contains("\"index\":2")));
+    }
+}
@@ -0,0 +1,64 @@
+package com.testforge.cs.logging;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Test class for CSEventRingBuffer
+ * Verifies that concurrent producers lose nothing and a full buffer rejects instead of blocking
+ */
+public class CSEventRingBufferTest {
+
+    @Test
+    public void testFullBufferRejects() {
+        CSEventRingBuffer<Integer> buffer = new CSEventRingBuffer<>(3);
+        Assert.assertEquals(buffer.getCapacity(), 4);
+        Assert.assertTrue(buffer.isEmpty());
+        for (int i = 0; i < 4; i++) {
+            Assert.assertTrue(buffer.offer(i));
+        }
+        Assert.assertFalse(buffer.offer(4));
+        Assert.assertFalse(buffer.isEmpty());
+        Assert.assertEquals(buffer.poll(), Integer.valueOf(0));
+        Assert.assertTrue(buffer.offer(4));
+    }
+
+    @Test
+    public void testConcurrentProducersLoseNothing() throws Exception {
+        CSEventRingBuffer<Integer> buffer = new CSEventRingBuffer<>(64);
+        int producers = 4;
+        int perProducer = 10000;
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(base + i)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        Set<Integer> received = new HashSet<>();
+        long deadline = System.currentTimeMillis() + 30000;
+        while (received.size() < producers * perProducer && System.currentTimeMillis() < deadline) {
+            Integer value = buffer.poll();
+            if (value != null) {
+                Assert.assertTrue(received.add(value), "Duplicate element " + value);
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertEquals(received.size(), producers * perProducer);
+        Assert.assertNull(buffer.poll());
+    }
+}
@@ -0,0 +1,39 @@
+package com.testforge.cs.reporting;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for CSLatencyHistogram
+ * Verifies bucket boundaries and that percentiles stay within the bucket precision
+ */
+public class CSLatencyHistogramTest {
+
+    @Test
+    public void testBucketsCoverEveryValue() {
+        long[] values = {0, 1, 3, 4, 7, 8, 9, 15, 16, 1000, 123456789L, Long.MAX_VALUE};
+        for (long value : values) {
+            int index = CSLatencyHistogram.indexOf(value);
+            Assert.assertTrue(CSLatencyHistogram.upperBound(index) >= value, "Upper bound below " + value);
+            if (index > 0) {
+                Assert.assertTrue(CSLatencyHistogram.upperBound(index - 1) < value, "Previous bucket holds " + value);
+            }
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+        CSLatencyHistogram histogram = new CSLatencyHistogram();
+        Assert.assertEquals(histogram.getPercentile(50), 0);
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+        Assert.assertEquals(histogram.getCount(), 1000);
+        Assert.assertEquals(histogram.getMax(), 1000);
+        long p50 = histogram.getPercentile(50);
+        long p95 = histogram.getPercentile(95);
+        Assert.assertTrue(p50 >= 500 && p50 <= 625, "p50 was " + p50);
+        Assert.assertTrue(p95 >= 950 && p95 <= 1000, "p95 was " + p95);
+        Assert.assertEquals(histogram.getPercentile(100), 1000);
+    }
+}
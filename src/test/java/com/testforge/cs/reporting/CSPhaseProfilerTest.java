@@ -0,0 +1,79 @@
+package com.testforge.cs.reporting;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Test class for CSPhaseProfiler
+ * Verifies nested phase paths, per-scenario reset and run-wide aggregation
+ */
+public class CSPhaseProfilerTest {
+
+    @Test
+    public void testNestedPhasesFormPaths() throws Exception {
+        CSPhaseProfiler.finishScenario();
+        try (CSPhaseProfiler.Scope scenario = CSPhaseProfiler.begin(CSPhaseProfiler.Phase.SCENARIO)) {
+            try (CSPhaseProfiler.Scope step = CSPhaseProfiler.begin(CSPhaseProfiler.Phase.STEP)) {
+                try (CSPhaseProfiler.Scope wait = CSPhaseProfiler.begin(CSPhaseProfiler.Phase.WAIT)) {
+                    Thread.sleep(20);
+                }
+            }
+        }
+        Map<String, Double> profile = CSPhaseProfiler.finishScenario();
+
+        Assert.assertEquals(profile.keySet().size(), 3);
+        Assert.assertTrue(profile.get("scenario;step;wait") >= 20, "wait was " + profile.get("scenario;step;wait"));
+        // Times are inclusive of nested phases
+        Assert.assertTrue(profile.get("scenario") >= profile.get("scenario;step"));
+        Assert.assertTrue(profile.get("scenario;step") >= profile.get("scenario;step;wait"));
+        Assert.assertTrue(CSPhaseProfiler.finishScenario().isEmpty());
+    }
+
+    @Test
+    public void testOuterCloseEndsPhasesLeftOpen() {
+        CSPhaseProfiler.finishScenario();
+        CSPhaseProfiler.Scope scenario = CSPhaseProfiler.begin(CSPhaseProfiler.Phase.SCENARIO);
+        CSPhaseProfiler.Scope find = CSPhaseProfiler.begin(CSPhaseProfiler.Phase.ELEMENT_FIND);
+        scenario.close();
+        find.close();
+
+        try (CSPhaseProfiler.Scope report = CSPhaseProfiler.begin(CSPhaseProfiler.Phase.REPORTING)) {
+            // top level again
+        }
+        Map<String, Double> profile = CSPhaseProfiler.finishScenario();
+        Assert.assertTrue(profile.containsKey("scenario;element.find"));
+        Assert.assertTrue(profile.containsKey("report"));
+    }
+
+    @Test
+    public void testStaleScopeDoesNotCloseNewerPhase() {
+        CSPhaseProfiler.finishScenario();
+        CSPhaseProfiler.Scope first = CSPhaseProfiler.begin(CSPhaseProfiler.Phase.SCENARIO);
+        first.close();
+        CSPhaseProfiler.Scope second = CSPhaseProfiler.begin(CSPhaseProfiler.Phase.SCENARIO);
+        // Closing the finished scope again must leave the new one open
+        first.close();
+        try (CSPhaseProfiler.Scope step = CSPhaseProfiler.begin(CSPhaseProfiler.Phase.STEP)) {
+            // nested under the second scenario
+        }
+        second.close();
+        Assert.assertTrue(CSPhaseProfiler.finishScenario().containsKey("scenario;step"));
+    }
+
+    @Test
+    public void testAggregateSumsResultProfiles() {
+        CSTestResult first = new CSTestResult();
+        first.getMetadata().put(CSPhaseProfiler.METADATA_KEY, Map.of("scenario", 10.0, "scenario;step", 4.0));
+        CSTestResult second = new CSTestResult();
+        second.getMetadata().put(CSPhaseProfiler.METADATA_KEY, Map.of("scenario", 5, "browser.create", 2.5));
+        CSTestResult unprofiled = new CSTestResult();
+
+        Map<String, Double> total = CSPhaseProfiler.aggregate(Arrays.asList(first, second, unprofiled));
+        Assert.assertEquals(total.get("scenario"), 15.0);
+        Assert.assertEquals(total.get("scenario;step"), 4.0);
+        Assert.assertEquals(total.get("browser.create"), 2.5);
+    }
+}
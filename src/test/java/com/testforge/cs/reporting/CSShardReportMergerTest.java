@@ -0,0 +1,109 @@
+package com.testforge.cs.reporting;
+
+import com.testforge.cs.exceptions.CSReportingException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Test class for CSShardReportMerger
+ * Verifies that only the shards of one run are merged, that an incomplete run fails and that
+ * screenshots are kept out of report-data.json but survive the merge
+ */
+public class CSShardReportMergerTest {
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 10, 0);
+    private static final String SCREENSHOT = "data:image/png;base64,"
+        + Base64.getEncoder().encodeToString("png-bytes".getBytes(StandardCharsets.UTF_8));
+
+    @Test
+    public void testMergesOnlyTheShardsOfOneRun() throws Exception {
+        Path reports = Files.createTempDirectory("cs-shards");
+        // Leftovers of an earlier 4-shard run and of an earlier 3-shard build
+        writeShard(reports, "test-run-1", 3, 4, "build-5", 1);
+        writeShard(reports, "test-run-2", 2, 3, "build-6", 2);
+        for (int shard = 0; shard < 3; shard++) {
+            writeShard(reports, "test-run-3", shard, 3, "build-7", 10 + shard);
+        }
+
+        List<Path> outputs = CSShardReportMerger.findShardOutputs(Collections.singletonList(reports), 3);
+        Assert.assertEquals(outputs.size(), 4);
+        Assert.assertEquals(CSShardReportMerger.findShardOutputs(Collections.singletonList(reports)).size(), 5);
+
+        CSReportData merged = CSShardReportMerger.merge(outputs, 3, "build-7");
+        Assert.assertEquals(merged.getTotalTests(), 3);
+        Assert.assertTrue(merged.getTestResults().stream().allMatch(r -> r.getTestId().startsWith("build-7")));
+        Assert.assertEquals(merged.getEnvironment().get("shards"), "3 of 3");
+        Assert.assertEquals(merged.getTestResults().get(0).getScreenshotPath(), SCREENSHOT);
+
+        // Without an explicit run, the newest output decides which run is merged
+        CSReportData newest = CSShardReportMerger.merge(
+            CSShardReportMerger.findShardOutputs(Collections.singletonList(reports)));
+        Assert.assertEquals(newest.getTotalTests(), 3);
+    }
+
+    @Test
+    public void testIncompleteRunFails() throws Exception {
+        Path reports = Files.createTempDirectory("cs-shards");
+        writeShard(reports, "test-run-1", 0, 3, "build-8", 1);
+        writeShard(reports, "test-run-1", 2, 3, "build-8", 2);
+        // Shard 1 of another build does not fill the gap
+        writeShard(reports, "test-run-0", 1, 3, "build-4", 0);
+
+        List<Path> outputs = CSShardReportMerger.findShardOutputs(Collections.singletonList(reports), 3);
+        Assert.assertThrows(CSReportingException.class, () -> CSShardReportMerger.merge(outputs, 3, "build-8"));
+        Assert.assertThrows(CSReportingException.class, () -> CSShardReportMerger.merge(outputs, 3, "build-9"));
+    }
+
+    @Test
+    public void testScreenshotsAreWrittenNextToTheJson() throws Exception {
+        Path reports = Files.createTempDirectory("cs-shards");
+        Path folder = writeShard(reports, "test-run-1", 0, 1, "", 1);
+
+        String json = new String(Files.readAllBytes(folder.resolve(CSReportDataJson.FILE_NAME)), StandardCharsets.UTF_8);
+        Assert.assertFalse(json.contains("base64"), json);
+        Path screenshots = folder.resolve(CSReportDataJson.SCREENSHOT_DIR);
+        try (Stream<Path> files = Files.list(screenshots)) {
+            Assert.assertEquals(files.count(), 1);
+        }
+        Assert.assertEquals(CSReportDataJson.read(folder).getTestResults().get(0).getScreenshotPath(), SCREENSHOT);
+    }
+
+    private static Path writeShard(Path reports, String run, int index, int count, String runId, int minute)
+            throws Exception {
+        CSTestResult result = new CSTestResult();
+        result.setTestId(runId + "-shard-" + index);
+        result.setTestName("Scenario " + index);
+        result.setStatus(CSTestResult.Status.PASSED);
+        result.setStartTime(START.plusMinutes(minute));
+        result.setEndTime(START.plusMinutes(minute + 1));
+        result.setScreenshotPath(SCREENSHOT);
+
+        CSReportData data = new CSReportData();
+        data.buildFrom(Collections.singletonList(result));
+        data.setStartTime(result.getStartTime());
+        data.setEndTime(result.getEndTime());
+        data.setEnvironment(new HashMap<>());
+
+        Path folder = Files.createDirectories(reports.resolve(run + "_shard-" + index + "-of-" + count));
+        System.setProperty("cs.shard.index", String.valueOf(index));
+        System.setProperty("cs.shard.count", String.valueOf(count));
+        System.setProperty("cs.shard.run.id", runId);
+        try {
+            CSReportDataJson.write(data, folder.resolve(CSReportDataJson.FILE_NAME));
+        } finally {
+            System.clearProperty("cs.shard.index");
+            System.clearProperty("cs.shard.count");
+            System.clearProperty("cs.shard.run.id");
+        }
+        return folder;
+    }
+}
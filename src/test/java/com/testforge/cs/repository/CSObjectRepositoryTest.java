@@ -0,0 +1,115 @@
+package com.testforge.cs.repository;
+
+import com.testforge.cs.exceptions.CSRepositoryException;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Tests for loading and reloading CSObjectRepository
+ */
+public class CSObjectRepositoryTest {
+
+    private Path root;
+
+    @BeforeMethod
+    public void createRepository() throws IOException {
+        root = Files.createTempDirectory("cs-repository");
+        Files.createDirectories(root.resolve("elements"));
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteRepository() throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private Path writeElement(String file, String name, String xpath) throws IOException {
+        Path path = root.resolve("elements").resolve(file);
+        Files.createDirectories(path.getParent());
+        String json = "{\"name\": \"" + name + "\", \"locators\": [{\"type\": \"xpath\", \"value\": \"" + xpath + "\"}]}";
+        Files.write(path, json.getBytes(StandardCharsets.UTF_8));
+        return path;
+    }
+
+    private static String xpathOf(CSElementDefinition element) {
+        return element.getLocators().get(0).getValue();
+    }
+
+    @Test
+    public void testParallelLoadKeepsFileOrder() throws IOException {
+        for (int i = 0; i < 40; i++) {
+            writeElement(String.format("button_%02d.json", i), "button", "//button[" + i + "]");
+            writeElement(String.format("field_%02d.json", i), "field" + i, "//input[" + i + "]");
+        }
+
+        CSObjectRepository repository = new CSObjectRepository(root.toString(), false, true, 50);
+        Assert.assertEquals(xpathOf(repository.getElement("button")), "//button[39]");
+        Assert.assertEquals(repository.getStats().getElementCount(), 41);
+        Assert.assertEquals(repository.getStats().getFileCount(), 80);
+    }
+
+    @Test
+    public void testLenientModeTracksFilesThatFailToLoad() throws IOException {
+        Path valid = writeElement("login.json", "login", "//form");
+        Path broken = root.resolve("elements").resolve("broken.json");
+        Files.write(broken, "{\"name\": ".getBytes(StandardCharsets.UTF_8));
+
+        Assert.expectThrows(CSRepositoryException.class,
+            () -> new CSObjectRepository(root.toString(), false, true, 50));
+
+        CSObjectRepository repository = new CSObjectRepository(root.toString(), false, false, 50);
+        Assert.assertEquals(xpathOf(repository.getElement("login")), "//form");
+        Assert.assertNull(repository.getElement("broken"));
+        Assert.assertEquals(repository.getStats().getFileCount(), 2);
+
+        // Unchanged files - the broken one included - must not trigger a reload
+        FileTime loadedAt = Files.getLastModifiedTime(valid);
+        writeElement("login.json", "login", "//form[2]");
+        Files.setLastModifiedTime(valid, loadedAt);
+        repository.checkForFileChanges();
+        Assert.assertEquals(xpathOf(repository.getElement("login")), "//form");
+
+        Files.setLastModifiedTime(broken, FileTime.fromMillis(loadedAt.toMillis() + 60000));
+        repository.checkForFileChanges();
+        Assert.assertEquals(xpathOf(repository.getElement("login")), "//form[2]");
+    }
+
+    @Test
+    public void testWatcherReloadsChangedAndNewDirectories() throws Exception {
+        writeElement("login.json", "login", "//form");
+        CSObjectRepository repository = new CSObjectRepository(root.toString(), true, false, 50);
+        Assert.assertEquals(xpathOf(repository.getElement("login")), "//form");
+
+        writeElement("login.json", "login", "//form[2]");
+        awaitXpath(repository, "login", "//form[2]");
+
+        // A directory created while running is registered, then its files are picked up
+        Files.createDirectories(root.resolve("elements").resolve("checkout"));
+        Thread.sleep(500);
+        writeElement("checkout/pay.json", "pay", "//button[@id='pay']");
+        awaitXpath(repository, "pay", "//button[@id='pay']");
+    }
+
+    private static void awaitXpath(CSObjectRepository repository, String name, String xpath) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (System.currentTimeMillis() < deadline) {
+            CSElementDefinition element = repository.getElement(name);
+            if (element != null && xpath.equals(xpathOf(element))) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        Assert.fail("Repository did not reload " + name + " as " + xpath);
+    }
+}
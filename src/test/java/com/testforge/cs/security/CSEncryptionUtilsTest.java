@@ -0,0 +1,71 @@
+package com.testforge.cs.security;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Test class for cipher reuse, the decrypt cache and bulk decryption in CSEncryptionUtils
+ */
+public class CSEncryptionUtilsTest {
+
+    @Test
+    public void testRoundTripIsStableAcrossRepeatedDecrypts() {
+        String encrypted = CSEncryptionUtils.encrypt("secret value");
+        Assert.assertNotEquals(CSEncryptionUtils.encrypt("secret value"), encrypted, "IV must be random");
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals(CSEncryptionUtils.decrypt(encrypted), "secret value");
+        }
+        Assert.assertEquals(CSEncryptionUtils.processEncryptedValues("user=" + encrypted + ";"), "user=secret value;");
+        Assert.assertEquals(CSEncryptionUtils.decrypt("ENC(not-base64!)"), "ENC(not-base64!)");
+    }
+
+    @Test
+    public void testKeyChangeClearsTheDecryptCache() {
+        String frameworkKey = Base64.getEncoder().encodeToString(
+            "CSTestForge2024MasterKey!@#$%^&*".getBytes(StandardCharsets.UTF_8));
+        String encrypted = CSEncryptionUtils.encrypt("cached secret");
+        Assert.assertEquals(CSEncryptionUtils.decrypt(encrypted), "cached secret");
+        try {
+            CSEncryptionUtils.setEncryptionKey(CSEncryptionUtils.generateKey());
+            // A stale cache entry would still return the plain text; the new key cannot decrypt it
+            Assert.assertEquals(CSEncryptionUtils.decrypt(encrypted), encrypted);
+        } finally {
+            CSEncryptionUtils.setEncryptionKey(frameworkKey);
+        }
+        Assert.assertEquals(CSEncryptionUtils.decrypt(encrypted), "cached secret");
+    }
+
+    @Test
+    public void testEncryptedChecksMatchPattern() {
+        Pattern pattern = Pattern.compile("ENC\\(([^)]+)\\)");
+        for (String value : Arrays.asList("ENC(abc)", "x ENC(abc) y", "ENC()", "ENC() ENC(a)", "ENC(abc",
+                "ENC()abc)", "ENC(ENC(a))", "plain", "")) {
+            Assert.assertEquals(CSEncryptionUtils.isEncrypted(value), pattern.matcher(value).find(), value);
+        }
+        // Whole-value form only: embedded or empty values are returned unchanged
+        Assert.assertEquals(CSEncryptionUtils.decrypt("x ENC(abc)"), "x ENC(abc)");
+        Assert.assertEquals(CSEncryptionUtils.decrypt("ENC()"), "ENC()");
+    }
+
+    @Test
+    public void testBulkDecryption() {
+        String encrypted = CSEncryptionUtils.encrypt("p1");
+        Assert.assertEquals(CSEncryptionUtils.decryptAll(Arrays.asList(encrypted, "plain", null)),
+            Arrays.asList("p1", "plain", null));
+
+        Map<String, String> row = new LinkedHashMap<>();
+        row.put("user", "admin");
+        row.put("password", encrypted);
+        Map<String, String> decrypted = CSEncryptionUtils.decryptAll(row);
+        Assert.assertEquals(List.copyOf(decrypted.values()), List.of("admin", "p1"));
+        Assert.assertEquals(row.get("password"), encrypted);
+    }
+}
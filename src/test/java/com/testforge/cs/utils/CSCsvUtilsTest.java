@@ -0,0 +1,91 @@
+package com.testforge.cs.utils;
+
+import com.testforge.cs.security.CSEncryptionUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Test class for the buffered CSV tokenizer and lazily decrypted rows in CSCsvUtils
+ */
+public class CSCsvUtilsTest {
+
+    private static String write(String content) throws Exception {
+        File file = File.createTempFile("cs-csv", ".csv");
+        file.deleteOnExit();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file.getPath();
+    }
+
+    @Test
+    public void testQuotingLineEndingsAndBlankLines() throws Exception {
+        String path = write("id, name ,note\r\n"
+            + "1,\"Smith, John\",\"said \"\"hi\"\"\"\r\n"
+            + "\n"
+            + "   \n"
+            + "2,\"multi\nline\",x,extra\r"
+            + "3,short\n");
+
+        List<Map<String, String>> rows = CSCsvUtils.readCsv(path);
+        Assert.assertEquals(rows.size(), 3);
+        Assert.assertEquals(new ArrayList<>(rows.get(0).keySet()), List.of("id", "name", "note"));
+        Assert.assertEquals(rows.get(0).get("name"), "Smith, John");
+        Assert.assertEquals(rows.get(0).get("note"), "said \"hi\"");
+        Assert.assertEquals(rows.get(1).get("name"), "multi\nline");
+        Assert.assertEquals(rows.get(1).size(), 3);
+        Assert.assertEquals(rows.get(2), Map.of("id", "3", "name", "short", "note", ""));
+
+        Assert.assertEquals(CSCsvUtils.readCsvAsList(path, ",").size(), 4);
+        Assert.assertEquals(CSCsvUtils.getHeaders(path, ","), List.of("id", "name", "note"));
+    }
+
+    @Test
+    public void testEncryptedValuesDecryptOnRead() throws Exception {
+        String secret = CSEncryptionUtils.encrypt("p@ss,word");
+        String path = write("user,password\nadmin,\"" + secret + "\"\n");
+
+        Map<String, String> row = CSCsvUtils.readCsv(path).get(0);
+        Assert.assertEquals(row.get("password"), "p@ss,word");
+        Assert.assertEquals(row, Map.of("user", "admin", "password", "p@ss,word"));
+
+        // Rows become ordinary mutable maps on first modification
+        row.put("role", "owner");
+        row.remove("user");
+        Assert.assertEquals(new ArrayList<>(row.keySet()), List.of("password", "role"));
+    }
+
+    @Test
+    public void testStreamingAndMultiCharacterDelimiter() throws Exception {
+        String path = write("a||b\n1||x|y\n2||z\n");
+        try (Stream<Map<String, String>> rows = CSCsvUtils.streamCsv(path, true, "||", StandardCharsets.UTF_8)) {
+            Assert.assertEquals(rows.map(row -> row.get("b")).collect(Collectors.toList()), List.of("x|y", "z"));
+        }
+        Assert.assertEquals(CSCsvUtils.readCsv(path, false, "||").get(0), Map.of("Column1", "a", "Column2", "b"));
+    }
+
+    @Test
+    public void testWriteRoundTrip() throws Exception {
+        File file = File.createTempFile("cs-csv", ".csv");
+        file.deleteOnExit();
+        List<Map<String, String>> data = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Map<String, String> row = new LinkedHashMap<>();
+            row.put("id", String.valueOf(i));
+            row.put("text", "line " + i + ",\n\"quoted\"");
+            row.put("empty", "");
+            data.add(row);
+        }
+
+        CSCsvUtils.writeCsv(file.getPath(), data);
+        Assert.assertEquals(CSCsvUtils.readCsv(file.getPath()), data);
+    }
+}
@@ -0,0 +1,83 @@
+package com.testforge.cs.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Test class for compiled data-source filters and SQL pushdown in CSDataFilter
+ */
+public class CSDataFilterTest {
+
+    @Test
+    public void testOperators() {
+        Map<String, String> row = Map.of("status", "Active", "age", "30", "code", "b10", "name", "John Smith");
+
+        Assert.assertTrue(CSDataFilter.parse("status=Active").test(row));
+        Assert.assertTrue(CSDataFilter.parse("status != 'Inactive'").test(row));
+        Assert.assertTrue(CSDataFilter.parse("age>25 AND age<=30").test(row));
+        Assert.assertFalse(CSDataFilter.parse("age>=31").test(row));
+        // Numeric when both sides are numbers, string comparison otherwise
+        Assert.assertTrue(CSDataFilter.parse("age>4").test(row));
+        Assert.assertTrue(CSDataFilter.parse("code<b9").test(row));
+        Assert.assertTrue(CSDataFilter.parse("name~\"SMITH\"").test(row));
+        Assert.assertTrue(CSDataFilter.parse("name!~doe").test(row));
+        // Missing fields and conditions without an operator match nothing
+        Assert.assertFalse(CSDataFilter.parse("missing!=x").test(row));
+        Assert.assertFalse(CSDataFilter.parse("status=Active AND nonsense").test(row));
+        Assert.assertTrue(CSDataFilter.parse(" ").isEmpty());
+        Assert.assertEquals(CSDataFilter.parse("a=1 AND b~2").getFields(), Set.of("a", "b"));
+    }
+
+    @Test
+    public void testEqualsFilterList() {
+        Map<String, String> row = Map.of("Priority", "High", "Env", "qa", "url", "http://x");
+
+        Assert.assertTrue(CSDataFilter.parseEquals("Priority=High;Env:qa").test(row));
+        Assert.assertFalse(CSDataFilter.parseEquals("Priority=Low").test(row));
+        // Pairs that do not split into exactly two parts are ignored
+        Assert.assertTrue(CSDataFilter.parseEquals("url=http://x").isEmpty());
+    }
+
+    @Test
+    public void testParallelApplyKeepsOrder() {
+        List<Map<String, String>> rows = new ArrayList<>();
+        IntStream.range(0, 25000).forEach(i -> rows.add(Map.of("id", String.valueOf(i), "even", String.valueOf(i % 2 == 0))));
+
+        List<Map<String, String>> matched = CSDataFilter.parse("even=true AND id<1000").apply(rows);
+
+        Assert.assertEquals(matched.size(), 500);
+        Assert.assertEquals(matched.stream().map(row -> row.get("id")).collect(Collectors.toList()),
+            IntStream.range(0, 500).mapToObj(i -> String.valueOf(i * 2)).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testPushDown() {
+        List<Object> params = new ArrayList<>(List.of(7));
+        String sql = CSDataFilter.parse("status=active AND age>5 AND name~x AND region=''").pushDown(
+            "select * from users where team = ?;", params);
+
+        Assert.assertEquals(sql, "SELECT * FROM (select * from users where team = ?) cs_filtered WHERE status = ?");
+        Assert.assertEquals(params, List.of(7, "active"));
+
+        for (String query : new String[]{"SELECT * FROM users ORDER BY id", "CALL load_users()",
+                "SELECT 1; DELETE FROM users"}) {
+            List<Object> none = new ArrayList<>();
+            Assert.assertEquals(CSDataFilter.parse("status=active").pushDown(query, none), query);
+            Assert.assertTrue(none.isEmpty());
+        }
+        Assert.assertEquals(CSDataFilter.parse("\"odd name\"=1").pushDown("SELECT 1", new ArrayList<>()), "SELECT 1");
+
+        // Decimal values may not match a FLOAT column in SQL, so only whole numbers are pushed
+        List<Object> numbers = new ArrayList<>();
+        Assert.assertEquals(CSDataFilter.parse("price=0.1 AND rate=1e3 AND qty=-5").pushDown("SELECT * FROM items", numbers),
+            "SELECT * FROM (SELECT * FROM items) cs_filtered WHERE qty = ?");
+        Assert.assertEquals(numbers, List.of("-5"));
+    }
+}
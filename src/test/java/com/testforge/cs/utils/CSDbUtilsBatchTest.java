@@ -0,0 +1,59 @@
+package com.testforge.cs.utils;
+
+import com.testforge.cs.exceptions.CSDataException;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test class for chunked batch execution in CSDbUtils
+ * Runs against an in-memory H2 database
+ */
+public class CSDbUtilsBatchTest {
+    private static final String DB = "batchtest";
+
+    @BeforeClass
+    public void setUp() {
+        System.setProperty("cs.db." + DB + ".type", "h2");
+        System.setProperty("cs.db." + DB + ".name", "batchtest");
+        System.setProperty("cs.db." + DB + ".username", "sa");
+        System.setProperty("cs.db." + DB + ".password", "");
+        CSDbUtils.executeUpdate(DB, "CREATE TABLE seed (id INT PRIMARY KEY, name VARCHAR(50))");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        CSDbUtils.executeUpdate(DB, "DROP TABLE seed");
+    }
+
+    @Test
+    public void testChunksAllRowsInOneTransaction() {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            rows.add(new Object[]{i, "user" + i});
+        }
+
+        int[] counts = CSDbUtils.executeBatch(DB, "INSERT INTO seed (id, name) VALUES (?, ?)", rows, 1000);
+
+        Assert.assertEquals(counts.length, 2500);
+        Assert.assertEquals(CSDbUtils.getSingleValue(DB, "SELECT COUNT(*) FROM seed", Long.class).longValue(), 2500L);
+        CSDbUtils.executeUpdate(DB, "DELETE FROM seed");
+    }
+
+    @Test(dependsOnMethods = "testChunksAllRowsInOneTransaction")
+    public void testFailingChunkRollsBackEarlierChunks() {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            rows.add(new Object[]{i, "user" + i});
+        }
+        rows.add(new Object[]{5, "duplicate"});
+
+        Assert.assertThrows(CSDataException.class,
+            () -> CSDbUtils.executeBatch(DB, "INSERT INTO seed (id, name) VALUES (?, ?)", rows, 10));
+        Assert.assertEquals(CSDbUtils.getSingleValue(DB, "SELECT COUNT(*) FROM seed", Long.class).longValue(), 0L);
+    }
+}
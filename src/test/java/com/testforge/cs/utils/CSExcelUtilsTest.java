@@ -0,0 +1,100 @@
+package com.testforge.cs.utils;
+
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Test class for streamed Excel reading and SXSSF writing in CSExcelUtils
+ */
+public class CSExcelUtilsTest {
+
+    @Test
+    public void testStreamedReadConvertsCellsLikeWorkbookModel() throws Exception {
+        File file = File.createTempFile("cs-excel", ".xlsx");
+        file.deleteOnExit();
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            workbook.createSheet("Other").createRow(0).createCell(0).setCellValue("ignored");
+            Sheet sheet = workbook.createSheet("Data");
+            Row header = sheet.createRow(0);
+            String[] headers = {"name", "count", "price", "active", "created", "total"};
+            for (int i = 0; i < headers.length; i++) {
+                header.createCell(i).setCellValue(headers[i]);
+            }
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd hh:mm"));
+
+            Row first = sheet.createRow(1);
+            first.createCell(0).setCellValue("Alice");
+            first.createCell(1).setCellValue(3);
+            first.createCell(2).setCellValue(9.5);
+            first.createCell(3).setCellValue(true);
+            first.createCell(4).setCellValue(LocalDateTime.of(2024, 5, 17, 13, 45));
+            first.getCell(4).setCellStyle(dateStyle);
+            first.createCell(5).setCellFormula("B2*2");
+            first.getCell(5).setCellValue(6);
+
+            // Gap in column B, row ends at C, and an empty row 3 is skipped entirely
+            Row second = sheet.createRow(3);
+            second.createCell(0).setCellValue("Bob");
+            second.createCell(2).setCellValue(1.25);
+
+            try (FileOutputStream out = new FileOutputStream(file)) {
+                workbook.write(out);
+            }
+        }
+
+        List<Map<String, String>> rows = CSExcelUtils.readExcel(file.getPath(), "Data", true);
+        Assert.assertEquals(rows.size(), 2);
+        Map<String, String> alice = rows.get(0);
+        Assert.assertEquals(alice.get("name"), "Alice");
+        Assert.assertEquals(alice.get("count"), "3");
+        Assert.assertEquals(alice.get("price"), "9.5");
+        Assert.assertEquals(alice.get("active"), "true");
+        Assert.assertEquals(alice.get("created"), "2024-05-17T13:45");
+        Assert.assertEquals(alice.get("total"), "6.0");
+
+        Map<String, String> bob = rows.get(1);
+        Assert.assertEquals(new ArrayList<>(bob.keySet()), List.of("name", "count", "price"));
+        Assert.assertEquals(bob.get("count"), "");
+        Assert.assertEquals(bob.get("price"), "1.25");
+
+        List<Map<String, String>> noHeader = CSExcelUtils.readExcel(file.getPath(), 0, false);
+        Assert.assertEquals(noHeader, List.of(Map.of("Column1", "ignored")));
+    }
+
+    @Test
+    public void testStreamingWriteRoundTrip() throws Exception {
+        File file = File.createTempFile("cs-excel", ".xlsx");
+        file.deleteOnExit();
+        List<Map<String, String>> data = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) {
+            Map<String, String> row = new LinkedHashMap<>();
+            row.put("id", String.valueOf(i));
+            row.put("name", "user" + i);
+            row.put("flag", i % 2 == 0 ? "true" : "false");
+            data.add(row);
+        }
+
+        CSExcelUtils.writeExcel(file.getPath(), data, "Users", true);
+
+        Assert.assertEquals(CSExcelUtils.readExcel(file.getPath(), "Users", true), data);
+        try (Stream<Map<String, String>> rows = CSExcelUtils.streamExcel(file.getPath(), "Users", true)) {
+            Assert.assertEquals(rows.filter(row -> row.get("name").endsWith("99")).collect(Collectors.toList()).size(), 15);
+        }
+        Assert.assertEquals(CSExcelUtils.readExcelWithKey(file.getPath(), "Users", "id", List.of("7", "1499")).size(), 2);
+    }
+}
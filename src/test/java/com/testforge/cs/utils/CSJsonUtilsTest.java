@@ -0,0 +1,71 @@
+package com.testforge.cs.utils;
+
+import com.testforge.cs.exceptions.CSDataException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Test class for streamed JSON array reading in CSJsonUtils
+ */
+public class CSJsonUtilsTest {
+
+    private static String write(String content) throws Exception {
+        File file = File.createTempFile("cs-json", ".json");
+        file.deleteOnExit();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file.getPath();
+    }
+
+    @Test
+    public void testStreamsProjectedRowsAtPath() throws Exception {
+        String path = write("{\"meta\": {\"users\": [\"not this\"]}, \"testData\": {\"skip\": [1, 2], \"users\": ["
+            + "{\"id\": 1, \"name\": \"Ann\", \"tags\": [\"a\", \"b\"], \"profile\": {\"age\": 30}},"
+            + "\"scalar\","
+            + "{\"id\": 2.5, \"name\": null, \"active\": true}"
+            + "]}}");
+
+        try (Stream<Map<String, Object>> rows = CSJsonUtils.streamJsonArray(path, "$.testData.users[*]", null)) {
+            List<Map<String, Object>> all = rows.collect(Collectors.toList());
+            Assert.assertEquals(all.size(), 2);
+            Assert.assertEquals(all.get(0).get("id"), 1);
+            Assert.assertEquals(all.get(0).get("tags"), List.of("a", "b"));
+            Assert.assertEquals(all.get(0).get("profile"), Map.of("age", 30));
+            Assert.assertEquals(all.get(1).get("id"), 2.5);
+            Assert.assertTrue(all.get(1).containsKey("name"));
+            Assert.assertEquals(all.get(1).get("active"), Boolean.TRUE);
+        }
+
+        try (Stream<Map<String, Object>> rows = CSJsonUtils.streamJsonArray(path, "$.testData.users[*]", List.of("name"))) {
+            Assert.assertEquals(rows.map(Map::keySet).collect(Collectors.toList()),
+                List.of(Set.of("name"), Set.of("name")));
+        }
+    }
+
+    @Test
+    public void testRootObjectAndPathErrors() throws Exception {
+        String path = write("{\"name\": \"single\"}");
+        try (Stream<Map<String, Object>> rows = CSJsonUtils.streamJsonArray(path, null, null)) {
+            Assert.assertEquals(rows.collect(Collectors.toList()), List.of(Map.of("name", "single")));
+        }
+        Assert.expectThrows(CSDataException.class, () -> CSJsonUtils.streamJsonArray(path, "$.missing[*]", null));
+        Assert.expectThrows(CSDataException.class, () -> CSJsonUtils.streamJsonArray(path, "$.name[*]", null));
+        Assert.expectThrows(CSDataException.class, () -> CSJsonUtils.streamJsonArray(path, "$..name", null));
+    }
+
+    @Test
+    public void testFilterJsonArray() {
+        String json = "[{\"k\": \"a\", \"v\": 1}, {\"k\": \"b\"}, 3, {\"k\": \"a\", \"v\": {\"x\": [1]}}]";
+        Assert.assertEquals(CSJsonUtils.filterJsonArray(json, "k", "a"),
+            "[{\"k\":\"a\",\"v\":1},{\"k\":\"a\",\"v\":{\"x\":[1]}}]");
+        Assert.assertEquals(CSJsonUtils.filterJsonArray("{\"k\": \"a\"}", "k", "a"), "[]");
+    }
+}